@@ -0,0 +1,62 @@
+package com.bookstore.gateway.cache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of replayable responses with a fixed entry limit.
+ * Expired entries are dropped lazily when they are looked up.
+ * <p>
+ * Alongside the entries it remembers, per request key, the request headers the last stored
+ * response listed in {@code Vary}, so callers can build the variant key before looking up.
+ */
+public class BoundedResponseCache {
+
+    private final Map<String, CachedResponse> entries;
+    private final Map<String, List<String>> varyHeaders;
+
+    public BoundedResponseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.varyHeaders = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized CachedResponse get(String key, long now) {
+        CachedResponse response = entries.get(key);
+        if (response != null && !response.isFresh(now)) {
+            entries.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * @return the request headers responses for the request key vary on, empty if none are known
+     */
+    public synchronized List<String> getVary(String requestKey) {
+        return varyHeaders.getOrDefault(requestKey, List.of());
+    }
+
+    public synchronized void put(String requestKey, List<String> vary, String key, CachedResponse response) {
+        if (vary.isEmpty()) {
+            varyHeaders.remove(requestKey);
+        } else {
+            varyHeaders.put(requestKey, List.copyOf(vary));
+        }
+        entries.put(key, response);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
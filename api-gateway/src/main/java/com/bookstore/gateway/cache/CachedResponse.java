@@ -0,0 +1,33 @@
+package com.bookstore.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A fully buffered upstream response that can be replayed to any number of clients.
+ *
+ * @param status    HTTP status code
+ * @param headers   end-to-end response headers (hop-by-hop headers and Content-Length removed)
+ * @param body      response body bytes
+ * @param etag      entity tag, either from upstream or computed from the body
+ * @param storedAt  epoch millis when the response was captured
+ * @param expiresAt epoch millis after which the response must not be served from cache
+ */
+public record CachedResponse(int status, HttpHeaders headers, byte[] body, String etag,
+                             long storedAt, long expiresAt) {
+
+    /**
+     * @return whether the response may be shared with other callers; failures, throttling
+     * included, belong to the request that got them
+     */
+    public boolean isShareable() {
+        return status >= 200 && status < 300;
+    }
+
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookstore.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Replays a {@link CachedResponse} onto an exchange, answering conditional requests with
+ * {@code 304 Not Modified} when the client already holds the current representation.
+ */
+public final class CachedResponseWriter {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private CachedResponseWriter() {
+    }
+
+    /**
+     * @param cacheStatus value for the {@value #CACHE_STATUS_HEADER} header, or {@code null} to omit it
+     */
+    public static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        long now = System.currentTimeMillis();
+
+        cached.headers().forEach(headers::put);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        if (cacheStatus != null) {
+            headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        }
+        if (cached.storedAt() > 0) {
+            headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+        }
+
+        if (cached.status() == HttpStatus.OK.value()
+                && matchesIfNoneMatch(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match} (RFC 9110, section 13.1.2).
+     */
+    static boolean matchesIfNoneMatch(List<String> ifNoneMatch, String etag) {
+        if (etag == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.gateway.cache;
+
+import com.bookstore.gateway.limit.LocalRateLimiter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Response decorator that buffers the upstream body instead of writing it to the client,
+ * so the exchange can be replayed from a {@link CachedResponse} to one or more callers.
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    // Rate limit headers describe the quota of the caller that went upstream, not of the others
+    private static final List<String> UNSHAREABLE_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+            LocalRateLimiter.REMAINING_HEADER, LocalRateLimiter.REPLENISH_RATE_HEADER,
+            LocalRateLimiter.BURST_CAPACITY_HEADER, LocalRateLimiter.REQUESTED_TOKENS_HEADER);
+
+    private volatile HttpHeaders capturedHeaders;
+    private volatile byte[] capturedBody;
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(body)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .doOnNext(this::capture)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(part -> part));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        capture(new byte[0]);
+        return Mono.empty();
+    }
+
+    /**
+     * @return the captured response, or {@code null} if upstream never produced one
+     */
+    public CachedResponse toCachedResponse(String etag, long storedAt, long expiresAt) {
+        byte[] body = capturedBody;
+        if (body == null) {
+            return null;
+        }
+        HttpStatusCode status = getDelegate().getStatusCode();
+        return new CachedResponse(status != null ? status.value() : HttpStatus.OK.value(),
+                capturedHeaders, body, etag, storedAt, expiresAt);
+    }
+
+    public HttpHeaders getCapturedHeaders() {
+        return capturedHeaders;
+    }
+
+    public byte[] getCapturedBody() {
+        return capturedBody;
+    }
+
+    private void capture(byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(getDelegate().getHeaders());
+        UNSHAREABLE_HEADERS.forEach(headers::remove);
+        this.capturedHeaders = headers;
+        this.capturedBody = body;
+    }
+}
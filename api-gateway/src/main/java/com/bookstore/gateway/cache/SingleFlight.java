@@ -0,0 +1,67 @@
+package com.bookstore.gateway.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution.
+ * <p>
+ * The first caller for a key installs a cached {@link Mono}; callers arriving while it is
+ * still running subscribe to the same instance and receive its signal. The entry is
+ * removed as soon as the call terminates, so later callers start a fresh execution.
+ * Cancellation by an individual subscriber does not cancel the shared call.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+
+    /**
+     * Runs {@code call} for the key unless an execution for it is already in flight.
+     *
+     * @param key  identity of the call
+     * @param call supplier of the upstream call, invoked at most once per execution
+     * @return the shared result
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        boolean[] created = new boolean[1];
+        Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return Mono.defer(call)
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache();
+        });
+        if (created[0]) {
+            executions.increment();
+        } else {
+            joins.increment();
+        }
+        return shared;
+    }
+
+    /**
+     * @return the number of calls that actually went upstream
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return the number of callers that joined a call already in flight
+     */
+    public long joins() {
+        return joins.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
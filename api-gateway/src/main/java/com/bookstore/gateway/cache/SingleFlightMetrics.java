@@ -0,0 +1,33 @@
+package com.bookstore.gateway.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes {@link SingleFlight} counters per route, so the number of upstream calls saved by
+ * collapsing identical requests shows up under {@code /actuator/metrics}.
+ */
+public final class SingleFlightMetrics {
+
+    private SingleFlightMetrics() {
+    }
+
+    public static void bind(MeterRegistry registry, SingleFlight<?, ?> singleFlight, String routeId, String filter) {
+        FunctionCounter.builder("gateway.coalescing.upstream.calls", singleFlight, SingleFlight::executions)
+                .description("Requests that were forwarded to the upstream service")
+                .tag("routeId", routeId)
+                .tag("filter", filter)
+                .register(registry);
+        FunctionCounter.builder("gateway.coalescing.saved.calls", singleFlight, SingleFlight::joins)
+                .description("Requests answered by joining an identical request already in flight")
+                .tag("routeId", routeId)
+                .tag("filter", filter)
+                .register(registry);
+        Gauge.builder("gateway.coalescing.in.flight", singleFlight, SingleFlight::inFlight)
+                .description("Distinct upstream requests currently in flight")
+                .tag("routeId", routeId)
+                .tag("filter", filter)
+                .register(registry);
+    }
+}
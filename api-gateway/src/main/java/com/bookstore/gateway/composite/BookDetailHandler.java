@@ -0,0 +1,167 @@
+package com.bookstore.gateway.composite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Builds the book detail page document in one request: the book with the ancestor chain of
+ * each of its categories, inventory availability and rental status.
+ * <p>
+ * Inventory and rental status are fetched in parallel with the book; category ancestors need
+ * the book's category ids and are fetched in parallel with each other as soon as it arrives.
+ * Every branch has its own timeout. A failed or slow branch is left out of the document and
+ * reported under {@code errors}; only a missing book fails the whole request. A book without
+ * an inventory item is not an error: {@code inventory} is {@code null} in the document.
+ */
+public class BookDetailHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(BookDetailHandler.class);
+
+    private final WebClient webClient;
+    private final BookDetailProperties properties;
+
+    private record Branch(String name, JsonNode value, String error) {
+
+        static Branch ok(String name, JsonNode value) {
+            return new Branch(name, value, null);
+        }
+
+        static Branch failed(String name, String error) {
+            return new Branch(name, null, error);
+        }
+    }
+
+    private record BookWithCategories(Branch book, Map<String, Branch> ancestors) {
+    }
+
+    private static final class BookNotFoundException extends RuntimeException {
+    }
+
+    public BookDetailHandler(WebClient webClient, BookDetailProperties properties) {
+        this.webClient = webClient;
+        this.properties = properties;
+    }
+
+    public Mono<ServerResponse> getBookDetail(ServerRequest request) {
+        long bookId;
+        try {
+            bookId = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        Consumer<HttpHeaders> forwarded = headers -> {
+            request.headers().header(HttpHeaders.AUTHORIZATION).forEach(value -> headers.add(HttpHeaders.AUTHORIZATION, value));
+            request.headers().header(HttpHeaders.ACCEPT_LANGUAGE).forEach(value -> headers.add(HttpHeaders.ACCEPT_LANGUAGE, value));
+        };
+
+        Mono<BookWithCategories> book = bookWithCategories(bookId, forwarded);
+        Mono<Branch> inventory = branch("inventory",
+                get(properties.getInventory(), "/api/v1/inventory/books/{id}", forwarded, bookId)
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(NullNode.getInstance())),
+                properties.getInventory().getTimeout());
+        Mono<Branch> rentals = branch("rentalStatus",
+                get(properties.getRentals(), "/api/v1/rentals/books/{id}/status", forwarded, bookId),
+                properties.getRentals().getTimeout());
+
+        return Mono.zip(book, inventory, rentals)
+                .flatMap(results -> {
+                    Map<String, Object> document = new LinkedHashMap<>();
+                    Map<String, String> errors = new LinkedHashMap<>();
+                    BookWithCategories bookResult = results.getT1();
+                    put(document, errors, bookResult.book());
+
+                    Map<String, Object> ancestors = new LinkedHashMap<>();
+                    bookResult.ancestors().forEach((categoryId, branch) -> {
+                        if (branch.error() == null) {
+                            ancestors.put(categoryId, branch.value());
+                        } else {
+                            errors.put("categoryAncestors." + categoryId, branch.error());
+                        }
+                    });
+                    document.put("categoryAncestors", ancestors);
+                    put(document, errors, results.getT2());
+                    put(document, errors, results.getT3());
+                    document.put("partial", !errors.isEmpty());
+                    if (!errors.isEmpty()) {
+                        document.put("errors", errors);
+                    }
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(document);
+                })
+                .onErrorResume(BookNotFoundException.class, e -> ServerResponse.notFound().build());
+    }
+
+    private Mono<BookWithCategories> bookWithCategories(long bookId, Consumer<HttpHeaders> forwarded) {
+        BookDetailProperties.Branch bookBranch = properties.getBook();
+        return get(bookBranch, "/api/v1/books/{id}", forwarded, bookId)
+                .timeout(bookBranch.getTimeout())
+                .onErrorMap(WebClientResponseException.NotFound.class, e -> new BookNotFoundException())
+                .flatMap(book -> {
+                    List<String> categoryIds = new ArrayList<>();
+                    book.path("categories").forEach(category -> categoryIds.add(category.path("id").asText()));
+                    return Flux.fromIterable(categoryIds)
+                            .flatMap(categoryId -> branch(categoryId,
+                                    get(properties.getCategories(), "/api/v1/categories/{id}/ancestors", forwarded, categoryId),
+                                    properties.getCategories().getTimeout()))
+                            .collectMap(Branch::name)
+                            .map(ancestors -> new BookWithCategories(Branch.ok("book", book), ancestors));
+                })
+                .onErrorResume(e -> !(e instanceof BookNotFoundException),
+                        e -> Mono.just(new BookWithCategories(Branch.failed("book", describe(e)), Map.of())));
+    }
+
+    private Mono<JsonNode> get(BookDetailProperties.Branch branch, String path, Consumer<HttpHeaders> headers,
+                               Object id) {
+        return webClient.get()
+                .uri(branch.getBaseUrl() + path, id)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private static Mono<Branch> branch(String name, Mono<JsonNode> call, Duration timeout) {
+        return call.timeout(timeout)
+                .map(value -> Branch.ok(name, value))
+                .defaultIfEmpty(Branch.failed(name, "empty response"))
+                .onErrorResume(e -> Mono.just(Branch.failed(name, describe(e))));
+    }
+
+    private static void put(Map<String, Object> document, Map<String, String> errors, Branch branch) {
+        if (branch.error() == null) {
+            document.put(branch.name(), branch.value());
+        } else {
+            log.debug("Book detail branch {} failed: {}", branch.name(), branch.error());
+            errors.put(branch.name(), branch.error());
+        }
+    }
+
+    private static String describe(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "timed out";
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            HttpStatus status = HttpStatus.resolve(responseException.getStatusCode().value());
+            return "upstream returned " + (status != null ? status : responseException.getStatusCode());
+        }
+        return error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+    }
+}
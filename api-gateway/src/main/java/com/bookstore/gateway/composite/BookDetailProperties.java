@@ -0,0 +1,84 @@
+package com.bookstore.gateway.composite;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "composite.book-detail")
+public class BookDetailProperties {
+
+    private Branch book = new Branch("http://book-service/book-service", Duration.ofMillis(800));
+    private Branch categories = new Branch("http://book-service/book-service", Duration.ofMillis(500));
+    private Branch inventory = new Branch("http://inventory-service/inventory-service", Duration.ofMillis(300));
+    private Branch rentals = new Branch("http://rental-service/rental-service", Duration.ofMillis(300));
+
+    public Branch getBook() {
+        return book;
+    }
+
+    public void setBook(Branch book) {
+        this.book = book;
+    }
+
+    public Branch getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Branch categories) {
+        this.categories = categories;
+    }
+
+    public Branch getInventory() {
+        return inventory;
+    }
+
+    public void setInventory(Branch inventory) {
+        this.inventory = inventory;
+    }
+
+    public Branch getRentals() {
+        return rentals;
+    }
+
+    public void setRentals(Branch rentals) {
+        this.rentals = rentals;
+    }
+
+    public static class Branch {
+
+        /**
+         * Base URL of the service, including its context path. The host is a service id
+         * resolved through the load balancer.
+         */
+        private String baseUrl;
+
+        /**
+         * Time after which the branch is reported as failed and left out of the document.
+         */
+        private Duration timeout;
+
+        public Branch() {
+        }
+
+        public Branch(String baseUrl, Duration timeout) {
+            this.baseUrl = baseUrl;
+            this.timeout = timeout;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.bookstore.gateway.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Incremental gzip or deflate encoder for one response body. Input buffers are released as
+ * soon as they are consumed and output goes straight into buffers from the response's
+ * (pooled) buffer factory, so nothing is accumulated on the heap. Methods are synchronized
+ * only because a cancellation may release the deflater while a chunk is being compressed on
+ * another thread; the lock is otherwise uncontended.
+ */
+public class CompressingStream {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final DeflaterPool pool;
+    private final DataBufferFactory bufferFactory;
+    private final CRC32 crc;
+    private DeflaterPool.PooledDeflater pooled;
+    private boolean headerWritten;
+    private long bytesIn;
+    private long bytesOut;
+
+    /**
+     * @param gzip whether to frame the output as gzip; otherwise the pool must produce zlib output
+     */
+    public CompressingStream(DeflaterPool pool, DataBufferFactory bufferFactory, boolean gzip) {
+        this.pool = pool;
+        this.bufferFactory = bufferFactory;
+        this.crc = gzip ? new CRC32() : null;
+        this.pooled = pool.acquire();
+        this.headerWritten = !gzip;
+    }
+
+    public synchronized DataBuffer compress(DataBuffer input) {
+        if (pooled == null) {
+            DataBufferUtils.release(input);
+            return bufferFactory.allocateBuffer(0);
+        }
+        DataBuffer output = bufferFactory.allocateBuffer(Math.max(256, input.readableByteCount() / 2));
+        try {
+            writeHeaderIfNeeded(output);
+            try (DataBuffer.ByteBufferIterator iterator = input.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    bytesIn += chunk.remaining();
+                    if (crc != null) {
+                        crc.update(chunk.duplicate());
+                    }
+                    pooled.deflater.setInput(chunk);
+                    drain(output, Deflater.NO_FLUSH);
+                }
+            }
+            return output;
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(output);
+            throw e;
+        } finally {
+            DataBufferUtils.release(input);
+        }
+    }
+
+    public synchronized DataBuffer finish() {
+        if (pooled == null) {
+            return bufferFactory.allocateBuffer(0);
+        }
+        DataBuffer output = bufferFactory.allocateBuffer(256);
+        writeHeaderIfNeeded(output);
+        Deflater deflater = pooled.deflater;
+        deflater.finish();
+        while (!deflater.finished()) {
+            write(output, deflater.deflate(pooled.scratch, 0, pooled.scratch.length));
+        }
+        if (crc != null) {
+            byte[] trailer = new byte[8];
+            writeIntLe(trailer, 0, crc.getValue());
+            writeIntLe(trailer, 4, bytesIn);
+            write(output, trailer, trailer.length);
+        }
+        return output;
+    }
+
+    /**
+     * Returns the deflater to the pool; the stream must not be used afterwards.
+     */
+    public synchronized void release() {
+        if (pooled != null) {
+            pool.release(pooled);
+            pooled = null;
+        }
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    private void drain(DataBuffer output, int flush) {
+        Deflater deflater = pooled.deflater;
+        while (!deflater.needsInput()) {
+            write(output, deflater.deflate(pooled.scratch, 0, pooled.scratch.length, flush));
+        }
+    }
+
+    private void writeHeaderIfNeeded(DataBuffer output) {
+        if (!headerWritten) {
+            output.write(GZIP_HEADER);
+            bytesOut += GZIP_HEADER.length;
+            headerWritten = true;
+        }
+    }
+
+    private void write(DataBuffer output, int length) {
+        write(output, pooled.scratch, length);
+    }
+
+    private void write(DataBuffer output, byte[] bytes, int length) {
+        if (length > 0) {
+            output.ensureWritable(length);
+            output.write(bytes, 0, length);
+            bytesOut += length;
+        }
+    }
+
+    private static void writeIntLe(byte[] target, int offset, long value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >>> 8);
+        target[offset + 2] = (byte) (value >>> 16);
+        target[offset + 3] = (byte) (value >>> 24);
+    }
+}
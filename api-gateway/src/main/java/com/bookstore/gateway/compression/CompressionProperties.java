@@ -0,0 +1,79 @@
+package com.bookstore.gateway.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    /**
+     * Whether responses are compressed for clients that accept gzip or deflate.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Responses with a smaller Content-Length are sent uncompressed. Responses of unknown
+     * length are always compressed when their type qualifies.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Media types that are compressed; parameters such as charset are ignored.
+     */
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json", "application/problem+json", "application/xml", "application/javascript",
+            "text/html", "text/plain", "text/css", "text/csv", "text/xml", "image/svg+xml"));
+
+    /**
+     * Deflate compression level, 1 (fastest) to 9 (smallest).
+     */
+    private int level = 6;
+
+    /**
+     * Idle compressors kept per encoding for reuse.
+     */
+    private int poolSize = 64;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    public void setMinResponseSize(DataSize minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookstore.gateway.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Pool of {@link Deflater}s, each paired with its output scratch buffer. Deflaters hold
+ * native zlib state and a few hundred KB of window memory, so creating one per response is
+ * what makes naive compression expensive.
+ */
+public class DeflaterPool {
+
+    static final int SCRATCH_SIZE = 16 * 1024;
+
+    private final int level;
+    private final boolean nowrap;
+    private final BlockingQueue<PooledDeflater> idle;
+
+    public static final class PooledDeflater {
+
+        final Deflater deflater;
+        final byte[] scratch = new byte[SCRATCH_SIZE];
+
+        private PooledDeflater(int level, boolean nowrap) {
+            this.deflater = new Deflater(level, nowrap);
+        }
+    }
+
+    /**
+     * @param nowrap {@code true} for raw deflate (framed as gzip by the caller), {@code false}
+     *               for the zlib format used by the {@code deflate} content coding
+     */
+    public DeflaterPool(int level, boolean nowrap, int capacity) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    public PooledDeflater acquire() {
+        PooledDeflater pooled = idle.poll();
+        return pooled != null ? pooled : new PooledDeflater(level, nowrap);
+    }
+
+    public void release(PooledDeflater pooled) {
+        pooled.deflater.reset();
+        if (!idle.offer(pooled)) {
+            pooled.deflater.end();
+        }
+    }
+}
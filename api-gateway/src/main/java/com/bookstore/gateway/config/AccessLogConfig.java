@@ -0,0 +1,31 @@
+package com.bookstore.gateway.config;
+
+import com.bookstore.gateway.filter.AccessLogGlobalFilter;
+import com.bookstore.gateway.logging.AccessLogProperties;
+import com.bookstore.gateway.logging.AccessLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean
+    public AccessLogWriter accessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        AccessLogWriter writer = new AccessLogWriter(properties.getBufferSize());
+        FunctionCounter.builder("gateway.access.log.dropped", writer, AccessLogWriter::getDropped)
+                .description("Access log records dropped because the ring buffer was full")
+                .register(meterRegistry);
+        return writer;
+    }
+
+    @Bean
+    public AccessLogGlobalFilter accessLogGlobalFilter(AccessLogWriter accessLogWriter, AccessLogProperties properties) {
+        return new AccessLogGlobalFilter(accessLogWriter, properties);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookstore.gateway.config;
+
+import com.bookstore.gateway.composite.BookDetailHandler;
+import com.bookstore.gateway.composite.BookDetailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.http.client.HttpClient;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * Aggregation endpoints served by the gateway itself rather than proxied to a single service.
+ */
+@Configuration
+@EnableConfigurationProperties(BookDetailProperties.class)
+public class CompositeRoutesConfig {
+
+    @Bean
+    public BookDetailHandler bookDetailHandler(WebClient.Builder webClientBuilder, HttpClient gatewayHttpClient,
+                                               ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                               BookDetailProperties properties) {
+        // Share the upstream connection pools and instance selection with proxied routes
+        WebClient webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(gatewayHttpClient))
+                .filter(loadBalancerFunction)
+                .build();
+        return new BookDetailHandler(webClient, properties);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> compositeRoutes(BookDetailHandler bookDetailHandler) {
+        return RouterFunctions.route(GET("/api/composite/books/{id}"), bookDetailHandler::getBookDetail);
+    }
+}
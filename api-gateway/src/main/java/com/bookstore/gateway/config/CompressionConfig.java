@@ -0,0 +1,21 @@
+package com.bookstore.gateway.config;
+
+import com.bookstore.gateway.compression.CompressionProperties;
+import com.bookstore.gateway.filter.ResponseCompressionGlobalFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CompressionProperties.class)
+@ConditionalOnProperty(prefix = "gateway.compression", name = "enabled", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public ResponseCompressionGlobalFilter responseCompressionGlobalFilter(CompressionProperties properties,
+                                                                           MeterRegistry meterRegistry) {
+        return new ResponseCompressionGlobalFilter(properties, meterRegistry);
+    }
+}
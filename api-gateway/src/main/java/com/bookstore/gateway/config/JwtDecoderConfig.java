@@ -0,0 +1,76 @@
+package com.bookstore.gateway.config;
+
+import com.bookstore.gateway.security.CachingReactiveJwtDecoder;
+import com.bookstore.gateway.security.JwkSetCache;
+import com.bookstore.gateway.security.JwtCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JWT decoding for the resource server: keys come from an in-memory {@link JwkSetCache} and
+ * verified tokens are remembered by {@link CachingReactiveJwtDecoder}. Only active when a
+ * JWK set URI is configured; Spring Boot's resource server setup picks the decoder up.
+ */
+@Configuration
+@EnableConfigurationProperties(JwtCacheProperties.class)
+@ConditionalOnProperty(prefix = "spring.security.oauth2.resourceserver.jwt", name = "jwk-set-uri")
+public class JwtDecoderConfig {
+
+    @Bean
+    public JwkSetCache jwkSetCache(OAuth2ResourceServerProperties resourceServerProperties,
+                                   JwtCacheProperties cacheProperties, WebClient.Builder webClientBuilder) {
+        return new JwkSetCache(webClientBuilder.build(),
+                resourceServerProperties.getJwt().getJwkSetUri(),
+                cacheProperties.getJwkRefreshInterval(),
+                cacheProperties.getJwkMinRefreshInterval());
+    }
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwkSetCache jwkSetCache, OAuth2ResourceServerProperties resourceServerProperties,
+                                         JwtCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        OAuth2ResourceServerProperties.Jwt jwtProperties = resourceServerProperties.getJwt();
+        NimbusReactiveJwtDecoder.JwkSourceReactiveJwtDecoderBuilder builder =
+                NimbusReactiveJwtDecoder.withJwkSource(jwkSetCache);
+        jwtProperties.getJwsAlgorithms().forEach(algorithm -> builder.jwsAlgorithm(SignatureAlgorithm.from(algorithm)));
+        NimbusReactiveJwtDecoder nimbusDecoder = builder.build();
+        nimbusDecoder.setJwtValidator(validator(jwtProperties));
+
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(nimbusDecoder,
+                cacheProperties.getMaxEntries(), cacheProperties.getMaxTimeToLive());
+        decoder.bindMetrics(meterRegistry);
+        return decoder;
+    }
+
+    private static OAuth2TokenValidator<Jwt> validator(OAuth2ResourceServerProperties.Jwt jwtProperties) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        String issuer = jwtProperties.getIssuerUri();
+        validators.add(StringUtils.hasText(issuer)
+                ? JwtValidators.createDefaultWithIssuer(issuer)
+                : JwtValidators.createDefault());
+        List<String> audiences = jwtProperties.getAudiences();
+        if (!audiences.isEmpty()) {
+            validators.add(new JwtClaimValidator<Collection<String>>(JwtClaimNames.AUD,
+                    aud -> aud != null && aud.stream().anyMatch(audiences::contains)));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookstore.gateway.config;
+
+import com.bookstore.gateway.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import com.bookstore.gateway.loadbalancer.PeakEwmaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PeakEwmaProperties.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
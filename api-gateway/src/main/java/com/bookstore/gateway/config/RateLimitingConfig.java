@@ -0,0 +1,43 @@
+package com.bookstore.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+@Configuration
+public class RateLimitingConfig {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    /**
+     * Identifies the caller for rate limiting: the authenticated principal when there is one,
+     * otherwise the client address. {@code X-Forwarded-For} is client-supplied, so it is only
+     * read behind the configured number of trusted proxies, counting from the right; by
+     * default the socket address is used and rotating the header buys no fresh bucket.
+     */
+    @Bean
+    public KeyResolver clientKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        RemoteAddressResolver addressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+        return exchange -> exchange.getPrincipal()
+                .map(Principal::getName)
+                .map(name -> "user:" + name)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + hostAddress(addressResolver.resolve(exchange))));
+    }
+
+    private static String hostAddress(InetSocketAddress address) {
+        if (address == null) {
+            return ANONYMOUS;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
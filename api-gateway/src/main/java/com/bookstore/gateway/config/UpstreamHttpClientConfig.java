@@ -0,0 +1,66 @@
+package com.bookstore.gateway.config;
+
+import com.bookstore.gateway.filter.RoutePoolRoutingFilter;
+import com.bookstore.gateway.upstream.UpstreamHttpClientProperties;
+import com.bookstore.gateway.upstream.UpstreamHttpClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the gateway's default upstream {@link HttpClient} (the gateway backs off when an
+ * {@code HttpClient} bean exists) with one whose connection pools are sized per route.
+ * Pool metrics are published as {@code reactor.netty.connection.provider.*}.
+ * <p>
+ * Routes with a pool of their own are forwarded through {@link RoutePoolRoutingFilter}, which
+ * replaces the gateway's routing filter ({@code spring.cloud.gateway.global-filter.netty-routing.enabled}
+ * is off) and picks the client by route id, so {@code lb://} instances discovered after
+ * startup get the route's pool too.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamHttpClientProperties.class)
+public class UpstreamHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(UpstreamHttpClientProperties properties) {
+        return UpstreamHttpClients.connectionProvider(properties);
+    }
+
+    @Bean
+    public HttpClient gatewayHttpClient(ConnectionProvider upstreamConnectionProvider,
+                                        UpstreamHttpClientProperties properties,
+                                        List<HttpClientCustomizer> customizers) {
+        return customize(UpstreamHttpClients.httpClient(upstreamConnectionProvider, properties), customizers);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public RoutePoolRoutingFilter routePoolRoutingFilter(HttpClient gatewayHttpClient,
+                                                         UpstreamHttpClientProperties properties,
+                                                         List<HttpClientCustomizer> customizers,
+                                                         ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                         HttpClientProperties httpClientProperties) {
+        Map<String, ConnectionProvider> providers = UpstreamHttpClients.routeConnectionProviders(properties);
+        Map<String, HttpClient> routeClients = new LinkedHashMap<>();
+        providers.forEach((routeId, provider) ->
+                routeClients.put(routeId, customize(UpstreamHttpClients.httpClient(provider, properties), customizers)));
+        return new RoutePoolRoutingFilter(gatewayHttpClient, headersFilters, httpClientProperties, routeClients,
+                providers.values());
+    }
+
+    private static HttpClient customize(HttpClient client, List<HttpClientCustomizer> customizers) {
+        for (HttpClientCustomizer customizer : customizers) {
+            client = customizer.customize(client);
+        }
+        return client;
+    }
+}
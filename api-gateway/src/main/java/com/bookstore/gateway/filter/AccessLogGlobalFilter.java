@@ -0,0 +1,170 @@
+package com.bookstore.gateway.filter;
+
+import com.bookstore.gateway.logging.AccessLogProperties;
+import com.bookstore.gateway.logging.AccessLogRecord;
+import com.bookstore.gateway.logging.AccessLogWriter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every proxied exchange (route, status, upstream latency, bytes) into the
+ * asynchronous access log. Successful fast requests are sampled; errors and slow requests are
+ * always recorded. A request carrying the configured trace header with the configured token
+ * is recorded with its headers and resolved upstream URL, replacing the framework's global
+ * DEBUG logging. Tracing is off while no token is configured, and credential headers (and the
+ * trace header itself) are redacted even in traces.
+ */
+public class AccessLogGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final Set<String> CREDENTIAL_HEADERS = Set.of(
+            HttpHeaders.AUTHORIZATION.toLowerCase(), HttpHeaders.COOKIE.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(), HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+            "x-api-key", "x-auth-token");
+
+    private final AccessLogWriter writer;
+    private final AccessLogProperties properties;
+    private final long slowThresholdNanos;
+    private final byte[] traceToken;
+    private final Set<String> redactedHeaders;
+
+    public AccessLogGlobalFilter(AccessLogWriter writer, AccessLogProperties properties) {
+        this.writer = writer;
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        String token = properties.getTraceToken();
+        this.traceToken = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        Set<String> redacted = new HashSet<>(CREDENTIAL_HEADERS);
+        redacted.add(properties.getTraceHeader().toLowerCase());
+        this.redactedHeaders = Set.copyOf(redacted);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        boolean traced = isTraced(exchange.getRequest());
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+        response.beforeCommit(() -> {
+            response.committedAt = System.nanoTime();
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    long end = System.nanoTime();
+                    HttpStatusCode status = response.getStatusCode();
+                    boolean failed = status == null || status.is5xxServerError();
+                    if (!traced && !failed && end - start < slowThresholdNanos && !sampled()) {
+                        return;
+                    }
+                    long committedAt = response.committedAt != 0 ? response.committedAt : end;
+                    writer.publish(new AccessLogRecord(
+                            timestamp,
+                            exchange.getRequest().getMethod().name(),
+                            exchange.getRequest().getPath().value(),
+                            routeId(exchange),
+                            status != null ? status.value() : 0,
+                            TimeUnit.NANOSECONDS.toMillis(committedAt - start),
+                            TimeUnit.NANOSECONDS.toMillis(end - start),
+                            response.bytes.get(),
+                            clientAddress(exchange.getRequest()),
+                            traced ? traceDetail(exchange, response, signal.toString()) : null));
+                });
+    }
+
+    private boolean isTraced(ServerHttpRequest request) {
+        if (traceToken == null) {
+            return false;
+        }
+        String value = request.getHeaders().getFirst(properties.getTraceHeader());
+        return value != null && MessageDigest.isEqual(traceToken, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private Map<String, String> traceDetail(ServerWebExchange exchange, ServerHttpResponse response,
+                                                   String signal) {
+        Map<String, String> detail = new LinkedHashMap<>();
+        URI upstream = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (upstream != null) {
+            detail.put("upstream_url", upstream.toString());
+        }
+        detail.put("query", String.valueOf(exchange.getRequest().getURI().getRawQuery()));
+        detail.put("signal", signal);
+        exchange.getRequest().getHeaders().forEach((name, values) -> detail.put("req." + name, headerValue(name, values)));
+        response.getHeaders().forEach((name, values) -> detail.put("res." + name, headerValue(name, values)));
+        return detail;
+    }
+
+    private String headerValue(String name, List<String> values) {
+        return redactedHeaders.contains(name.toLowerCase()) ? "[redacted]" : String.join(",", values);
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : null;
+    }
+
+    private static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    private static final class CountingResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile long committedAt;
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(part ->
+                    Flux.from(part).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.bookstore.gateway.filter;
+
+import com.bookstore.gateway.limit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load with {@code 503 Service Unavailable} once a route's in-flight requests exceed an
+ * adaptive limit derived from upstream latency (see {@link AdaptiveConcurrencyLimiter}).
+ * <p>
+ * Usage:
+ * <pre>
+ * filters:
+ *   - name: AdaptiveConcurrency
+ *     args:
+ *       initial-limit: 50
+ *       max-limit: 400
+ * </pre>
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    private record RouteLimiter(AdaptiveConcurrencyLimiter limiter, Counter shed) {
+    }
+
+    public AdaptiveConcurrencyGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteLimiter route = limiters.computeIfAbsent(String.valueOf(config.getRouteId()),
+                routeId -> createLimiter(routeId, config));
+        AdaptiveConcurrencyLimiter limiter = route.limiter();
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                route.shed().increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                        Long.toString(config.getRetryAfterSeconds()));
+                return exchange.getResponse().setComplete();
+            }
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (signal == SignalType.CANCEL) {
+                            limiter.onIgnore();
+                        } else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                            limiter.onFailure();
+                        } else {
+                            limiter.onSuccess(System.nanoTime() - start);
+                        }
+                    });
+        };
+    }
+
+    private RouteLimiter createLimiter(String routeId, Config config) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), config.getTolerance(), config.getSmoothing());
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("routeId", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted to the upstream service")
+                .tag("routeId", routeId)
+                .register(meterRegistry);
+        Counter shed = Counter.builder("gateway.concurrency.shed")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .tag("routeId", routeId)
+                .register(meterRegistry);
+        return new RouteLimiter(limiter, shed);
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private int initialLimit = 20;
+        private int minLimit = 5;
+        private int maxLimit = 200;
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+        private long retryAfterSeconds = 1;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bookstore.gateway.filter;
+
+import com.bookstore.gateway.cache.CachedResponse;
+import com.bookstore.gateway.cache.CachedResponseWriter;
+import com.bookstore.gateway.cache.CapturingResponseDecorator;
+import com.bookstore.gateway.cache.SingleFlight;
+import com.bookstore.gateway.cache.SingleFlightMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight filter for hot GET endpoints whose responses cannot be cached.
+ * <p>
+ * Identical requests (same path, query and key headers) that arrive while one is already
+ * being forwarded join that call and each receive a copy of its response, so a burst on a
+ * trending title costs book-service one request instead of hundreds. Nothing is kept after
+ * the upstream call completes. Responses are buffered in full, so apply it only to routes
+ * returning small JSON documents.
+ * <p>
+ * Only anonymous requests are coalesced: a request carrying credentials (Authorization or
+ * Cookie headers) may see a per-user response and is always forwarded on its own. Apply the
+ * filter to public catalog routes and list in {@code key-headers} every request header the
+ * upstream varies its response on.
+ * <p>
+ * The filter runs ahead of the route's rate and concurrency limiters, so only the forwarded
+ * request passes them. Only successful responses are shared; a joined request whose call
+ * failed, or was throttled, is forwarded through the limiters on its own.
+ * <p>
+ * Usage:
+ * <pre>
+ * filters:
+ *   - name: RequestCoalescing
+ *     args:
+ *       key-headers: Accept, Accept-Language
+ * </pre>
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private static final String FORWARDED_ATTR = RequestCoalescingGatewayFilterFactory.class.getName() + ".forwarded";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SingleFlight<String, CachedResponse>> singleFlights = new ConcurrentHashMap<>();
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Reused across route refreshes so the registered meters keep pointing at live counters
+        SingleFlight<String, CachedResponse> singleFlight = singleFlights.computeIfAbsent(
+                String.valueOf(config.getRouteId()), routeId -> {
+                    SingleFlight<String, CachedResponse> created = new SingleFlight<>();
+                    SingleFlightMetrics.bind(meterRegistry, created, routeId, "RequestCoalescing");
+                    return created;
+                });
+        return new OrderedGatewayFilter(
+                (exchange, chain) -> filter(exchange, chain, config, singleFlight),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                              SingleFlight<String, CachedResponse> singleFlight) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod()) || hasCredentials(request)) {
+            return chain.filter(exchange);
+        }
+        return singleFlight.execute(requestKey(request, config.getKeyHeaders()), () -> forward(exchange, chain))
+                .switchIfEmpty(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+                    return Mono.empty();
+                }))
+                .flatMap(response -> {
+                    if (exchange.getAttribute(FORWARDED_ATTR) == null && !response.isShareable()) {
+                        return chain.filter(exchange);
+                    }
+                    return CachedResponseWriter.write(exchange, response, null);
+                });
+    }
+
+    private Mono<CachedResponse> forward(ServerWebExchange exchange, GatewayFilterChain chain) {
+        exchange.getAttributes().put(FORWARDED_ATTR, Boolean.TRUE);
+        // Conditionals differ between callers; each one is evaluated against the shared response
+        ServerHttpRequest upstreamRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+        CapturingResponseDecorator capturing = new CapturingResponseDecorator(exchange.getResponse());
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(capturing).build())
+                .then(Mono.fromSupplier(() -> {
+                    HttpHeaders headers = capturing.getCapturedHeaders();
+                    return headers == null ? null : capturing.toCachedResponse(headers.getETag(), 0, 0);
+                }));
+    }
+
+    /**
+     * @return whether the request authenticates itself, so its response may be per-user
+     */
+    static boolean hasCredentials(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.containsKey(HttpHeaders.AUTHORIZATION)
+                || headers.containsKey(HttpHeaders.PROXY_AUTHORIZATION)
+                || headers.containsKey(HttpHeaders.COOKIE);
+    }
+
+    private static String requestKey(ServerHttpRequest request, List<String> keyHeaders) {
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : keyHeaders) {
+            key.append('|').append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private List<String> keyHeaders = new ArrayList<>(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE));
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public List<String> getKeyHeaders() {
+            return keyHeaders;
+        }
+
+        public void setKeyHeaders(List<String> keyHeaders) {
+            this.keyHeaders = keyHeaders;
+        }
+    }
+}
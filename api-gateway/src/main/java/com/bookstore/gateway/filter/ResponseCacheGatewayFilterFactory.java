@@ -0,0 +1,280 @@
+package com.bookstore.gateway.filter;
+
+import com.bookstore.gateway.cache.BoundedResponseCache;
+import com.bookstore.gateway.cache.CachedResponse;
+import com.bookstore.gateway.cache.CachedResponseWriter;
+import com.bookstore.gateway.cache.CapturingResponseDecorator;
+import com.bookstore.gateway.cache.SingleFlight;
+import com.bookstore.gateway.cache.SingleFlightMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-route shared cache for idempotent GET responses.
+ * <p>
+ * Fresh entries are served without contacting the upstream service, and conditional
+ * requests whose {@code If-None-Match} matches the entry's ETag get {@code 304}. Concurrent
+ * misses for the same key are collapsed into a single upstream call. Upstream
+ * {@code Cache-Control} is honoured: {@code no-store}, {@code private} and {@code no-cache}
+ * responses are never stored, and {@code s-maxage}/{@code max-age} override the route's
+ * default time to live. Requests carrying credentials (Authorization, Proxy-Authorization or
+ * Cookie headers) bypass the cache entirely.
+ * <p>
+ * Entries are keyed by path, query and {@code Accept}, plus the values of every request
+ * header the stored response lists in {@code Vary}; responses with {@code Vary: *} are never
+ * stored. A request that joined an in-flight miss whose response varies on a header it
+ * differs in, or that failed, is forwarded upstream on its own.
+ * <p>
+ * The filter runs ahead of the route's rate and concurrency limiters, so only the caller that
+ * goes upstream passes them; a 429 or 503 it gets is never handed to the others.
+ * <p>
+ * Usage:
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       time-to-live: 30s
+ *       max-entries: 2000
+ *       max-body-size: 512KB
+ * </pre>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String FETCHED_ATTR = ResponseCacheGatewayFilterFactory.class.getName() + ".fetched";
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SingleFlight<String, Variant>> singleFlights = new ConcurrentHashMap<>();
+
+    /**
+     * A fetched response and the variant key it was fetched under, {@code null} for {@code Vary: *}.
+     */
+    private record Variant(String key, CachedResponse response) {
+    }
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        BoundedResponseCache cache = new BoundedResponseCache(config.getMaxEntries());
+        SingleFlight<String, Variant> singleFlight = singleFlights.computeIfAbsent(
+                String.valueOf(config.getRouteId()), routeId -> {
+                    SingleFlight<String, Variant> created = new SingleFlight<>();
+                    SingleFlightMetrics.bind(meterRegistry, created, routeId, "ResponseCache");
+                    return created;
+                });
+        // Must run before NettyWriteResponseFilter so that it writes through our decorator
+        return new OrderedGatewayFilter(
+                (exchange, chain) -> filter(exchange, chain, config, cache, singleFlight),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                              BoundedResponseCache cache, SingleFlight<String, Variant> singleFlight) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())
+                || RequestCoalescingGatewayFilterFactory.hasCredentials(request)) {
+            return chain.filter(exchange);
+        }
+        String requestCacheControl = lowerCase(request.getHeaders().getCacheControl());
+        if (requestCacheControl.contains("no-store")) {
+            return chain.filter(exchange);
+        }
+
+        String requestKey = cacheKey(request);
+        String key = variantKey(requestKey, request, cache.getVary(requestKey));
+        if (!requestCacheControl.contains("no-cache")) {
+            CachedResponse hit = cache.get(key, System.currentTimeMillis());
+            if (hit != null) {
+                return CachedResponseWriter.write(exchange, hit, "HIT");
+            }
+        }
+
+        return singleFlight.execute(key, () -> fetch(exchange, chain, config, cache, requestKey))
+                .switchIfEmpty(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+                    return Mono.empty();
+                }))
+                .flatMap(variant -> {
+                    if (exchange.getAttribute(FETCHED_ATTR) == null && (!variant.response().isShareable()
+                            || !Objects.equals(variant.key(),
+                            variantKey(requestKey, request, variant.response().headers().getVary())))) {
+                        return chain.filter(exchange);
+                    }
+                    return CachedResponseWriter.write(exchange, variant.response(), "MISS");
+                });
+    }
+
+    private Mono<Variant> fetch(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                                BoundedResponseCache cache, String requestKey) {
+        exchange.getAttributes().put(FETCHED_ATTR, Boolean.TRUE);
+        // Always ask upstream for the full representation; conditionals are answered here
+        ServerHttpRequest upstreamRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+        CapturingResponseDecorator capturing = new CapturingResponseDecorator(exchange.getResponse());
+
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(capturing).build())
+                .then(Mono.fromSupplier(() -> {
+                    HttpHeaders headers = capturing.getCapturedHeaders();
+                    byte[] body = capturing.getCapturedBody();
+                    if (headers == null) {
+                        return null;
+                    }
+                    long now = System.currentTimeMillis();
+                    int status = exchange.getResponse().getStatusCode() != null
+                            ? exchange.getResponse().getStatusCode().value() : HttpStatus.OK.value();
+                    long freshness = freshnessMillis(status, headers, config.getTimeToLive());
+
+                    String etag = headers.getETag();
+                    if (etag == null && status == HttpStatus.OK.value()) {
+                        etag = "\"0" + DigestUtils.md5DigestAsHex(body) + '"';
+                        headers.setETag(etag);
+                    }
+                    CachedResponse response = capturing.toCachedResponse(etag, now, now + Math.max(freshness, 0));
+                    if (response == null) {
+                        return null;
+                    }
+                    List<String> vary = headers.getVary();
+                    String key = variantKey(requestKey, exchange.getRequest(), vary);
+                    if (key != null && freshness > 0 && body.length <= config.getMaxBodySize().toBytes()) {
+                        cache.put(requestKey, vary, key, response);
+                    }
+                    return new Variant(key, response);
+                }));
+    }
+
+    /**
+     * @return how long the response may be served from cache, or a non-positive value if it
+     * must not be stored
+     */
+    static long freshnessMillis(int status, HttpHeaders headers, Duration defaultTtl) {
+        if (status != HttpStatus.OK.value()
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")) {
+            return -1;
+        }
+        String cacheControl = lowerCase(headers.getCacheControl());
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")
+                || cacheControl.contains("no-cache")) {
+            return -1;
+        }
+        long maxAgeSeconds = -1;
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        while (matcher.find()) {
+            long seconds = Long.parseLong(matcher.group(2));
+            if ("s-maxage".equals(matcher.group(1))) {
+                return seconds * 1000;
+            }
+            maxAgeSeconds = seconds;
+        }
+        return maxAgeSeconds >= 0 ? maxAgeSeconds * 1000 : defaultTtl.toMillis();
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String query = request.getURI().getRawQuery();
+        return request.getURI().getRawPath()
+                + (query != null ? '?' + query : "")
+                + '|' + (accept != null ? accept : "");
+    }
+
+    /**
+     * @return the request key extended with the request's values of the varying headers, or
+     * {@code null} if the response varies on everything
+     */
+    static String variantKey(String requestKey, ServerHttpRequest request, List<String> vary) {
+        if (vary.isEmpty()) {
+            return requestKey;
+        }
+        StringBuilder key = new StringBuilder(requestKey);
+        for (String header : vary) {
+            if ("*".equals(header)) {
+                return null;
+            }
+            List<String> values = request.getHeaders().get(header);
+            key.append('|').append(header.toLowerCase(Locale.ROOT)).append('=');
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private Duration timeToLive = Duration.ofSeconds(30);
+        private int maxEntries = 1000;
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+}
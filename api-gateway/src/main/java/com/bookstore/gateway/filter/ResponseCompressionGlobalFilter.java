@@ -0,0 +1,202 @@
+package com.bookstore.gateway.filter;
+
+import com.bookstore.gateway.compression.CompressingStream;
+import com.bookstore.gateway.compression.CompressionProperties;
+import com.bookstore.gateway.compression.DeflaterPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compresses proxied responses with gzip or deflate when the client accepts it, the media
+ * type is on the allowlist and the body is not known to be smaller than the threshold.
+ * Compression is streamed chunk by chunk with pooled deflaters. Input and output sizes and
+ * the achieved ratio are recorded per encoding.
+ * <p>
+ * Runs before the response cache, so cached entries stay uncompressed and each client gets
+ * the encoding it asked for.
+ */
+public class ResponseCompressionGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private final CompressionProperties properties;
+    private final Set<String> mimeTypes;
+    private final DeflaterPool gzipPool;
+    private final DeflaterPool deflatePool;
+    private final Metrics gzipMetrics;
+    private final Metrics deflateMetrics;
+    private final Counter skippedTooSmall;
+
+    private record Metrics(DistributionSummary bytesIn, DistributionSummary bytesOut, DistributionSummary ratio) {
+
+        static Metrics register(MeterRegistry registry, String encoding) {
+            return new Metrics(
+                    DistributionSummary.builder("gateway.compression.bytes.in")
+                            .description("Response body size before compression")
+                            .baseUnit("bytes")
+                            .tag("encoding", encoding)
+                            .register(registry),
+                    DistributionSummary.builder("gateway.compression.bytes.out")
+                            .description("Response body size after compression")
+                            .baseUnit("bytes")
+                            .tag("encoding", encoding)
+                            .register(registry),
+                    DistributionSummary.builder("gateway.compression.ratio")
+                            .description("Compressed size divided by original size")
+                            .tag("encoding", encoding)
+                            .register(registry));
+        }
+
+        void record(CompressingStream stream) {
+            if (stream.getBytesIn() == 0) {
+                return;
+            }
+            bytesIn.record(stream.getBytesIn());
+            bytesOut.record(stream.getBytesOut());
+            ratio.record((double) stream.getBytesOut() / stream.getBytesIn());
+        }
+    }
+
+    public ResponseCompressionGlobalFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mimeTypes = properties.getMimeTypes().stream()
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.gzipPool = new DeflaterPool(properties.getLevel(), true, properties.getPoolSize());
+        this.deflatePool = new DeflaterPool(properties.getLevel(), false, properties.getPoolSize());
+        this.gzipMetrics = Metrics.register(meterRegistry, GZIP);
+        this.deflateMetrics = Metrics.register(meterRegistry, DEFLATE);
+        this.skippedTooSmall = Counter.builder("gateway.compression.skipped")
+                .description("Compressible responses sent uncompressed because they were below the size threshold")
+                .tag("reason", "below-threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside NettyWriteResponseFilter and the response cache, which run at -1 and -2
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String encoding = negotiate(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange.getResponse(), encoding)).build());
+    }
+
+    /**
+     * Picks gzip over deflate; a coding with {@code q=0} is refused.
+     */
+    static String negotiate(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String header : acceptEncoding) {
+            for (String part : header.split(",")) {
+                String[] tokens = part.trim().toLowerCase(Locale.ROOT).split(";");
+                String coding = tokens[0].trim();
+                boolean refused = tokens.length > 1 && tokens[1].replace(" ", "").matches("q=0(\\.0*)?");
+                if (refused) {
+                    continue;
+                }
+                if (GZIP.equals(coding) || "*".equals(coding)) {
+                    return GZIP;
+                }
+                deflate |= DEFLATE.equals(coding);
+            }
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private boolean isCompressible(HttpHeaders headers, HttpStatusCode status) {
+        if (status != null && (status.value() == 204 || status.value() == 304 || status.is1xxInformational())) {
+            return false;
+        }
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        String type = (contentType.getType() + '/' + contentType.getSubtype()).toLowerCase(Locale.ROOT);
+        return mimeTypes.contains(type);
+    }
+
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final String encoding;
+
+        CompressingResponse(ServerHttpResponse delegate, String encoding) {
+            super(delegate);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!isCompressible(headers, getStatusCode())) {
+                return super.writeWith(body);
+            }
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            long contentLength = headers.getContentLength();
+            if (contentLength >= 0 && contentLength < properties.getMinResponseSize().toBytes()) {
+                skippedTooSmall.increment();
+                return super.writeWith(body);
+            }
+
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                // The compressed bytes differ from the identity representation
+                headers.setETag("W/" + etag);
+            }
+
+            boolean gzip = GZIP.equals(encoding);
+            Metrics metrics = gzip ? gzipMetrics : deflateMetrics;
+            return Mono.using(
+                    () -> new CompressingStream(gzip ? gzipPool : deflatePool, bufferFactory(), gzip),
+                    stream -> super.writeWith(Flux.from(body)
+                            .map(stream::compress)
+                            .concatWith(Mono.fromSupplier(stream::finish))
+                            .filter(CompressingResponse::nonEmpty)
+                            .doOnComplete(() -> metrics.record(stream))),
+                    CompressingStream::release);
+        }
+
+        private static boolean nonEmpty(DataBuffer buffer) {
+            if (buffer.readableByteCount() > 0) {
+                return true;
+            }
+            DataBufferUtils.release(buffer);
+            return false;
+        }
+    }
+}
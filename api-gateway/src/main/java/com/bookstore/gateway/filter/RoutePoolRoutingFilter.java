@@ -0,0 +1,53 @@
+package com.bookstore.gateway.filter;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The gateway's routing filter, forwarding each route with a route-specific pool through that
+ * route's own client. The pool is chosen by route id when the request is routed, so it covers
+ * whichever instance the load balancer picked, including instances registered after startup.
+ * Other routes use the default client.
+ */
+public class RoutePoolRoutingFilter extends NettyRoutingFilter {
+
+    private final Map<String, HttpClient> routeClients;
+    private final Collection<ConnectionProvider> routeProviders;
+
+    public RoutePoolRoutingFilter(HttpClient defaultClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                  HttpClientProperties properties, Map<String, HttpClient> routeClients,
+                                  Collection<ConnectionProvider> routeProviders) {
+        super(defaultClient, headersFilters, properties);
+        this.routeClients = Map.copyOf(routeClients);
+        this.routeProviders = List.copyOf(routeProviders);
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = routeClients.get(route.getId());
+        if (client == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client;
+    }
+
+    public void dispose() {
+        routeProviders.forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bookstore.gateway.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows upstream latency, in the spirit of the gradient algorithm
+ * used by Netflix's concurrency-limits library.
+ * <p>
+ * The lowest observed round-trip time serves as the no-load baseline; it drifts slowly
+ * towards recent samples so a permanently slower upstream is eventually accepted. Each completed
+ * request compares its latency against that baseline: while latency stays within
+ * {@code tolerance} of it the limit grows by a small queue allowance, and once queueing
+ * inflates latency the limit shrinks proportionally. Failed requests shrink the limit
+ * multiplicatively. Requests beyond the current limit are rejected rather than queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_DRIFT = 0.001;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double baselineRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return whether the request may proceed; callers that get {@code true} must call
+     * {@link #onSuccess} or {@link #onFailure} exactly once
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        update(rttNanos, concurrency);
+    }
+
+    public void onFailure() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        }
+    }
+
+    /**
+     * Releases a permit without feeding a latency sample, e.g. when the client went away.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int concurrency) {
+        if (baselineRttNanos == 0 || rttNanos < baselineRttNanos) {
+            baselineRttNanos = rttNanos;
+        } else {
+            baselineRttNanos += (rttNanos - baselineRttNanos) * BASELINE_DRIFT;
+        }
+        // Lightly loaded: latency says nothing about the limit, so leave it alone
+        if (concurrency < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / rttNanos));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
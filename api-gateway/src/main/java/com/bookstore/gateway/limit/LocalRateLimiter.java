@@ -0,0 +1,117 @@
+package com.bookstore.gateway.limit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token-bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter}
+ * for the {@code RequestRateLimiter} filter, used instead of the Redis implementation.
+ * <p>
+ * Each (route, client key) pair gets its own bucket. Limits are per gateway instance, so with
+ * N replicas the effective limit is N times the configured one. Buckets that have refilled
+ * completely carry no state and are swept periodically to bound memory.
+ * <p>
+ * Usage:
+ * <pre>
+ * filters:
+ *   - name: RequestRateLimiter
+ *     args:
+ *       key-resolver: "#{@clientKeyResolver}"
+ *       local-rate-limiter.replenish-rate: 50
+ *       local-rate-limiter.burst-capacity: 100
+ * </pre>
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final Config defaultConfig = new Config();
+
+    public LocalRateLimiter(ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(routeId + '\u0000' + id,
+                key -> new TokenBucket(config.getBurstCapacity(), now));
+        long remaining = bucket.tryConsume(config.getReplenishRate(), config.getBurstCapacity(),
+                config.getRequestedTokens(), now);
+        sweepIfNeeded(now);
+        return Mono.just(new Response(remaining >= 0, headers(config, Math.max(remaining, 0))));
+    }
+
+    private Map<String, String> headers(Config config, long remaining) {
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put(REMAINING_HEADER, Long.toString(remaining));
+        headers.put(REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()));
+        return headers;
+    }
+
+    private void sweepIfNeeded(long now) {
+        long last = lastSweepNanos.get();
+        if (buckets.size() < SWEEP_THRESHOLD || now - last < SWEEP_INTERVAL_NANOS
+                || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> {
+            String routeId = entry.getKey().substring(0, entry.getKey().indexOf('\u0000'));
+            Config config = getConfig().getOrDefault(routeId, defaultConfig);
+            return entry.getValue().isFull(config.getReplenishRate(), config.getBurstCapacity(), now);
+        });
+    }
+
+    public static class Config {
+
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookstore.gateway.limit;
+
+/**
+ * Token bucket refilled lazily on access. Tokens are tracked in micro-tokens so low
+ * replenish rates do not lose fractional refills between calls.
+ */
+final class TokenBucket {
+
+    private static final long SCALE = 1_000_000L;
+
+    private long microTokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int burstCapacity, long nowNanos) {
+        this.microTokens = burstCapacity * SCALE;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * @return the whole tokens left after consuming {@code requested}, or {@code -1} if the
+     * bucket does not hold enough tokens (nothing is consumed in that case)
+     */
+    synchronized long tryConsume(int replenishRate, int burstCapacity, int requested, long nowNanos) {
+        refill(replenishRate, burstCapacity, nowNanos);
+        long cost = requested * SCALE;
+        if (microTokens < cost) {
+            return -1;
+        }
+        microTokens -= cost;
+        return microTokens / SCALE;
+    }
+
+    /**
+     * @return whether the bucket has refilled completely, i.e. is indistinguishable from a new one
+     */
+    synchronized boolean isFull(int replenishRate, int burstCapacity, long nowNanos) {
+        refill(replenishRate, burstCapacity, nowNanos);
+        return microTokens >= burstCapacity * SCALE;
+    }
+
+    private void refill(int replenishRate, int burstCapacity, long nowNanos) {
+        long elapsedNanos = nowNanos - lastRefillNanos;
+        if (elapsedNanos <= 0) {
+            return;
+        }
+        lastRefillNanos = nowNanos;
+        long capacity = burstCapacity * SCALE;
+        // replenishRate tokens per second == replenishRate micro-tokens per microsecond
+        long added = elapsedNanos / 1000 * replenishRate;
+        microTokens = added >= capacity - microTokens ? capacity : microTokens + added;
+    }
+}
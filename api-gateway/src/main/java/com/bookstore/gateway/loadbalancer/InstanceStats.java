@@ -0,0 +1,115 @@
+package com.bookstore.gateway.loadbalancer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Load and health of one service instance as observed by the gateway.
+ * <p>
+ * Latency is a peak-sensitive moving average (Finagle's peak EWMA): a sample above the
+ * average replaces it immediately, lower samples are blended in with a weight that depends on
+ * the time since the previous sample. The average also decays towards zero while an instance
+ * sees no traffic, so an instance that was slow once gets probed again.
+ * <p>
+ * In-flight requests are tracked individually rather than counted: a request cancelled by
+ * the client or by a timeout never reaches {@code onComplete}, so entries older than the
+ * stale-request timeout are dropped instead of inflating the instance's cost for good.
+ */
+final class InstanceStats {
+
+    /**
+     * Cost of an instance that has requests in flight but no latency sample yet, so a new or
+     * recovering instance is not flooded before its first response.
+     */
+    private static final double UNSAMPLED_PENALTY_NANOS = 1e9;
+
+    private final long decayNanos;
+    // Request -> start time; keyed by identity, as distinct requests may be equal
+    private final Map<Object, Long> inFlight = Collections.synchronizedMap(new IdentityHashMap<>());
+    private volatile long nextSweepNanos;
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private int consecutiveFailures;
+    private int ejections;
+    private volatile long ejectedUntilNanos;
+
+    InstanceStats(long decayNanos, long nowNanos) {
+        this.decayNanos = decayNanos;
+        this.lastSampleNanos = nowNanos;
+    }
+
+    void requestStarted(Object request, long nowNanos) {
+        inFlight.put(request, nowNanos);
+    }
+
+    void requestFinished(Object request) {
+        inFlight.remove(request);
+    }
+
+    /**
+     * Forgets requests started more than {@code staleNanos} ago. Sweeps at most every quarter
+     * of the timeout, so calling it on every pick is cheap.
+     */
+    void expireStale(long nowNanos, long staleNanos) {
+        if (nowNanos - nextSweepNanos < 0) {
+            return;
+        }
+        nextSweepNanos = nowNanos + Math.max(staleNanos / 4, 1);
+        long cutoff = nowNanos - staleNanos;
+        synchronized (inFlight) {
+            inFlight.values().removeIf(started -> started - cutoff < 0);
+        }
+    }
+
+    synchronized void recordSuccess(long rttNanos, long nowNanos) {
+        if (rttNanos >= 0) {
+            if (rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-Math.max(0, nowNanos - lastSampleNanos) / (double) decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            lastSampleNanos = nowNanos;
+        }
+        consecutiveFailures = 0;
+        if (nowNanos >= ejectedUntilNanos) {
+            ejections = 0;
+        }
+    }
+
+    /**
+     * @return whether this failure got the instance ejected
+     */
+    synchronized boolean recordFailure(long nowNanos, int threshold, long baseEjectionNanos, long maxEjectionNanos) {
+        if (++consecutiveFailures < threshold || isEjected(nowNanos)) {
+            return false;
+        }
+        consecutiveFailures = 0;
+        ejections++;
+        ejectedUntilNanos = nowNanos + Math.min(baseEjectionNanos * ejections, maxEjectionNanos);
+        return true;
+    }
+
+    boolean isEjected(long nowNanos) {
+        return nowNanos < ejectedUntilNanos;
+    }
+
+    long ejectedUntil() {
+        return ejectedUntilNanos;
+    }
+
+    synchronized double cost(long nowNanos) {
+        int outstanding = inFlight.size();
+        if (ewmaNanos == 0 && outstanding > 0) {
+            return UNSAMPLED_PENALTY_NANOS + outstanding;
+        }
+        double decayed = ewmaNanos * Math.exp(-Math.max(0, nowNanos - lastSampleNanos) / (double) decayNanos);
+        return decayed * (outstanding + 1);
+    }
+
+    int outstanding() {
+        return inFlight.size();
+    }
+}
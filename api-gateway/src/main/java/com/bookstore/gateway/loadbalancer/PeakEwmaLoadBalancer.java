@@ -0,0 +1,192 @@
+package com.bookstore.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency-aware load balancer for one service.
+ * <p>
+ * Picks two random healthy instances and sends the request to the one with the lower cost,
+ * where cost is the instance's peak-EWMA latency multiplied by its outstanding requests plus
+ * one ("power of two choices"). Instances that fail {@code failureThreshold} times in a row are
+ * ejected for a growing period, but never more than {@code maxEjectionPercent} of the service
+ * at once. The balancer also acts as the service's {@link LoadBalancerLifecycle}, which is how
+ * it observes latencies and failures of the requests it routed.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Logger log = LoggerFactory.getLogger(PeakEwmaLoadBalancer.class);
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final PeakEwmaProperties properties;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                PeakEwmaProperties properties) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+        this.properties = properties;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::select);
+    }
+
+    private Response<ServiceInstance> select(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No instances available for service {}", serviceId);
+            return new EmptyResponse();
+        }
+        long now = System.nanoTime();
+        pruneStats(instances);
+        long staleNanos = properties.getStaleRequestTimeout().toNanos();
+        for (ServiceInstance instance : instances) {
+            stats(instance, now).expireStale(now, staleNanos);
+        }
+        List<ServiceInstance> candidates = healthy(instances, now);
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(stats(a, now).cost(now) <= stats(b, now).cost(now) ? a : b);
+    }
+
+    /**
+     * Instances that are not ejected. Falls back to all instances when ejection would leave
+     * fewer than the permitted minimum, so a service-wide outage does not empty the pool.
+     */
+    private List<ServiceInstance> healthy(List<ServiceInstance> instances, long now) {
+        List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!stats(instance, now).isEjected(now)) {
+                healthy.add(instance);
+            }
+        }
+        int minimumHealthy = (int) Math.ceil(instances.size() * (1 - properties.getMaxEjectionPercent() / 100.0));
+        if (healthy.size() >= Math.max(1, minimumHealthy)) {
+            return healthy;
+        }
+        // Re-admit the instances whose ejection ends soonest
+        List<ServiceInstance> ejected = new ArrayList<>(instances);
+        ejected.removeAll(healthy);
+        ejected.sort((x, y) -> Long.compare(stats(x, now).ejectedUntil(), stats(y, now).ejectedUntil()));
+        for (ServiceInstance instance : ejected) {
+            if (healthy.size() >= Math.max(1, minimumHealthy)) {
+                break;
+            }
+            healthy.add(instance);
+        }
+        return healthy;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        if (lbResponse.hasServer()) {
+            long now = System.nanoTime();
+            stats(lbResponse.getServer(), now).requestStarted(request, now);
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = System.nanoTime();
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStats instanceStats = stats(instance, now);
+        instanceStats.requestFinished(completionContext.getLoadBalancerRequest());
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+
+        if (isFailure(completionContext)) {
+            boolean ejected = instanceStats.recordFailure(now, properties.getFailureThreshold(),
+                    properties.getBaseEjectionTime().toNanos(), properties.getMaxEjectionTime().toNanos());
+            if (ejected) {
+                log.warn("Ejected instance {}:{} of {} after {} consecutive failures",
+                        instance.getHost(), instance.getPort(), serviceId, properties.getFailureThreshold());
+            }
+            return;
+        }
+        long rtt = -1;
+        if (completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() > 0) {
+            rtt = now - timed.getRequestStartTime();
+        }
+        instanceStats.recordSuccess(rtt, now);
+    }
+
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null
+                && response.getHttpStatus().is5xxServerError();
+    }
+
+    private InstanceStats stats(ServiceInstance instance, long now) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats(properties.getDecayTime().toNanos(), now));
+    }
+
+    private void pruneStats(List<ServiceInstance> instances) {
+        if (stats.size() <= instances.size() * 2) {
+            return;
+        }
+        Set<String> live = new HashSet<>();
+        instances.forEach(instance -> live.add(key(instance)));
+        stats.keySet().retainAll(live);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+}
@@ -0,0 +1,88 @@
+package com.bookstore.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class PeakEwmaProperties {
+
+    /**
+     * Time constant of the latency average; older samples weigh e^-1 after this long.
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * Consecutive failures (errors or 5xx) after which an instance is ejected.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * Ejection time after the first ejection; grows linearly with repeated ejections.
+     */
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on a single ejection.
+     */
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    /**
+     * Largest share of a service's instances that may be ejected at once.
+     */
+    private double maxEjectionPercent = 50;
+
+    /**
+     * After this long an in-flight request no longer counts towards its instance's load.
+     * Cancelled requests are never reported as complete; keep this above the longest route timeout.
+     */
+    private Duration staleRequestTimeout = Duration.ofSeconds(60);
+
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    public void setBaseEjectionTime(Duration baseEjectionTime) {
+        this.baseEjectionTime = baseEjectionTime;
+    }
+
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    public void setMaxEjectionTime(Duration maxEjectionTime) {
+        this.maxEjectionTime = maxEjectionTime;
+    }
+
+    public double getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(double maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public Duration getStaleRequestTimeout() {
+        return staleRequestTimeout;
+    }
+
+    public void setStaleRequestTimeout(Duration staleRequestTimeout) {
+        this.staleRequestTimeout = staleRequestTimeout;
+    }
+}
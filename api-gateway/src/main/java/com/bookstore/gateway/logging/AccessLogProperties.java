@@ -0,0 +1,88 @@
+package com.bookstore.gateway.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    /**
+     * Whether proxied requests are written to the access log at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of successful, fast requests that are logged. Errors and slow requests are
+     * always logged.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Requests slower than this are always logged.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Ring buffer capacity; records are dropped rather than blocking when it is full.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Request header that turns on detailed tracing for a single request.
+     */
+    private String traceHeader = "X-Debug-Trace";
+
+    /**
+     * Value the trace header must carry. When blank, tracing is disabled.
+     */
+    private String traceToken = "";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public String getTraceHeader() {
+        return traceHeader;
+    }
+
+    public void setTraceHeader(String traceHeader) {
+        this.traceHeader = traceHeader;
+    }
+
+    public String getTraceToken() {
+        return traceToken;
+    }
+
+    public void setTraceToken(String traceToken) {
+        this.traceToken = traceToken;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.gateway.logging;
+
+import java.util.Map;
+
+/**
+ * One proxied exchange as written to the access log.
+ *
+ * @param timestamp      epoch millis when the request arrived
+ * @param method         HTTP method
+ * @param path           request path as received by the gateway
+ * @param routeId        matched route, or {@code null} if no route matched
+ * @param status         response status code, 0 if none was set
+ * @param upstreamMillis time until the response was committed, dominated by the upstream call
+ * @param totalMillis    time until the response was fully written
+ * @param bytes          response body bytes written to the client
+ * @param client         client address
+ * @param detail         extra fields for traced requests, {@code null} otherwise
+ */
+public record AccessLogRecord(long timestamp, String method, String path, String routeId, int status,
+                              long upstreamMillis, long totalMillis, long bytes, String client,
+                              Map<String, String> detail) {
+}
@@ -0,0 +1,170 @@
+package com.bookstore.gateway.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the access-log ring buffer on a dedicated thread and writes one JSON line per record
+ * to the {@code com.bookstore.gateway.access} logger, keeping formatting and appender I/O off
+ * the event loop.
+ */
+public class AccessLogWriter implements SmartLifecycle {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("com.bookstore.gateway.access");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AccessLogRingBuffer<AccessLogRecord> buffer;
+    private final StringBuilder line = new StringBuilder(256);
+    private volatile boolean running;
+    private Thread thread;
+    private long reportedDrops;
+
+    public AccessLogWriter(int bufferSize) {
+        this.buffer = new AccessLogRingBuffer<>(bufferSize);
+    }
+
+    /**
+     * Queues a record for writing; never blocks.
+     */
+    public void publish(AccessLogRecord record) {
+        buffer.offer(record);
+    }
+
+    public long getDropped() {
+        return buffer.dropped();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::drainLoop, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int written = 0;
+        AccessLogRecord record;
+        while ((record = buffer.poll()) != null) {
+            try {
+                ACCESS_LOG.info(format(record));
+            } catch (RuntimeException e) {
+                log.warn("Failed to write access log record", e);
+            }
+            written++;
+        }
+        long dropped = buffer.dropped();
+        if (dropped != reportedDrops) {
+            log.warn("Access log buffer full, dropped {} records so far", dropped);
+            reportedDrops = dropped;
+        }
+        return written;
+    }
+
+    private String format(AccessLogRecord record) {
+        line.setLength(0);
+        line.append('{');
+        field("ts", Instant.ofEpochMilli(record.timestamp()).toString());
+        field("method", record.method());
+        field("path", record.path());
+        field("route", record.routeId());
+        number("status", record.status());
+        number("upstream_ms", record.upstreamMillis());
+        number("total_ms", record.totalMillis());
+        number("bytes", record.bytes());
+        field("client", record.client());
+        if (record.detail() != null) {
+            line.append(",\"trace\":{");
+            int start = line.length();
+            for (Map.Entry<String, String> entry : record.detail().entrySet()) {
+                if (line.length() > start) {
+                    line.append(',');
+                }
+                quote(entry.getKey());
+                line.append(':');
+                quote(entry.getValue());
+            }
+            line.append('}');
+        }
+        line.append('}');
+        return line.toString();
+    }
+
+    private void field(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        separator();
+        quote(name);
+        line.append(':');
+        quote(value);
+    }
+
+    private void number(String name, long value) {
+        separator();
+        quote(name);
+        line.append(':').append(value);
+    }
+
+    private void separator() {
+        if (line.length() > 1) {
+            line.append(',');
+        }
+    }
+
+    private void quote(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
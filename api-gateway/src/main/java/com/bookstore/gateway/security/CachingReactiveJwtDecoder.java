@@ -0,0 +1,124 @@
+package com.bookstore.gateway.security;
+
+import com.bookstore.gateway.cache.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers tokens that the delegate decoder has already verified, so a repeat request with
+ * the same bearer token costs a SHA-256 and a map lookup instead of signature verification
+ * and claim parsing.
+ * <p>
+ * Entries are keyed by the token's hash (the raw token is never kept as a key) and expire at
+ * the token's {@code exp}, or after {@code maxTimeToLive} if that comes first. Only
+ * successfully validated tokens are cached; failures always go through the delegate.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ReactiveJwtDecoder delegate;
+    private final int maxEntries;
+    private final long maxTimeToLiveMillis;
+    private final Map<String, CachedJwt> cache = new ConcurrentHashMap<>();
+    private final SingleFlight<String, Jwt> decoding = new SingleFlight<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private record CachedJwt(Jwt jwt, long expiresAtMillis) {
+    }
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, int maxEntries, Duration maxTimeToLive) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxTimeToLiveMillis = maxTimeToLive.toMillis();
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.jwt.cache.hits", hits, LongAdder::sum)
+                .description("Bearer tokens accepted from the verified-token cache")
+                .register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.misses", misses, LongAdder::sum)
+                .description("Bearer tokens that required full verification")
+                .register(registry);
+        Gauge.builder("gateway.jwt.cache.size", cache, Map::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        CachedJwt cached = cache.get(key);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) {
+                hits.increment();
+                return Mono.just(cached.jwt());
+            }
+            cache.remove(key, cached);
+        }
+        misses.increment();
+        return decoding.execute(key, () -> delegate.decode(token)
+                .doOnNext(jwt -> store(key, jwt)));
+    }
+
+    private void store(String key, Jwt jwt) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTimeToLiveMillis;
+        Instant exp = jwt.getExpiresAt();
+        if (exp != null) {
+            expiresAt = Math.min(expiresAt, exp.toEpochMilli());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(key, new CachedJwt(jwt, expiresAt));
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones until the cache is back under 90% of its limit.
+     */
+    private synchronized void evict(long now) {
+        if (cache.size() < maxEntries) {
+            return;
+        }
+        cache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int target = maxEntries - maxEntries / 10;
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return Base64.getEncoder().withoutPadding().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.bookstore.gateway.security;
+
+import com.bookstore.gateway.cache.SingleFlight;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parsed JWK set held in memory and refreshed in the background, used as the key source of
+ * the gateway's JWT decoder.
+ * <p>
+ * Key lookups never wait on the network unless a token names a key id that is not in the
+ * current set (key rotation); such refreshes are collapsed into one request and limited to
+ * one per {@code minRefreshInterval}. A failed refresh keeps serving the previous set.
+ */
+public class JwkSetCache implements Function<SignedJWT, Flux<JWK>>, InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JwkSetCache.class);
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalNanos;
+    private final SingleFlight<String, JWKSet> refreshes = new SingleFlight<>();
+
+    private volatile JWKSet jwkSet;
+    private volatile long lastRefreshNanos;
+    private Disposable backgroundRefresh;
+
+    public JwkSetCache(WebClient webClient, String jwkSetUri, Duration refreshInterval, Duration minRefreshInterval) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.lastRefreshNanos = System.nanoTime() - minRefreshIntervalNanos;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        backgroundRefresh = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (backgroundRefresh != null) {
+            backgroundRefresh.dispose();
+        }
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        JWKSet current = jwkSet;
+        if (current != null) {
+            List<JWK> keys = selector.select(current);
+            if (!keys.isEmpty() || !refreshAllowed()) {
+                return Flux.fromIterable(keys);
+            }
+        }
+        return refresh().flatMapIterable(selector::select);
+    }
+
+    private boolean refreshAllowed() {
+        return System.nanoTime() - lastRefreshNanos >= minRefreshIntervalNanos;
+    }
+
+    private Mono<JWKSet> refresh() {
+        return refreshes.execute(jwkSetUri, () -> webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(JwkSetCache::parse)
+                .doOnNext(parsed -> {
+                    jwkSet = parsed;
+                    lastRefreshNanos = System.nanoTime();
+                    log.debug("Loaded {} keys from {}", parsed.getKeys().size(), jwkSetUri);
+                })
+                .onErrorResume(error -> {
+                    lastRefreshNanos = System.nanoTime();
+                    JWKSet stale = jwkSet;
+                    if (stale == null) {
+                        return Mono.error(error);
+                    }
+                    log.warn("Failed to refresh JWK set from {}, keeping previous keys: {}", jwkSetUri, error.getMessage());
+                    return Mono.just(stale);
+                }));
+    }
+
+    private static JWKSet parse(String body) {
+        try {
+            return JWKSet.parse(body);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JWK set: " + e.getMessage(), e);
+        }
+    }
+}
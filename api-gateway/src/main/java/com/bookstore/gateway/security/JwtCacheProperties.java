@@ -0,0 +1,61 @@
+package com.bookstore.gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "gateway.jwt-cache")
+public class JwtCacheProperties {
+
+    /**
+     * Maximum number of verified tokens kept in memory.
+     */
+    private int maxEntries = 50_000;
+
+    /**
+     * Upper bound on how long a verified token is reused, even if it expires later.
+     */
+    private Duration maxTimeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Interval of the background JWK set refresh.
+     */
+    private Duration jwkRefreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Minimum time between on-demand JWK set refreshes triggered by an unknown key id.
+     */
+    private Duration jwkMinRefreshInterval = Duration.ofSeconds(30);
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getMaxTimeToLive() {
+        return maxTimeToLive;
+    }
+
+    public void setMaxTimeToLive(Duration maxTimeToLive) {
+        this.maxTimeToLive = maxTimeToLive;
+    }
+
+    public Duration getJwkRefreshInterval() {
+        return jwkRefreshInterval;
+    }
+
+    public void setJwkRefreshInterval(Duration jwkRefreshInterval) {
+        this.jwkRefreshInterval = jwkRefreshInterval;
+    }
+
+    public Duration getJwkMinRefreshInterval() {
+        return jwkMinRefreshInterval;
+    }
+
+    public void setJwkMinRefreshInterval(Duration jwkMinRefreshInterval) {
+        this.jwkMinRefreshInterval = jwkMinRefreshInterval;
+    }
+}
@@ -0,0 +1,146 @@
+package com.bookstore.gateway.upstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "upstream.http-client")
+public class UpstreamHttpClientProperties {
+
+    /**
+     * Connect timeout for new upstream connections.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Negotiate cleartext HTTP/2 (h2c) with backends, falling back to HTTP/1.1 for those that
+     * do not support it. Requests to an h2c backend share a few multiplexed connections.
+     */
+    private boolean h2c = false;
+
+    /**
+     * Pool used for upstream hosts without a route-specific pool.
+     */
+    private Pool defaultPool = new Pool();
+
+    /**
+     * Pools keyed by route id; applied to every upstream instance the route forwards to.
+     */
+    private Map<String, Pool> routes = new LinkedHashMap<>();
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public boolean isH2c() {
+        return h2c;
+    }
+
+    public void setH2c(boolean h2c) {
+        this.h2c = h2c;
+    }
+
+    public Pool getDefaultPool() {
+        return defaultPool;
+    }
+
+    public void setDefaultPool(Pool defaultPool) {
+        this.defaultPool = defaultPool;
+    }
+
+    public Map<String, Pool> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Pool> routes) {
+        this.routes = routes;
+    }
+
+    public static class Pool {
+
+        /**
+         * Maximum open connections per upstream host.
+         */
+        private int maxConnections = 500;
+
+        /**
+         * Maximum requests waiting for a connection; further requests fail fast.
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * How long a request may wait for a connection.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Idle connections older than this are closed.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections older than this are closed once released, so DNS and load balancer
+         * changes are picked up.
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Interval of the background eviction of idle and expired connections.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+    }
+}
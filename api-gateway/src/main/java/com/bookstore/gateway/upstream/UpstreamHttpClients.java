@@ -0,0 +1,64 @@
+package com.bookstore.gateway.upstream;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the Reactor Netty client used for upstream calls. Kept free of Spring so the load
+ * harness can build exactly the same client against stub backends.
+ */
+public final class UpstreamHttpClients {
+
+    public static final String POOL_NAME = "gateway-upstream";
+
+    private UpstreamHttpClients() {
+    }
+
+    /**
+     * The pool for upstream calls of routes without a route-specific pool.
+     */
+    public static ConnectionProvider connectionProvider(UpstreamHttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME).metrics(true);
+        applyPool(builder, properties.getDefaultPool());
+        return builder.build();
+    }
+
+    /**
+     * One pool per route in {@link UpstreamHttpClientProperties#getRoutes()}, keyed by route id.
+     * Reactor Netty keeps a separate connection pool per remote address inside a provider and
+     * applies the provider's limits to each, so every instance behind the route gets the route's
+     * limits, whenever it is discovered.
+     */
+    public static Map<String, ConnectionProvider> routeConnectionProviders(UpstreamHttpClientProperties properties) {
+        Map<String, ConnectionProvider> providers = new LinkedHashMap<>();
+        properties.getRoutes().forEach((routeId, pool) -> {
+            ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME + "-" + routeId).metrics(true);
+            applyPool(builder, pool);
+            providers.put(routeId, builder.build());
+        });
+        return providers;
+    }
+
+    public static HttpClient httpClient(ConnectionProvider provider, UpstreamHttpClientProperties properties) {
+        HttpClient client = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis());
+        if (properties.isH2c()) {
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    private static void applyPool(ConnectionProvider.ConnectionPoolSpec<?> spec, UpstreamHttpClientProperties.Pool pool) {
+        spec.maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval());
+    }
+}
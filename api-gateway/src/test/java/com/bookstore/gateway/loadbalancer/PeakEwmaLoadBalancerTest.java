@@ -0,0 +1,129 @@
+package com.bookstore.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@link PeakEwmaLoadBalancer} against a static in-memory instance list, playing the
+ * gateway's part of the lifecycle (start, then complete or never complete) by hand.
+ */
+class PeakEwmaLoadBalancerTest {
+
+    private static final String SERVICE_ID = "book-service";
+
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", SERVICE_ID, "10.0.0.1", 8082, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", SERVICE_ID, "10.0.0.2", 8082, false);
+
+    @Test
+    void prefersTheInstanceWithLowerLatency() {
+        PeakEwmaLoadBalancer balancer = balancer(new PeakEwmaProperties());
+        for (int i = 0; i < 20; i++) {
+            complete(balancer, fast, Duration.ofMillis(5), CompletionContext.Status.SUCCESS);
+            complete(balancer, slow, Duration.ofMillis(200), CompletionContext.Status.SUCCESS);
+        }
+
+        int fastPicks = 0;
+        for (int i = 0; i < 1000; i++) {
+            ServiceInstance picked = pick(balancer);
+            complete(balancer, picked, picked == fast ? Duration.ofMillis(5) : Duration.ofMillis(200),
+                    CompletionContext.Status.SUCCESS);
+            if (picked == fast) {
+                fastPicks++;
+            }
+        }
+        assertTrue(fastPicks > 950, "fast instance picked " + fastPicks + " of 1000 times");
+    }
+
+    @Test
+    void cancelledRequestsStopCountingAfterTheStaleTimeout() throws InterruptedException {
+        PeakEwmaProperties properties = new PeakEwmaProperties();
+        properties.setStaleRequestTimeout(Duration.ofMillis(50));
+        PeakEwmaLoadBalancer balancer = balancer(properties);
+        // Started but never completed, as when the client disconnects or a timeout cancels
+        for (int i = 0; i < 100; i++) {
+            balancer.onStartRequest(request(), new DefaultResponse(slow));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(fast, pick(balancer));
+        }
+
+        Thread.sleep(150);
+        int slowPicks = 0;
+        for (int i = 0; i < 200; i++) {
+            if (pick(balancer) == slow) {
+                slowPicks++;
+            }
+        }
+        assertTrue(slowPicks > 20, "slow instance picked " + slowPicks + " of 200 times after expiry");
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailures() {
+        PeakEwmaProperties properties = new PeakEwmaProperties();
+        properties.setFailureThreshold(3);
+        PeakEwmaLoadBalancer balancer = balancer(properties);
+        for (int i = 0; i < 3; i++) {
+            complete(balancer, slow, Duration.ofMillis(1), CompletionContext.Status.FAILED);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            ServiceInstance picked = pick(balancer);
+            assertEquals(fast, picked);
+            complete(balancer, picked, Duration.ofMillis(5), CompletionContext.Status.SUCCESS);
+        }
+    }
+
+    private PeakEwmaLoadBalancer balancer(PeakEwmaProperties properties) {
+        List<ServiceInstance> instances = List.of(fast, slow);
+        ServiceInstanceListSupplier supplier = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return SERVICE_ID;
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("supplier", supplier);
+        return new PeakEwmaLoadBalancer(SERVICE_ID, beanFactory.getBeanProvider(ServiceInstanceListSupplier.class),
+                properties);
+    }
+
+    private static ServiceInstance pick(PeakEwmaLoadBalancer balancer) {
+        Response<ServiceInstance> response = balancer.choose(request()).block();
+        assertTrue(response != null && response.hasServer());
+        return response.getServer();
+    }
+
+    private static void complete(PeakEwmaLoadBalancer balancer, ServiceInstance instance, Duration latency,
+                                 CompletionContext.Status status) {
+        Request<Object> request = request();
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        balancer.onStartRequest(request, response);
+        ((DefaultRequestContext) request.getContext()).setRequestStartTime(System.nanoTime() - latency.toNanos());
+        balancer.onComplete(new CompletionContext<>(status, request, response));
+    }
+
+    private static Request<Object> request() {
+        return new DefaultRequest<>(new DefaultRequestContext());
+    }
+}
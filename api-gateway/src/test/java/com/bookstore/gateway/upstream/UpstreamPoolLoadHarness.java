@@ -0,0 +1,164 @@
+package com.bookstore.gateway.upstream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load harness for the upstream client: starts stub backends with a fixed service
+ * time, builds the client exactly as the gateway does ({@link UpstreamHttpClients}) and prints
+ * throughput and latency percentiles for each pool size and concurrency level as CSV.
+ * <p>
+ * Not a unit test. Run with, for example:
+ * <pre>
+ * mvn -pl api-gateway test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.bookstore.gateway.upstream.UpstreamPoolLoadHarness \
+ *     -Dharness.maxConnections=16,64,256 -Dharness.h2c=true
+ * </pre>
+ * System properties: {@code harness.backends} (2), {@code harness.serviceTimeMs} (20),
+ * {@code harness.durationSeconds} (5), {@code harness.maxConnections} (16,64,256),
+ * {@code harness.concurrency} (1,2,4,...,512), {@code harness.h2c} (false).
+ */
+public class UpstreamPoolLoadHarness {
+
+    // One route pool shared by all stub backends, as for the instances behind an lb:// route
+    private static final String ROUTE_ID = "stub";
+    private static final String BODY = "{\"id\":1,\"title\":\"" + "x".repeat(2048) + "\"}";
+
+    public static void main(String[] args) {
+        int backends = Integer.getInteger("harness.backends", 2);
+        long serviceTimeMs = Long.getLong("harness.serviceTimeMs", 20);
+        Duration duration = Duration.ofSeconds(Long.getLong("harness.durationSeconds", 5));
+        int[] poolSizes = ints(System.getProperty("harness.maxConnections", "16,64,256"));
+        int[] concurrencyLevels = ints(System.getProperty("harness.concurrency", "1,2,4,8,16,32,64,128,256,512"));
+        boolean h2c = Boolean.getBoolean("harness.h2c");
+
+        List<DisposableServer> stubs = new ArrayList<>();
+        List<URI> targets = new ArrayList<>();
+        for (int i = 0; i < backends; i++) {
+            DisposableServer stub = startStub(serviceTimeMs);
+            stubs.add(stub);
+            targets.add(URI.create("http://127.0.0.1:" + stub.port()));
+        }
+
+        System.out.println("protocol,max_connections,concurrency,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms");
+        try {
+            for (int poolSize : poolSizes) {
+                UpstreamHttpClientProperties properties = properties(poolSize, h2c);
+                ConnectionProvider provider = UpstreamHttpClients.routeConnectionProviders(properties).get(ROUTE_ID);
+                HttpClient client = UpstreamHttpClients.httpClient(provider, properties);
+                run(client, targets, 8, Duration.ofSeconds(1));
+                for (int concurrency : concurrencyLevels) {
+                    Result result = run(client, targets, concurrency, duration);
+                    System.out.printf("%s,%d,%d,%d,%d,%.0f,%.2f,%.2f,%.2f,%.2f%n",
+                            h2c ? "h2c" : "http/1.1", poolSize, concurrency, result.requests(), result.errors(),
+                            result.requests() / (double) duration.toSeconds(),
+                            result.percentile(0.50), result.percentile(0.90), result.percentile(0.99),
+                            result.percentile(1.0));
+                }
+                provider.disposeLater().block();
+            }
+        } finally {
+            stubs.forEach(DisposableServer::disposeNow);
+        }
+    }
+
+    private static DisposableServer startStub(long serviceTimeMs) {
+        return HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/books/{id}", (request, response) ->
+                        Mono.delay(Duration.ofMillis(serviceTimeMs))
+                                .then(Mono.from(response.header("Content-Type", "application/json")
+                                        .sendString(Mono.just(BODY))))))
+                .bindNow();
+    }
+
+    private static UpstreamHttpClientProperties properties(int poolSize, boolean h2c) {
+        UpstreamHttpClientProperties properties = new UpstreamHttpClientProperties();
+        properties.setH2c(h2c);
+        UpstreamHttpClientProperties.Pool pool = new UpstreamHttpClientProperties.Pool();
+        pool.setMaxConnections(poolSize);
+        pool.setPendingAcquireMaxCount(-1);
+        pool.setPendingAcquireTimeout(Duration.ofSeconds(30));
+        properties.getRoutes().put(ROUTE_ID, pool);
+        return properties;
+    }
+
+    private static Result run(HttpClient client, List<URI> targets, int concurrency, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LatencyRecorder latencies = new LatencyRecorder();
+        AtomicLong errors = new AtomicLong();
+
+        Flux.range(0, concurrency)
+                .flatMap(user -> Mono.defer(() -> {
+                            URI target = targets.get((int) (latencies.count() + user) % targets.size());
+                            long start = System.nanoTime();
+                            return client.get()
+                                    .uri(target.resolve("/books/" + user))
+                                    .responseSingle((response, body) -> body.asByteArray())
+                                    .doOnNext(bytes -> latencies.record(System.nanoTime() - start))
+                                    .onErrorResume(error -> {
+                                        errors.incrementAndGet();
+                                        return Mono.empty();
+                                    });
+                        })
+                        .repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast();
+        return new Result(latencies.sorted(), errors.get());
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static final class LatencyRecorder {
+
+        private long[] samples = new long[1 << 16];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private record Result(long[] sortedNanos, long errors) {
+
+        long requests() {
+            return sortedNanos.length;
+        }
+
+        double percentile(double quantile) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookstore.book.config;
+
+import main.java.com.bookstore.shared.events.BookCatalogEvent;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    @Bean
+    public TopicExchange bookEventsExchange() {
+        return new TopicExchange(BookCatalogEvent.EXCHANGE, true, false);
+    }
+}
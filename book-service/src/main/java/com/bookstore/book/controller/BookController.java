@@ -222,7 +222,7 @@ public class BookController {
     @Operation(summary = "Reserve book copies", description = "Reserves the specified number of book copies")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Copies reserved successfully"),
-            @ApiResponse(responseCode = "400", description = "Insufficient inventory"),
+            @ApiResponse(responseCode = "409", description = "Insufficient inventory"),
             @ApiResponse(responseCode = "404", description = "Book not found")
     })
     public ResponseEntity<BookResponse> reserveCopies(
@@ -312,6 +312,18 @@ public class BookController {
         return ResponseEntity.ok(exists);
     }
 
+    @PostMapping("/catalog-events/resync")
+    @Operation(summary = "Republish the catalog",
+            description = "Publishes a catalog update event for every active book so read models can rebuild their copy")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog events published; returns the number of books")
+    })
+    public ResponseEntity<Long> republishCatalog() {
+        log.info("Republishing catalog events");
+        long published = bookService.republishCatalog();
+        return ResponseEntity.ok(published);
+    }
+
     @GetMapping("/count")
     @Operation(summary = "Get total book count", description = "Retrieves the total count of active books")
     @ApiResponses(value = {
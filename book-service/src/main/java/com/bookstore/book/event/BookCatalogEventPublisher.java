@@ -0,0 +1,40 @@
+package com.bookstore.book.event;
+
+import com.bookstore.book.model.Book;
+import com.bookstore.book.model.Category;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import main.java.com.bookstore.shared.events.BookCatalogEvent;
+import main.java.com.bookstore.shared.outbox.OutboxWriter;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Publishes catalog changes through the outbox, so read models (report-service) see exactly
+ * the committed state of a book. Must be called inside the transaction that changes it.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookCatalogEventPublisher {
+
+    private final OutboxWriter outboxWriter;
+    private final ObjectMapper objectMapper;
+
+    public void publish(Book book, String eventType) {
+        BookCatalogEvent event = new BookCatalogEvent(eventType, book.getId());
+        event.setTitle(book.getTitle());
+        event.setAuthor(book.getAuthor());
+        event.setCategoryIds(book.getCategories().stream().map(Category::getId).collect(Collectors.toSet()));
+        event.setRentalPrice(book.getRentalPrice());
+        try {
+            outboxWriter.append(BookCatalogEvent.EXCHANGE, BookCatalogEvent.routingKey(eventType), eventType,
+                    String.valueOf(book.getId()), MediaType.APPLICATION_JSON_VALUE,
+                    objectMapper.writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog event for book " + book.getId(), e);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.bookstore.book.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
 public class InsufficientInventoryException extends RuntimeException {
     public InsufficientInventoryException(String message) {
         super(message);
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -86,6 +87,13 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.id = :id AND b.deleted = false")
     Optional<Book> findByIdWithCategories(@Param("id") Long id);
 
+    // Keyset pages of active books, for republishing the catalog
+    @Query("SELECT b.id FROM Book b WHERE b.deleted = false AND b.id > :afterId ORDER BY b.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
     // Specific field searches
     Page<Book> findByAuthorContainingIgnoreCaseAndDeletedFalse(String author, Pageable pageable);
 
@@ -198,4 +198,11 @@ public interface BookService {
      */
     long getBookCountByCategory(Long categoryId);
 
+    /**
+     * Publish a BOOK_UPDATED catalog event for every active book, one page per transaction,
+     * so read models can rebuild books that never changed since they were loaded
+     * @return number of books published
+     */
+    long republishCatalog();
+
 }
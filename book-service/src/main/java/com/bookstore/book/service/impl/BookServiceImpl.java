@@ -1,6 +1,7 @@
 package com.bookstore.book.service.impl;
 
 import com.bookstore.book.dto.*;
+import com.bookstore.book.event.BookCatalogEventPublisher;
 import com.bookstore.book.exception.*;
 import com.bookstore.book.mapper.BookMapper;
 import com.bookstore.book.model.Book;
@@ -11,11 +12,14 @@ import com.bookstore.book.repository.CategoryRepository;
 import com.bookstore.book.service.BookService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import main.java.com.bookstore.shared.events.BookCatalogEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -28,9 +32,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookServiceImpl implements BookService {
 
+    private static final int REPUBLISH_PAGE_SIZE = 500;
+
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
     private final BookMapper bookMapper;
+    private final BookCatalogEventPublisher catalogEventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public BookResponse createBook(BookCreateRequest request) {
@@ -66,6 +74,7 @@ public class BookServiceImpl implements BookService {
         }
 
         Book savedBook = bookRepository.save(book);
+        catalogEventPublisher.publish(savedBook, BookCatalogEvent.EventTypes.BOOK_CREATED);
         log.info("Created book with ID: {} and title: {}", savedBook.getId(), savedBook.getTitle());
 
         return bookMapper.toResponse(savedBook);
@@ -128,6 +137,7 @@ public class BookServiceImpl implements BookService {
         }
 
         Book updatedBook = bookRepository.save(existingBook);
+        catalogEventPublisher.publish(updatedBook, BookCatalogEvent.EventTypes.BOOK_UPDATED);
         log.info("Updated book with ID: {}", updatedBook.getId());
 
         return bookMapper.toResponse(updatedBook);
@@ -140,6 +150,7 @@ public class BookServiceImpl implements BookService {
         Book book = findBookByIdOrThrow(id);
         book.softDelete();
         bookRepository.save(book);
+        catalogEventPublisher.publish(book, BookCatalogEvent.EventTypes.BOOK_DELETED);
 
         log.info("Deleted book with ID: {}", id);
     }
@@ -288,6 +299,7 @@ public class BookServiceImpl implements BookService {
         book.getCategories().addAll(categoriesToAdd);
 
         Book updatedBook = bookRepository.save(book);
+        catalogEventPublisher.publish(updatedBook, BookCatalogEvent.EventTypes.BOOK_UPDATED);
         log.info("Added {} categories to book ID: {}", categoryIds.size(), bookId);
 
         return bookMapper.toResponse(updatedBook);
@@ -306,6 +318,7 @@ public class BookServiceImpl implements BookService {
         book.getCategories().removeAll(categoriesToRemove);
 
         Book updatedBook = bookRepository.save(book);
+        catalogEventPublisher.publish(updatedBook, BookCatalogEvent.EventTypes.BOOK_UPDATED);
         log.info("Removed {} categories from book ID: {}", categoriesToRemove.size(), bookId);
 
         return bookMapper.toResponse(updatedBook);
@@ -355,6 +368,33 @@ public class BookServiceImpl implements BookService {
         return bookRepository.countBooksByCategory(categoryId);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long republishCatalog() {
+        log.info("Republishing catalog events for all active books");
+        long published = 0;
+        long afterId = 0;
+        while (true) {
+            long pageAfter = afterId;
+            List<Book> books = transactionTemplate.execute(status -> {
+                List<Long> ids = bookRepository.findActiveIdsAfter(pageAfter, PageRequest.of(0, REPUBLISH_PAGE_SIZE));
+                if (ids.isEmpty()) {
+                    return List.<Book>of();
+                }
+                List<Book> page = bookRepository.findAllWithCategoriesByIdIn(ids);
+                page.forEach(book -> catalogEventPublisher.publish(book, BookCatalogEvent.EventTypes.BOOK_UPDATED));
+                return page;
+            });
+            if (books == null || books.isEmpty()) {
+                break;
+            }
+            published += books.size();
+            afterId = books.get(books.size() - 1).getId();
+        }
+        log.info("Republished catalog events for {} books", published);
+        return published;
+    }
+
     // Helper methods
     private Book findBookByIdOrThrow(Long id) {
         return bookRepository.findByIdAndDeletedFalse(id)
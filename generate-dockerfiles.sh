@@ -14,7 +14,7 @@ for i in "${!SERVICES[@]}"; do
     
     cat > $SERVICE/Dockerfile << EOF
 # Multi-stage build for $SERVICE
-FROM maven:3.9-openjdk-17 AS build
+FROM maven:3.9-eclipse-temurin-21 AS build
 
 WORKDIR /app
 
@@ -30,7 +30,7 @@ COPY $SERVICE/src ./$SERVICE/src
 RUN mvn clean package -pl $SERVICE -am -DskipTests
 
 # Runtime stage
-FROM openjdk:17-jre-slim
+FROM eclipse-temurin:21-jre
 
 WORKDIR /app
 
@@ -0,0 +1,30 @@
+package com.bookstore.inventory.config;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The database flavour the service is running against. Used to pick between
+ * Postgres-specific SQL (pg_trgm, UPDATE ... FROM) and portable fallbacks for H2.
+ */
+public enum DatabasePlatform {
+    POSTGRESQL,
+    H2,
+    OTHER;
+
+    public static DatabasePlatform detect(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String productName = connection.getMetaData().getDatabaseProductName();
+            if ("PostgreSQL".equalsIgnoreCase(productName)) {
+                return POSTGRESQL;
+            }
+            if ("H2".equalsIgnoreCase(productName)) {
+                return H2;
+            }
+            return OTHER;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to determine database platform", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookstore.inventory.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class InventoryConfig {
+
+    @Bean
+    public DatabasePlatform databasePlatform(DataSource dataSource) {
+        return DatabasePlatform.detect(dataSource);
+    }
+}
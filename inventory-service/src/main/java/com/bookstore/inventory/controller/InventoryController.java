@@ -0,0 +1,145 @@
+package com.bookstore.inventory.controller;
+
+import com.bookstore.inventory.dto.InventoryAvailability;
+import com.bookstore.inventory.dto.InventorySearchResult;
+import com.bookstore.inventory.dto.PickListRequest;
+import com.bookstore.inventory.dto.PickListResponse;
+import com.bookstore.inventory.dto.ReconciliationSummary;
+import com.bookstore.inventory.dto.ShipmentReceiptRequest;
+import com.bookstore.inventory.dto.ShipmentReceiptResponse;
+import com.bookstore.inventory.service.InventoryAvailabilityService;
+import com.bookstore.inventory.service.InventoryReceivingService;
+import com.bookstore.inventory.service.InventorySearchService;
+import com.bookstore.inventory.service.PickListService;
+import com.bookstore.inventory.service.StockReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory", description = "Inventory management operations")
+public class InventoryController {
+
+    private final InventoryAvailabilityService inventoryAvailabilityService;
+    private final InventorySearchService inventorySearchService;
+    private final InventoryReceivingService inventoryReceivingService;
+    private final PickListService pickListService;
+    private final StockReconciliationService stockReconciliationService;
+
+    @GetMapping("/books/{bookId}")
+    @Operation(summary = "Get availability of a book", description = "Retrieves stock counts and shelf position of a book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No inventory item for the book")
+    })
+    public ResponseEntity<InventoryAvailability> getAvailability(
+            @Parameter(description = "Book ID") @PathVariable Long bookId) {
+        log.debug("Fetching availability for book: {}", bookId);
+        return ResponseEntity.ok(inventoryAvailabilityService.getAvailability(bookId));
+    }
+
+    @PostMapping("/receipts")
+    @Operation(summary = "Receive a shipment", description = "Adds the stock of a shipment manifest in bulk, creating missing items")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Shipment received; see per-line results"),
+            @ApiResponse(responseCode = "400", description = "Invalid manifest")
+    })
+    public ResponseEntity<ShipmentReceiptResponse> receiveShipment(
+            @Valid @RequestBody ShipmentReceiptRequest request) {
+        log.info("Receiving shipment {} with {} lines", request.getShipmentReference(), request.getLines().size());
+        ShipmentReceiptResponse response = inventoryReceivingService.receiveShipment(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search/fuzzy")
+    @Operation(summary = "Fuzzy inventory search", description = "Searches items by partial title or author using trigram similarity")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    })
+    public ResponseEntity<List<InventorySearchResult>> fuzzySearch(
+            @Parameter(description = "Partial title or author") @RequestParam String query,
+            @Parameter(description = "Location code") @RequestParam(required = false) String locationCode,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Fuzzy inventory search for: {}", query);
+        List<InventorySearchResult> response = inventorySearchService.searchByTrigram(query, locationCode, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/pick-lists")
+    @Operation(summary = "Generate pick lists", description = "Builds one walk-ordered pick list per location for a batch of order lines")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pick lists generated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid pick list request")
+    })
+    public ResponseEntity<PickListResponse> generatePickList(
+            @Valid @RequestBody PickListRequest request) {
+        log.debug("Generating pick list for {} lines", request.getLines().size());
+        PickListResponse response = pickListService.generatePickList(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/locations")
+    @Operation(summary = "Get locations", description = "Retrieves all known location codes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Locations retrieved successfully")
+    })
+    public ResponseEntity<List<String>> getLocations() {
+        log.debug("Fetching locations");
+        return ResponseEntity.ok(pickListService.getLocations());
+    }
+
+    @GetMapping("/locations/{locationCode}/shelves")
+    @Operation(summary = "Get shelves of a location", description = "Retrieves the shelves of a location in walk order with their books")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Shelves retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Set<Long>>> getShelves(
+            @Parameter(description = "Location code") @PathVariable String locationCode) {
+        log.debug("Fetching shelves for location: {}", locationCode);
+        return ResponseEntity.ok(pickListService.getShelves(locationCode));
+    }
+
+    @PostMapping(value = "/reconciliations", produces = "text/csv")
+    @Operation(summary = "Reconcile catalog and inventory stock",
+            description = "Streams a CSV diff between book-service stock and inventory stock, optionally correcting the catalog")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Diff report streamed"),
+            @ApiResponse(responseCode = "400", description = "Catalog database not configured")
+    })
+    public ResponseEntity<StreamingResponseBody> reconcileStock(
+            @Parameter(description = "Copy inventory stock onto mismatching catalog rows") @RequestParam(defaultValue = "false") boolean apply) {
+        log.info("Reconciling catalog and inventory stock (apply: {})", apply);
+        // Checked here: once the body starts streaming the 200 status is already committed
+        stockReconciliationService.checkConfigured();
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            ReconciliationSummary summary = stockReconciliationService.reconcile(writer, apply);
+            writer.write("# " + summary + "\n");
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+}
@@ -0,0 +1,79 @@
+package com.bookstore.inventory.controller;
+
+import com.bookstore.inventory.dto.ReservationRequest;
+import com.bookstore.inventory.dto.ReservationResponse;
+import com.bookstore.inventory.service.InventoryReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reservations", description = "Time-limited stock reservations")
+public class ReservationController {
+
+    private final InventoryReservationService reservationService;
+
+    @PostMapping
+    @Operation(summary = "Reserve copies", description = "Reserves copies of a book until the reservation expires")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Copies reserved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "409", description = "Insufficient inventory"),
+            @ApiResponse(responseCode = "404", description = "Inventory item not found")
+    })
+    public ResponseEntity<ReservationResponse> reserve(
+            @Valid @RequestBody ReservationRequest request) {
+        log.info("Reserving {} copies of book {}", request.getQuantity(), request.getBookId());
+        ReservationResponse response = reservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get reservation", description = "Retrieves a reservation by its ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation found"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ReservationResponse> getReservation(
+            @Parameter(description = "Reservation ID") @PathVariable Long id) {
+        log.debug("Fetching reservation {}", id);
+        return ResponseEntity.ok(reservationService.getReservation(id));
+    }
+
+    @PostMapping("/{id}/confirm")
+    @Operation(summary = "Confirm reservation", description = "Turns the reserved copies into rented copies")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation confirmed"),
+            @ApiResponse(responseCode = "400", description = "Reservation is no longer pending"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ReservationResponse> confirm(
+            @Parameter(description = "Reservation ID") @PathVariable Long id) {
+        log.info("Confirming reservation {}", id);
+        return ResponseEntity.ok(reservationService.confirm(id));
+    }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release reservation", description = "Returns the reserved copies to available stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation released"),
+            @ApiResponse(responseCode = "400", description = "Reservation is no longer pending"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<ReservationResponse> release(
+            @Parameter(description = "Reservation ID") @PathVariable Long id) {
+        log.info("Releasing reservation {}", id);
+        return ResponseEntity.ok(reservationService.release(id));
+    }
+}
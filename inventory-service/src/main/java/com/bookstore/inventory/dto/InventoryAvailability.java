@@ -0,0 +1,19 @@
+package com.bookstore.inventory.dto;
+
+import com.bookstore.inventory.model.InventoryStatus;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class InventoryAvailability {
+
+    private Long bookId;
+    private InventoryStatus status;
+    private Integer totalCopies;
+    private Integer availableCopies;
+    private Integer reservedCopies;
+    private Integer rentedCopies;
+    private String locationCode;
+    private String shelfCode;
+}
@@ -0,0 +1,19 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class InventorySearchResult {
+
+    private Long id;
+    private Long bookId;
+    private String bookIsbn;
+    private String bookTitle;
+    private String bookAuthor;
+    private String locationCode;
+    private String shelfCode;
+    private Integer availableCopies;
+    private Double score;
+}
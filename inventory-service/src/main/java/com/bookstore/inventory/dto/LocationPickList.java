@@ -0,0 +1,14 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class LocationPickList {
+
+    private String locationCode;
+    private List<PickStop> stops;
+}
@@ -0,0 +1,16 @@
+package com.bookstore.inventory.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PickLine {
+
+    @NotNull(message = "Book ID is required")
+    private Long bookId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
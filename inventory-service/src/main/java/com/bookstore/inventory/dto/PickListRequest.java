@@ -0,0 +1,17 @@
+package com.bookstore.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PickListRequest {
+
+    @NotEmpty(message = "A pick list needs at least one line")
+    @Size(max = 10000, message = "A pick list must not exceed 10000 lines")
+    @Valid
+    private List<PickLine> lines;
+}
@@ -0,0 +1,14 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PickListResponse {
+
+    private List<LocationPickList> locations;
+    private List<Long> unlocatedBookIds;
+}
@@ -0,0 +1,17 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PickStop {
+
+    private Integer sequence;
+    private String shelfCode;
+    private Long bookId;
+    private String bookTitle;
+    private Integer quantity;
+    private Integer availableCopies;
+    private Boolean shortage;
+}
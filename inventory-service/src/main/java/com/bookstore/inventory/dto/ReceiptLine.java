@@ -0,0 +1,23 @@
+package com.bookstore.inventory.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReceiptLine {
+
+    @NotNull(message = "Book ID is required")
+    private Long bookId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Only used when the shipment brings a title that is not stocked yet
+    private String bookIsbn;
+    private String bookTitle;
+    private String bookAuthor;
+    private String locationCode;
+    private String shelfCode;
+}
@@ -0,0 +1,23 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ReceiptLineResult {
+
+    private Integer lineNumber;
+    private Long bookId;
+    private Integer quantity;
+    private Outcome outcome;
+    private Integer totalCopies;
+    private Integer availableCopies;
+    private String message;
+
+    public enum Outcome {
+        UPDATED,
+        CREATED,
+        REJECTED
+    }
+}
@@ -0,0 +1,18 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ReconciliationSummary {
+
+    private Long catalogRows;
+    private Long inventoryRows;
+    private Long matched;
+    private Long stockMismatches;
+    private Long missingInInventory;
+    private Long missingInCatalog;
+    private Long correctionsApplied;
+    private Long elapsedMillis;
+}
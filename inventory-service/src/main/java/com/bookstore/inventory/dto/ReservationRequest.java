@@ -0,0 +1,26 @@
+package com.bookstore.inventory.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ReservationRequest {
+
+    @NotNull(message = "Book ID is required")
+    private Long bookId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Falls back to inventory.reservations.default-ttl when not given
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    @Max(value = 604800, message = "TTL must not exceed 7 days")
+    private Long ttlSeconds;
+
+    @Size(max = 255, message = "Reference must not exceed 255 characters")
+    private String reference;
+}
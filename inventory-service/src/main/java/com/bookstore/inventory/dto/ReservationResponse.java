@@ -0,0 +1,21 @@
+package com.bookstore.inventory.dto;
+
+import com.bookstore.inventory.model.ReservationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReservationResponse {
+
+    private Long id;
+    private Long bookId;
+    private Integer quantity;
+    private ReservationStatus status;
+    private String reference;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
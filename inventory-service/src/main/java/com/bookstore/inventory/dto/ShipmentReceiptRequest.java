@@ -0,0 +1,20 @@
+package com.bookstore.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ShipmentReceiptRequest {
+
+    @Size(max = 100, message = "Shipment reference must not exceed 100 characters")
+    private String shipmentReference;
+
+    @NotEmpty(message = "A shipment manifest needs at least one line")
+    @Size(max = 50000, message = "A shipment manifest must not exceed 50000 lines")
+    @Valid
+    private List<ReceiptLine> lines;
+}
@@ -0,0 +1,19 @@
+package com.bookstore.inventory.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ShipmentReceiptResponse {
+
+    private String shipmentReference;
+    private Integer totalLines;
+    private Integer updatedLines;
+    private Integer createdLines;
+    private Integer rejectedLines;
+    private Long copiesReceived;
+    private List<ReceiptLineResult> lines;
+}
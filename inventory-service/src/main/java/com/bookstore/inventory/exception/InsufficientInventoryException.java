@@ -0,0 +1,15 @@
+package com.bookstore.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientInventoryException extends RuntimeException {
+    public InsufficientInventoryException(String message) {
+        super(message);
+    }
+
+    public InsufficientInventoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookstore.inventory.index;
+
+import com.bookstore.inventory.model.InventoryItem;
+import com.bookstore.inventory.repository.InventoryItemRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loads every active {@link InventoryItemIndex} from the database in a single streamed pass
+ * once the application has started.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryIndexWarmup {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final List<InventoryItemIndex> indexes;
+    private final EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        List<InventoryItemIndex> activeIndexes = indexes.stream()
+                .filter(InventoryItemIndex::isActive)
+                .toList();
+        if (activeIndexes.isEmpty()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        long count = 0;
+        try (Stream<InventoryItem> items = inventoryItemRepository.streamAll()) {
+            for (InventoryItem item : (Iterable<InventoryItem>) items::iterator) {
+                for (InventoryItemIndex index : activeIndexes) {
+                    index.index(item);
+                }
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Loaded {} inventory items into {} in-memory indexes in {} ms",
+                count, activeIndexes.size(), System.currentTimeMillis() - started);
+    }
+}
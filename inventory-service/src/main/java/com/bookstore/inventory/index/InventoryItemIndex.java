@@ -0,0 +1,22 @@
+package com.bookstore.inventory.index;
+
+import com.bookstore.inventory.model.InventoryItem;
+
+/**
+ * An in-memory view over inventory items that has to be kept current on every write.
+ * Implementations are notified after the writing transaction commits.
+ */
+public interface InventoryItemIndex {
+
+    void index(InventoryItem item);
+
+    void remove(InventoryItem item);
+
+    /**
+     * Whether the index is in use on this deployment. Inactive indexes are neither
+     * warmed up at startup nor notified of writes.
+     */
+    default boolean isActive() {
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package com.bookstore.inventory.index;
+
+import com.bookstore.inventory.model.InventoryItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * JPA entity listener that forwards inventory writes to every active {@link InventoryItemIndex}.
+ * Changes are applied once the surrounding transaction commits so rolled back writes never
+ * reach the indexes.
+ */
+@Component
+public class InventoryItemIndexListener {
+
+    private final ObjectProvider<InventoryItemIndex> indexes;
+
+    public InventoryItemIndexListener(ObjectProvider<InventoryItemIndex> indexes) {
+        this.indexes = indexes;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(InventoryItem item) {
+        afterCommit(item, InventoryItemIndex::index);
+    }
+
+    @PostRemove
+    public void onRemove(InventoryItem item) {
+        afterCommit(item, InventoryItemIndex::remove);
+    }
+
+    /**
+     * Forwards items written through bulk SQL, which bypasses the entity lifecycle callbacks.
+     */
+    public void onBulkSave(Collection<InventoryItem> items) {
+        for (InventoryItem item : items) {
+            afterCommit(item, InventoryItemIndex::index);
+        }
+    }
+
+    public boolean hasActiveIndexes() {
+        return indexes.orderedStream().anyMatch(InventoryItemIndex::isActive);
+    }
+
+    private void afterCommit(InventoryItem item, BiConsumer<InventoryItemIndex, InventoryItem> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(item, action);
+                }
+            });
+        } else {
+            apply(item, action);
+        }
+    }
+
+    private void apply(InventoryItem item, BiConsumer<InventoryItemIndex, InventoryItem> action) {
+        indexes.orderedStream()
+                .filter(InventoryItemIndex::isActive)
+                .forEach(index -> action.accept(index, item));
+    }
+}
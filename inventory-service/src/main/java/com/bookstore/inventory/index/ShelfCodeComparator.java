@@ -0,0 +1,64 @@
+package com.bookstore.inventory.index;
+
+import java.util.Comparator;
+
+/**
+ * Orders shelf codes the way a picker walks them: alphanumeric segments compare with
+ * numbers by value, so {@code A-2} comes before {@code A-10}. Case is ignored.
+ */
+public final class ShelfCodeComparator implements Comparator<String> {
+
+    public static final ShelfCodeComparator INSTANCE = new ShelfCodeComparator();
+
+    private ShelfCodeComparator() {
+    }
+
+    @Override
+    public int compare(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int startA = i;
+                int startB = j;
+                while (startA < a.length() - 1 && a.charAt(startA) == '0' && Character.isDigit(a.charAt(startA + 1))) {
+                    startA++;
+                }
+                while (startB < b.length() - 1 && b.charAt(startB) == '0' && Character.isDigit(b.charAt(startB + 1))) {
+                    startB++;
+                }
+                int endA = startA;
+                int endB = startB;
+                while (endA < a.length() && Character.isDigit(a.charAt(endA))) {
+                    endA++;
+                }
+                while (endB < b.length() && Character.isDigit(b.charAt(endB))) {
+                    endB++;
+                }
+                int lengthDiff = (endA - startA) - (endB - startB);
+                if (lengthDiff != 0) {
+                    return lengthDiff;
+                }
+                for (int k = 0; k < endA - startA; k++) {
+                    int diff = a.charAt(startA + k) - b.charAt(startB + k);
+                    if (diff != 0) {
+                        return diff;
+                    }
+                }
+                i = endA;
+                j = endB;
+            } else {
+                int diff = Character.toLowerCase(ca) - Character.toLowerCase(cb);
+                if (diff != 0) {
+                    return diff;
+                }
+                i++;
+                j++;
+            }
+        }
+        int remaining = (a.length() - i) - (b.length() - j);
+        return remaining != 0 ? remaining : a.compareTo(b);
+    }
+}
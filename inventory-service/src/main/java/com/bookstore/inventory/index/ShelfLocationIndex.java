@@ -0,0 +1,100 @@
+package com.bookstore.inventory.index;
+
+import com.bookstore.inventory.model.InventoryItem;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory map of where every title sits: location → shelf (in walk order) → books,
+ * plus a direct book → slot lookup used to build pick lists without touching the database.
+ */
+@Component
+public class ShelfLocationIndex implements InventoryItemIndex {
+
+    private final ConcurrentMap<Long, Slot> slotsByBook = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentSkipListMap<String, Set<Long>>> shelvesByLocation =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Where a title is stocked and how many copies can be picked from there.
+     */
+    public record Slot(long itemId, long bookId, String bookTitle, String locationCode, String shelfCode,
+                       int availableCopies) {
+    }
+
+    @Override
+    public void index(InventoryItem item) {
+        Slot slot = new Slot(item.getId(), item.getBookId(), item.getBookTitle(), item.getLocationCode(),
+                item.getShelfCode(), item.getAvailableCopies());
+        slotsByBook.compute(item.getBookId(), (bookId, previous) -> {
+            if (previous != null) {
+                unshelve(previous);
+            }
+            shelve(slot);
+            return slot;
+        });
+    }
+
+    @Override
+    public void remove(InventoryItem item) {
+        slotsByBook.computeIfPresent(item.getBookId(), (bookId, previous) -> {
+            unshelve(previous);
+            return null;
+        });
+    }
+
+    public Slot findByBookId(long bookId) {
+        return slotsByBook.get(bookId);
+    }
+
+    /**
+     * Shelves of a location in walk order with the books stocked on each.
+     */
+    public NavigableMap<String, Set<Long>> shelves(String locationCode) {
+        NavigableMap<String, Set<Long>> shelves = shelvesByLocation.get(locationCode);
+        return shelves == null ? Collections.emptyNavigableMap() : Collections.unmodifiableNavigableMap(shelves);
+    }
+
+    public Set<String> locations() {
+        return Collections.unmodifiableSet(shelvesByLocation.keySet());
+    }
+
+    // Every change to a location's shelves runs inside compute on that location, so adds and
+    // removals of the same location never interleave and emptied maps are dropped atomically
+
+    private void shelve(Slot slot) {
+        if (slot.locationCode() == null) {
+            return;
+        }
+        shelvesByLocation.compute(slot.locationCode(), (location, shelves) -> {
+            if (shelves == null) {
+                shelves = new ConcurrentSkipListMap<>(ShelfCodeComparator.INSTANCE);
+            }
+            shelves.computeIfAbsent(shelfKey(slot), shelf -> ConcurrentHashMap.newKeySet()).add(slot.bookId());
+            return shelves;
+        });
+    }
+
+    private void unshelve(Slot slot) {
+        if (slot.locationCode() == null) {
+            return;
+        }
+        shelvesByLocation.computeIfPresent(slot.locationCode(), (location, shelves) -> {
+            shelves.computeIfPresent(shelfKey(slot), (shelf, books) -> {
+                books.remove(slot.bookId());
+                return books.isEmpty() ? null : books;
+            });
+            return shelves.isEmpty() ? null : shelves;
+        });
+    }
+
+    private static String shelfKey(Slot slot) {
+        return slot.shelfCode() == null ? "" : slot.shelfCode();
+    }
+}
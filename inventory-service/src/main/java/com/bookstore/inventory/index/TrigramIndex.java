@@ -0,0 +1,307 @@
+package com.bookstore.inventory.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over inventory titles and authors.
+ * <p>
+ * Mirrors pg_trgm's trigram extraction (lower-cased words padded with two leading blanks
+ * and one trailing blank) so ranking on H2 behaves like the Postgres path. Trigrams are
+ * packed into 18-bit keys and used to address posting lists directly; postings hold dense
+ * document numbers in ascending order and are merged with a k-way walk at query time.
+ * Updates tombstone the previous document and append a new one; the index compacts itself
+ * once more than half of the documents are dead.
+ */
+public class TrigramIndex {
+
+    private static final int CHAR_BITS = 6;
+    private static final int KEY_SPACE = 1 << (CHAR_BITS * 3);
+    private static final int INITIAL_POSTING_CAPACITY = 4;
+    private static final int INITIAL_DOC_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[][] postings = new int[KEY_SPACE][];
+    private int[] postingSizes = new int[KEY_SPACE];
+
+    private long[] itemIds = new long[INITIAL_DOC_CAPACITY];
+    private String[] locationCodes = new String[INITIAL_DOC_CAPACITY];
+    private int[] trigramCounts = new int[INITIAL_DOC_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_DOC_CAPACITY];
+    private int docCount;
+    private int liveCount;
+
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+
+    public record Match(long itemId, double score) {
+    }
+
+    /**
+     * Adds or replaces the entry for the given inventory item.
+     */
+    public void put(long itemId, String title, String author, String locationCode) {
+        int[] trigrams = extract(title, author);
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByItemId.remove(itemId);
+            if (previous != null) {
+                kill(previous);
+            }
+            int doc = appendDoc(itemId, locationCode, trigrams.length);
+            for (int trigram : trigrams) {
+                appendPosting(trigram, doc);
+            }
+            docByItemId.put(itemId, doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByItemId.remove(itemId);
+            if (previous != null) {
+                kill(previous);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} items whose title or author contains the query's trigrams,
+     * ranked by the fraction of query trigrams they share (pg_trgm's word similarity).
+     *
+     * @param locationCode optional exact location filter, {@code null} for all locations
+     * @param threshold    minimum score in [0, 1] for an item to be returned
+     */
+    public List<Match> search(String query, String locationCode, double threshold, int limit) {
+        int[] queryTrigrams = extract(query, null);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.length));
+
+        lock.readLock().lock();
+        try {
+            int[][] lists = new int[queryTrigrams.length][];
+            int[] sizes = new int[queryTrigrams.length];
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                lists[i] = postings[queryTrigrams[i]];
+                sizes[i] = postingSizes[queryTrigrams[i]];
+            }
+            return merge(lists, sizes, queryTrigrams.length, minShared, locationCode, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Match> merge(int[][] lists, int[] sizes, int queryCount, int minShared,
+                              String locationCode, int limit) {
+        int[] cursors = new int[lists.length];
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, TrigramIndex::compareWorstFirst);
+
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < sizes[i] && lists[i][cursors[i]] < doc) {
+                    doc = lists[i][cursors[i]];
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            int shared = 0;
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < sizes[i] && lists[i][cursors[i]] == doc) {
+                    shared++;
+                    cursors[i]++;
+                }
+            }
+            if (shared < minShared || !live[doc]
+                    || (locationCode != null && !locationCode.equals(locationCodes[doc]))) {
+                continue;
+            }
+            // Break ties towards shorter text, as pg_trgm similarity would.
+            double score = (double) shared / queryCount
+                    + 1e-6 * ((double) shared / Math.max(trigramCounts[doc], 1));
+            best.offer(new Match(itemIds[doc], Math.min(score, 1.0)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort((a, b) -> compareWorstFirst(b, a));
+        return result;
+    }
+
+    private static int compareWorstFirst(Match a, Match b) {
+        int byScore = Double.compare(a.score(), b.score());
+        return byScore != 0 ? byScore : Long.compare(b.itemId(), a.itemId());
+    }
+
+    private int appendDoc(long itemId, String locationCode, int trigramCount) {
+        if (docCount == itemIds.length) {
+            int capacity = itemIds.length * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            locationCodes = Arrays.copyOf(locationCodes, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+        int doc = docCount++;
+        itemIds[doc] = itemId;
+        locationCodes[doc] = locationCode;
+        trigramCounts[doc] = trigramCount;
+        live[doc] = true;
+        liveCount++;
+        return doc;
+    }
+
+    private void appendPosting(int trigram, int doc) {
+        int[] list = postings[trigram];
+        int size = postingSizes[trigram];
+        if (list == null) {
+            list = new int[INITIAL_POSTING_CAPACITY];
+            postings[trigram] = list;
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, size * 2);
+            postings[trigram] = list;
+        }
+        list[size] = doc;
+        postingSizes[trigram] = size + 1;
+    }
+
+    private void kill(int doc) {
+        live[doc] = false;
+        locationCodes[doc] = null;
+        liveCount--;
+    }
+
+    private void compactIfNeeded() {
+        if (docCount < INITIAL_DOC_CAPACITY || liveCount * 2 > docCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live[doc]) {
+                remap[doc] = next;
+                itemIds[next] = itemIds[doc];
+                locationCodes[next] = locationCodes[doc];
+                trigramCounts[next] = trigramCounts[doc];
+                live[next] = true;
+                docByItemId.put(itemIds[next], next);
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        Arrays.fill(live, next, docCount, false);
+        Arrays.fill(locationCodes, next, docCount, null);
+        docCount = next;
+
+        for (int key = 0; key < KEY_SPACE; key++) {
+            int[] list = postings[key];
+            if (list == null) {
+                continue;
+            }
+            int size = 0;
+            for (int i = 0; i < postingSizes[key]; i++) {
+                int mapped = remap[list[i]];
+                if (mapped >= 0) {
+                    list[size++] = mapped;
+                }
+            }
+            postings[key] = size == 0 ? null : list;
+            postingSizes[key] = size;
+        }
+    }
+
+    /**
+     * Extracts the distinct trigram keys of the given texts, sorted ascending.
+     */
+    static int[] extract(String first, String second) {
+        int[] keys = new int[16];
+        int count = 0;
+        for (String text : new String[]{first, second}) {
+            if (text == null) {
+                continue;
+            }
+            int length = text.length();
+            int i = 0;
+            while (i < length) {
+                while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                    i++;
+                }
+                if (i >= length) {
+                    break;
+                }
+                // pg_trgm pads each word with two blanks in front and one behind
+                int c0 = 0;
+                int c1 = 0;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                    int c2 = encode(text.charAt(i++));
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                    }
+                    keys[count++] = pack(c0, c1, c2);
+                    c0 = c1;
+                    c1 = c2;
+                }
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                keys[count++] = pack(c0, c1, 0);
+            }
+        }
+        if (count == 0) {
+            return new int[0];
+        }
+        Arrays.sort(keys, 0, count);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if (keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private static int pack(int c0, int c1, int c2) {
+        return (c0 << (CHAR_BITS * 2)) | (c1 << CHAR_BITS) | c2;
+    }
+
+    /**
+     * Maps a character onto 6 bits: 0 is the pad blank, 1-26 are letters, 27-36 digits and
+     * everything else (accented letters, other scripts) is folded into the remaining codes.
+     */
+    private static int encode(char c) {
+        char lower = Character.toLowerCase(c);
+        if (lower >= 'a' && lower <= 'z') {
+            return 1 + (lower - 'a');
+        }
+        if (lower >= '0' && lower <= '9') {
+            return 27 + (lower - '0');
+        }
+        return 37 + lower % ((1 << CHAR_BITS) - 37);
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookstore.inventory.index;
+
+import com.bookstore.inventory.config.DatabasePlatform;
+import com.bookstore.inventory.model.InventoryItem;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Trigram search over inventory titles and authors for databases without pg_trgm.
+ * On Postgres the GIN trigram indexes are used instead and this index stays empty.
+ */
+@Component
+public class TrigramSearchIndex implements InventoryItemIndex {
+
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final DatabasePlatform databasePlatform;
+
+    public TrigramSearchIndex(DatabasePlatform databasePlatform) {
+        this.databasePlatform = databasePlatform;
+    }
+
+    @Override
+    public boolean isActive() {
+        return databasePlatform != DatabasePlatform.POSTGRESQL;
+    }
+
+    @Override
+    public void index(InventoryItem item) {
+        trigramIndex.put(item.getId(), item.getBookTitle(), item.getBookAuthor(), item.getLocationCode());
+    }
+
+    @Override
+    public void remove(InventoryItem item) {
+        trigramIndex.remove(item.getId());
+    }
+
+    public List<TrigramIndex.Match> search(String query, String locationCode, double threshold, int limit) {
+        return trigramIndex.search(query, locationCode, threshold, limit);
+    }
+
+    public int size() {
+        return trigramIndex.size();
+    }
+}
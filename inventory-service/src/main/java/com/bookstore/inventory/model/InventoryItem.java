@@ -1,4 +1,5 @@
 package com.bookstore.inventory.model;
+import com.bookstore.inventory.index.InventoryItemIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, InventoryItemIndexListener.class})
 public class InventoryItem {
 
     @Id
@@ -0,0 +1,8 @@
+package com.bookstore.inventory.model;
+
+public enum ReservationStatus {
+    PENDING,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,94 @@
+package com.bookstore.inventory.reconciliation;
+
+import com.bookstore.inventory.reconciliation.StockMergeJoin.StockDiff;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Copies inventory stock levels onto the catalog's {@code books} rows in JDBC batches,
+ * committing after every batch so a long run never holds one huge transaction open.
+ * Inventory is the system of record for physical stock; only mismatches are corrected.
+ * <p>
+ * The last partial batch is committed only by an explicit {@link #flush()} once the
+ * run completes normally; {@link #close()} rolls back whatever is still pending, so a
+ * run aborted by an error never commits a batch it did not finish.
+ */
+public class BookStockCorrectionWriter implements AutoCloseable {
+
+    private static final String UPDATE_SQL =
+            "UPDATE books SET total_copies = ?, available_copies = ?, updated_at = ? WHERE id = ?";
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private int pending;
+    private long applied;
+
+    public BookStockCorrectionWriter(DataSource bookDataSource, int batchSize) {
+        this.batchSize = batchSize;
+        try {
+            this.connection = bookDataSource.getConnection();
+            this.connection.setAutoCommit(false);
+            this.statement = connection.prepareStatement(UPDATE_SQL);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to open connection for stock corrections", e);
+        }
+    }
+
+    public void accept(StockDiff diff) {
+        if (diff.kind() != StockMergeJoin.DiffKind.STOCK_MISMATCH) {
+            return;
+        }
+        try {
+            statement.setInt(1, diff.inventory().totalCopies());
+            statement.setInt(2, diff.inventory().availableCopies());
+            statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setLong(4, diff.bookId());
+            statement.addBatch();
+            if (++pending == batchSize) {
+                flush();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to apply stock correction for book " + diff.bookId(), e);
+        }
+    }
+
+    public long getApplied() {
+        return applied;
+    }
+
+    public void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        statement.executeBatch();
+        connection.commit();
+        applied += pending;
+        pending = 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (pending > 0) {
+                pending = 0;
+                connection.rollback();
+            }
+            statement.close();
+            connection.setAutoCommit(true);
+        } catch (SQLException ignored) {
+            // connection is discarded by the pool on failure
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // nothing left to release
+            }
+        }
+    }
+}
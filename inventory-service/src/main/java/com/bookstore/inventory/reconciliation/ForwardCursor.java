@@ -0,0 +1,110 @@
+package com.bookstore.inventory.reconciliation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only, forward-only iterator over a query result that fetches rows from the server in
+ * chunks of {@code fetchSize}. Autocommit is switched off because the Postgres driver only
+ * streams inside a transaction; otherwise it buffers the whole result set.
+ */
+public class ForwardCursor<T> implements Iterator<T>, AutoCloseable {
+
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowReader<T> rowReader;
+    private T next;
+    private boolean fetched;
+    private long rowCount;
+
+    public ForwardCursor(DataSource dataSource, String sql, int fetchSize, RowReader<T> rowReader) {
+        this.rowReader = rowReader;
+        Connection opened = null;
+        PreparedStatement prepared = null;
+        try {
+            opened = dataSource.getConnection();
+            opened.setAutoCommit(false);
+            opened.setReadOnly(true);
+            prepared = opened.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            prepared.setFetchSize(fetchSize);
+            this.resultSet = prepared.executeQuery();
+            this.connection = opened;
+            this.statement = prepared;
+        } catch (SQLException e) {
+            closeQuietly(prepared, opened);
+            throw new IllegalStateException("Unable to open cursor for: " + sql, e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            try {
+                next = resultSet.next() ? rowReader.read(resultSet) : null;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to read next row", e);
+            }
+            fetched = true;
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        fetched = false;
+        rowCount++;
+        return next;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() {
+        try {
+            resultSet.close();
+        } catch (SQLException ignored) {
+            // closing the connection below releases it anyway
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+            // read-only transaction, nothing to undo
+        }
+        closeQuietly(statement, connection);
+    }
+
+    private static void closeQuietly(PreparedStatement statement, Connection connection) {
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException ignored) {
+            // best effort
+        }
+        try {
+            if (connection != null) {
+                connection.setAutoCommit(true);
+                connection.setReadOnly(false);
+                connection.close();
+            }
+        } catch (SQLException ignored) {
+            // best effort
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.inventory.reconciliation;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Merge-joins two streams of stock rows, both ordered by book id, and reports every
+ * difference. Holds one row of each side at a time, so memory use is constant.
+ */
+public final class StockMergeJoin {
+
+    public record StockRow(long bookId, int totalCopies, int availableCopies) {
+    }
+
+    public enum DiffKind {
+        MISSING_IN_INVENTORY,
+        MISSING_IN_CATALOG,
+        STOCK_MISMATCH
+    }
+
+    public record StockDiff(DiffKind kind, long bookId, StockRow catalog, StockRow inventory) {
+    }
+
+    public static final class Counts {
+        private long matched;
+        private long stockMismatches;
+        private long missingInInventory;
+        private long missingInCatalog;
+
+        public long getMatched() {
+            return matched;
+        }
+
+        public long getStockMismatches() {
+            return stockMismatches;
+        }
+
+        public long getMissingInInventory() {
+            return missingInInventory;
+        }
+
+        public long getMissingInCatalog() {
+            return missingInCatalog;
+        }
+    }
+
+    private StockMergeJoin() {
+    }
+
+    public static Counts join(Iterator<StockRow> catalog, Iterator<StockRow> inventory, Consumer<StockDiff> sink) {
+        Counts counts = new Counts();
+        StockRow left = advance(catalog, null);
+        StockRow right = advance(inventory, null);
+
+        while (left != null || right != null) {
+            if (right == null || (left != null && left.bookId() < right.bookId())) {
+                counts.missingInInventory++;
+                sink.accept(new StockDiff(DiffKind.MISSING_IN_INVENTORY, left.bookId(), left, null));
+                left = advance(catalog, left);
+            } else if (left == null || right.bookId() < left.bookId()) {
+                counts.missingInCatalog++;
+                sink.accept(new StockDiff(DiffKind.MISSING_IN_CATALOG, right.bookId(), null, right));
+                right = advance(inventory, right);
+            } else {
+                if (left.totalCopies() == right.totalCopies() && left.availableCopies() == right.availableCopies()) {
+                    counts.matched++;
+                } else {
+                    counts.stockMismatches++;
+                    sink.accept(new StockDiff(DiffKind.STOCK_MISMATCH, left.bookId(), left, right));
+                }
+                left = advance(catalog, left);
+                right = advance(inventory, right);
+            }
+        }
+        return counts;
+    }
+
+    private static StockRow advance(Iterator<StockRow> rows, StockRow previous) {
+        if (!rows.hasNext()) {
+            return null;
+        }
+        StockRow next = rows.next();
+        if (previous != null && next.bookId() <= previous.bookId()) {
+            throw new IllegalStateException("Stock rows must be strictly ordered by book id, got "
+                    + next.bookId() + " after " + previous.bookId());
+        }
+        return next;
+    }
+}
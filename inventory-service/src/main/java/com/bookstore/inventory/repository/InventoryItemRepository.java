@@ -2,15 +2,20 @@ package com.bookstore.inventory.repository;
 
 import com.bookstore.inventory.model.InventoryItem;
 import com.bookstore.inventory.model.InventoryStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
@@ -19,6 +24,8 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
 
     Optional<InventoryItem> findByBookIsbn(String isbn);
 
+    List<InventoryItem> findByBookIdIn(Collection<Long> bookIds);
+
     List<InventoryItem> findByStatus(InventoryStatus status);
 
     Page<InventoryItem> findByStatus(InventoryStatus status, Pageable pageable);
@@ -60,6 +67,26 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
                                              @Param("locationCode") String locationCode,
                                              Pageable pageable);
 
+    /**
+     * Trigram search over title and author backed by the pg_trgm GIN indexes. Matches use
+     * word similarity so a partial title or author still hits, and are ranked by score.
+     */
+    @Query(value = "SELECT i.id AS id, " +
+            "CAST(GREATEST(word_similarity(:query, i.book_title), " +
+            "word_similarity(:query, COALESCE(i.book_author, ''))) AS double precision) AS score " +
+            "FROM inventory_items i " +
+            "WHERE (:query <% i.book_title OR :query <% i.book_author) " +
+            "AND (CAST(:locationCode AS text) IS NULL OR i.location_code = :locationCode) " +
+            "ORDER BY score DESC, i.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<TrigramMatch> findTrigramMatches(@Param("query") String query,
+                                          @Param("locationCode") String locationCode,
+                                          @Param("limit") int limit);
+
+    @Query("SELECT i FROM InventoryItem i")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<InventoryItem> streamAll();
+
     @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.status = 'ACTIVE'")
     long countActiveItems();
 
@@ -84,4 +111,10 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     boolean existsByBookId(Long bookId);
 
     boolean existsByBookIsbn(String isbn);
+
+    interface TrigramMatch {
+        Long getId();
+
+        Double getScore();
+    }
 }
@@ -0,0 +1,194 @@
+package com.bookstore.inventory.repository;
+
+import com.bookstore.inventory.config.DatabasePlatform;
+import com.bookstore.inventory.model.InventoryStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based stock writes for shipment receiving. Bypasses the entity so a whole manifest
+ * costs a handful of statements instead of a load-modify-save per title.
+ * <p>
+ * Callers pass rows in book id order, so concurrent manifests lock the items they share in
+ * the same order and cannot deadlock each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryReceivingRepository {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final RowMapper<StockLevel> STOCK_LEVEL_MAPPER = (rs, rowNum) -> new StockLevel(
+            rs.getLong("id"),
+            rs.getLong("book_id"),
+            rs.getInt("total_copies"),
+            rs.getInt("available_copies"));
+
+    private static final String INSERT_COLUMNS = "INSERT INTO inventory_items (book_id, book_isbn, book_title, " +
+            "book_author, total_copies, available_copies, reserved_copies, rented_copies, damaged_copies, " +
+            "lost_copies, minimum_stock, status, location_code, shelf_code, created_at, updated_at, version) VALUES ";
+
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, 0, 0, 0, 0, 1, ?, ?, ?, ?, ?, 0)";
+
+    // A concurrent manifest may have created the item since addStock; add to it instead of failing
+    private static final String UPSERT_SUFFIX = " ON CONFLICT (book_id) DO UPDATE SET " +
+            "total_copies = inventory_items.total_copies + EXCLUDED.total_copies, " +
+            "available_copies = inventory_items.available_copies + EXCLUDED.available_copies, " +
+            "updated_at = EXCLUDED.updated_at, " +
+            "version = inventory_items.version + 1 " +
+            "RETURNING id, book_id, total_copies, available_copies";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public record StockIncrement(long bookId, int quantity) {
+    }
+
+    public record StockLevel(long id, long bookId, int totalCopies, int availableCopies) {
+    }
+
+    public record NewStockItem(long bookId, String bookIsbn, String bookTitle, String bookAuthor,
+                               String locationCode, String shelfCode, int quantity) {
+    }
+
+    /**
+     * Adds the given quantities to total and available copies of existing items.
+     * Increments for books without an inventory item are ignored.
+     *
+     * @param increments at most one increment per book
+     * @return the new stock levels of the items that were updated
+     */
+    public List<StockLevel> addStock(List<StockIncrement> increments) {
+        List<StockLevel> levels = new ArrayList<>(increments.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < increments.size(); from += CHUNK_SIZE) {
+            List<StockIncrement> chunk = increments.subList(from, Math.min(from + CHUNK_SIZE, increments.size()));
+            if (databasePlatform == DatabasePlatform.POSTGRESQL) {
+                levels.addAll(addStockFromValues(chunk, now));
+            } else {
+                levels.addAll(addStockBatched(chunk, now));
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Creates items for books that had none. On PostgreSQL an item created concurrently by
+     * another manifest gets the quantity added instead.
+     *
+     * @param items at most one item per book
+     * @return the stock levels of the inserted (or concurrently created) items
+     */
+    public List<StockLevel> insertItems(List<NewStockItem> items) {
+        List<StockLevel> levels = new ArrayList<>(items.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            List<NewStockItem> chunk = items.subList(from, Math.min(from + CHUNK_SIZE, items.size()));
+            if (databasePlatform == DatabasePlatform.POSTGRESQL) {
+                levels.addAll(upsertFromValues(chunk, now));
+            } else {
+                levels.addAll(insertBatched(chunk, now));
+            }
+        }
+        return levels;
+    }
+
+    private List<StockLevel> upsertFromValues(List<NewStockItem> chunk, Timestamp now) {
+        String sql = INSERT_COLUMNS + String.join(", ", Collections.nCopies(chunk.size(), INSERT_ROW)) + UPSERT_SUFFIX;
+        return jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            for (NewStockItem item : chunk) {
+                setItem(ps, index, item, now);
+                index += 11;
+            }
+        }, STOCK_LEVEL_MAPPER);
+    }
+
+    private List<StockLevel> insertBatched(List<NewStockItem> chunk, Timestamp now) {
+        jdbcTemplate.batchUpdate(INSERT_COLUMNS + INSERT_ROW, chunk, chunk.size(),
+                (ps, item) -> setItem(ps, 1, item, now));
+        return selectLevels(chunk.stream().map(NewStockItem::bookId).toList());
+    }
+
+    private static void setItem(PreparedStatement ps, int index, NewStockItem item, Timestamp now) throws SQLException {
+        ps.setLong(index, item.bookId());
+        ps.setString(index + 1, item.bookIsbn());
+        ps.setString(index + 2, item.bookTitle());
+        ps.setString(index + 3, item.bookAuthor());
+        ps.setInt(index + 4, item.quantity());
+        ps.setInt(index + 5, item.quantity());
+        ps.setString(index + 6, InventoryStatus.ACTIVE.name());
+        ps.setString(index + 7, item.locationCode());
+        ps.setString(index + 8, item.shelfCode());
+        ps.setTimestamp(index + 9, now);
+        ps.setTimestamp(index + 10, now);
+    }
+
+    private List<StockLevel> addStockFromValues(List<StockIncrement> chunk, Timestamp now) {
+        // The join below may visit rows in any order; take the row locks in book id order first
+        Long[] bookIds = chunk.stream().map(StockIncrement::bookId).toArray(Long[]::new);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT id FROM inventory_items WHERE book_id = ANY (?) ORDER BY book_id FOR UPDATE");
+            ps.setArray(1, con.createArrayOf("bigint", bookIds));
+            return ps;
+        }, rs -> {
+        });
+        String values = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)"));
+        String sql = "UPDATE inventory_items AS i SET " +
+                "total_copies = i.total_copies + v.quantity, " +
+                "available_copies = i.available_copies + v.quantity, " +
+                "updated_at = ?, " +
+                "version = i.version + 1 " +
+                "FROM (VALUES " + values + ") AS v(book_id, quantity) " +
+                "WHERE i.book_id = v.book_id " +
+                "RETURNING i.id, i.book_id, i.total_copies, i.available_copies";
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setTimestamp(1, now);
+            int index = 2;
+            for (StockIncrement increment : chunk) {
+                ps.setLong(index++, increment.bookId());
+                ps.setInt(index++, increment.quantity());
+            }
+        }, STOCK_LEVEL_MAPPER);
+    }
+
+    private List<StockLevel> addStockBatched(List<StockIncrement> chunk, Timestamp now) {
+        jdbcTemplate.batchUpdate("UPDATE inventory_items SET " +
+                        "total_copies = total_copies + ?, " +
+                        "available_copies = available_copies + ?, " +
+                        "updated_at = ?, " +
+                        "version = version + 1 " +
+                        "WHERE book_id = ?",
+                chunk, chunk.size(), (ps, increment) -> {
+                    ps.setInt(1, increment.quantity());
+                    ps.setInt(2, increment.quantity());
+                    ps.setTimestamp(3, now);
+                    ps.setLong(4, increment.bookId());
+                });
+
+        return selectLevels(chunk.stream().map(StockIncrement::bookId).toList());
+    }
+
+    private List<StockLevel> selectLevels(List<Long> bookIds) {
+        String placeholders = String.join(", ", Collections.nCopies(bookIds.size(), "?"));
+        return jdbcTemplate.query("SELECT id, book_id, total_copies, available_copies FROM inventory_items " +
+                        "WHERE book_id IN (" + placeholders + ")",
+                ps -> {
+                    int index = 1;
+                    for (Long bookId : bookIds) {
+                        ps.setLong(index++, bookId);
+                    }
+                }, STOCK_LEVEL_MAPPER);
+    }
+}
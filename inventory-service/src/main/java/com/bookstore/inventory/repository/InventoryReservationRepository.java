@@ -0,0 +1,27 @@
+package com.bookstore.inventory.repository;
+
+import com.bookstore.inventory.model.InventoryReservation;
+import com.bookstore.inventory.model.ReservationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+
+    List<InventoryReservation> findByIdInAndStatus(Collection<Long> ids, ReservationStatus status);
+
+    @Query("SELECT r FROM InventoryReservation r WHERE r.status = :status")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<InventoryReservation> streamByStatus(@Param("status") ReservationStatus status);
+
+    long countByStatus(ReservationStatus status);
+}
@@ -0,0 +1,195 @@
+package com.bookstore.inventory.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel keyed by {@code long} ids.
+ * <p>
+ * Time is measured in ticks. Level 0 has one slot per tick, level {@code k} one slot per
+ * {@code wheelSize^k} ticks; levels are added on demand for far deadlines. A timer fires on
+ * the first tick boundary at or after its deadline, never earlier. Scheduling and cancelling
+ * are O(1); each tick touches only the due slot and, on slot boundaries, cascades one slot
+ * of the next level down, so expiry work is proportional to what actually expires.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Node[]> levels = new ArrayList<>();
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final List<Node> due = new ArrayList<>();
+    private long currentTick;
+
+    private static final class Node {
+        final long id;
+        final long expirationTick;
+        Node prev;
+        Node next;
+
+        Node(long id, long expirationTick) {
+            this.id = id;
+            this.expirationTick = expirationTick;
+        }
+    }
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMs / tickMs;
+        addLevel();
+    }
+
+    /**
+     * Schedules (or reschedules) the id to fire at {@code deadlineMs}.
+     */
+    public void schedule(long id, long deadlineMs) {
+        cancel(id);
+        Node node = new Node(id, Math.floorDiv(deadlineMs + tickMs - 1, tickMs));
+        nodes.put(id, node);
+        place(node);
+    }
+
+    public boolean cancel(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        if (node.prev != null) {
+            unlink(node);
+        } else {
+            due.remove(node);
+        }
+        return true;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Advances the wheel to {@code nowMs} and hands every expired id to {@code onExpire}.
+     *
+     * @return the number of ids that expired
+     */
+    public int advance(long nowMs, LongConsumer onExpire) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        int expired = drainDue(onExpire);
+        while (currentTick < targetTick) {
+            if (nodes.isEmpty()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            expired += expireSlot(levels.get(0)[slot(currentTick, 0)], onExpire);
+        }
+        return expired;
+    }
+
+    private void cascade() {
+        // Highest boundary first, so cascaded timers can cascade again into lower levels
+        int boundary = 0;
+        long ticks = currentTick;
+        while (boundary + 1 < levels.size() && ticks % wheelSize == 0) {
+            ticks /= wheelSize;
+            boundary++;
+        }
+        for (int level = boundary; level >= 1; level--) {
+            Node head = levels.get(level)[slot(currentTick, level)];
+            Node node = head.next;
+            head.next = head;
+            head.prev = head;
+            while (node != head) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private int expireSlot(Node head, LongConsumer onExpire) {
+        int expired = 0;
+        Node node = head.next;
+        while (node != head) {
+            Node next = node.next;
+            unlink(node);
+            nodes.remove(node.id);
+            onExpire.accept(node.id);
+            expired++;
+            node = next;
+        }
+        return expired + drainDue(onExpire);
+    }
+
+    private int drainDue(LongConsumer onExpire) {
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Node> ready = new ArrayList<>(due);
+        due.clear();
+        for (Node node : ready) {
+            nodes.remove(node.id);
+            onExpire.accept(node.id);
+        }
+        return ready.size();
+    }
+
+    private void place(Node node) {
+        long delta = node.expirationTick - currentTick;
+        if (delta <= 0) {
+            due.add(node);
+            return;
+        }
+        int level = 0;
+        long span = wheelSize;
+        while (delta >= span) {
+            level++;
+            if (level == levels.size()) {
+                addLevel();
+            }
+            span = span > Long.MAX_VALUE / wheelSize ? Long.MAX_VALUE : span * wheelSize;
+        }
+        Node head = levels.get(level)[slot(node.expirationTick, level)];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private int slot(long tick, int level) {
+        long scaled = tick;
+        for (int i = 0; i < level; i++) {
+            scaled /= wheelSize;
+        }
+        return (int) Math.floorMod(scaled, (long) wheelSize);
+    }
+
+    private static void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private void addLevel() {
+        Node[] slots = new Node[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            Node head = new Node(-1, -1);
+            head.prev = head;
+            head.next = head;
+            slots[i] = head;
+        }
+        levels.add(slots);
+    }
+}
@@ -0,0 +1,175 @@
+package com.bookstore.inventory.scheduler;
+
+import com.bookstore.inventory.model.InventoryItem;
+import com.bookstore.inventory.model.InventoryReservation;
+import com.bookstore.inventory.model.ReservationStatus;
+import com.bookstore.inventory.repository.InventoryItemRepository;
+import com.bookstore.inventory.repository.InventoryReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Expires abandoned reservations. Pending reservations are the persisted record of what has to
+ * expire; their ids are held in a {@link HierarchicalTimingWheel} that is rebuilt from the
+ * database at startup. Each tick releases whatever came due in batched transactions. A batch
+ * that fails is retried one reservation at a time, and a reservation that still fails goes back
+ * on the wheel with exponential backoff, so no due id is dropped while the database is unhappy.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryScheduler {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final HierarchicalTimingWheel wheel;
+    private final Map<Long, Integer> retryAttempts = new ConcurrentHashMap<>();
+
+    public ReservationExpiryScheduler(InventoryReservationRepository reservationRepository,
+                                      InventoryItemRepository inventoryItemRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${inventory.reservations.tick-ms:100}") long tickMs) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.wheel = new HierarchicalTimingWheel(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    public void schedule(long reservationId, LocalDateTime expiresAt) {
+        long deadline = toEpochMillis(expiresAt);
+        synchronized (wheel) {
+            wheel.schedule(reservationId, deadline);
+        }
+    }
+
+    public void cancel(long reservationId) {
+        synchronized (wheel) {
+            wheel.cancel(reservationId);
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingReservations() {
+        Integer loaded = readOnlyTransactionTemplate.execute(status -> {
+            int count = 0;
+            try (Stream<InventoryReservation> pending = reservationRepository.streamByStatus(ReservationStatus.PENDING)) {
+                for (InventoryReservation reservation : (Iterable<InventoryReservation>) pending::iterator) {
+                    schedule(reservation.getId(), reservation.getExpiresAt());
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Scheduled expiry of {} pending reservations", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservations.tick-ms:100}")
+    public void tick() {
+        List<Long> expired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), expired::add);
+        }
+        for (int from = 0; from < expired.size(); from += BATCH_SIZE) {
+            List<Long> batch = expired.subList(from, Math.min(from + BATCH_SIZE, expired.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expireBatch(batch));
+                if (!retryAttempts.isEmpty()) {
+                    batch.forEach(retryAttempts::remove);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Expiring {} reservations failed, retrying them one by one: {}", batch.size(), e.toString());
+                batch.forEach(this::expireOne);
+            }
+        }
+    }
+
+    private void expireOne(long reservationId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> expireBatch(List.of(reservationId)));
+            retryAttempts.remove(reservationId);
+        } catch (RuntimeException e) {
+            int attempt = retryAttempts.merge(reservationId, 1, Integer::sum);
+            long delay = Math.min(RETRY_DELAY_MS << Math.min(attempt - 1, 16), MAX_RETRY_DELAY_MS);
+            log.warn("Could not expire reservation {} (attempt {}), retrying in {} ms", reservationId, attempt, delay, e);
+            synchronized (wheel) {
+                wheel.schedule(reservationId, System.currentTimeMillis() + delay);
+            }
+        }
+    }
+
+    private void expireBatch(List<Long> reservationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryReservation> reservations =
+                reservationRepository.findByIdInAndStatus(reservationIds, ReservationStatus.PENDING);
+
+        Map<Long, Integer> quantityByBook = new HashMap<>();
+        List<InventoryReservation> expiring = new ArrayList<>(reservations.size());
+        for (InventoryReservation reservation : reservations) {
+            if (!reservation.isExpiredAt(now)) {
+                // TTL was extended after the timer was set
+                schedule(reservation.getId(), reservation.getExpiresAt());
+                continue;
+            }
+            expiring.add(reservation);
+            quantityByBook.merge(reservation.getBookId(), reservation.getQuantity(), Integer::sum);
+        }
+        if (expiring.isEmpty()) {
+            return;
+        }
+
+        Map<Long, InventoryItem> items = inventoryItemRepository.findByBookIdIn(quantityByBook.keySet()).stream()
+                .collect(Collectors.toMap(InventoryItem::getBookId, Function.identity()));
+        quantityByBook.forEach((bookId, quantity) -> {
+            InventoryItem item = items.get(bookId);
+            if (item == null) {
+                log.warn("Expiring reservations for book {} which has no inventory item", bookId);
+                return;
+            }
+            int releasable = Math.min(quantity, item.getReservedCopies());
+            if (releasable < quantity) {
+                log.warn("Book {} has {} reserved copies but {} are expiring", bookId, item.getReservedCopies(), quantity);
+            }
+            item.releaseReservation(releasable);
+        });
+        expiring.forEach(reservation -> reservation.setStatus(ReservationStatus.EXPIRED));
+
+        inventoryItemRepository.saveAll(items.values());
+        reservationRepository.saveAll(expiring);
+        log.info("Expired {} reservations across {} books", expiring.size(), quantityByBook.size());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
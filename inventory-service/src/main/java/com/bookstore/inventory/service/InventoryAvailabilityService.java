@@ -0,0 +1,16 @@
+package com.bookstore.inventory.service;
+
+import com.bookstore.inventory.dto.InventoryAvailability;
+
+/**
+ * Service interface for reading the stock of a single title.
+ */
+public interface InventoryAvailabilityService {
+
+    /**
+     * Get the stock and shelf position of a book
+     * @param bookId book ID
+     * @return availability of the book's inventory item
+     */
+    InventoryAvailability getAvailability(Long bookId);
+}
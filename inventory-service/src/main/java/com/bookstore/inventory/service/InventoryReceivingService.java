@@ -0,0 +1,18 @@
+package com.bookstore.inventory.service;
+
+import com.bookstore.inventory.dto.ShipmentReceiptRequest;
+import com.bookstore.inventory.dto.ShipmentReceiptResponse;
+
+/**
+ * Service interface for receiving stock shipments into inventory.
+ */
+public interface InventoryReceivingService {
+
+    /**
+     * Apply a shipment manifest in one transaction: stock is added to existing items with
+     * set-based updates and items for titles not stocked yet are created in batches.
+     * @param request the shipment manifest
+     * @return the outcome of every manifest line
+     */
+    ShipmentReceiptResponse receiveShipment(ShipmentReceiptRequest request);
+}
@@ -0,0 +1,38 @@
+package com.bookstore.inventory.service;
+
+import com.bookstore.inventory.dto.ReservationRequest;
+import com.bookstore.inventory.dto.ReservationResponse;
+
+/**
+ * Service interface for time-limited stock reservations.
+ */
+public interface InventoryReservationService {
+
+    /**
+     * Reserve copies of a book until the reservation's TTL runs out
+     * @param request the book, quantity and optional TTL
+     * @return the pending reservation
+     */
+    ReservationResponse reserve(ReservationRequest request);
+
+    /**
+     * Turn a pending reservation into rented copies
+     * @param reservationId the reservation ID
+     * @return the confirmed reservation
+     */
+    ReservationResponse confirm(Long reservationId);
+
+    /**
+     * Give the reserved copies back before the reservation expires
+     * @param reservationId the reservation ID
+     * @return the released reservation
+     */
+    ReservationResponse release(Long reservationId);
+
+    /**
+     * Get a reservation by ID
+     * @param reservationId the reservation ID
+     * @return the reservation
+     */
+    ReservationResponse getReservation(Long reservationId);
+}
@@ -0,0 +1,21 @@
+package com.bookstore.inventory.service;
+
+import com.bookstore.inventory.dto.InventorySearchResult;
+
+import java.util.List;
+
+/**
+ * Service interface for searching inventory items.
+ */
+public interface InventorySearchService {
+
+    /**
+     * Fuzzy search over book titles and authors using trigram similarity.
+     * Uses pg_trgm on Postgres and an in-process trigram index elsewhere.
+     * @param query partial title or author
+     * @param locationCode optional location filter
+     * @param limit maximum number of results
+     * @return matching items, best match first
+     */
+    List<InventorySearchResult> searchByTrigram(String query, String locationCode, int limit);
+}
@@ -0,0 +1,34 @@
+package com.bookstore.inventory.service;
+
+import com.bookstore.inventory.dto.PickListRequest;
+import com.bookstore.inventory.dto.PickListResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service interface for building warehouse pick lists from the in-memory location index.
+ */
+public interface PickListService {
+
+    /**
+     * Build one walk-ordered pick list per location for a batch of order lines.
+     * @param request the books and quantities to pick
+     * @return pick lists by location plus the books that have no known location
+     */
+    PickListResponse generatePickList(PickListRequest request);
+
+    /**
+     * Get the shelves of a location in walk order with the books stocked on each
+     * @param locationCode the location code
+     * @return book IDs keyed by shelf code
+     */
+    Map<String, Set<Long>> getShelves(String locationCode);
+
+    /**
+     * Get all known location codes
+     * @return the location codes, sorted
+     */
+    List<String> getLocations();
+}
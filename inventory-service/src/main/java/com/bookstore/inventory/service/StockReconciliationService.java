@@ -0,0 +1,26 @@
+package com.bookstore.inventory.service;
+
+import com.bookstore.inventory.dto.ReconciliationSummary;
+
+import java.io.Writer;
+
+/**
+ * Service interface for reconciling catalog stock (book-service) with inventory stock.
+ */
+public interface StockReconciliationService {
+
+    /**
+     * Fail fast when the catalog database is not configured, before any report is streamed.
+     * @throws com.bookstore.inventory.exception.InvalidRequestException if no catalog URL is set
+     */
+    void checkConfigured();
+
+    /**
+     * Stream both sides ordered by book ID, write every difference as a CSV line and
+     * optionally copy inventory stock levels onto mismatching catalog rows.
+     * @param report where the CSV diff report is written
+     * @param applyCorrections whether to update mismatching catalog rows
+     * @return counts of what was compared and corrected
+     */
+    ReconciliationSummary reconcile(Writer report, boolean applyCorrections);
+}
@@ -0,0 +1,37 @@
+package com.bookstore.inventory.service.impl;
+
+import com.bookstore.inventory.dto.InventoryAvailability;
+import com.bookstore.inventory.exception.ResourceNotFoundException;
+import com.bookstore.inventory.model.InventoryItem;
+import com.bookstore.inventory.repository.InventoryItemRepository;
+import com.bookstore.inventory.service.InventoryAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class InventoryAvailabilityServiceImpl implements InventoryAvailabilityService {
+
+    private final InventoryItemRepository inventoryItemRepository;
+
+    @Override
+    public InventoryAvailability getAvailability(Long bookId) {
+        log.debug("Fetching availability for book: {}", bookId);
+        InventoryItem item = inventoryItemRepository.findByBookId(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found for book: " + bookId));
+        return InventoryAvailability.builder()
+                .bookId(item.getBookId())
+                .status(item.getStatus())
+                .totalCopies(item.getTotalCopies())
+                .availableCopies(item.getAvailableCopies())
+                .reservedCopies(item.getReservedCopies())
+                .rentedCopies(item.getRentedCopies())
+                .locationCode(item.getLocationCode())
+                .shelfCode(item.getShelfCode())
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.bookstore.inventory.service.impl;
+
+import com.bookstore.inventory.dto.ReceiptLine;
+import com.bookstore.inventory.dto.ReceiptLineResult;
+import com.bookstore.inventory.dto.ShipmentReceiptRequest;
+import com.bookstore.inventory.dto.ShipmentReceiptResponse;
+import com.bookstore.inventory.index.InventoryItemIndexListener;
+import com.bookstore.inventory.repository.InventoryItemRepository;
+import com.bookstore.inventory.repository.InventoryReceivingRepository;
+import com.bookstore.inventory.repository.InventoryReceivingRepository.NewStockItem;
+import com.bookstore.inventory.repository.InventoryReceivingRepository.StockIncrement;
+import com.bookstore.inventory.repository.InventoryReceivingRepository.StockLevel;
+import com.bookstore.inventory.service.InventoryReceivingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InventoryReceivingServiceImpl implements InventoryReceivingService {
+
+    private static final int INDEX_REFRESH_CHUNK_SIZE = 1000;
+
+    private final InventoryReceivingRepository inventoryReceivingRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryItemIndexListener inventoryItemIndexListener;
+
+    @Override
+    public ShipmentReceiptResponse receiveShipment(ShipmentReceiptRequest request) {
+        List<ReceiptLine> lines = request.getLines();
+        log.debug("Receiving shipment {} with {} lines", request.getShipmentReference(), lines.size());
+        long started = System.currentTimeMillis();
+
+        // A manifest may list the same title more than once; apply one increment per book, in
+        // book id order so concurrent manifests lock shared items in the same order
+        Map<Long, Integer> quantityByBook = new TreeMap<>();
+        Map<Long, ReceiptLine> firstLineByBook = new HashMap<>();
+        for (ReceiptLine line : lines) {
+            quantityByBook.merge(line.getBookId(), line.getQuantity(), Integer::sum);
+            firstLineByBook.putIfAbsent(line.getBookId(), line);
+        }
+
+        List<StockIncrement> increments = new ArrayList<>(quantityByBook.size());
+        quantityByBook.forEach((bookId, quantity) -> increments.add(new StockIncrement(bookId, quantity)));
+
+        Map<Long, StockLevel> updated = new HashMap<>();
+        for (StockLevel level : inventoryReceivingRepository.addStock(increments)) {
+            updated.put(level.bookId(), level);
+        }
+
+        List<NewStockItem> newItems = new ArrayList<>();
+        Map<Long, String> rejected = new HashMap<>();
+        quantityByBook.forEach((bookId, quantity) -> {
+            if (updated.containsKey(bookId)) {
+                return;
+            }
+            ReceiptLine line = firstLineByBook.get(bookId);
+            if (line.getBookTitle() == null || line.getBookTitle().isBlank()) {
+                rejected.put(bookId, "No inventory item for book " + bookId + " and no title to create one");
+                return;
+            }
+            newItems.add(new NewStockItem(bookId, line.getBookIsbn(), line.getBookTitle(), line.getBookAuthor(),
+                    line.getLocationCode(), line.getShelfCode(), quantity));
+        });
+        Map<Long, StockLevel> created = new HashMap<>();
+        for (StockLevel level : inventoryReceivingRepository.insertItems(newItems)) {
+            created.put(level.bookId(), level);
+        }
+
+        refreshIndexes(quantityByBook.keySet().stream().filter(bookId -> !rejected.containsKey(bookId)).toList());
+
+        ShipmentReceiptResponse response = buildResponse(request, updated, created, rejected);
+        log.info("Received shipment {}: {} lines, {} updated, {} created, {} rejected in {} ms",
+                request.getShipmentReference(), lines.size(), response.getUpdatedLines(),
+                response.getCreatedLines(), response.getRejectedLines(), System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private ShipmentReceiptResponse buildResponse(ShipmentReceiptRequest request,
+                                                  Map<Long, StockLevel> updated,
+                                                  Map<Long, StockLevel> created,
+                                                  Map<Long, String> rejected) {
+        List<ReceiptLine> lines = request.getLines();
+        List<ReceiptLineResult> results = new ArrayList<>(lines.size());
+        int updatedLines = 0;
+        int createdLines = 0;
+        int rejectedLines = 0;
+        long copiesReceived = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            ReceiptLine line = lines.get(i);
+            Long bookId = line.getBookId();
+            ReceiptLineResult.ReceiptLineResultBuilder result = ReceiptLineResult.builder()
+                    .lineNumber(i + 1)
+                    .bookId(bookId)
+                    .quantity(line.getQuantity());
+
+            StockLevel level = updated.get(bookId);
+            StockLevel createdLevel = created.get(bookId);
+            if (level != null) {
+                result.outcome(ReceiptLineResult.Outcome.UPDATED)
+                        .totalCopies(level.totalCopies())
+                        .availableCopies(level.availableCopies());
+                updatedLines++;
+                copiesReceived += line.getQuantity();
+            } else if (createdLevel != null) {
+                result.outcome(ReceiptLineResult.Outcome.CREATED)
+                        .totalCopies(createdLevel.totalCopies())
+                        .availableCopies(createdLevel.availableCopies());
+                createdLines++;
+                copiesReceived += line.getQuantity();
+            } else {
+                result.outcome(ReceiptLineResult.Outcome.REJECTED)
+                        .message(rejected.get(bookId));
+                rejectedLines++;
+            }
+            results.add(result.build());
+        }
+
+        return ShipmentReceiptResponse.builder()
+                .shipmentReference(request.getShipmentReference())
+                .totalLines(lines.size())
+                .updatedLines(updatedLines)
+                .createdLines(createdLines)
+                .rejectedLines(rejectedLines)
+                .copiesReceived(copiesReceived)
+                .lines(results)
+                .build();
+    }
+
+    private void refreshIndexes(List<Long> bookIds) {
+        if (bookIds.isEmpty() || !inventoryItemIndexListener.hasActiveIndexes()) {
+            return;
+        }
+        for (int from = 0; from < bookIds.size(); from += INDEX_REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = bookIds.subList(from, Math.min(from + INDEX_REFRESH_CHUNK_SIZE, bookIds.size()));
+            inventoryItemIndexListener.onBulkSave(inventoryItemRepository.findByBookIdIn(chunk));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.bookstore.inventory.service.impl;
+
+import com.bookstore.inventory.dto.ReservationRequest;
+import com.bookstore.inventory.dto.ReservationResponse;
+import com.bookstore.inventory.exception.InsufficientInventoryException;
+import com.bookstore.inventory.exception.InvalidRequestException;
+import com.bookstore.inventory.exception.ResourceNotFoundException;
+import com.bookstore.inventory.model.InventoryItem;
+import com.bookstore.inventory.model.InventoryReservation;
+import com.bookstore.inventory.model.ReservationStatus;
+import com.bookstore.inventory.repository.InventoryItemRepository;
+import com.bookstore.inventory.repository.InventoryReservationRepository;
+import com.bookstore.inventory.scheduler.ReservationExpiryScheduler;
+import com.bookstore.inventory.service.InventoryReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+@Slf4j
+@Transactional
+public class InventoryReservationServiceImpl implements InventoryReservationService {
+
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ReservationExpiryScheduler expiryScheduler;
+    private final Duration defaultTtl;
+
+    public InventoryReservationServiceImpl(InventoryReservationRepository reservationRepository,
+                                           InventoryItemRepository inventoryItemRepository,
+                                           ReservationExpiryScheduler expiryScheduler,
+                                           @Value("${inventory.reservations.default-ttl:15m}") Duration defaultTtl) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.expiryScheduler = expiryScheduler;
+        this.defaultTtl = defaultTtl;
+    }
+
+    @Override
+    public ReservationResponse reserve(ReservationRequest request) {
+        log.debug("Reserving {} copies of book {}", request.getQuantity(), request.getBookId());
+
+        InventoryItem item = inventoryItemRepository.findByBookId(request.getBookId())
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found for book ID: " + request.getBookId()));
+
+        if (!item.isAvailable() || item.getAvailableCopies() < request.getQuantity()) {
+            throw new InsufficientInventoryException("Not enough copies available. Available: " +
+                    item.getAvailableCopies() + ", Requested: " + request.getQuantity());
+        }
+        item.reserve(request.getQuantity());
+        inventoryItemRepository.save(item);
+
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        InventoryReservation reservation = reservationRepository.save(InventoryReservation.builder()
+                .bookId(request.getBookId())
+                .quantity(request.getQuantity())
+                .reference(request.getReference())
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+
+        long reservationId = reservation.getId();
+        LocalDateTime expiresAt = reservation.getExpiresAt();
+        afterCommit(() -> expiryScheduler.schedule(reservationId, expiresAt));
+
+        log.info("Reserved {} copies of book {} until {} (reservation {})",
+                request.getQuantity(), request.getBookId(), expiresAt, reservationId);
+        return toResponse(reservation);
+    }
+
+    @Override
+    public ReservationResponse confirm(Long reservationId) {
+        log.debug("Confirming reservation {}", reservationId);
+
+        InventoryReservation reservation = findPendingOrThrow(reservationId);
+        InventoryItem item = findItemOrThrow(reservation.getBookId());
+        item.rent(reservation.getQuantity());
+        inventoryItemRepository.save(item);
+
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        InventoryReservation saved = reservationRepository.save(reservation);
+        afterCommit(() -> expiryScheduler.cancel(reservationId));
+
+        log.info("Confirmed reservation {}", reservationId);
+        return toResponse(saved);
+    }
+
+    @Override
+    public ReservationResponse release(Long reservationId) {
+        log.debug("Releasing reservation {}", reservationId);
+
+        InventoryReservation reservation = findPendingOrThrow(reservationId);
+        InventoryItem item = findItemOrThrow(reservation.getBookId());
+        item.releaseReservation(reservation.getQuantity());
+        inventoryItemRepository.save(item);
+
+        reservation.setStatus(ReservationStatus.RELEASED);
+        InventoryReservation saved = reservationRepository.save(reservation);
+        afterCommit(() -> expiryScheduler.cancel(reservationId));
+
+        log.info("Released reservation {}", reservationId);
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationResponse getReservation(Long reservationId) {
+        return toResponse(findReservationOrThrow(reservationId));
+    }
+
+    // Helper methods
+    private InventoryReservation findReservationOrThrow(Long reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + reservationId));
+    }
+
+    private InventoryReservation findPendingOrThrow(Long reservationId) {
+        InventoryReservation reservation = findReservationOrThrow(reservationId);
+        if (!reservation.isPending()) {
+            throw new InvalidRequestException("Reservation " + reservationId + " is " + reservation.getStatus());
+        }
+        return reservation;
+    }
+
+    private InventoryItem findItemOrThrow(Long bookId) {
+        return inventoryItemRepository.findByBookId(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found for book ID: " + bookId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private ReservationResponse toResponse(InventoryReservation reservation) {
+        return ReservationResponse.builder()
+                .id(reservation.getId())
+                .bookId(reservation.getBookId())
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .reference(reservation.getReference())
+                .expiresAt(reservation.getExpiresAt())
+                .createdAt(reservation.getCreatedAt())
+                .updatedAt(reservation.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.inventory.service.impl;
+
+import com.bookstore.inventory.config.DatabasePlatform;
+import com.bookstore.inventory.dto.InventorySearchResult;
+import com.bookstore.inventory.exception.InvalidRequestException;
+import com.bookstore.inventory.index.TrigramIndex;
+import com.bookstore.inventory.index.TrigramSearchIndex;
+import com.bookstore.inventory.model.InventoryItem;
+import com.bookstore.inventory.repository.InventoryItemRepository;
+import com.bookstore.inventory.service.InventorySearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class InventorySearchServiceImpl implements InventorySearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    // Same default as pg_trgm.word_similarity_threshold
+    private static final double WORD_SIMILARITY_THRESHOLD = 0.6;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TrigramSearchIndex trigramSearchIndex;
+    private final DatabasePlatform databasePlatform;
+
+    @Override
+    public List<InventorySearchResult> searchByTrigram(String query, String locationCode, int limit) {
+        log.debug("Trigram search for '{}' in location {} on {}", query, locationCode, databasePlatform);
+
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        if (databasePlatform == DatabasePlatform.POSTGRESQL) {
+            inventoryItemRepository.findTrigramMatches(query.trim(), locationCode, limit)
+                    .forEach(match -> scores.put(match.getId(), match.getScore()));
+        } else {
+            for (TrigramIndex.Match match : trigramSearchIndex.search(query, locationCode,
+                    WORD_SIMILARITY_THRESHOLD, limit)) {
+                scores.put(match.itemId(), match.score());
+            }
+        }
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, InventoryItem> items = inventoryItemRepository.findAllById(scores.keySet()).stream()
+                .collect(Collectors.toMap(InventoryItem::getId, Function.identity()));
+
+        List<InventorySearchResult> results = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            InventoryItem item = items.get(id);
+            if (item != null) {
+                results.add(toResult(item, score));
+            }
+        });
+        return results;
+    }
+
+    private InventorySearchResult toResult(InventoryItem item, double score) {
+        return InventorySearchResult.builder()
+                .id(item.getId())
+                .bookId(item.getBookId())
+                .bookIsbn(item.getBookIsbn())
+                .bookTitle(item.getBookTitle())
+                .bookAuthor(item.getBookAuthor())
+                .locationCode(item.getLocationCode())
+                .shelfCode(item.getShelfCode())
+                .availableCopies(item.getAvailableCopies())
+                .score(score)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookstore.inventory.service.impl;
+
+import com.bookstore.inventory.dto.LocationPickList;
+import com.bookstore.inventory.dto.PickLine;
+import com.bookstore.inventory.dto.PickListRequest;
+import com.bookstore.inventory.dto.PickListResponse;
+import com.bookstore.inventory.dto.PickStop;
+import com.bookstore.inventory.index.ShelfCodeComparator;
+import com.bookstore.inventory.index.ShelfLocationIndex;
+import com.bookstore.inventory.index.ShelfLocationIndex.Slot;
+import com.bookstore.inventory.service.PickListService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PickListServiceImpl implements PickListService {
+
+    private static final Comparator<String> SHELF_ORDER =
+            Comparator.nullsLast(ShelfCodeComparator.INSTANCE);
+
+    private final ShelfLocationIndex shelfLocationIndex;
+
+    @Override
+    public PickListResponse generatePickList(PickListRequest request) {
+        log.debug("Generating pick list for {} lines", request.getLines().size());
+
+        // Merge repeated books so each title is one stop
+        Map<Long, Integer> quantityByBook = new LinkedHashMap<>();
+        for (PickLine line : request.getLines()) {
+            quantityByBook.merge(line.getBookId(), line.getQuantity(), Integer::sum);
+        }
+
+        Map<String, List<PickStop>> stopsByLocation = new TreeMap<>();
+        List<Long> unlocated = new ArrayList<>();
+        quantityByBook.forEach((bookId, quantity) -> {
+            Slot slot = shelfLocationIndex.findByBookId(bookId);
+            if (slot == null || slot.locationCode() == null) {
+                unlocated.add(bookId);
+                return;
+            }
+            stopsByLocation.computeIfAbsent(slot.locationCode(), location -> new ArrayList<>())
+                    .add(PickStop.builder()
+                            .shelfCode(slot.shelfCode())
+                            .bookId(bookId)
+                            .bookTitle(slot.bookTitle())
+                            .quantity(quantity)
+                            .availableCopies(slot.availableCopies())
+                            .shortage(slot.availableCopies() < quantity)
+                            .build());
+        });
+
+        List<LocationPickList> locations = new ArrayList<>(stopsByLocation.size());
+        stopsByLocation.forEach((locationCode, stops) -> {
+            stops.sort(Comparator.comparing(PickStop::getShelfCode, SHELF_ORDER)
+                    .thenComparing(PickStop::getBookId));
+            for (int i = 0; i < stops.size(); i++) {
+                stops.get(i).setSequence(i + 1);
+            }
+            locations.add(LocationPickList.builder()
+                    .locationCode(locationCode)
+                    .stops(stops)
+                    .build());
+        });
+
+        return PickListResponse.builder()
+                .locations(locations)
+                .unlocatedBookIds(unlocated)
+                .build();
+    }
+
+    @Override
+    public Map<String, Set<Long>> getShelves(String locationCode) {
+        return shelfLocationIndex.shelves(locationCode);
+    }
+
+    @Override
+    public List<String> getLocations() {
+        return shelfLocationIndex.locations().stream().sorted().toList();
+    }
+}
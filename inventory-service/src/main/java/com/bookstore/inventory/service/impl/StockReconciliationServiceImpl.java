@@ -0,0 +1,145 @@
+package com.bookstore.inventory.service.impl;
+
+import com.bookstore.inventory.dto.ReconciliationSummary;
+import com.bookstore.inventory.exception.InvalidRequestException;
+import com.bookstore.inventory.reconciliation.BookStockCorrectionWriter;
+import com.bookstore.inventory.reconciliation.ForwardCursor;
+import com.bookstore.inventory.reconciliation.StockMergeJoin;
+import com.bookstore.inventory.reconciliation.StockMergeJoin.StockDiff;
+import com.bookstore.inventory.reconciliation.StockMergeJoin.StockRow;
+import com.bookstore.inventory.service.StockReconciliationService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.SQLException;
+
+@Service
+@Slf4j
+public class StockReconciliationServiceImpl implements StockReconciliationService {
+
+    private static final String CATALOG_SQL =
+            "SELECT id, total_copies, available_copies FROM books WHERE deleted = false ORDER BY id";
+    private static final String INVENTORY_SQL =
+            "SELECT book_id, total_copies, available_copies FROM inventory_items ORDER BY book_id";
+    private static final String CSV_HEADER =
+            "kind,book_id,catalog_total,catalog_available,inventory_total,inventory_available\n";
+
+    private final DataSource inventoryDataSource;
+    private final HikariDataSource catalogDataSource;
+    private final int fetchSize;
+    private final int correctionBatchSize;
+
+    public StockReconciliationServiceImpl(DataSource inventoryDataSource,
+                                          @Value("${inventory.reconciliation.catalog.url:}") String catalogUrl,
+                                          @Value("${inventory.reconciliation.catalog.username:}") String catalogUsername,
+                                          @Value("${inventory.reconciliation.catalog.password:}") String catalogPassword,
+                                          @Value("${inventory.reconciliation.fetch-size:5000}") int fetchSize,
+                                          @Value("${inventory.reconciliation.correction-batch-size:500}") int correctionBatchSize) {
+        this.inventoryDataSource = inventoryDataSource;
+        this.fetchSize = fetchSize;
+        this.correctionBatchSize = correctionBatchSize;
+        if (catalogUrl.isBlank()) {
+            this.catalogDataSource = null;
+        } else {
+            // Kept out of the context so it does not replace the auto-configured inventory DataSource
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("catalog-reconciliation");
+            dataSource.setJdbcUrl(catalogUrl);
+            dataSource.setUsername(catalogUsername);
+            dataSource.setPassword(catalogPassword);
+            dataSource.setMaximumPoolSize(2);
+            dataSource.setMinimumIdle(0);
+            this.catalogDataSource = dataSource;
+        }
+    }
+
+    @Override
+    public void checkConfigured() {
+        if (catalogDataSource == null) {
+            throw new InvalidRequestException("Catalog database for reconciliation is not configured " +
+                    "(inventory.reconciliation.catalog.url)");
+        }
+    }
+
+    @Override
+    public ReconciliationSummary reconcile(Writer report, boolean applyCorrections) {
+        checkConfigured();
+        log.info("Starting stock reconciliation (apply corrections: {})", applyCorrections);
+        long started = System.currentTimeMillis();
+
+        try (ForwardCursor<StockRow> catalog = new ForwardCursor<>(catalogDataSource, CATALOG_SQL, fetchSize,
+                rs -> new StockRow(rs.getLong(1), rs.getInt(2), rs.getInt(3)));
+             ForwardCursor<StockRow> inventory = new ForwardCursor<>(inventoryDataSource, INVENTORY_SQL, fetchSize,
+                     rs -> new StockRow(rs.getLong(1), rs.getInt(2), rs.getInt(3)));
+             BookStockCorrectionWriter corrections = applyCorrections
+                     ? new BookStockCorrectionWriter(catalogDataSource, correctionBatchSize) : null) {
+
+            report.write(CSV_HEADER);
+            StockMergeJoin.Counts counts = StockMergeJoin.join(catalog, inventory, diff -> {
+                writeDiff(report, diff);
+                if (corrections != null) {
+                    corrections.accept(diff);
+                }
+            });
+            if (corrections != null) {
+                corrections.flush();
+            }
+            report.flush();
+
+            ReconciliationSummary summary = ReconciliationSummary.builder()
+                    .catalogRows(catalog.getRowCount())
+                    .inventoryRows(inventory.getRowCount())
+                    .matched(counts.getMatched())
+                    .stockMismatches(counts.getStockMismatches())
+                    .missingInInventory(counts.getMissingInInventory())
+                    .missingInCatalog(counts.getMissingInCatalog())
+                    .correctionsApplied(corrections != null ? corrections.getApplied() : 0L)
+                    .elapsedMillis(System.currentTimeMillis() - started)
+                    .build();
+            log.info("Stock reconciliation finished: {}", summary);
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write reconciliation report", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to apply stock corrections", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (catalogDataSource != null) {
+            catalogDataSource.close();
+        }
+    }
+
+    private static void writeDiff(Writer report, StockDiff diff) {
+        try {
+            report.write(diff.kind().name());
+            report.write(',');
+            report.write(Long.toString(diff.bookId()));
+            writeSide(report, diff.catalog());
+            writeSide(report, diff.inventory());
+            report.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write reconciliation report", e);
+        }
+    }
+
+    private static void writeSide(Writer report, StockRow row) throws IOException {
+        report.write(',');
+        if (row != null) {
+            report.write(Integer.toString(row.totalCopies()));
+        }
+        report.write(',');
+        if (row != null) {
+            report.write(Integer.toString(row.availableCopies()));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Trigram indexes backing InventoryItemRepository.findTrigramMatches
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_inventory_items_title_trgm
+    ON inventory_items USING gin (book_title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_items_author_trgm
+    ON inventory_items USING gin (book_author gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_items_location
+    ON inventory_items (location_code);
@@ -0,0 +1,20 @@
+package com.bookstore.rental;
+
+import com.bookstore.rental.config.LateFeeBillingProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableJpaAuditing
+@EnableScheduling
+@EnableConfigurationProperties(LateFeeBillingProperties.class)
+public class RentalServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(RentalServiceApplication.class, args);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.bookstore.rental.billing;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+public record BillingRunSummary(LocalDate billingDate, long rentalsScanned, long rentalsCharged,
+                                long amountCents, Duration elapsed) {
+
+    public long rentalsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return rentalsScanned * 1000 / millis;
+    }
+}
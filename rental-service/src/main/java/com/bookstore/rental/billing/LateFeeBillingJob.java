@@ -0,0 +1,131 @@
+package com.bookstore.rental.billing;
+
+import com.bookstore.rental.config.LateFeeBillingProperties;
+import com.bookstore.rental.model.Rental;
+import com.bookstore.rental.repository.LateFeeBillingRepository;
+import com.bookstore.rental.repository.LateFeeBillingRepository.ChargeResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly late fee billing of overdue rentals.
+ * <p>
+ * Overdue rentals are walked in id order, one chunk per transaction: the chunk is read into
+ * primitive columns, fees are computed over the arrays in one pass and the charges are
+ * written back as JDBC batches. Each rental records the date it was billed through, so a
+ * failed run can simply be repeated and a skipped night is caught up by the next one.
+ * <p>
+ * Only OVERDUE rentals are walked. A rental being returned is settled for the late days
+ * since its last run, up to the return date, by {@link #settleOnReturn}.
+ */
+@Component
+@Slf4j
+public class LateFeeBillingJob {
+
+    private final LateFeeBillingRepository billingRepository;
+    private final LateFeeBillingProperties properties;
+    private final LateFeeCalculator calculator;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LateFeeBillingJob(LateFeeBillingRepository billingRepository,
+                             LateFeeBillingProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.billingRepository = billingRepository;
+        this.properties = properties;
+        this.calculator = new LateFeeCalculator(properties.getGraceDays(), properties.getFeePercent(),
+                properties.getMaxBillableDays());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${rental.billing.cron:0 30 1 * * *}")
+    public void billNightly() {
+        if (properties.isEnabled()) {
+            bill(LocalDate.now());
+        }
+    }
+
+    /**
+     * Charges late fees of all overdue rentals up to and including {@code billingDate}.
+     *
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public BillingRunSummary bill(LocalDate billingDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Late fee billing is already running");
+        }
+        try {
+            return run(billingDate);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Charges a rental being returned for the late days it accrued since it was last billed, up
+     * to the return date. Runs in the caller's transaction and updates the given entity.
+     *
+     * @return the amount charged in cents, 0 if nothing was due
+     */
+    public long settleOnReturn(Rental rental, LocalDate returnDate, LocalDateTime now) {
+        if (!properties.isEnabled() || rental.getDailyRateCents() == null || rental.getDailyRateCents() <= 0) {
+            return 0;
+        }
+        OverdueChunk chunk = new OverdueChunk(1);
+        LocalDate billedThrough = rental.getLateFeeBilledThrough();
+        chunk.add(rental.getId(), rental.getUserId(), rental.getRentalEndDate().toLocalDate().toEpochDay(),
+                billedThrough != null ? billedThrough.toEpochDay() : OverdueChunk.NEVER_BILLED,
+                rental.getDailyRateCents());
+        long cents = calculator.compute(chunk, returnDate.toEpochDay());
+        if (cents == 0) {
+            return 0;
+        }
+        rental.setLateFeeCents(rental.getLateFeeCents() + cents);
+        rental.setLateFeeBilledThrough(returnDate);
+        billingRepository.insertCharge(chunk, 0, returnDate, now);
+        return cents;
+    }
+
+    private BillingRunSummary run(LocalDate billingDate) {
+        long started = System.nanoTime();
+        long billingDay = billingDate.toEpochDay();
+        LocalDateTime now = LocalDateTime.now();
+        OverdueChunk chunk = new OverdueChunk(properties.getChunkSize());
+
+        long scanned = 0;
+        long charged = 0;
+        long amount = 0;
+        long afterId = 0;
+        int read;
+        do {
+            long from = afterId;
+            ChargeResult result = transactionTemplate.execute(status -> {
+                billingRepository.readOverdue(from, chunk);
+                calculator.compute(chunk, billingDay);
+                return billingRepository.writeCharges(chunk, billingDate, now);
+            });
+            read = chunk.size();
+            scanned += read;
+            charged += result.rentals();
+            amount += result.amountCents();
+            afterId = chunk.lastRentalId();
+            if (read > 0 && log.isDebugEnabled()) {
+                log.debug("Billed {} overdue rentals up to id {}", scanned, afterId);
+            }
+        } while (read == chunk.capacity());
+
+        BillingRunSummary summary = new BillingRunSummary(billingDate, scanned, charged, amount,
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Late fee billing for {}: {} overdue rentals scanned, {} charged, {} cents in {} ms ({} rentals/s)",
+                billingDate, scanned, charged, amount, summary.elapsed().toMillis(), summary.rentalsPerSecond());
+        return summary;
+    }
+}
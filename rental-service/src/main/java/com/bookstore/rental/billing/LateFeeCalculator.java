@@ -0,0 +1,52 @@
+package com.bookstore.rental.billing;
+
+/**
+ * Computes the late fees of a chunk in place.
+ * <p>
+ * A rental accrues one day of fees for every full day past its due date beyond the grace
+ * period, at {@code feePercent} of its daily rental rate, up to {@code maxBillableDays} days in
+ * total. A run bills the days between the previous billing date and this one, so missed nights
+ * are caught up and reruns charge nothing. The loop is straight-line arithmetic over long
+ * arrays (min/max instead of branches) so the JIT can unroll and vectorize it.
+ */
+public class LateFeeCalculator {
+
+    private final long graceDays;
+    private final long feePercent;
+    private final long maxBillableDays;
+
+    public LateFeeCalculator(int graceDays, int feePercent, int maxBillableDays) {
+        if (graceDays < 0 || feePercent < 0 || maxBillableDays < 0) {
+            throw new IllegalArgumentException("Late fee parameters must not be negative");
+        }
+        this.graceDays = graceDays;
+        this.feePercent = feePercent;
+        this.maxBillableDays = maxBillableDays;
+    }
+
+    /**
+     * Fills {@code chargeDays} and {@code chargeCents} for every rental of the chunk.
+     *
+     * @return the total charged in cents
+     */
+    public long compute(OverdueChunk chunk, long billingDay) {
+        long[] dueDays = chunk.dueDays;
+        long[] billedThrough = chunk.billedThroughDays;
+        long[] rates = chunk.dailyRateCents;
+        long[] chargeDays = chunk.chargeDays;
+        long[] chargeCents = chunk.chargeCents;
+        long total = 0;
+        for (int i = 0; i < chunk.size; i++) {
+            long firstBillable = dueDays[i] + graceDays;
+            long billable = Math.min(Math.max(billingDay - firstBillable, 0), maxBillableDays);
+            // NEVER_BILLED saturates to 0 already-billed days
+            long billed = Math.min(Math.max(Math.max(billedThrough[i], firstBillable) - firstBillable, 0), maxBillableDays);
+            long days = Math.max(billable - billed, 0);
+            long cents = days * (rates[i] * feePercent / 100);
+            chargeDays[i] = days;
+            chargeCents[i] = cents;
+            total += cents;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,71 @@
+package com.bookstore.rental.billing;
+
+/**
+ * One chunk of overdue rentals in column form, reused across chunks of a billing run.
+ * Dates are epoch days; {@code billedThroughDay} is {@link #NEVER_BILLED} for rentals that
+ * were not charged yet.
+ */
+public final class OverdueChunk {
+
+    public static final long NEVER_BILLED = Long.MIN_VALUE;
+
+    final long[] rentalIds;
+    final long[] userIds;
+    final long[] dueDays;
+    final long[] billedThroughDays;
+    final long[] dailyRateCents;
+    final long[] chargeDays;
+    final long[] chargeCents;
+    int size;
+
+    public OverdueChunk(int capacity) {
+        rentalIds = new long[capacity];
+        userIds = new long[capacity];
+        dueDays = new long[capacity];
+        billedThroughDays = new long[capacity];
+        dailyRateCents = new long[capacity];
+        chargeDays = new long[capacity];
+        chargeCents = new long[capacity];
+    }
+
+    public int capacity() {
+        return rentalIds.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(long rentalId, long userId, long dueDay, long billedThroughDay, long dailyRate) {
+        int i = size++;
+        rentalIds[i] = rentalId;
+        userIds[i] = userId;
+        dueDays[i] = dueDay;
+        billedThroughDays[i] = billedThroughDay;
+        dailyRateCents[i] = dailyRate;
+    }
+
+    public long rentalId(int i) {
+        return rentalIds[i];
+    }
+
+    public long userId(int i) {
+        return userIds[i];
+    }
+
+    public long chargeDays(int i) {
+        return chargeDays[i];
+    }
+
+    public long chargeCents(int i) {
+        return chargeCents[i];
+    }
+
+    public long lastRentalId() {
+        return size == 0 ? 0 : rentalIds[size - 1];
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookstore.rental.client;
+
+/**
+ * Stock operations of book-service.
+ */
+public interface BookClient {
+
+    /**
+     * Takes copies out of the available stock.
+     *
+     * @return the book after the reservation
+     * @throws com.bookstore.rental.exception.ResourceNotFoundException if the book does not exist
+     * @throws com.bookstore.rental.exception.InvalidRequestException   if not enough copies are available
+     */
+    BookSummary reserveCopies(Long bookId, int quantity);
+
+    /**
+     * Puts copies back into the available stock; the compensation of {@link #reserveCopies}.
+     */
+    void releaseCopies(Long bookId, int quantity);
+}
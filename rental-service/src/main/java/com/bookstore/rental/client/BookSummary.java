@@ -0,0 +1,21 @@
+package com.bookstore.rental.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookSummary {
+
+    private Long id;
+    private String title;
+    private String author;
+    private Integer availableCopies;
+    private BigDecimal rentalPrice;
+}
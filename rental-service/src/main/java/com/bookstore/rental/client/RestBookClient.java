@@ -0,0 +1,37 @@
+package com.bookstore.rental.client;
+
+import com.bookstore.rental.exception.InvalidRequestException;
+import com.bookstore.rental.exception.ResourceNotFoundException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+public class RestBookClient implements BookClient {
+
+    private final RestClient restClient;
+
+    public RestBookClient(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    @Override
+    public BookSummary reserveCopies(Long bookId, int quantity) {
+        try {
+            return restClient.post()
+                    .uri("/api/v1/books/{id}/reserve?quantity={quantity}", bookId, quantity)
+                    .retrieve()
+                    .body(BookSummary.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ResourceNotFoundException("Book not found with ID: " + bookId);
+        } catch (HttpClientErrorException.Conflict | HttpClientErrorException.BadRequest e) {
+            throw new InvalidRequestException("No copies of book " + bookId + " available", e);
+        }
+    }
+
+    @Override
+    public void releaseCopies(Long bookId, int quantity) {
+        restClient.post()
+                .uri("/api/v1/books/{id}/release?quantity={quantity}", bookId, quantity)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,26 @@
+package com.bookstore.rental.client;
+
+import com.bookstore.rental.exception.InvalidRequestException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+public class RestUserClient implements UserClient {
+
+    private final RestClient restClient;
+
+    public RestUserClient(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    @Override
+    public UserSummary getUser(Long userId) {
+        try {
+            return restClient.get()
+                    .uri("/api/v1/users/{id}", userId)
+                    .retrieve()
+                    .body(UserSummary.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new InvalidRequestException("User not found with ID: " + userId);
+        }
+    }
+}
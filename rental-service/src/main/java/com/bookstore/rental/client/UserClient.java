@@ -0,0 +1,12 @@
+package com.bookstore.rental.client;
+
+/**
+ * Read access to user-service.
+ */
+public interface UserClient {
+
+    /**
+     * @throws com.bookstore.rental.exception.InvalidRequestException if the user does not exist
+     */
+    UserSummary getUser(Long userId);
+}
@@ -0,0 +1,19 @@
+package com.bookstore.rental.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "rental.billing")
+public class LateFeeBillingProperties {
+
+    private boolean enabled = true;
+    private String cron = "0 30 1 * * *";
+    // Full days past the due date that are not charged
+    private int graceDays = 0;
+    // Late fee per day as a percentage of the daily rental rate
+    private int feePercent = 100;
+    private int maxBillableDays = 30;
+    // Rentals read, computed and written per transaction
+    private int chunkSize = 10_000;
+}
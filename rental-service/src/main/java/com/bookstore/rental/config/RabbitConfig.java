@@ -0,0 +1,15 @@
+package com.bookstore.rental.config;
+
+import com.bookstore.rental.event.RentalEventPublisher;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    @Bean
+    public TopicExchange rentalEventsExchange() {
+        return new TopicExchange(RentalEventPublisher.EXCHANGE, true, false);
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookstore.rental.config;
+
+import com.bookstore.rental.client.BookClient;
+import com.bookstore.rental.client.RestBookClient;
+import com.bookstore.rental.client.RestUserClient;
+import com.bookstore.rental.client.UserClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(RentalClientProperties.class)
+public class RentalClientConfig {
+
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder(RentalClientProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return RestClient.builder().requestFactory(requestFactory);
+    }
+
+    @Bean
+    public BookClient bookClient(RestClient.Builder builder, RentalClientProperties properties) {
+        return new RestBookClient(builder.clone().baseUrl(properties.getBookServiceUrl()).build());
+    }
+
+    @Bean
+    public UserClient userClient(RestClient.Builder builder, RentalClientProperties properties) {
+        return new RestUserClient(builder.clone().baseUrl(properties.getUserServiceUrl()).build());
+    }
+
+    /**
+     * Runs the downstream calls of a rental creation; blocking HTTP parks the virtual thread
+     * instead of holding a platform thread.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService sagaExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
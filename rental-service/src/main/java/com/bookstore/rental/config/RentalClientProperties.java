@@ -0,0 +1,17 @@
+package com.bookstore.rental.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "rental.clients")
+public class RentalClientProperties {
+
+    // Resolved through the load balancer
+    private String bookServiceUrl = "http://book-service/book-service";
+    private String userServiceUrl = "http://user-service";
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    private Duration readTimeout = Duration.ofSeconds(2);
+}
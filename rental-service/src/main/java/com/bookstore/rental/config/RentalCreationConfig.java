@@ -0,0 +1,22 @@
+package com.bookstore.rental.config;
+
+import com.bookstore.rental.client.BookClient;
+import com.bookstore.rental.client.UserClient;
+import com.bookstore.rental.saga.RentalCreationSaga;
+import com.bookstore.rental.saga.RentalRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class RentalCreationConfig {
+
+    @Bean
+    public RentalCreationSaga rentalCreationSaga(UserClient userClient, BookClient bookClient,
+                                                 RentalRecorder rentalRecorder, ExecutorService sagaExecutor,
+                                                 @Value("${rental.creation.verify-user:false}") boolean verifyUser) {
+        return new RentalCreationSaga(userClient, bookClient, rentalRecorder, sagaExecutor, verifyUser);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bookstore.rental.controller;
+
+import com.bookstore.rental.dto.BookRentalStatus;
+import com.bookstore.rental.dto.CreateRentalRequest;
+import com.bookstore.rental.dto.ExtendRentalRequest;
+import com.bookstore.rental.dto.RentalResponse;
+import com.bookstore.rental.service.RentalService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/rentals")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rentals", description = "Book rental lifecycle")
+public class RentalController {
+
+    private final RentalService rentalService;
+
+    @PostMapping
+    @Operation(summary = "Rent a book", description = "Checks the user, reserves a copy and starts the rental")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Rental created successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown user, no copies available or invalid request"),
+            @ApiResponse(responseCode = "404", description = "Book not found")
+    })
+    public ResponseEntity<RentalResponse> createRental(
+            @Valid @RequestBody CreateRentalRequest request) {
+        log.info("Renting book {} to user {}", request.getBookId(), request.getUserId());
+        RentalResponse response = rentalService.createRental(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get rental", description = "Retrieves a rental by its ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rental found"),
+            @ApiResponse(responseCode = "404", description = "Rental not found")
+    })
+    public ResponseEntity<RentalResponse> getRental(
+            @Parameter(description = "Rental ID") @PathVariable Long id) {
+        log.debug("Fetching rental {}", id);
+        return ResponseEntity.ok(rentalService.getRental(id));
+    }
+
+    @GetMapping("/books/{bookId}/status")
+    @Operation(summary = "Get book rental status", description = "Counts active and overdue rentals of a book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rental status retrieved")
+    })
+    public ResponseEntity<BookRentalStatus> getBookStatus(
+            @Parameter(description = "Book ID") @PathVariable Long bookId) {
+        log.debug("Fetching rental status of book {}", bookId);
+        return ResponseEntity.ok(rentalService.getBookStatus(bookId));
+    }
+
+    @PostMapping("/{id}/return")
+    @Operation(summary = "Return rental", description = "Marks an active or overdue rental as returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rental returned"),
+            @ApiResponse(responseCode = "400", description = "Rental is not outstanding"),
+            @ApiResponse(responseCode = "404", description = "Rental not found")
+    })
+    public ResponseEntity<RentalResponse> returnRental(
+            @Parameter(description = "Rental ID") @PathVariable Long id) {
+        log.info("Returning rental {}", id);
+        return ResponseEntity.ok(rentalService.returnRental(id));
+    }
+
+    @PostMapping("/{id}/extend")
+    @Operation(summary = "Extend rental", description = "Pushes back the due date of an active rental")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rental extended"),
+            @ApiResponse(responseCode = "400", description = "Rental is not active or invalid request"),
+            @ApiResponse(responseCode = "404", description = "Rental not found")
+    })
+    public ResponseEntity<RentalResponse> extendRental(
+            @Parameter(description = "Rental ID") @PathVariable Long id,
+            @Valid @RequestBody ExtendRentalRequest request) {
+        log.info("Extending rental {} by {} days", id, request.getDays());
+        return ResponseEntity.ok(rentalService.extendRental(id, request.getDays()));
+    }
+}
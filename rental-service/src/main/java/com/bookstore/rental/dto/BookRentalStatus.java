@@ -0,0 +1,17 @@
+package com.bookstore.rental.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BookRentalStatus {
+
+    private Long bookId;
+    private long activeRentals;
+    private long overdueRentals;
+    // Earliest due date among outstanding rentals, null when none are out
+    private LocalDateTime nextDueDate;
+}
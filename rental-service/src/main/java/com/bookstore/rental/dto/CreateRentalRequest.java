@@ -0,0 +1,25 @@
+package com.bookstore.rental.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateRentalRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Book ID is required")
+    private Long bookId;
+
+    // Falls back to rental.creation.default-days when not given
+    @Min(value = 1, message = "Days must be at least 1")
+    @Max(value = 60, message = "Days must not exceed 60")
+    private Integer days;
+}
@@ -0,0 +1,15 @@
+package com.bookstore.rental.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ExtendRentalRequest {
+
+    @NotNull(message = "Days is required")
+    @Min(value = 1, message = "Days must be at least 1")
+    @Max(value = 60, message = "Days must not exceed 60")
+    private Integer days;
+}
@@ -0,0 +1,25 @@
+package com.bookstore.rental.dto;
+
+import com.bookstore.rental.model.RentalStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class RentalResponse {
+
+    private Long id;
+    private Long userId;
+    private Long bookId;
+    private String bookTitle;
+    private String bookAuthor;
+    private RentalStatus status;
+    private LocalDateTime rentalStartDate;
+    private LocalDateTime rentalEndDate;
+    private LocalDateTime returnedAt;
+    private Long lateFeeCents;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.bookstore.rental.event;
+
+import com.bookstore.rental.model.Rental;
+import lombok.RequiredArgsConstructor;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.outbox.OutboxWriter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Publishes rental lifecycle events through the outbox, so they go out exactly when the
+ * rental change commits. Must be called inside that transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class RentalEventPublisher {
+
+    public static final String EXCHANGE = "bookstore.rental.events";
+
+    private final OutboxWriter outboxWriter;
+
+    public void publish(Rental rental, String eventType) {
+        outboxWriter.append(EXCHANGE, routingKey(eventType), toEvent(rental, eventType));
+    }
+
+    /**
+     * Publishes events of one type with a single batched insert.
+     */
+    public void publishAll(List<Rental> rentals, String eventType) {
+        outboxWriter.appendAll(EXCHANGE, routingKey(eventType),
+                rentals.stream().map(rental -> toEvent(rental, eventType)).toList());
+    }
+
+    /**
+     * Maps {@code RENTAL_OVERDUE} to {@code rental.overdue}.
+     */
+    public static String routingKey(String eventType) {
+        return "rental." + eventType.toLowerCase(Locale.ROOT).replaceFirst("^rental_", "");
+    }
+
+    private static BookRentalEvent toEvent(Rental rental, String eventType) {
+        BookRentalEvent event = new BookRentalEvent(eventType, rental.getUserId(), rental.getBookId(), rental.getId());
+        event.setUserEmail(rental.getUserEmail());
+        event.setBookTitle(rental.getBookTitle());
+        event.setBookAuthor(rental.getBookAuthor());
+        event.setRentalStartDate(rental.getRentalStartDate());
+        event.setRentalEndDate(rental.getRentalEndDate());
+        return event;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookstore.rental.exception;
+
+/**
+ * A downstream step of rental creation failed for a reason other than invalid input.
+ */
+public class RentalCreationException extends RuntimeException {
+
+    public RentalCreationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,141 @@
+package com.bookstore.rental.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Indexed binary min-heap of rental ids ordered by due time.
+ * <p>
+ * Ids and deadlines live in parallel primitive arrays; a side map from id to heap slot makes
+ * rescheduling (an extension) and removal (a return) O(log n) instead of a linear search.
+ * The earliest deadline is available in O(1), which is all the overdue scheduler needs to
+ * sleep exactly until the next rental falls due.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public class DueDateIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds the id, or moves it if it is already indexed.
+     */
+    public void schedule(long id, long deadlineMs) {
+        Integer slot = slots.get(id);
+        if (slot != null) {
+            long previous = deadlines[slot];
+            deadlines[slot] = deadlineMs;
+            if (deadlineMs < previous) {
+                siftUp(slot);
+            } else {
+                siftDown(slot);
+            }
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            deadlines = Arrays.copyOf(deadlines, size * 2);
+        }
+        ids[size] = id;
+        deadlines[size] = deadlineMs;
+        slots.put(id, size);
+        siftUp(size++);
+    }
+
+    public boolean remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+            siftDown(slot);
+            siftUp(slot);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return slots.containsKey(id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the earliest deadline, or {@link Long#MAX_VALUE} if the index is empty
+     */
+    public long nextDeadline() {
+        return size == 0 ? Long.MAX_VALUE : deadlines[0];
+    }
+
+    /**
+     * Removes up to {@code max} ids due at {@code nowMs} in deadline order.
+     *
+     * @return the number of ids removed
+     */
+    public int pollDue(long nowMs, int max, LongConsumer onDue) {
+        int polled = 0;
+        while (polled < max && size > 0 && deadlines[0] <= nowMs) {
+            long id = ids[0];
+            remove(id);
+            onDue.accept(id);
+            polled++;
+        }
+        return polled;
+    }
+
+    private void siftUp(int slot) {
+        long id = ids[slot];
+        long deadline = deadlines[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (deadlines[parent] <= deadline) {
+                break;
+            }
+            move(parent, slot);
+            slot = parent;
+        }
+        place(id, deadline, slot);
+    }
+
+    private void siftDown(int slot) {
+        long id = ids[slot];
+        long deadline = deadlines[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && deadlines[right] < deadlines[child]) {
+                child = right;
+            }
+            if (deadline <= deadlines[child]) {
+                break;
+            }
+            move(child, slot);
+            slot = child;
+        }
+        place(id, deadline, slot);
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        deadlines[to] = deadlines[from];
+        slots.put(ids[to], to);
+    }
+
+    private void place(long id, long deadline, int slot) {
+        ids[slot] = id;
+        deadlines[slot] = deadline;
+        slots.put(id, slot);
+    }
+}
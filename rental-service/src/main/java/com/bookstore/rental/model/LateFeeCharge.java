@@ -0,0 +1,45 @@
+package com.bookstore.rental.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A late fee charged by one billing run. Written in JDBC batches by the billing job; one row
+ * per rental and billing date makes reruns of the same night idempotent.
+ */
+@Entity
+@Table(name = "rental_late_fee_charges",
+        uniqueConstraints = @UniqueConstraint(name = "uk_late_fee_charges_rental_date",
+                columnNames = {"rental_id", "billing_date"}),
+        indexes = @Index(name = "idx_late_fee_charges_user", columnList = "user_id, billing_date"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateFeeCharge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rental_id", nullable = false)
+    private Long rentalId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "billing_date", nullable = false)
+    private LocalDate billingDate;
+
+    @Column(name = "days", nullable = false)
+    private Integer days;
+
+    @Column(name = "amount_cents", nullable = false)
+    private Long amountCents;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
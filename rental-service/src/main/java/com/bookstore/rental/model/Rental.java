@@ -0,0 +1,90 @@
+package com.bookstore.rental.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rentals",
+        indexes = {
+                @Index(name = "idx_rentals_status_end_date", columnList = "status, rental_end_date"),
+                @Index(name = "idx_rentals_status_id", columnList = "status, id"),
+                @Index(name = "idx_rentals_book_status", columnList = "book_id, status"),
+                @Index(name = "idx_rentals_user_status", columnList = "user_id, status")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class Rental {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "book_title")
+    private String bookTitle;
+
+    @Column(name = "book_author")
+    private String bookAuthor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private RentalStatus status = RentalStatus.ACTIVE;
+
+    @Column(name = "rental_start_date", nullable = false)
+    private LocalDateTime rentalStartDate;
+
+    @Column(name = "rental_end_date", nullable = false)
+    private LocalDateTime rentalEndDate;
+
+    @Column(name = "returned_at")
+    private LocalDateTime returnedAt;
+
+    // Book rental price per day at the time of renting, in cents; late fees are derived from it
+    @Column(name = "daily_rate_cents")
+    private Long dailyRateCents;
+
+    @Column(name = "late_fee_cents", nullable = false)
+    @Builder.Default
+    private Long lateFeeCents = 0L;
+
+    // Last billing date late fees were charged for
+    @Column(name = "late_fee_billed_through")
+    private LocalDate lateFeeBilledThrough;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public boolean isOutstanding() {
+        return status == RentalStatus.ACTIVE || status == RentalStatus.OVERDUE;
+    }
+
+    public boolean isDueAt(LocalDateTime time) {
+        return !rentalEndDate.isAfter(time);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bookstore.rental.model;
+
+public enum RentalStatus {
+    ACTIVE,
+    OVERDUE,
+    RETURNED,
+    CANCELLED
+}
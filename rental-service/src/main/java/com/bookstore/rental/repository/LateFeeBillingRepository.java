@@ -0,0 +1,161 @@
+package com.bookstore.rental.repository;
+
+import com.bookstore.rental.billing.OverdueChunk;
+import com.bookstore.rental.model.RentalStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Column-wise reads and batched writes for late fee billing. Bypasses the entity so a run
+ * over millions of overdue rentals holds primitive arrays only and costs three statements
+ * per chunk.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LateFeeBillingRepository {
+
+    // Keyset pagination over idx_rentals_status_id; rentals without a captured rate are not billed
+    private static final String SELECT_SQL = "SELECT id, user_id, rental_end_date, late_fee_billed_through, " +
+            "daily_rate_cents FROM rentals " +
+            "WHERE status = ? AND id > ? AND daily_rate_cents > 0 " +
+            "ORDER BY id LIMIT ?";
+
+    // The billed-through guard makes concurrent or repeated runs for the same date charge once;
+    // a rental returned since it was read has been settled on return and is left alone. Bumping
+    // the version makes a concurrent entity save fail instead of overwriting the fee.
+    private static final String UPDATE_SQL = "UPDATE rentals SET " +
+            "late_fee_cents = late_fee_cents + ?, " +
+            "late_fee_billed_through = ?, " +
+            "version = version + 1 " +
+            "WHERE id = ? AND status = ? AND (late_fee_billed_through IS NULL OR late_fee_billed_through < ?)";
+
+    private static final String INSERT_SQL = "INSERT INTO rental_late_fee_charges " +
+            "(rental_id, user_id, billing_date, days, amount_cents, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ChargeResult(int rentals, long amountCents) {
+    }
+
+    /**
+     * Fills the chunk with the next overdue rentals after {@code afterId}, in id order.
+     *
+     * @return the number of rentals read
+     */
+    public int readOverdue(long afterId, OverdueChunk chunk) {
+        chunk.clear();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+            ps.setFetchSize(chunk.capacity());
+            ps.setString(1, RentalStatus.OVERDUE.name());
+            ps.setLong(2, afterId);
+            ps.setInt(3, chunk.capacity());
+            return ps;
+        }, rs -> {
+            Date billedThrough = rs.getDate("late_fee_billed_through");
+            chunk.add(rs.getLong("id"),
+                    rs.getLong("user_id"),
+                    rs.getTimestamp("rental_end_date").toLocalDateTime().toLocalDate().toEpochDay(),
+                    billedThrough != null ? billedThrough.toLocalDate().toEpochDay() : OverdueChunk.NEVER_BILLED,
+                    rs.getLong("daily_rate_cents"));
+        });
+        return chunk.size();
+    }
+
+    /**
+     * Applies the computed charges of the chunk: advances the billed-through date of every
+     * rental with a charge and records a charge row for each rental that was actually updated.
+     *
+     * @return what was actually charged; rentals already billed for the date are left out
+     */
+    public ChargeResult writeCharges(OverdueChunk chunk, LocalDate billingDate, LocalDateTime now) {
+        int[] charged = new int[chunk.size()];
+        int count = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.chargeCents(i) > 0) {
+                charged[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return new ChargeResult(0, 0);
+        }
+        Date billingDay = Date.valueOf(billingDate);
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, new IndexedBatch(charged, count) {
+            @Override
+            void setRow(PreparedStatement ps, int row) throws SQLException {
+                ps.setLong(1, chunk.chargeCents(row));
+                ps.setDate(2, billingDay);
+                ps.setLong(3, chunk.rentalId(row));
+                ps.setString(4, RentalStatus.OVERDUE.name());
+                ps.setDate(5, billingDay);
+            }
+        });
+
+        int applied = 0;
+        long amount = 0;
+        for (int i = 0; i < count; i++) {
+            if (updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) {
+                amount += chunk.chargeCents(charged[i]);
+                charged[applied++] = charged[i];
+            }
+        }
+        if (applied == 0) {
+            return new ChargeResult(0, 0);
+        }
+        Timestamp createdAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new IndexedBatch(charged, applied) {
+            @Override
+            void setRow(PreparedStatement ps, int row) throws SQLException {
+                ps.setLong(1, chunk.rentalId(row));
+                ps.setLong(2, chunk.userId(row));
+                ps.setDate(3, billingDay);
+                ps.setInt(4, (int) chunk.chargeDays(row));
+                ps.setLong(5, chunk.chargeCents(row));
+                ps.setTimestamp(6, createdAt);
+            }
+        });
+        return new ChargeResult(applied, amount);
+    }
+
+    /**
+     * Records the charge computed for one row of the chunk.
+     */
+    public void insertCharge(OverdueChunk chunk, int row, LocalDate billingDate, LocalDateTime now) {
+        jdbcTemplate.update(INSERT_SQL, chunk.rentalId(row), chunk.userId(row), Date.valueOf(billingDate),
+                (int) chunk.chargeDays(row), chunk.chargeCents(row), Timestamp.valueOf(now));
+    }
+
+    private abstract static class IndexedBatch implements BatchPreparedStatementSetter {
+
+        private final int[] rows;
+        private final int count;
+
+        IndexedBatch(int[] rows, int count) {
+            this.rows = rows;
+            this.count = count;
+        }
+
+        abstract void setRow(PreparedStatement ps, int row) throws SQLException;
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            setRow(ps, rows[i]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return count;
+        }
+    }
+}
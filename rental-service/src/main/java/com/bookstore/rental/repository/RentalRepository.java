@@ -0,0 +1,34 @@
+package com.bookstore.rental.repository;
+
+import com.bookstore.rental.model.Rental;
+import com.bookstore.rental.model.RentalStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface RentalRepository extends JpaRepository<Rental, Long> {
+
+    interface StatusCount {
+        RentalStatus getStatus();
+
+        long getCount();
+
+        LocalDateTime getNextDueDate();
+    }
+
+    Stream<Rental> streamByStatus(RentalStatus status);
+
+    List<Rental> findByIdInAndStatus(Collection<Long> ids, RentalStatus status);
+
+    @Query("SELECT r.status AS status, COUNT(r) AS count, MIN(r.rentalEndDate) AS nextDueDate " +
+            "FROM Rental r WHERE r.bookId = :bookId AND r.status IN :statuses GROUP BY r.status")
+    List<StatusCount> countByBookIdAndStatusIn(@Param("bookId") Long bookId,
+                                               @Param("statuses") Collection<RentalStatus> statuses);
+}
@@ -0,0 +1,144 @@
+package com.bookstore.rental.saga;
+
+import com.bookstore.rental.client.BookClient;
+import com.bookstore.rental.client.BookSummary;
+import com.bookstore.rental.client.UserClient;
+import com.bookstore.rental.client.UserSummary;
+import com.bookstore.rental.exception.InvalidRequestException;
+import com.bookstore.rental.exception.RentalCreationException;
+import com.bookstore.rental.exception.ResourceNotFoundException;
+import com.bookstore.rental.model.Rental;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates a rental from steps owned by other services.
+ * <p>
+ * The user check and the stock reservation do not depend on each other and run concurrently,
+ * so creation costs the slower of the two calls rather than their sum; only the local write
+ * of the rental and its {@code RENTAL_CREATED} event waits for both. Cancellation is limited
+ * to steps without side effects: a failed reservation cancels the user check, but a failed
+ * user check waits for the reservation to settle and then compensates it with
+ * {@code releaseCopies}, as does a failed local write. A reservation whose outcome is unknown
+ * (timeout, connection reset) is not released blindly; it is logged for stock reconciliation.
+ */
+@Slf4j
+public class RentalCreationSaga {
+
+    private static final int COPIES = 1;
+
+    private final UserClient userClient;
+    private final BookClient bookClient;
+    private final RentalRecorder recorder;
+    private final ExecutorService executor;
+    private final boolean verifyUser;
+
+    private final AtomicLong compensations = new AtomicLong();
+    private final AtomicLong unresolved = new AtomicLong();
+
+    public RentalCreationSaga(UserClient userClient, BookClient bookClient, RentalRecorder recorder,
+                              ExecutorService executor, boolean verifyUser) {
+        this.userClient = userClient;
+        this.bookClient = bookClient;
+        this.recorder = recorder;
+        this.executor = executor;
+        this.verifyUser = verifyUser;
+    }
+
+    public Rental create(Long userId, Long bookId, int days) {
+        Future<UserSummary> user = verifyUser
+                ? executor.submit(() -> userClient.getUser(userId))
+                : CompletableFuture.completedFuture(new UserSummary(userId, null, true));
+        Future<BookSummary> reservation = executor.submit(() -> bookClient.reserveCopies(bookId, COPIES));
+
+        BookSummary book;
+        try {
+            book = await(reservation);
+        } catch (RuntimeException e) {
+            user.cancel(true);
+            throw e;
+        } catch (UnknownOutcomeException e) {
+            user.cancel(true);
+            reportUnresolved(bookId, e.getCause());
+            throw new RentalCreationException("Reservation of book " + bookId + " did not complete", e.getCause());
+        }
+
+        try {
+            UserSummary userSummary = awaitUser(user);
+            if (Boolean.FALSE.equals(userSummary.getActive())) {
+                throw new InvalidRequestException("User " + userId + " is not active");
+            }
+            LocalDateTime start = LocalDateTime.now();
+            return recorder.record(userSummary, book, start, start.plusDays(days));
+        } catch (RuntimeException e) {
+            compensate(bookId, e);
+            throw e;
+        }
+    }
+
+    public long getCompensations() {
+        return compensations.get();
+    }
+
+    public long getUnresolved() {
+        return unresolved.get();
+    }
+
+    private UserSummary awaitUser(Future<UserSummary> user) {
+        try {
+            return await(user);
+        } catch (UnknownOutcomeException e) {
+            throw new RentalCreationException("User check did not complete", e.getCause());
+        }
+    }
+
+    private void compensate(Long bookId, Exception cause) {
+        log.info("Releasing reserved copy of book {} after failed rental creation: {}", bookId, cause.getMessage());
+        try {
+            bookClient.releaseCopies(bookId, COPIES);
+            compensations.incrementAndGet();
+        } catch (RuntimeException e) {
+            reportUnresolved(bookId, e);
+        }
+    }
+
+    private void reportUnresolved(Long bookId, Throwable cause) {
+        unresolved.incrementAndGet();
+        log.error("Copy of book {} may be reserved without a rental and needs reconciliation", bookId, cause);
+    }
+
+    /**
+     * Waits for a step; rethrows what the step threw when that is a definite answer (a
+     * {@code RuntimeException} such as not-found), and wraps anything else as unknown.
+     */
+    private static <T> T await(Future<T> step) throws UnknownOutcomeException {
+        try {
+            return step.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InvalidRequestException
+                    || e.getCause() instanceof ResourceNotFoundException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnknownOutcomeException(e.getCause());
+        } catch (CancellationException e) {
+            throw new UnknownOutcomeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnknownOutcomeException(e);
+        }
+    }
+
+    private static final class UnknownOutcomeException extends Exception {
+
+        UnknownOutcomeException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookstore.rental.saga;
+
+import com.bookstore.rental.client.BookSummary;
+import com.bookstore.rental.client.UserSummary;
+import com.bookstore.rental.model.Rental;
+
+import java.time.LocalDateTime;
+
+/**
+ * Final, local step of rental creation: stores the rental and its {@code RENTAL_CREATED}
+ * event atomically.
+ */
+public interface RentalRecorder {
+
+    Rental record(UserSummary user, BookSummary book, LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,53 @@
+package com.bookstore.rental.saga;
+
+import com.bookstore.rental.client.BookSummary;
+import com.bookstore.rental.client.UserSummary;
+import com.bookstore.rental.event.RentalEventPublisher;
+import com.bookstore.rental.model.Rental;
+import com.bookstore.rental.repository.RentalRepository;
+import com.bookstore.rental.scheduler.OverdueScheduler;
+import lombok.RequiredArgsConstructor;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class TransactionalRentalRecorder implements RentalRecorder {
+
+    private final RentalRepository rentalRepository;
+    private final RentalEventPublisher eventPublisher;
+    private final OverdueScheduler overdueScheduler;
+
+    @Override
+    @Transactional
+    public Rental record(UserSummary user, BookSummary book, LocalDateTime start, LocalDateTime end) {
+        Rental rental = rentalRepository.save(Rental.builder()
+                .userId(user.getId())
+                .userEmail(user.getEmail())
+                .bookId(book.getId())
+                .bookTitle(book.getTitle())
+                .bookAuthor(book.getAuthor())
+                .dailyRateCents(book.getRentalPrice() != null
+                        ? book.getRentalPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact()
+                        : null)
+                .rentalStartDate(start)
+                .rentalEndDate(end)
+                .build());
+        eventPublisher.publish(rental, BookRentalEvent.EventTypes.RENTAL_CREATED);
+
+        long rentalId = rental.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                overdueScheduler.schedule(rentalId, end);
+            }
+        });
+        return rental;
+    }
+}
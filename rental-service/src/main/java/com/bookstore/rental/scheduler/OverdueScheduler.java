@@ -0,0 +1,187 @@
+package com.bookstore.rental.scheduler;
+
+import com.bookstore.rental.event.RentalEventPublisher;
+import com.bookstore.rental.index.DueDateIndex;
+import com.bookstore.rental.model.Rental;
+import com.bookstore.rental.model.RentalStatus;
+import com.bookstore.rental.repository.RentalRepository;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Marks rentals overdue the moment they fall due and publishes {@code RENTAL_OVERDUE}.
+ * <p>
+ * Active rentals are the persisted record of what can become overdue; their ids are held in a
+ * {@link DueDateIndex} that is rebuilt from the database on start. A dedicated thread sleeps
+ * until the earliest due time (or until an earlier one is scheduled), then flags whatever is
+ * due in batched transactions. Nothing polls or scans the rentals table.
+ */
+@Component
+@Slf4j
+public class OverdueScheduler implements SmartLifecycle {
+
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MS = 1000;
+    // Re-check the clock at least this often in case wall time jumps
+    private static final long MAX_SLEEP_MS = 60_000;
+
+    private final RentalRepository rentalRepository;
+    private final RentalEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final DueDateIndex index = new DueDateIndex();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition earlierDeadline = lock.newCondition();
+    private volatile boolean running;
+    private Thread thread;
+
+    public OverdueScheduler(RentalRepository rentalRepository,
+                            RentalEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.rentalRepository = rentalRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public void schedule(long rentalId, LocalDateTime dueAt) {
+        schedule(rentalId, toEpochMillis(dueAt));
+    }
+
+    public void cancel(long rentalId) {
+        lock.lock();
+        try {
+            index.remove(rentalId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        Integer loaded = readOnlyTransactionTemplate.execute(status -> {
+            int count = 0;
+            try (Stream<Rental> active = rentalRepository.streamByStatus(RentalStatus.ACTIVE)) {
+                for (Rental rental : (Iterable<Rental>) active::iterator) {
+                    schedule(rental.getId(), rental.getRentalEndDate());
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Tracking due dates of {} active rentals", loaded);
+
+        running = true;
+        thread = new Thread(this::run, "rental-overdue");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void schedule(long rentalId, long deadlineMs) {
+        lock.lock();
+        try {
+            boolean earlier = deadlineMs < index.nextDeadline();
+            index.schedule(rentalId, deadlineMs);
+            if (earlier) {
+                earlierDeadline.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        List<Long> due = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            lock.lock();
+            try {
+                long waitMs = index.nextDeadline() - System.currentTimeMillis();
+                if (waitMs > 0) {
+                    earlierDeadline.await(Math.min(waitMs, MAX_SLEEP_MS), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                index.pollDue(System.currentTimeMillis(), BATCH_SIZE, due::add);
+            } catch (InterruptedException e) {
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            markOverdue(due);
+            due.clear();
+        }
+    }
+
+    private void markOverdue(List<Long> rentalIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Rental> overdue = new ArrayList<>(rentalIds.size());
+                for (Rental rental : rentalRepository.findByIdInAndStatus(rentalIds, RentalStatus.ACTIVE)) {
+                    if (!rental.isDueAt(now)) {
+                        // Extended after the deadline was indexed
+                        schedule(rental.getId(), rental.getRentalEndDate());
+                        continue;
+                    }
+                    rental.setStatus(RentalStatus.OVERDUE);
+                    overdue.add(rental);
+                }
+                if (overdue.isEmpty()) {
+                    return;
+                }
+                rentalRepository.saveAll(overdue);
+                eventPublisher.publishAll(overdue, BookRentalEvent.EventTypes.RENTAL_OVERDUE);
+                log.info("Marked {} rentals overdue", overdue.size());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to mark {} rentals overdue, retrying: {}", rentalIds.size(), e.getMessage());
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+            rentalIds.forEach(id -> schedule(id, retryAt));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
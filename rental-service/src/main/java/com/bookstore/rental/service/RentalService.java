@@ -0,0 +1,47 @@
+package com.bookstore.rental.service;
+
+import com.bookstore.rental.dto.BookRentalStatus;
+import com.bookstore.rental.dto.CreateRentalRequest;
+import com.bookstore.rental.dto.RentalResponse;
+
+/**
+ * Service interface for the rental lifecycle.
+ */
+public interface RentalService {
+
+    /**
+     * Rent a book: checks the user, reserves a copy and records the rental
+     * @param request the user, book and rental length
+     * @return the active rental
+     */
+    RentalResponse createRental(CreateRentalRequest request);
+
+    /**
+     * Get a rental by ID
+     * @param rentalId the rental ID
+     * @return the rental
+     */
+    RentalResponse getRental(Long rentalId);
+
+    /**
+     * Summarize the outstanding rentals of a book
+     * @param bookId the book ID
+     * @return active and overdue counts and the next due date
+     */
+    BookRentalStatus getBookStatus(Long bookId);
+
+    /**
+     * Mark an outstanding rental as returned
+     * @param rentalId the rental ID
+     * @return the returned rental
+     */
+    RentalResponse returnRental(Long rentalId);
+
+    /**
+     * Push back the due date of an active rental
+     * @param rentalId the rental ID
+     * @param days number of days to add
+     * @return the extended rental
+     */
+    RentalResponse extendRental(Long rentalId, int days);
+}
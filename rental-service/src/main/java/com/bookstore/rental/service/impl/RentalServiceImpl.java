@@ -0,0 +1,189 @@
+package com.bookstore.rental.service.impl;
+
+import com.bookstore.rental.billing.LateFeeBillingJob;
+import com.bookstore.rental.client.BookClient;
+import com.bookstore.rental.dto.BookRentalStatus;
+import com.bookstore.rental.dto.CreateRentalRequest;
+import com.bookstore.rental.dto.RentalResponse;
+import com.bookstore.rental.event.RentalEventPublisher;
+import com.bookstore.rental.exception.InvalidRequestException;
+import com.bookstore.rental.exception.ResourceNotFoundException;
+import com.bookstore.rental.model.Rental;
+import com.bookstore.rental.model.RentalStatus;
+import com.bookstore.rental.repository.RentalRepository;
+import com.bookstore.rental.saga.RentalCreationSaga;
+import com.bookstore.rental.scheduler.OverdueScheduler;
+import com.bookstore.rental.service.RentalService;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
+@Service
+@Slf4j
+@Transactional
+public class RentalServiceImpl implements RentalService {
+
+    private final RentalRepository rentalRepository;
+    private final OverdueScheduler overdueScheduler;
+    private final RentalEventPublisher eventPublisher;
+    private final RentalCreationSaga creationSaga;
+    private final BookClient bookClient;
+    private final LateFeeBillingJob lateFeeBillingJob;
+    private final int defaultDays;
+
+    public RentalServiceImpl(RentalRepository rentalRepository,
+                             OverdueScheduler overdueScheduler,
+                             RentalEventPublisher eventPublisher,
+                             RentalCreationSaga creationSaga,
+                             BookClient bookClient,
+                             LateFeeBillingJob lateFeeBillingJob,
+                             @Value("${rental.creation.default-days:14}") int defaultDays) {
+        this.rentalRepository = rentalRepository;
+        this.overdueScheduler = overdueScheduler;
+        this.eventPublisher = eventPublisher;
+        this.creationSaga = creationSaga;
+        this.bookClient = bookClient;
+        this.lateFeeBillingJob = lateFeeBillingJob;
+        this.defaultDays = defaultDays;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RentalResponse createRental(CreateRentalRequest request) {
+        int days = request.getDays() != null ? request.getDays() : defaultDays;
+        log.debug("Creating {}-day rental of book {} for user {}", days, request.getBookId(), request.getUserId());
+
+        Rental rental = creationSaga.create(request.getUserId(), request.getBookId(), days);
+
+        log.info("Created rental {} of book {} for user {} until {}",
+                rental.getId(), rental.getBookId(), rental.getUserId(), rental.getRentalEndDate());
+        return toResponse(rental);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RentalResponse getRental(Long rentalId) {
+        return toResponse(findRentalOrThrow(rentalId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookRentalStatus getBookStatus(Long bookId) {
+        BookRentalStatus.BookRentalStatusBuilder status = BookRentalStatus.builder().bookId(bookId);
+        LocalDateTime nextDueDate = null;
+        for (RentalRepository.StatusCount count : rentalRepository.countByBookIdAndStatusIn(bookId,
+                EnumSet.of(RentalStatus.ACTIVE, RentalStatus.OVERDUE))) {
+            if (count.getStatus() == RentalStatus.ACTIVE) {
+                status.activeRentals(count.getCount());
+            } else {
+                status.overdueRentals(count.getCount());
+            }
+            if (nextDueDate == null || count.getNextDueDate().isBefore(nextDueDate)) {
+                nextDueDate = count.getNextDueDate();
+            }
+        }
+        return status.nextDueDate(nextDueDate).build();
+    }
+
+    @Override
+    public RentalResponse returnRental(Long rentalId) {
+        log.debug("Returning rental {}", rentalId);
+
+        Rental rental = findRentalOrThrow(rentalId);
+        if (!rental.isOutstanding()) {
+            throw new InvalidRequestException("Rental " + rentalId + " is " + rental.getStatus());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Charge the late days since the last nightly run; the job only walks OVERDUE rentals
+        lateFeeBillingJob.settleOnReturn(rental, now.toLocalDate(), now);
+        rental.setStatus(RentalStatus.RETURNED);
+        rental.setReturnedAt(now);
+        Rental saved = rentalRepository.save(rental);
+        eventPublisher.publish(saved, BookRentalEvent.EventTypes.RENTAL_RETURNED);
+        Long bookId = saved.getBookId();
+        afterCommit(() -> {
+            overdueScheduler.cancel(rentalId);
+            releaseReturnedCopy(rentalId, bookId);
+        });
+
+        log.info("Returned rental {}", rentalId);
+        return toResponse(saved);
+    }
+
+    @Override
+    public RentalResponse extendRental(Long rentalId, int days) {
+        log.debug("Extending rental {} by {} days", rentalId, days);
+
+        Rental rental = findRentalOrThrow(rentalId);
+        if (rental.getStatus() != RentalStatus.ACTIVE) {
+            throw new InvalidRequestException("Only active rentals can be extended, rental " + rentalId +
+                    " is " + rental.getStatus());
+        }
+        rental.setRentalEndDate(rental.getRentalEndDate().plusDays(days));
+        Rental saved = rentalRepository.save(rental);
+        eventPublisher.publish(saved, BookRentalEvent.EventTypes.RENTAL_EXTENDED);
+
+        LocalDateTime dueAt = saved.getRentalEndDate();
+        afterCommit(() -> overdueScheduler.schedule(rentalId, dueAt));
+
+        log.info("Extended rental {} until {}", rentalId, dueAt);
+        return toResponse(saved);
+    }
+
+    // Helper methods
+
+    /**
+     * Puts the copy the rental reserved back into book-service's stock. Runs after the return
+     * commits, so a failure leaves the rental returned and is logged for stock reconciliation.
+     */
+    private void releaseReturnedCopy(Long rentalId, Long bookId) {
+        try {
+            bookClient.releaseCopies(bookId, 1);
+        } catch (RuntimeException e) {
+            log.error("Copy of book {} is still reserved after rental {} was returned and needs reconciliation",
+                    bookId, rentalId, e);
+        }
+    }
+    private Rental findRentalOrThrow(Long rentalId) {
+        return rentalRepository.findById(rentalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Rental not found with ID: " + rentalId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private RentalResponse toResponse(Rental rental) {
+        return RentalResponse.builder()
+                .id(rental.getId())
+                .userId(rental.getUserId())
+                .bookId(rental.getBookId())
+                .bookTitle(rental.getBookTitle())
+                .bookAuthor(rental.getBookAuthor())
+                .status(rental.getStatus())
+                .rentalStartDate(rental.getRentalStartDate())
+                .rentalEndDate(rental.getRentalEndDate())
+                .returnedAt(rental.getReturnedAt())
+                .lateFeeCents(rental.getLateFeeCents())
+                .createdAt(rental.getCreatedAt())
+                .updatedAt(rental.getUpdatedAt())
+                .build();
+    }
+}
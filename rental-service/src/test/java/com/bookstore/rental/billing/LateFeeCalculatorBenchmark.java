@@ -0,0 +1,122 @@
+package com.bookstore.rental.billing;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Throughput benchmark for {@link LateFeeCalculator}: computes the fees of a synthetic
+ * overdue population in chunks, as a billing run does, and compares it with the same fee
+ * computed per row in {@link BigDecimal}. Only the computation is measured; reading and
+ * writing the chunks is left to the database.
+ * <p>
+ * Not a unit test. Run with, for example:
+ * <pre>
+ * mvn -pl rental-service test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.bookstore.rental.billing.LateFeeCalculatorBenchmark \
+ *     -Dbenchmark.rentals=10000000
+ * </pre>
+ * System properties: {@code benchmark.rentals} (10000000), {@code benchmark.chunkSize} (5000),
+ * {@code benchmark.iterations} (10, after as many warm-up iterations).
+ */
+public class LateFeeCalculatorBenchmark {
+
+    private static final int GRACE_DAYS = 2;
+    private static final int FEE_PERCENT = 50;
+    private static final int MAX_BILLABLE_DAYS = 60;
+
+    public static void main(String[] args) {
+        int rentals = Integer.getInteger("benchmark.rentals", 10_000_000);
+        int chunkSize = Integer.getInteger("benchmark.chunkSize", 5000);
+        int iterations = Integer.getInteger("benchmark.iterations", 10);
+        long billingDay = 20_000;
+
+        OverdueChunk[] chunks = population(rentals, chunkSize, billingDay);
+        LateFeeCalculator calculator = new LateFeeCalculator(GRACE_DAYS, FEE_PERCENT, MAX_BILLABLE_DAYS);
+
+        long expected = 0;
+        for (int i = 0; i < iterations; i++) {
+            expected = computeChunks(calculator, chunks, billingDay);
+            computeBigDecimal(chunks, billingDay);
+        }
+
+        System.out.println("variant,rentals,chunk_size,best_ms,median_ms,rentals_per_second");
+        long[] chunkNanos = new long[iterations];
+        long[] bigDecimalNanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            long total = computeChunks(calculator, chunks, billingDay);
+            chunkNanos[i] = System.nanoTime() - started;
+            check(expected, total);
+
+            started = System.nanoTime();
+            total = computeBigDecimal(chunks, billingDay);
+            bigDecimalNanos[i] = System.nanoTime() - started;
+            check(expected, total);
+        }
+        report("long-chunks", rentals, chunkSize, chunkNanos);
+        report("big-decimal", rentals, chunkSize, bigDecimalNanos);
+    }
+
+    private static OverdueChunk[] population(int rentals, int chunkSize, long billingDay) {
+        SplittableRandom random = new SplittableRandom(47);
+        OverdueChunk[] chunks = new OverdueChunk[(rentals + chunkSize - 1) / chunkSize];
+        for (int c = 0; c < chunks.length; c++) {
+            OverdueChunk chunk = new OverdueChunk(Math.min(chunkSize, rentals - c * chunkSize));
+            for (int i = 0; i < chunk.capacity(); i++) {
+                long id = (long) c * chunkSize + i + 1;
+                long dueDay = billingDay - random.nextInt(1, 120);
+                long billedThrough = random.nextInt(4) == 0
+                        ? OverdueChunk.NEVER_BILLED : billingDay - random.nextInt(1, 3);
+                chunk.add(id, random.nextLong(1, 100_000), dueDay, billedThrough, random.nextLong(99, 2_000));
+            }
+            chunks[c] = chunk;
+        }
+        return chunks;
+    }
+
+    private static long computeChunks(LateFeeCalculator calculator, OverdueChunk[] chunks, long billingDay) {
+        long total = 0;
+        for (OverdueChunk chunk : chunks) {
+            total += calculator.compute(chunk, billingDay);
+        }
+        return total;
+    }
+
+    /**
+     * The per-row formulation the chunked calculator replaces, kept to the same rounding.
+     */
+    private static long computeBigDecimal(OverdueChunk[] chunks, long billingDay) {
+        BigDecimal percent = BigDecimal.valueOf(FEE_PERCENT);
+        BigDecimal hundred = BigDecimal.valueOf(100);
+        BigDecimal total = BigDecimal.ZERO;
+        for (OverdueChunk chunk : chunks) {
+            for (int i = 0; i < chunk.size(); i++) {
+                long firstBillable = chunk.dueDays[i] + GRACE_DAYS;
+                long billable = Math.min(Math.max(billingDay - firstBillable, 0), MAX_BILLABLE_DAYS);
+                long billed = chunk.billedThroughDays[i] == OverdueChunk.NEVER_BILLED ? 0
+                        : Math.min(Math.max(chunk.billedThroughDays[i] - firstBillable, 0), MAX_BILLABLE_DAYS);
+                long days = Math.max(billable - billed, 0);
+                BigDecimal dailyFee = BigDecimal.valueOf(chunk.dailyRateCents[i]).multiply(percent)
+                        .divideToIntegralValue(hundred);
+                total = total.add(dailyFee.multiply(BigDecimal.valueOf(days)));
+            }
+        }
+        return total.longValueExact();
+    }
+
+    private static void check(long expected, long total) {
+        if (expected != total) {
+            throw new IllegalStateException("Fee total " + total + " differs from " + expected);
+        }
+    }
+
+    private static void report(String variant, int rentals, int chunkSize, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double bestMs = sorted[0] / 1e6;
+        double medianMs = sorted[sorted.length / 2] / 1e6;
+        System.out.printf("%s,%d,%d,%.1f,%.1f,%.0f%n", variant, rentals, chunkSize, bestMs, medianMs,
+                rentals / (medianMs / 1000));
+    }
+}
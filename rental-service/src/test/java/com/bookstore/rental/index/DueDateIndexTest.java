@@ -0,0 +1,120 @@
+package com.bookstore.rental.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap order of {@link DueDateIndex} under scheduling, rescheduling and removal, checked
+ * against a plain map of deadlines.
+ */
+class DueDateIndexTest {
+
+    private final DueDateIndex index = new DueDateIndex();
+
+    @Test
+    void pollsDueIdsInDeadlineOrder() {
+        index.schedule(3, 300);
+        index.schedule(1, 100);
+        index.schedule(2, 200);
+        index.schedule(4, 400);
+
+        List<Long> due = new ArrayList<>();
+        assertEquals(3, index.pollDue(300, 10, due::add));
+
+        assertEquals(List.of(1L, 2L, 3L), due);
+        assertEquals(1, index.size());
+        assertEquals(400, index.nextDeadline());
+    }
+
+    @Test
+    void pollsAtMostMaxIds() {
+        for (long id = 1; id <= 5; id++) {
+            index.schedule(id, id);
+        }
+
+        List<Long> due = new ArrayList<>();
+        assertEquals(2, index.pollDue(10, 2, due::add));
+
+        assertEquals(List.of(1L, 2L), due);
+        assertEquals(3, index.nextDeadline());
+    }
+
+    @Test
+    void reschedulingMovesTheIdInsteadOfAddingIt() {
+        index.schedule(1, 100);
+        index.schedule(2, 200);
+
+        index.schedule(1, 500);
+        assertEquals(2, index.size());
+        assertEquals(200, index.nextDeadline());
+
+        index.schedule(1, 50);
+        assertEquals(50, index.nextDeadline());
+    }
+
+    @Test
+    void removesIdsAnywhereInTheHeap() {
+        for (long id = 1; id <= 7; id++) {
+            index.schedule(id, id * 10);
+        }
+
+        assertTrue(index.remove(1));
+        assertTrue(index.remove(5));
+        assertFalse(index.remove(5));
+        assertFalse(index.contains(5));
+
+        List<Long> due = new ArrayList<>();
+        index.pollDue(Long.MAX_VALUE, Integer.MAX_VALUE, due::add);
+        assertEquals(List.of(2L, 3L, 4L, 6L, 7L), due);
+    }
+
+    @Test
+    void reportsNoDeadlineWhenEmpty() {
+        assertEquals(Long.MAX_VALUE, index.nextDeadline());
+        assertEquals(0, index.pollDue(Long.MAX_VALUE, 10, id -> {
+        }));
+
+        index.schedule(1, 100);
+        index.remove(1);
+        assertEquals(Long.MAX_VALUE, index.nextDeadline());
+    }
+
+    @Test
+    void matchesAReferenceUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(45);
+        Map<Long, Long> expected = new HashMap<>();
+        // Past the initial capacity, so the arrays grow
+        for (int op = 0; op < 50_000; op++) {
+            long id = random.nextLong(3000);
+            int action = random.nextInt(10);
+            if (action < 6) {
+                long deadline = random.nextLong(1_000_000);
+                index.schedule(id, deadline);
+                expected.put(id, deadline);
+            } else {
+                assertEquals(expected.remove(id) != null, index.remove(id));
+            }
+            assertEquals(expected.size(), index.size());
+            long earliest = expected.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+            assertEquals(earliest, index.nextDeadline());
+        }
+
+        long[] previous = {Long.MIN_VALUE};
+        index.pollDue(Long.MAX_VALUE, Integer.MAX_VALUE, id -> {
+            long deadline = expected.remove(id);
+            assertTrue(deadline >= previous[0], "deadline " + deadline + " after " + previous[0]);
+            previous[0] = deadline;
+        });
+        assertTrue(expected.isEmpty());
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,143 @@
+package com.bookstore.rental.saga;
+
+import com.bookstore.rental.client.BookClient;
+import com.bookstore.rental.client.BookSummary;
+import com.bookstore.rental.client.UserClient;
+import com.bookstore.rental.client.UserSummary;
+import com.bookstore.rental.exception.InvalidRequestException;
+import com.bookstore.rental.model.Rental;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency harness for rental creation against stubbed downstream services: compares the
+ * sequential flow (user check, then reservation, then write) with {@link RentalCreationSaga}
+ * and prints latency percentiles as CSV, plus how often the saga compensated.
+ * <p>
+ * Not a unit test. Run with, for example:
+ * <pre>
+ * mvn -pl rental-service test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.bookstore.rental.saga.RentalCreationLatencyHarness \
+ *     -Dharness.userMs=30 -Dharness.reserveMs=60
+ * </pre>
+ * System properties: {@code harness.userMs} (30), {@code harness.reserveMs} (60),
+ * {@code harness.recordMs} (5), {@code harness.jitter} (0.3, fraction of each latency),
+ * {@code harness.failureRate} (0.02, user check failures), {@code harness.requests} (2000),
+ * {@code harness.concurrency} (1,16,128).
+ */
+public class RentalCreationLatencyHarness {
+
+    public static void main(String[] args) throws Exception {
+        long userMs = Long.getLong("harness.userMs", 30);
+        long reserveMs = Long.getLong("harness.reserveMs", 60);
+        long recordMs = Long.getLong("harness.recordMs", 5);
+        double jitter = Double.parseDouble(System.getProperty("harness.jitter", "0.3"));
+        double failureRate = Double.parseDouble(System.getProperty("harness.failureRate", "0.02"));
+        int requests = Integer.getInteger("harness.requests", 2000);
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("harness.concurrency", "1,16,128").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        UserClient users = userId -> {
+            sleep(userMs, jitter);
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                throw new InvalidRequestException("User not found with ID: " + userId);
+            }
+            return new UserSummary(userId, "user" + userId + "@example.com", true);
+        };
+        AtomicLong released = new AtomicLong();
+        BookClient books = new BookClient() {
+            @Override
+            public BookSummary reserveCopies(Long bookId, int quantity) {
+                sleep(reserveMs, jitter);
+                return new BookSummary(bookId, "Title " + bookId, "Author", 10, BigDecimal.valueOf(199, 2));
+            }
+
+            @Override
+            public void releaseCopies(Long bookId, int quantity) {
+                sleep(reserveMs, jitter);
+                released.incrementAndGet();
+            }
+        };
+        AtomicLong ids = new AtomicLong();
+        RentalRecorder recorder = (user, book, start, end) -> {
+            sleep(recordMs, jitter);
+            return Rental.builder().id(ids.incrementAndGet()).userId(user.getId()).bookId(book.getId())
+                    .rentalStartDate(start).rentalEndDate(end).build();
+        };
+
+        System.out.println("flow,concurrency,requests,failures,p50_ms,p90_ms,p99_ms,max_ms");
+        try (ExecutorService sagaExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            RentalCreationSaga saga = new RentalCreationSaga(users, books, recorder, sagaExecutor, true);
+            Flow sequential = (userId, bookId) -> {
+                UserSummary user = users.getUser(userId);
+                BookSummary book = books.reserveCopies(bookId, 1);
+                LocalDateTime start = LocalDateTime.now();
+                recorder.record(user, book, start, start.plusDays(14));
+            };
+            Flow parallel = (userId, bookId) -> saga.create(userId, bookId, 14);
+
+            for (int concurrency : concurrencyLevels) {
+                run("sequential", sequential, concurrency, requests);
+                run("saga", parallel, concurrency, requests);
+            }
+            System.out.printf("# saga compensations=%d unresolved=%d%n", saga.getCompensations(), saga.getUnresolved());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Flow {
+        void create(long userId, long bookId);
+    }
+
+    private static void run(String name, Flow flow, int concurrency, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicLong next = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int w = 0; w < concurrency; w++) {
+                workers.add(callers.submit(() -> {
+                    for (long i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long start = System.nanoTime();
+                        try {
+                            flow.create(i, i % 500);
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[(int) i] = System.nanoTime() - start;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%s,%d,%d,%d,%.1f,%.1f,%.1f,%.1f%n", name, concurrency, requests, failures.get(),
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    private static void sleep(long baseMs, double jitter) {
+        double factor = 1 + (ThreadLocalRandom.current().nextDouble() * 2 - 1) * jitter;
+        try {
+            Thread.sleep(Math.max(0, Math.round(baseMs * factor)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+}
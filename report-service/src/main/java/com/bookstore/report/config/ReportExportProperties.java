@@ -0,0 +1,19 @@
+package com.bookstore.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "report.export")
+public class ReportExportProperties {
+
+    // Rows per batch handed from the cursor to the writer
+    private int batchRows = 4096;
+    // Batches in circulation per export; bounds its heap
+    private int poolSize = 4;
+    private int fetchSize = 5000;
+    private int maxRangeDays = 92;
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "report-exports");
+}
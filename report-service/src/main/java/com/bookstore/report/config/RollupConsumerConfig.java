@@ -0,0 +1,141 @@
+package com.bookstore.report.config;
+
+import com.bookstore.report.consumer.BookCatalogEventHandler;
+import com.bookstore.report.consumer.RentalEventRollupHandler;
+import com.bookstore.report.dimension.BookDimensionCache;
+import com.bookstore.report.repository.BookDimensionRepository;
+import com.bookstore.report.repository.RentalEventFactRepository;
+import com.bookstore.report.repository.RollupRepository;
+import com.bookstore.report.repository.SketchRepository;
+import com.bookstore.report.rollup.RollupProjector;
+import com.bookstore.report.rollup.RollupStore;
+import com.bookstore.report.sketch.SketchProjector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import main.java.com.bookstore.shared.events.BookCatalogEvent;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.idempotency.EventDeduplicator;
+import main.java.com.bookstore.shared.idempotency.JdbcProcessedEventStore;
+import main.java.com.bookstore.shared.idempotency.TimeBucketedBloomFilter;
+import main.java.com.bookstore.shared.messaging.BatchConsumerContainers;
+import main.java.com.bookstore.shared.messaging.BatchConsumerProperties;
+import main.java.com.bookstore.shared.messaging.BatchingEventListener;
+import main.java.com.bookstore.shared.messaging.BookRentalEventDecoder;
+import main.java.com.bookstore.shared.messaging.EventDecoder;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Queues and batched consumers feeding the rollups: rental events from rental-service and
+ * catalog snapshots from book-service.
+ */
+@Configuration
+public class RollupConsumerConfig {
+
+    public static final String RENTAL_EVENTS_QUEUE = "report.rental-events";
+    public static final String BOOK_EVENTS_QUEUE = "report.book-events";
+    // Must match rental-service's RentalEventPublisher.EXCHANGE
+    public static final String RENTAL_EVENTS_EXCHANGE = "bookstore.rental.events";
+    private static final String CONSUMER = "report-service.rollups";
+    // Claims outlive this; see ProcessedEventRetention
+    private static final Duration DEDUPE_WINDOW = Duration.ofDays(1);
+
+    @Bean
+    public Declarables rentalEventQueues() {
+        return BatchConsumerContainers.deadLetteredQueue(RENTAL_EVENTS_QUEUE);
+    }
+
+    @Bean
+    public Declarables bookEventQueues() {
+        return BatchConsumerContainers.deadLetteredQueue(BOOK_EVENTS_QUEUE);
+    }
+
+    @Bean
+    public Declarables rollupBindings() {
+        TopicExchange rentalExchange = new TopicExchange(RENTAL_EVENTS_EXCHANGE, true, false);
+        TopicExchange bookExchange = new TopicExchange(BookCatalogEvent.EXCHANGE, true, false);
+        Binding rentals = BindingBuilder.bind(new Queue(RENTAL_EVENTS_QUEUE)).to(rentalExchange).with("rental.#");
+        Binding books = BindingBuilder.bind(new Queue(BOOK_EVENTS_QUEUE)).to(bookExchange).with("book.#");
+        return new Declarables(rentalExchange, bookExchange, rentals, books);
+    }
+
+    @Bean
+    @ConfigurationProperties("messaging.rental-events")
+    public BatchConsumerProperties rentalEventConsumerProperties() {
+        return new BatchConsumerProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("messaging.book-events")
+    public BatchConsumerProperties bookEventConsumerProperties() {
+        return new BatchConsumerProperties();
+    }
+
+    @Bean
+    public EventDeduplicator<BookRentalEvent> rentalEventDeduplicator(JdbcTemplate jdbcTemplate) {
+        // One day of ids in 24 hourly buckets
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(DEDUPE_WINDOW.toMillis(), 24,
+                200_000, 0.001);
+        EventDeduplicator<BookRentalEvent> deduplicator = new EventDeduplicator<>(filter,
+                new JdbcProcessedEventStore(jdbcTemplate, CONSUMER), BookRentalEvent::getEventId, Clock.systemUTC());
+        // Before the listener container starts, so redeliveries after a restart are recognised
+        deduplicator.warmUp(DEDUPE_WINDOW);
+        return deduplicator;
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer rentalEventContainer(ConnectionFactory connectionFactory,
+                                                               EventDeduplicator<BookRentalEvent> rentalEventDeduplicator,
+                                                               RollupProjector projector,
+                                                               RollupRepository rollupRepository,
+                                                               RentalEventFactRepository factRepository,
+                                                               SketchProjector sketchProjector,
+                                                               SketchRepository sketchRepository,
+                                                               RollupStore rollupStore,
+                                                               PlatformTransactionManager transactionManager,
+                                                               ObjectMapper objectMapper) {
+        BatchConsumerProperties properties = rentalEventConsumerProperties();
+        RentalEventRollupHandler handler = new RentalEventRollupHandler(rentalEventDeduplicator, projector,
+                rollupRepository, factRepository, sketchProjector, sketchRepository, rollupStore,
+                new TransactionTemplate(transactionManager));
+        BatchingEventListener<BookRentalEvent> listener = new BatchingEventListener<>(
+                new BookRentalEventDecoder(new Jackson2JsonMessageConverter(objectMapper)), handler, properties);
+        return BatchConsumerContainers.create(connectionFactory, RENTAL_EVENTS_QUEUE, listener, properties);
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer bookEventContainer(ConnectionFactory connectionFactory,
+                                                             BookDimensionRepository dimensionRepository,
+                                                             BookDimensionCache dimensionCache,
+                                                             PlatformTransactionManager transactionManager,
+                                                             ObjectMapper objectMapper) {
+        BatchConsumerProperties properties = bookEventConsumerProperties();
+        BookCatalogEventHandler handler = new BookCatalogEventHandler(dimensionRepository, dimensionCache,
+                new TransactionTemplate(transactionManager));
+        EventDecoder<BookCatalogEvent> decoder = message -> {
+            try {
+                return objectMapper.readValue(message.getBody(), BookCatalogEvent.class);
+            } catch (IOException e) {
+                throw new MessageConversionException("Invalid book catalog event", e);
+            }
+        };
+        BatchingEventListener<BookCatalogEvent> listener = new BatchingEventListener<>(decoder, handler, properties);
+        return BatchConsumerContainers.create(connectionFactory, BOOK_EVENTS_QUEUE, listener, properties);
+    }
+}
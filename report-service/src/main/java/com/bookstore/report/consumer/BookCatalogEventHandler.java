@@ -0,0 +1,45 @@
+package com.bookstore.report.consumer;
+
+import com.bookstore.report.dimension.BookDimension;
+import com.bookstore.report.dimension.BookDimensionCache;
+import com.bookstore.report.repository.BookDimensionRepository;
+import main.java.com.bookstore.shared.events.BookCatalogEvent;
+import main.java.com.bookstore.shared.messaging.BatchEventHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the latest catalog snapshot per book and then updates the in-memory cache.
+ * Snapshots are whole-state and timestamped, so redeliveries are harmless.
+ */
+public class BookCatalogEventHandler implements BatchEventHandler<BookCatalogEvent> {
+
+    private final BookDimensionRepository dimensionRepository;
+    private final BookDimensionCache dimensionCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookCatalogEventHandler(BookDimensionRepository dimensionRepository, BookDimensionCache dimensionCache,
+                                   TransactionTemplate transactionTemplate) {
+        this.dimensionRepository = dimensionRepository;
+        this.dimensionCache = dimensionCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void handle(List<BookCatalogEvent> events) {
+        // One row per book keeps the batch free of duplicate keys
+        Map<Long, BookDimension> latest = new LinkedHashMap<>();
+        events.stream()
+                .filter(event -> event.getBookId() != null && event.getEventTimestamp() != null)
+                .map(BookDimensionCache::toDimension)
+                .sorted(Comparator.comparing(BookDimension::updatedAt))
+                .forEach(dimension -> latest.put(dimension.bookId(), dimension));
+        List<BookDimension> dimensions = List.copyOf(latest.values());
+        transactionTemplate.executeWithoutResult(status -> dimensionRepository.upsertAll(dimensions));
+        dimensionCache.putAll(dimensions);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bookstore.report.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.idempotency.EventDeduplicator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Deletes rental event claims older than the redelivery horizon, on the rollups' eviction
+ * schedule, so {@code processed_events} holds only the ids a redelivery can still repeat.
+ */
+@Component
+@Slf4j
+public class ProcessedEventRetention {
+
+    private final EventDeduplicator<BookRentalEvent> rentalEventDeduplicator;
+    private final Duration retention;
+
+    public ProcessedEventRetention(EventDeduplicator<BookRentalEvent> rentalEventDeduplicator,
+                                   @Value("${report.rollups.processed-events-retention:7d}") Duration retention) {
+        this.rentalEventDeduplicator = rentalEventDeduplicator;
+        this.retention = retention;
+    }
+
+    @Scheduled(cron = "${report.rollups.eviction-cron:0 5 0 * * *}")
+    public void evictExpired() {
+        int deleted = rentalEventDeduplicator.purgeOlderThan(retention);
+        if (deleted > 0) {
+            log.info("Deleted {} processed rental event ids older than {}", deleted, retention);
+        }
+    }
+}
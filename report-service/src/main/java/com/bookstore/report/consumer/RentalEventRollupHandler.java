@@ -0,0 +1,74 @@
+package com.bookstore.report.consumer;
+
+import com.bookstore.report.repository.RentalEventFactRepository;
+import com.bookstore.report.repository.RentalEventFactRepository.RentalFact;
+import com.bookstore.report.repository.RollupRepository;
+import com.bookstore.report.repository.SketchRepository;
+import com.bookstore.report.rollup.RollupCube;
+import com.bookstore.report.rollup.RollupProjector;
+import com.bookstore.report.rollup.RollupStore;
+import com.bookstore.report.sketch.SketchBatch;
+import com.bookstore.report.sketch.SketchProjector;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.idempotency.EventDeduplicator;
+import main.java.com.bookstore.shared.messaging.BatchEventHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds a batch of rental events into one rollup delta and one set of sketches, adds both to
+ * the stored ones and appends the events to the fact table (the source of exports) in the
+ * transaction that claims them, and merges the rollup delta into memory once that has committed.
+ * A redelivered batch is claimed as duplicates and adds nothing.
+ */
+@Slf4j
+public class RentalEventRollupHandler implements BatchEventHandler<BookRentalEvent> {
+
+    private final EventDeduplicator<BookRentalEvent> deduplicator;
+    private final RollupProjector projector;
+    private final RollupRepository rollupRepository;
+    private final RentalEventFactRepository factRepository;
+    private final SketchProjector sketchProjector;
+    private final SketchRepository sketchRepository;
+    private final RollupStore rollupStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public RentalEventRollupHandler(EventDeduplicator<BookRentalEvent> deduplicator, RollupProjector projector,
+                                    RollupRepository rollupRepository, RentalEventFactRepository factRepository,
+                                    SketchProjector sketchProjector, SketchRepository sketchRepository,
+                                    RollupStore rollupStore, TransactionTemplate transactionTemplate) {
+        this.deduplicator = deduplicator;
+        this.projector = projector;
+        this.rollupRepository = rollupRepository;
+        this.factRepository = factRepository;
+        this.sketchProjector = sketchProjector;
+        this.sketchRepository = sketchRepository;
+        this.rollupStore = rollupStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void handle(List<BookRentalEvent> events) {
+        rollupStore.commitAndApply(() -> transactionTemplate.execute(status -> {
+            RollupCube cube = new RollupCube();
+            SketchBatch sketches = new SketchBatch();
+            List<BookRentalEvent> fresh = deduplicator.claimNew(events);
+            List<RentalFact> facts = new ArrayList<>(fresh.size());
+            for (BookRentalEvent event : fresh) {
+                long revenueCents = projector.project(event, cube);
+                if (revenueCents != RollupProjector.NOT_PROJECTED) {
+                    facts.add(RentalFact.of(event, revenueCents));
+                }
+                sketchProjector.project(event, sketches);
+            }
+            rollupRepository.addDeltas(cube);
+            factRepository.insertAll(facts);
+            sketchRepository.mergeAll(sketches);
+            return cube;
+        }));
+        log.debug("Rolled up {} rental events", events.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookstore.report.controller;
+
+import com.bookstore.report.dto.DailyRollupResponse;
+import com.bookstore.report.dto.RankedRollupResponse;
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.Measure;
+import com.bookstore.report.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reports", description = "Pre-aggregated rental and revenue rollups")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/rentals/daily")
+    @Operation(summary = "Daily totals", description = "Rentals, returns, overdue rentals and revenue per day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily totals retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<DailyRollupResponse>> getDailyTotals(
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Fetching daily totals from {} to {}", from, to);
+        return ResponseEntity.ok(reportService.getDailyTotals(from, to));
+    }
+
+    @GetMapping("/rentals/books/{bookId}/daily")
+    @Operation(summary = "Daily totals of a book", description = "Rentals, returns, overdue rentals and revenue of a book per day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily totals retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<DailyRollupResponse>> getDailyForBook(
+            @Parameter(description = "Book ID") @PathVariable Long bookId,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Fetching daily totals of book {} from {} to {}", bookId, from, to);
+        return ResponseEntity.ok(reportService.getDailyForBook(bookId, from, to));
+    }
+
+    @GetMapping("/rentals/categories/{categoryId}/daily")
+    @Operation(summary = "Daily totals of a category", description = "Rentals, returns, overdue rentals and revenue of a category per day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily totals retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<DailyRollupResponse>> getDailyForCategory(
+            @Parameter(description = "Category ID") @PathVariable Long categoryId,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Fetching daily totals of category {} from {} to {}", categoryId, from, to);
+        return ResponseEntity.ok(reportService.getDailyForCategory(categoryId, from, to));
+    }
+
+    @GetMapping("/rentals/top")
+    @Operation(summary = "Top books or categories", description = "Ranks books or categories by a measure over a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or limit")
+    })
+    public ResponseEntity<List<RankedRollupResponse>> getTop(
+            @Parameter(description = "BOOK or CATEGORY") @RequestParam(defaultValue = "BOOK") Dimension dimension,
+            @Parameter(description = "Measure to rank by") @RequestParam(defaultValue = "RENTALS") Measure measure,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Number of entries") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Ranking {} by {} from {} to {}", dimension, measure, from, to);
+        return ResponseEntity.ok(reportService.getTop(dimension, measure, from, to, limit));
+    }
+}
@@ -0,0 +1,69 @@
+package com.bookstore.report.controller;
+
+import com.bookstore.report.dto.ExportFileResponse;
+import com.bookstore.report.export.ExportDataset;
+import com.bookstore.report.export.ExportFormat;
+import com.bookstore.report.service.ReportExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/reports/exports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report exports", description = "Bulk exports of rental events and revenue")
+public class ReportExportController {
+
+    private final ReportExportService reportExportService;
+
+    @GetMapping
+    @Operation(summary = "Stream an export", description = "Streams a dataset as CSV or columnar file while it is read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<StreamingResponseBody> streamExport(
+            @Parameter(description = "Dataset to export") @RequestParam ExportDataset dataset,
+            @Parameter(description = "File format") @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Streaming {} export from {} to {} as {}", dataset, from, to, format);
+        StreamingResponseBody body = reportExportService.stream(dataset, format, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(reportExportService.fileName(dataset, format, from, to))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping("/files")
+    @Operation(summary = "Export to a file", description = "Writes a dataset to the export directory on the server")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export written"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<ExportFileResponse> exportToFile(
+            @Parameter(description = "Dataset to export") @RequestParam ExportDataset dataset,
+            @Parameter(description = "File format") @RequestParam(defaultValue = "COLUMNAR") ExportFormat format,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Exporting {} from {} to {} as {} to a file", dataset, from, to, format);
+        return ResponseEntity.ok(reportExportService.exportToFile(dataset, format, from, to));
+    }
+}
@@ -0,0 +1,77 @@
+package com.bookstore.report.controller;
+
+import com.bookstore.report.dto.DistinctRentersResponse;
+import com.bookstore.report.dto.RentalDurationResponse;
+import com.bookstore.report.dto.TopBooksResponse;
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.service.SketchReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reports/sketches")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report sketches", description = "Approximate distinct counts, quantiles and rankings")
+public class SketchReportController {
+
+    private final SketchReportService sketchReportService;
+
+    @GetMapping("/renters")
+    @Operation(summary = "Distinct renters", description = "Estimated number of distinct users who rented over a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estimate retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<DistinctRentersResponse> getDistinctRenters(
+            @Parameter(description = "TOTAL, BOOK or CATEGORY") @RequestParam(defaultValue = "TOTAL") Dimension dimension,
+            @Parameter(description = "Book or category ID, ignored for TOTAL") @RequestParam(defaultValue = "0") long key,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Estimating distinct renters of {} {} from {} to {}", dimension, key, from, to);
+        return ResponseEntity.ok(sketchReportService.getDistinctRenters(dimension, key, from, to));
+    }
+
+    @GetMapping("/durations")
+    @Operation(summary = "Rental duration quantiles", description = "Estimated quantiles of the hours between rental start and return")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantiles retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or quantiles")
+    })
+    public ResponseEntity<RentalDurationResponse> getRentalDurations(
+            @Parameter(description = "TOTAL, BOOK or CATEGORY") @RequestParam(defaultValue = "TOTAL") Dimension dimension,
+            @Parameter(description = "Book or category ID, ignored for TOTAL") @RequestParam(defaultValue = "0") long key,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Quantiles between 0 and 1") @RequestParam(defaultValue = "0.5,0.9,0.95,0.99") List<Double> quantiles) {
+        log.debug("Estimating rental durations of {} {} from {} to {}", dimension, key, from, to);
+        return ResponseEntity.ok(sketchReportService.getRentalDurations(dimension, key, from, to, quantiles));
+    }
+
+    @GetMapping("/top-books")
+    @Operation(summary = "Most rented books", description = "Estimated most rented books overall or within a category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid dimension, date range or limit")
+    })
+    public ResponseEntity<TopBooksResponse> getTopBooks(
+            @Parameter(description = "TOTAL or CATEGORY") @RequestParam(defaultValue = "TOTAL") Dimension dimension,
+            @Parameter(description = "Category ID, ignored for TOTAL") @RequestParam(defaultValue = "0") long key,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Number of entries") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Estimating top books of {} {} from {} to {}", dimension, key, from, to);
+        return ResponseEntity.ok(sketchReportService.getTopBooks(dimension, key, from, to, limit));
+    }
+}
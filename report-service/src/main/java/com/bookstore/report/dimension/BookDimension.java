@@ -0,0 +1,14 @@
+package com.bookstore.report.dimension;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog attributes of a book that rollups are attributed by.
+ *
+ * @param rentalPriceCents daily rental price in cents, or -1 when the book has none
+ */
+public record BookDimension(long bookId, String title, long[] categoryIds, long rentalPriceCents,
+                            boolean deleted, LocalDateTime updatedAt) {
+
+    public static final long NO_PRICE = -1;
+}
@@ -0,0 +1,94 @@
+package com.bookstore.report.dimension;
+
+import com.bookstore.report.repository.BookDimensionRepository;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.bookstore.shared.events.BookCatalogEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest known {@link BookDimension} per book, loaded from the database on start and kept
+ * current from catalog events after they are stored. Catalog events consumed by other
+ * instances reach it through a periodic reload; older versions never replace newer ones, so
+ * the reload and the events can interleave.
+ */
+@Component
+@Slf4j
+public class BookDimensionCache implements SmartLifecycle {
+
+    private final BookDimensionRepository dimensionRepository;
+    private final Map<Long, BookDimension> books = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public BookDimensionCache(BookDimensionRepository dimensionRepository) {
+        this.dimensionRepository = dimensionRepository;
+    }
+
+    /**
+     * @return the book's attributes, or {@code null} when no catalog event was seen for it
+     */
+    public BookDimension get(long bookId) {
+        return books.get(bookId);
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    public void put(BookDimension dimension) {
+        books.merge(dimension.bookId(), dimension, (current, candidate) ->
+                candidate.updatedAt().isBefore(current.updatedAt()) ? current : candidate);
+    }
+
+    public void putAll(List<BookDimension> dimensions) {
+        dimensions.forEach(this::put);
+    }
+
+    public static BookDimension toDimension(BookCatalogEvent event) {
+        long[] categoryIds = event.getCategoryIds() == null ? new long[0]
+                : event.getCategoryIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        return new BookDimension(event.getBookId(), event.getTitle(), categoryIds, toCents(event.getRentalPrice()),
+                BookCatalogEvent.EventTypes.BOOK_DELETED.equals(event.getEventType()), event.getEventTimestamp());
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price == null ? BookDimension.NO_PRICE
+                : price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    @Scheduled(fixedDelayString = "${report.rollups.refresh-ms:60000}",
+            initialDelayString = "${report.rollups.refresh-ms:60000}")
+    public void refresh() {
+        dimensionRepository.findAll(this::put);
+    }
+
+    @Override
+    public void start() {
+        dimensionRepository.findAll(this::put);
+        log.info("Loaded catalog attributes of {} books", books.size());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Loaded before the listener containers start delivering
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
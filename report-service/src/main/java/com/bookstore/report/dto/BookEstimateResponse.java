@@ -0,0 +1,14 @@
+package com.bookstore.report.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookEstimateResponse {
+
+    private long bookId;
+    private String title;
+    // Never below the true count, at most the response's errorBound above it
+    private long estimatedRentals;
+}
@@ -0,0 +1,17 @@
+package com.bookstore.report.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class DailyRollupResponse {
+
+    private LocalDate date;
+    private long rentals;
+    private long returns;
+    private long overdue;
+    private long revenueCents;
+}
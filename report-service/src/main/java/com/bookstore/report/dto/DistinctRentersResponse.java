@@ -0,0 +1,22 @@
+package com.bookstore.report.dto;
+
+import com.bookstore.report.rollup.Dimension;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class DistinctRentersResponse {
+
+    private Dimension dimension;
+    private long key;
+    // Book title for BOOK buckets, when known
+    private String label;
+    private LocalDate from;
+    private LocalDate to;
+    private long estimate;
+    // One standard deviation of the estimate, relative to it
+    private double relativeStandardError;
+}
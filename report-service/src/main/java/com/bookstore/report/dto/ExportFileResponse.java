@@ -0,0 +1,23 @@
+package com.bookstore.report.dto;
+
+import com.bookstore.report.export.ExportDataset;
+import com.bookstore.report.export.ExportFormat;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class ExportFileResponse {
+
+    private ExportDataset dataset;
+    private ExportFormat format;
+    private LocalDate from;
+    private LocalDate to;
+    private String fileName;
+    private long sizeBytes;
+    private long rows;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,12 @@
+package com.bookstore.report.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class QuantileResponse {
+
+    private double quantile;
+    private double hours;
+}
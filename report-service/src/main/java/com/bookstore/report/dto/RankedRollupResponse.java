@@ -0,0 +1,18 @@
+package com.bookstore.report.dto;
+
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.Measure;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RankedRollupResponse {
+
+    private Dimension dimension;
+    private long key;
+    // Book title for BOOK rankings, when known
+    private String label;
+    private Measure measure;
+    private long value;
+}
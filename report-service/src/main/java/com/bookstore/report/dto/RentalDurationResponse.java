@@ -0,0 +1,25 @@
+package com.bookstore.report.dto;
+
+import com.bookstore.report.rollup.Dimension;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class RentalDurationResponse {
+
+    private Dimension dimension;
+    private long key;
+    // Book title for BOOK buckets, when known
+    private String label;
+    private LocalDate from;
+    private LocalDate to;
+    // Returns the durations were taken from
+    private long returns;
+    private Double minHours;
+    private Double maxHours;
+    private List<QuantileResponse> quantiles;
+}
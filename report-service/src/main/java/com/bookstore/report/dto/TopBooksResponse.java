@@ -0,0 +1,22 @@
+package com.bookstore.report.dto;
+
+import com.bookstore.report.rollup.Dimension;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class TopBooksResponse {
+
+    private Dimension dimension;
+    private long key;
+    private LocalDate from;
+    private LocalDate to;
+    private long totalRentals;
+    // Overcount bound of every estimate, holding with 98% probability
+    private long errorBound;
+    private List<BookEstimateResponse> books;
+}
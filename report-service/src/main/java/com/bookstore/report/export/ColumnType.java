@@ -0,0 +1,26 @@
+package com.bookstore.report.export;
+
+/**
+ * Column types of an export. All but {@link #STRING} are carried as {@code long}s: dates as
+ * epoch days, timestamps as epoch milliseconds of the wall-clock time.
+ */
+public enum ColumnType {
+    LONG(1),
+    DATE(2),
+    TIMESTAMP(3),
+    STRING(4);
+
+    private final int code;
+
+    ColumnType(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public boolean isNumeric() {
+        return this != STRING;
+    }
+}
@@ -0,0 +1,186 @@
+package com.bookstore.report.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Compressed columnar encoding in the spirit of Parquet row groups, without the dependency.
+ * <pre>
+ * file      = "BKCOL" version:u8 columnCount:varint column* rowGroup* 0:varint totalRows:varint
+ * column    = type:u8 nameLength:varint name:utf8
+ * rowGroup  = rowCount:varint (chunkLength:varint chunk)*   -- one chunk per column
+ * chunk     = raw DEFLATE of the column's encoded values
+ * </pre>
+ * Numeric columns encode a null flag byte (followed by a bitmap when set) and then each value
+ * as the zig-zag varint of its difference to the previous row, so sorted timestamps and ids
+ * shrink to a byte or two before compression. Strings are {@code length + 1} varints (0 for
+ * null) followed by UTF-8 bytes. Every row group is one {@link RowBatch}; buffers are reused
+ * across groups, so memory does not grow with the export.
+ */
+public class ColumnarExportWriter implements ExportWriter {
+
+    public static final byte[] MAGIC = "BKCOL".getBytes(StandardCharsets.US_ASCII);
+    public static final int VERSION = 1;
+
+    private final OutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final ByteSink raw = new ByteSink();
+    private final ByteSink header = new ByteSink();
+    private byte[] compressed = new byte[64 * 1024];
+    private List<ExportColumn> columns;
+    private long rows;
+
+    public ColumnarExportWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(List<ExportColumn> columns) throws IOException {
+        this.columns = columns;
+        header.reset();
+        header.writeBytes(MAGIC, 0, MAGIC.length);
+        header.writeByte(VERSION);
+        header.writeVarLong(columns.size());
+        for (ExportColumn column : columns) {
+            byte[] name = column.name().getBytes(StandardCharsets.UTF_8);
+            header.writeByte(column.type().code());
+            header.writeVarLong(name.length);
+            header.writeBytes(name, 0, name.length);
+        }
+        header.writeTo(out);
+    }
+
+    @Override
+    public void write(RowBatch batch) throws IOException {
+        if (batch.size() == 0) {
+            return;
+        }
+        header.reset();
+        header.writeVarLong(batch.size());
+        header.writeTo(out);
+        for (int c = 0; c < columns.size(); c++) {
+            raw.reset();
+            if (columns.get(c).type().isNumeric()) {
+                encodeNumeric(batch, c);
+            } else {
+                encodeStrings(batch, c);
+            }
+            writeChunk();
+        }
+        rows += batch.size();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        header.reset();
+        header.writeVarLong(0);
+        header.writeVarLong(rows);
+        header.writeTo(out);
+        out.flush();
+        deflater.end();
+    }
+
+    private void encodeNumeric(RowBatch batch, int column) {
+        int size = batch.size();
+        boolean anyNull = false;
+        for (int row = 0; row < size && !anyNull; row++) {
+            anyNull = batch.isNull(column, row);
+        }
+        raw.writeByte(anyNull ? 1 : 0);
+        if (anyNull) {
+            for (int row = 0; row < size; row += 8) {
+                int bits = 0;
+                for (int bit = 0; bit < 8 && row + bit < size; bit++) {
+                    if (batch.isNull(column, row + bit)) {
+                        bits |= 1 << bit;
+                    }
+                }
+                raw.writeByte(bits);
+            }
+        }
+        long previous = 0;
+        for (int row = 0; row < size; row++) {
+            if (batch.isNull(column, row)) {
+                continue;
+            }
+            long value = batch.getLong(column, row);
+            long delta = value - previous;
+            raw.writeVarLong((delta << 1) ^ (delta >> 63));
+            previous = value;
+        }
+    }
+
+    private void encodeStrings(RowBatch batch, int column) {
+        for (int row = 0; row < batch.size(); row++) {
+            String value = batch.getString(column, row);
+            if (value == null) {
+                raw.writeVarLong(0);
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            raw.writeVarLong(bytes.length + 1L);
+            raw.writeBytes(bytes, 0, bytes.length);
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        deflater.reset();
+        deflater.setInput(raw.buffer, 0, raw.length);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        header.reset();
+        header.writeVarLong(length);
+        header.writeTo(out);
+        out.write(compressed, 0, length);
+    }
+
+    private static final class ByteSink {
+
+        private byte[] buffer = new byte[64 * 1024];
+        private int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[length++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes, int offset, int count) {
+            ensure(count);
+            System.arraycopy(bytes, offset, buffer, length, count);
+            length += count;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(buffer, 0, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
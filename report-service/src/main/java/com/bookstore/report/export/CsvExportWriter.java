@@ -0,0 +1,87 @@
+package com.bookstore.report.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row. Dates and timestamps are written in ISO-8601.
+ */
+public class CsvExportWriter implements ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private List<ExportColumn> columns;
+
+    public CsvExportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void begin(List<ExportColumn> columns) throws IOException {
+        this.columns = columns;
+        for (int c = 0; c < columns.size(); c++) {
+            if (c > 0) {
+                out.write(',');
+            }
+            writeString(columns.get(c).name());
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(RowBatch batch) throws IOException {
+        for (int row = 0; row < batch.size(); row++) {
+            for (int c = 0; c < columns.size(); c++) {
+                if (c > 0) {
+                    out.write(',');
+                }
+                if (!batch.isNull(c, row)) {
+                    writeValue(columns.get(c).type(), batch, c, row);
+                }
+            }
+            out.write("\r\n");
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void writeValue(ColumnType type, RowBatch batch, int column, int row) throws IOException {
+        switch (type) {
+            case LONG -> out.write(Long.toString(batch.getLong(column, row)));
+            case DATE -> out.write(LocalDate.ofEpochDay(batch.getLong(column, row)).toString());
+            case TIMESTAMP -> {
+                long millis = batch.getLong(column, row);
+                out.write(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                        (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC).toString());
+            }
+            case STRING -> writeString(batch.getString(column, row));
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,4 @@
+package com.bookstore.report.export;
+
+public record ExportColumn(String name, ColumnType type) {
+}
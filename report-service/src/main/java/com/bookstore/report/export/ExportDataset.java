@@ -0,0 +1,80 @@
+package com.bookstore.report.export;
+
+import com.bookstore.report.rollup.Dimension;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What can be exported: a query over report-service's own tables, ordered so the output is
+ * stable, and the columns it selects in select-list order.
+ */
+public enum ExportDataset {
+
+    RENTAL_EVENTS("rental-events",
+            "SELECT occurred_at, event_type, rental_id, user_id, book_id, rental_start, rental_end, revenue_cents " +
+                    "FROM report_rental_events WHERE occurred_at >= ? AND occurred_at < ? ORDER BY occurred_at, event_id",
+            List.of(new ExportColumn("occurred_at", ColumnType.TIMESTAMP),
+                    new ExportColumn("event_type", ColumnType.STRING),
+                    new ExportColumn("rental_id", ColumnType.LONG),
+                    new ExportColumn("user_id", ColumnType.LONG),
+                    new ExportColumn("book_id", ColumnType.LONG),
+                    new ExportColumn("rental_start", ColumnType.TIMESTAMP),
+                    new ExportColumn("rental_end", ColumnType.TIMESTAMP),
+                    new ExportColumn("revenue_cents", ColumnType.LONG))) {
+        @Override
+        public void bind(PreparedStatement ps, LocalDate from, LocalDate to) throws SQLException {
+            ps.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+            ps.setTimestamp(2, Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+    },
+
+    DAILY_BOOK_REVENUE("daily-book-revenue",
+            "SELECT r.epoch_day, r.dim_key, d.title, r.rentals, r.returned, r.overdue, r.revenue_cents " +
+                    "FROM report_daily_rollups r LEFT JOIN report_book_dimension d ON d.book_id = r.dim_key " +
+                    "WHERE r.dimension = " + Dimension.BOOK.code() + " AND r.epoch_day BETWEEN ? AND ? " +
+                    "ORDER BY r.epoch_day, r.dim_key",
+            List.of(new ExportColumn("day", ColumnType.DATE),
+                    new ExportColumn("book_id", ColumnType.LONG),
+                    new ExportColumn("title", ColumnType.STRING),
+                    new ExportColumn("rentals", ColumnType.LONG),
+                    new ExportColumn("returns", ColumnType.LONG),
+                    new ExportColumn("overdue", ColumnType.LONG),
+                    new ExportColumn("revenue_cents", ColumnType.LONG))) {
+        @Override
+        public void bind(PreparedStatement ps, LocalDate from, LocalDate to) throws SQLException {
+            ps.setInt(1, (int) from.toEpochDay());
+            ps.setInt(2, (int) to.toEpochDay());
+        }
+    };
+
+    private final String fileName;
+    private final String sql;
+    private final List<ExportColumn> columns;
+
+    ExportDataset(String fileName, String sql, List<ExportColumn> columns) {
+        this.fileName = fileName;
+        this.sql = sql;
+        this.columns = columns;
+    }
+
+    /**
+     * Binds the inclusive date range to the query.
+     */
+    public abstract void bind(PreparedStatement ps, LocalDate from, LocalDate to) throws SQLException;
+
+    public String fileName() {
+        return fileName;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public List<ExportColumn> columns() {
+        return columns;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookstore.report.export;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    // Deflated column chunks, see ColumnarExportWriter
+    COLUMNAR("application/x-bookstore-columnar", "bkcol");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
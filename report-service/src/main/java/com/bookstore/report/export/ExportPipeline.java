@@ -0,0 +1,168 @@
+package com.bookstore.report.export;
+
+import com.bookstore.report.exception.ReportExportException;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams rows from a cursor to an {@link ExportWriter} through a bounded hand-off.
+ * <p>
+ * A virtual thread reads the cursor into {@link RowBatch}es taken from a fixed pool and
+ * queues them; the calling thread encodes them and returns them to the pool. With only
+ * {@code poolSize} batches in circulation, a slow client stalls the cursor instead of
+ * growing the heap, and a fast one keeps the query and the encoding running in parallel.
+ * If the writer fails (the client went away), the reader is cancelled at its next hand-off
+ * and its transaction closes.
+ */
+public class ExportPipeline {
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * Feeds every row of the cursor to the sink, e.g. from a JDBC row callback.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void read(RowSink sink);
+    }
+
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    private final int batchRows;
+    private final int poolSize;
+
+    public ExportPipeline(int batchRows, int poolSize) {
+        if (batchRows < 1 || poolSize < 2) {
+            throw new IllegalArgumentException("batchRows must be positive and poolSize at least 2");
+        }
+        this.batchRows = batchRows;
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * @param onBatch receives the row count of every batch written, for live throughput metrics
+     */
+    public ExportResult run(List<ExportColumn> columns, RowSource source, ExportWriter writer,
+                            LongConsumer onBatch) throws IOException {
+        long started = System.nanoTime();
+        BlockingQueue<RowBatch> free = new ArrayBlockingQueue<>(poolSize);
+        // Room for every pooled batch plus a failure marker
+        BlockingQueue<RowBatch> filled = new ArrayBlockingQueue<>(poolSize + 1);
+        for (int i = 0; i < poolSize; i++) {
+            free.add(new RowBatch(columns, batchRows));
+        }
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread reader = Thread.ofVirtual().name("report-export-reader")
+                .start(() -> produce(source, free, filled, cancelled));
+
+        long rows = 0;
+        try {
+            writer.begin(columns);
+            while (true) {
+                RowBatch batch = filled.take();
+                if (batch.failure != null) {
+                    throw new ReportExportException("Export query failed", batch.failure);
+                }
+                writer.write(batch);
+                rows += batch.size();
+                onBatch.accept(batch.size());
+                if (batch.last) {
+                    break;
+                }
+                batch.clear();
+                free.add(batch);
+            }
+            writer.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportExportException("Export interrupted", e);
+        } finally {
+            cancelled.set(true);
+            awaitReader(reader);
+        }
+        return new ExportResult(rows, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private static void produce(RowSource source, BlockingQueue<RowBatch> free, BlockingQueue<RowBatch> filled,
+                                AtomicBoolean cancelled) {
+        RowBatch[] current = new RowBatch[1];
+        try {
+            source.read(rs -> {
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+                if (current[0] == null) {
+                    current[0] = take(free, cancelled);
+                }
+                current[0].append(rs);
+                if (current[0].isFull()) {
+                    put(filled, current[0], cancelled);
+                    current[0] = null;
+                }
+            });
+            RowBatch end = current[0] != null ? current[0] : take(free, cancelled);
+            end.last = true;
+            put(filled, end, cancelled);
+        } catch (CancellationException e) {
+            // The writer has given up; nobody is waiting for more rows
+        } catch (Throwable e) {
+            if (!cancelled.get()) {
+                RowBatch failed = new RowBatch(List.of(), 0);
+                failed.failure = e;
+                failed.last = true;
+                filled.offer(failed);
+            }
+        }
+    }
+
+    private static RowBatch take(BlockingQueue<RowBatch> queue, AtomicBoolean cancelled) {
+        try {
+            while (true) {
+                RowBatch batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch;
+                }
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    private static void put(BlockingQueue<RowBatch> queue, RowBatch batch, AtomicBoolean cancelled) {
+        try {
+            while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    private static void awaitReader(Thread reader) {
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
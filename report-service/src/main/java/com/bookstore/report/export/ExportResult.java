@@ -0,0 +1,11 @@
+package com.bookstore.report.export;
+
+import java.time.Duration;
+
+public record ExportResult(long rows, Duration elapsed) {
+
+    public long rowsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return rows * 1000 / millis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookstore.report.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes row batches onto a stream. Implementations buffer a bounded amount and must not
+ * keep references to a batch after {@link #write} returns.
+ */
+public interface ExportWriter {
+
+    void begin(List<ExportColumn> columns) throws IOException;
+
+    void write(RowBatch batch) throws IOException;
+
+    /**
+     * Writes any trailer and flushes; does not close the underlying stream.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,107 @@
+package com.bookstore.report.export;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A fixed number of rows in column form. Batches are pooled by the {@link ExportPipeline},
+ * so an export holds the same few batches however many rows it produces.
+ */
+public final class RowBatch {
+
+    private final List<ExportColumn> columns;
+    private final long[][] longs;
+    private final String[][] strings;
+    private final boolean[][] nulls;
+    private final int capacity;
+    private int size;
+
+    // Set on the batch that ends the stream
+    boolean last;
+    Throwable failure;
+
+    public RowBatch(List<ExportColumn> columns, int capacity) {
+        this.columns = columns;
+        this.capacity = capacity;
+        this.longs = new long[columns.size()][];
+        this.strings = new String[columns.size()][];
+        this.nulls = new boolean[columns.size()][capacity];
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).type().isNumeric()) {
+                longs[c] = new long[capacity];
+            } else {
+                strings[c] = new String[capacity];
+            }
+        }
+    }
+
+    public List<ExportColumn> columns() {
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public boolean isNull(int column, int row) {
+        return nulls[column][row];
+    }
+
+    public long getLong(int column, int row) {
+        return longs[column][row];
+    }
+
+    public String getString(int column, int row) {
+        return strings[column][row];
+    }
+
+    /**
+     * Appends the current row of the result set, whose columns are in export column order.
+     */
+    public void append(ResultSet rs) throws SQLException {
+        int row = size++;
+        for (int c = 0; c < columns.size(); c++) {
+            int index = c + 1;
+            switch (columns.get(c).type()) {
+                case LONG -> {
+                    longs[c][row] = rs.getLong(index);
+                    nulls[c][row] = rs.wasNull();
+                }
+                case DATE -> {
+                    // Stored as epoch days
+                    longs[c][row] = rs.getLong(index);
+                    nulls[c][row] = rs.wasNull();
+                }
+                case TIMESTAMP -> {
+                    Timestamp timestamp = rs.getTimestamp(index);
+                    nulls[c][row] = timestamp == null;
+                    longs[c][row] = timestamp == null ? 0
+                            : timestamp.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+                }
+                case STRING -> {
+                    strings[c][row] = rs.getString(index);
+                    nulls[c][row] = strings[c][row] == null;
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (String[] column : strings) {
+            if (column != null) {
+                Arrays.fill(column, 0, size, null);
+            }
+        }
+        size = 0;
+        last = false;
+        failure = null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bookstore.report.repository;
+
+import com.bookstore.report.dimension.BookDimension;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class BookDimensionRepository {
+
+    // Events may arrive out of order; an older snapshot never replaces a newer one
+    private static final String UPSERT_SQL = "INSERT INTO report_book_dimension " +
+            "(book_id, title, category_ids, rental_price_cents, deleted, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (book_id) DO UPDATE SET " +
+            "title = EXCLUDED.title, " +
+            "category_ids = EXCLUDED.category_ids, " +
+            "rental_price_cents = EXCLUDED.rental_price_cents, " +
+            "deleted = EXCLUDED.deleted, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE report_book_dimension.updated_at <= EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<BookDimension> dimensions) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, dimensions, dimensions.size(), (ps, dimension) -> {
+            Long[] categoryIds = Arrays.stream(dimension.categoryIds()).boxed().toArray(Long[]::new);
+            ps.setLong(1, dimension.bookId());
+            ps.setString(2, dimension.title());
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", categoryIds));
+            if (dimension.rentalPriceCents() == BookDimension.NO_PRICE) {
+                ps.setNull(4, Types.BIGINT);
+            } else {
+                ps.setLong(4, dimension.rentalPriceCents());
+            }
+            ps.setBoolean(5, dimension.deleted());
+            ps.setTimestamp(6, Timestamp.valueOf(dimension.updatedAt()));
+        });
+    }
+
+    public void findAll(Consumer<BookDimension> consumer) {
+        jdbcTemplate.query("SELECT book_id, title, category_ids, rental_price_cents, deleted, updated_at " +
+                "FROM report_book_dimension", rs -> {
+            Array array = rs.getArray("category_ids");
+            long[] categoryIds = Arrays.stream((Long[]) array.getArray()).mapToLong(Long::longValue).toArray();
+            long price = rs.getLong("rental_price_cents");
+            consumer.accept(new BookDimension(
+                    rs.getLong("book_id"),
+                    rs.getString("title"),
+                    categoryIds,
+                    rs.wasNull() ? BookDimension.NO_PRICE : price,
+                    rs.getBoolean("deleted"),
+                    rs.getTimestamp("updated_at").toLocalDateTime()));
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookstore.report.repository;
+
+import lombok.RequiredArgsConstructor;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only copy of the rental events that fed the rollups, one row per event.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RentalEventFactRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO report_rental_events " +
+            "(event_id, event_type, occurred_at, rental_id, user_id, book_id, rental_start, rental_end, revenue_cents) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (event_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record RentalFact(UUID eventId, String eventType, LocalDateTime occurredAt, Long rentalId, Long userId,
+                             long bookId, LocalDateTime rentalStart, LocalDateTime rentalEnd, long revenueCents) {
+
+        public static RentalFact of(BookRentalEvent event, long revenueCents) {
+            return new RentalFact(event.getEventId() != null ? event.getEventId() : UUID.randomUUID(),
+                    event.getEventType(),
+                    event.getEventTimestamp() != null ? event.getEventTimestamp() : LocalDateTime.now(),
+                    event.getRentalId(), event.getUserId(), event.getBookId(),
+                    event.getRentalStartDate(), event.getRentalEndDate(), revenueCents);
+        }
+    }
+
+    public void insertAll(List<RentalFact> facts) {
+        if (facts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, facts, facts.size(), (ps, fact) -> {
+            ps.setObject(1, fact.eventId());
+            ps.setString(2, fact.eventType());
+            ps.setTimestamp(3, Timestamp.valueOf(fact.occurredAt()));
+            ps.setObject(4, fact.rentalId(), Types.BIGINT);
+            ps.setObject(5, fact.userId(), Types.BIGINT);
+            ps.setLong(6, fact.bookId());
+            ps.setTimestamp(7, fact.rentalStart() != null ? Timestamp.valueOf(fact.rentalStart()) : null);
+            ps.setTimestamp(8, fact.rentalEnd() != null ? Timestamp.valueOf(fact.rentalEnd()) : null);
+            ps.setLong(9, fact.revenueCents());
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookstore.report.repository;
+
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.Measure;
+import com.bookstore.report.rollup.RollupCube;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable rollup totals. Batches are added as increments so concurrent consumers and
+ * restarts never overwrite each other's counts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollupRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String UPSERT_SQL = "INSERT INTO report_daily_rollups " +
+            "(dimension, epoch_day, dim_key, rentals, returned, overdue, revenue_cents) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (dimension, epoch_day, dim_key) DO UPDATE SET " +
+            "rentals = report_daily_rollups.rentals + EXCLUDED.rentals, " +
+            "returned = report_daily_rollups.returned + EXCLUDED.returned, " +
+            "overdue = report_daily_rollups.overdue + EXCLUDED.overdue, " +
+            "revenue_cents = report_daily_rollups.revenue_cents + EXCLUDED.revenue_cents";
+
+    private static final String SELECT_SQL = "SELECT dimension, epoch_day, dim_key, rentals, returned, overdue, " +
+            "revenue_cents FROM report_daily_rollups WHERE epoch_day >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Cell(Dimension dimension, int epochDay, long key, long[] values) {
+    }
+
+    /**
+     * Adds every cell of the delta to the stored totals, in key order so concurrent batches
+     * lock rows in the same order.
+     */
+    public void addDeltas(RollupCube delta) {
+        List<Cell> cells = new ArrayList<>();
+        delta.forEachCell((dimension, epochDay, key, values) ->
+                cells.add(new Cell(dimension, epochDay, key, values.clone())));
+        if (cells.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, cells, cells.size(), (ps, cell) -> {
+            ps.setShort(1, (short) cell.dimension().code());
+            ps.setInt(2, cell.epochDay());
+            ps.setLong(3, cell.key());
+            for (Measure measure : Measure.values()) {
+                ps.setLong(4 + measure.ordinal(), cell.values()[measure.ordinal()]);
+            }
+        });
+    }
+
+    /**
+     * Runs a first statement in the current transaction, which is when PostgreSQL takes the
+     * snapshot a repeatable-read transaction reads from.
+     */
+    public void pinSnapshot() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+    }
+
+    /**
+     * Adds all stored cells from {@code epochDay} on into the target.
+     *
+     * @return the number of cells loaded
+     */
+    public int loadSince(int epochDay, RollupCube target) {
+        int[] loaded = new int[1];
+        Measure[] measures = Measure.values();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setInt(1, epochDay);
+            return ps;
+        }, rs -> {
+            Dimension dimension = Dimension.fromCode(rs.getShort("dimension"));
+            int day = rs.getInt("epoch_day");
+            long key = rs.getLong("dim_key");
+            for (Measure measure : measures) {
+                long value = rs.getLong(measure.column());
+                if (value != 0) {
+                    target.add(dimension, day, key, measure, value);
+                }
+            }
+            loaded[0]++;
+        });
+        return loaded[0];
+    }
+}
@@ -0,0 +1,133 @@
+package com.bookstore.report.repository;
+
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.sketch.BucketSketches;
+import com.bookstore.report.sketch.SketchBatch;
+import com.bookstore.report.sketch.SketchKind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stored sketches, one row per (dimension, key, day). A batch is merged in three statements:
+ * create missing rows, lock and read the touched rows in key order, write back the merged
+ * sketches. Only the kinds a batch adds are decoded and rewritten; the others keep their bytes.
+ * <p>
+ * Every batch touches the day's single TOTAL row, and key order locks it first, so concurrent
+ * consumers merge one batch at a time. The rollup handler's batching keeps that to one short
+ * lock per batch rather than per event.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SketchRepository {
+
+    private static final SketchKind[] KINDS = SketchKind.values();
+
+    private static final String INSERT_SQL = "INSERT INTO report_daily_sketches (dimension, dim_key, epoch_day) " +
+            "VALUES (?, ?, ?) ON CONFLICT (dimension, dim_key, epoch_day) DO NOTHING";
+
+    private static final String LOCK_SQL = "SELECT s.dimension, s.dim_key, s.epoch_day, s.renters, s.durations, " +
+            "s.top_books FROM report_daily_sketches s " +
+            "JOIN unnest(?::smallint[], ?::bigint[], ?::integer[]) AS b(dimension, dim_key, epoch_day) " +
+            "ON s.dimension = b.dimension AND s.dim_key = b.dim_key AND s.epoch_day = b.epoch_day " +
+            "ORDER BY s.dimension, s.dim_key, s.epoch_day FOR UPDATE OF s";
+
+    private static final String UPDATE_SQL = "UPDATE report_daily_sketches SET " +
+            "renters = COALESCE(?, renters), " +
+            "durations = COALESCE(?, durations), " +
+            "top_books = COALESCE(?, top_books) " +
+            "WHERE dimension = ? AND dim_key = ? AND epoch_day = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Row(SketchBatch.Bucket bucket, BucketSketches sketches) {
+    }
+
+    /**
+     * Merges every bucket of the batch into its stored sketches. Must run in the transaction
+     * that claims the batch's events, which also holds the row locks until commit.
+     */
+    public void mergeAll(SketchBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>(batch.size());
+        batch.forEach((bucket, sketches) -> rows.add(new Row(bucket, sketches)));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> setBucket(ps, 1, row.bucket()));
+
+        jdbcTemplate.query(con -> lockStatement(con, rows), rs -> {
+            BucketSketches sketches = batch.get(Dimension.fromCode(rs.getShort("dimension")),
+                    rs.getInt("epoch_day"), rs.getLong("dim_key"));
+            for (SketchKind kind : KINDS) {
+                byte[] stored = rs.getBytes(kind.column());
+                if (stored != null && sketches.has(kind)) {
+                    sketches.mergeSerialized(kind, stored);
+                }
+            }
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+            for (SketchKind kind : KINDS) {
+                ps.setBytes(1 + kind.ordinal(), row.sketches().serialize(kind));
+            }
+            setBucket(ps, 1 + KINDS.length, row.bucket());
+        });
+    }
+
+    /**
+     * Hands the stored sketches of one kind for a key and day range to the consumer, one
+     * day at a time.
+     */
+    public void forEach(SketchKind kind, Dimension dimension, long key, int fromDay, int toDay,
+                        Consumer<byte[]> consumer) {
+        jdbcTemplate.query("SELECT " + kind.column() + " FROM report_daily_sketches " +
+                        "WHERE dimension = ? AND dim_key = ? AND epoch_day BETWEEN ? AND ? " +
+                        "AND " + kind.column() + " IS NOT NULL",
+                ps -> {
+                    ps.setShort(1, (short) dimension.code());
+                    ps.setLong(2, key);
+                    ps.setInt(3, fromDay);
+                    ps.setInt(4, toDay);
+                },
+                rs -> consumer.accept(rs.getBytes(1)));
+    }
+
+    /**
+     * Deletes the sketches of days before the cutoff.
+     * @return the number of rows deleted
+     */
+    public int deleteBefore(int epochDay) {
+        return jdbcTemplate.update("DELETE FROM report_daily_sketches WHERE epoch_day < ?", epochDay);
+    }
+
+    private static PreparedStatement lockStatement(Connection con, List<Row> rows) throws SQLException {
+        Short[] dimensions = new Short[rows.size()];
+        Long[] keys = new Long[rows.size()];
+        Integer[] days = new Integer[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            SketchBatch.Bucket bucket = rows.get(i).bucket();
+            dimensions[i] = (short) bucket.dimension().code();
+            keys[i] = bucket.key();
+            days[i] = bucket.epochDay();
+        }
+        PreparedStatement ps = con.prepareStatement(LOCK_SQL);
+        ps.setArray(1, con.createArrayOf("smallint", dimensions));
+        ps.setArray(2, con.createArrayOf("bigint", keys));
+        ps.setArray(3, con.createArrayOf("integer", days));
+        return ps;
+    }
+
+    private static void setBucket(PreparedStatement ps, int index, SketchBatch.Bucket bucket) throws SQLException {
+        ps.setShort(index, (short) bucket.dimension().code());
+        ps.setLong(index + 1, bucket.key());
+        ps.setInt(index + 2, bucket.epochDay());
+    }
+}
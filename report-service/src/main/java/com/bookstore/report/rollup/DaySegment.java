@@ -0,0 +1,136 @@
+package com.bookstore.report.rollup;
+
+import java.util.Arrays;
+
+/**
+ * The cells of one dimension on one day, stored column-wise.
+ * <p>
+ * Rows are keyed by {@link KeyDictionary} ordinals and appended in arrival order; each
+ * measure is a dense {@code long[]} over the same rows, so scans and aggregations run
+ * straight over primitive arrays. An open-addressing table of row numbers maps an ordinal
+ * to its row. Rows are never removed; whole segments are dropped when their day leaves the
+ * retention window.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class DaySegment {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] ordinals = new int[INITIAL_CAPACITY];
+    private final long[][] columns = new long[Measure.COUNT][INITIAL_CAPACITY];
+    // Row + 1 per hash slot, 0 for empty; kept at most half full
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public int ordinal(int row) {
+        return ordinals[row];
+    }
+
+    public long value(int row, Measure measure) {
+        return columns[measure.ordinal()][row];
+    }
+
+    /**
+     * @return the row of the ordinal, or -1 when the segment has no cell for it
+     */
+    public int rowOf(int ordinal) {
+        int mask = table.length - 1;
+        for (int slot = hash(ordinal) & mask; ; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (row < 0 || ordinals[row] == ordinal) {
+                return row;
+            }
+        }
+    }
+
+    public void add(int ordinal, Measure measure, long delta) {
+        // Resolve the row first: inserting may replace the column arrays
+        int row = rowFor(ordinal);
+        columns[measure.ordinal()][row] += delta;
+    }
+
+    /**
+     * Adds the measures in {@code values}, indexed by ordinal, to the ordinal's cell.
+     */
+    public void add(int ordinal, long[] values) {
+        int row = rowFor(ordinal);
+        for (int m = 0; m < Measure.COUNT; m++) {
+            columns[m][row] += values[m];
+        }
+    }
+
+    /**
+     * Copies the measures of the given row into {@code values}, indexed by ordinal.
+     */
+    public void values(int row, long[] values) {
+        for (int m = 0; m < Measure.COUNT; m++) {
+            values[m] = columns[m][row];
+        }
+    }
+
+    /**
+     * Adds the measure of every row to {@code totals[ordinal]}.
+     */
+    public void addTo(long[] totals, Measure measure) {
+        long[] column = columns[measure.ordinal()];
+        for (int row = 0; row < size; row++) {
+            totals[ordinals[row]] += column[row];
+        }
+    }
+
+    public long sum(Measure measure) {
+        long[] column = columns[measure.ordinal()];
+        long sum = 0;
+        for (int row = 0; row < size; row++) {
+            sum += column[row];
+        }
+        return sum;
+    }
+
+    private int rowFor(int ordinal) {
+        int mask = table.length - 1;
+        int slot = hash(ordinal) & mask;
+        while (table[slot] != 0) {
+            int row = table[slot] - 1;
+            if (ordinals[row] == ordinal) {
+                return row;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == ordinals.length) {
+            grow();
+            return rowFor(ordinal);
+        }
+        int row = size++;
+        ordinals[row] = ordinal;
+        table[slot] = row + 1;
+        return row;
+    }
+
+    private void grow() {
+        int capacity = ordinals.length * 2;
+        ordinals = Arrays.copyOf(ordinals, capacity);
+        for (int m = 0; m < Measure.COUNT; m++) {
+            columns[m] = Arrays.copyOf(columns[m], capacity);
+        }
+        table = new int[capacity * 2];
+        int mask = table.length - 1;
+        for (int row = 0; row < size; row++) {
+            int slot = hash(ordinals[row]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = row + 1;
+        }
+    }
+
+    private static int hash(int ordinal) {
+        int h = ordinal * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bookstore.report.rollup;
+
+/**
+ * What a rollup cell is keyed by. {@link #TOTAL} has the single key {@code 0}.
+ */
+public enum Dimension {
+    TOTAL(0),
+    BOOK(1),
+    CATEGORY(2);
+
+    private final int code;
+
+    Dimension(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public static Dimension fromCode(int code) {
+        for (Dimension dimension : values()) {
+            if (dimension.code == code) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dimension code " + code);
+    }
+}
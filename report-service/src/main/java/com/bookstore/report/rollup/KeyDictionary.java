@@ -0,0 +1,84 @@
+package com.bookstore.report.rollup;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary encoding of the {@code long} keys of one dimension into dense {@code int}
+ * ordinals, so day segments can be aggregated into plain arrays indexed by ordinal.
+ * Ordinals are assigned in first-seen order and never reused.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class KeyDictionary {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    // Ordinal + 1 per hash slot, 0 for empty; kept at most half full
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public long key(int ordinal) {
+        return keys[ordinal];
+    }
+
+    /**
+     * @return the ordinal of the key, or -1 when it was never interned
+     */
+    public int ordinalOf(long key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int ordinal = table[slot] - 1;
+            if (ordinal < 0 || keys[ordinal] == key) {
+                return ordinal;
+            }
+        }
+    }
+
+    public int intern(long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != 0) {
+            int ordinal = table[slot] - 1;
+            if (keys[ordinal] == key) {
+                return ordinal;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            grow();
+            return intern(key);
+        }
+        int ordinal = size++;
+        keys[ordinal] = key;
+        table[slot] = ordinal + 1;
+        return ordinal;
+    }
+
+    private void grow() {
+        keys = Arrays.copyOf(keys, keys.length * 2);
+        table = rehash(keys, size, keys.length * 2);
+    }
+
+    private static int[] rehash(long[] keys, int size, int tableSize) {
+        int[] table = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(keys[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
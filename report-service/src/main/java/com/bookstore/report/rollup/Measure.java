@@ -0,0 +1,23 @@
+package com.bookstore.report.rollup;
+
+/**
+ * Additive measures kept per rollup cell; the ordinal is the column index.
+ */
+public enum Measure {
+    RENTALS("rentals"),
+    RETURNS("returned"),
+    OVERDUE("overdue"),
+    REVENUE_CENTS("revenue_cents");
+
+    public static final int COUNT = values().length;
+
+    private final String column;
+
+    Measure(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bookstore.report.rollup;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Day segments per dimension, with one {@link KeyDictionary} per dimension shared by all
+ * of its days. Used both as the in-memory store and as the delta of a consumed batch, which
+ * is persisted and then merged into the store.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class RollupCube {
+
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(Dimension dimension, int epochDay, long key, long[] values);
+    }
+
+    private final Map<Dimension, KeyDictionary> dictionaries = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, NavigableMap<Integer, DaySegment>> days = new EnumMap<>(Dimension.class);
+
+    public RollupCube() {
+        for (Dimension dimension : Dimension.values()) {
+            dictionaries.put(dimension, new KeyDictionary());
+            days.put(dimension, new TreeMap<>());
+        }
+    }
+
+    public void add(Dimension dimension, int epochDay, long key, Measure measure, long delta) {
+        int ordinal = dictionaries.get(dimension).intern(key);
+        days.get(dimension).computeIfAbsent(epochDay, day -> new DaySegment()).add(ordinal, measure, delta);
+    }
+
+    public void merge(RollupCube delta) {
+        long[] values = new long[Measure.COUNT];
+        for (Dimension dimension : Dimension.values()) {
+            KeyDictionary source = delta.dictionaries.get(dimension);
+            KeyDictionary target = dictionaries.get(dimension);
+            NavigableMap<Integer, DaySegment> targetDays = days.get(dimension);
+            for (Map.Entry<Integer, DaySegment> entry : delta.days.get(dimension).entrySet()) {
+                DaySegment from = entry.getValue();
+                DaySegment to = targetDays.computeIfAbsent(entry.getKey(), day -> new DaySegment());
+                for (int row = 0; row < from.size(); row++) {
+                    from.values(row, values);
+                    to.add(target.intern(source.key(from.ordinal(row))), values);
+                }
+            }
+        }
+    }
+
+    public KeyDictionary dictionary(Dimension dimension) {
+        return dictionaries.get(dimension);
+    }
+
+    /**
+     * Segments of the days in {@code [fromDay, toDay]}, in day order.
+     */
+    public NavigableMap<Integer, DaySegment> segments(Dimension dimension, int fromDay, int toDay) {
+        return days.get(dimension).subMap(fromDay, true, toDay, true);
+    }
+
+    /**
+     * Visits every cell, ordered by dimension, day and key. The values array is reused.
+     */
+    public void forEachCell(CellVisitor visitor) {
+        long[] values = new long[Measure.COUNT];
+        for (Dimension dimension : Dimension.values()) {
+            KeyDictionary dictionary = dictionaries.get(dimension);
+            for (Map.Entry<Integer, DaySegment> entry : days.get(dimension).entrySet()) {
+                DaySegment segment = entry.getValue();
+                long[] keys = new long[segment.size()];
+                for (int row = 0; row < keys.length; row++) {
+                    keys[row] = dictionary.key(segment.ordinal(row));
+                }
+                Arrays.sort(keys);
+                for (long key : keys) {
+                    segment.values(segment.rowOf(dictionary.ordinalOf(key)), values);
+                    visitor.visit(dimension, entry.getKey(), key, values);
+                }
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        for (NavigableMap<Integer, DaySegment> segments : days.values()) {
+            if (!segments.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops all days before {@code epochDay}.
+     *
+     * @return the number of segments dropped
+     */
+    public int evictBefore(int epochDay) {
+        int evicted = 0;
+        for (NavigableMap<Integer, DaySegment> segments : days.values()) {
+            NavigableMap<Integer, DaySegment> expired = segments.headMap(epochDay, false);
+            evicted += expired.size();
+            expired.clear();
+        }
+        return evicted;
+    }
+}
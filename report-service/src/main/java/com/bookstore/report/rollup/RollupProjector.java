@@ -0,0 +1,77 @@
+package com.bookstore.report.rollup;
+
+import com.bookstore.report.dimension.BookDimension;
+import com.bookstore.report.dimension.BookDimensionCache;
+import lombok.RequiredArgsConstructor;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.events.RentalEventType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Turns rental events into rollup increments on the day the event happened.
+ * <p>
+ * Every event counts towards the daily total, its book and each category the book is in
+ * (so category totals overlap for books in several categories). Revenue is booked when a
+ * rental is created, as the book's daily rental price times the rented days; books without
+ * a known price contribute counts only.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupProjector {
+
+    public static final long TOTAL_KEY = 0;
+    public static final long NOT_PROJECTED = -1;
+
+    private final BookDimensionCache dimensions;
+
+    /**
+     * @return the revenue booked by the event (0 for everything but a priced rental creation),
+     * or {@link #NOT_PROJECTED} if the event did not contribute to the rollups
+     */
+    public long project(BookRentalEvent event, RollupCube target) {
+        Measure measure = switch (RentalEventType.fromName(event.getEventType())) {
+            case RENTAL_CREATED -> Measure.RENTALS;
+            case RENTAL_RETURNED -> Measure.RETURNS;
+            case RENTAL_OVERDUE -> Measure.OVERDUE;
+            default -> null;
+        };
+        if (measure == null || event.getBookId() == null) {
+            return NOT_PROJECTED;
+        }
+
+        LocalDateTime at = event.getEventTimestamp() != null ? event.getEventTimestamp() : LocalDateTime.now();
+        int day = (int) at.toLocalDate().toEpochDay();
+        long bookId = event.getBookId();
+        BookDimension book = dimensions.get(bookId);
+        long revenue = measure == Measure.RENTALS ? revenueCents(event, book) : 0;
+
+        add(target, Dimension.TOTAL, day, TOTAL_KEY, measure, revenue);
+        add(target, Dimension.BOOK, day, bookId, measure, revenue);
+        if (book != null) {
+            for (long categoryId : book.categoryIds()) {
+                add(target, Dimension.CATEGORY, day, categoryId, measure, revenue);
+            }
+        }
+        return revenue;
+    }
+
+    private static void add(RollupCube target, Dimension dimension, int day, long key, Measure measure, long revenue) {
+        target.add(dimension, day, key, measure, 1);
+        if (revenue != 0) {
+            target.add(dimension, day, key, Measure.REVENUE_CENTS, revenue);
+        }
+    }
+
+    private static long revenueCents(BookRentalEvent event, BookDimension book) {
+        if (book == null || book.rentalPriceCents() == BookDimension.NO_PRICE
+                || event.getRentalStartDate() == null || event.getRentalEndDate() == null) {
+            return 0;
+        }
+        long days = ChronoUnit.DAYS.between(event.getRentalStartDate().toLocalDate(),
+                event.getRentalEndDate().toLocalDate());
+        return Math.max(days, 1) * book.rentalPriceCents();
+    }
+}
@@ -0,0 +1,255 @@
+package com.bookstore.report.rollup;
+
+import com.bookstore.report.repository.RollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory rollups answering dashboard queries.
+ * <p>
+ * The database holds the durable totals: every consumed batch is added to them in the
+ * transaction that claims its events, and only then merged here. On start the retained days
+ * are loaded back, so queries never aggregate raw events or touch other services' databases.
+ * A daily series is one hash probe per day; a ranking scatter-adds each day's column into
+ * an array indexed by key ordinal.
+ * <p>
+ * Every instance consumes only its share of the queue, so the days are also reloaded from the
+ * database periodically, which brings in the batches other instances committed. The reload
+ * reads one snapshot; batches committed after it are replayed onto the reloaded cube, and the
+ * snapshot is taken while no local batch is between its commit and its merge here, so none is
+ * lost or counted twice.
+ */
+@Component
+@Slf4j
+public class RollupStore implements SmartLifecycle {
+
+    private final RollupRepository rollupRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final int retentionDays;
+
+    // Guarded by lock
+    private RollupCube cube = new RollupCube();
+    private List<RollupCube> committedSinceSnapshot;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held shared from a batch's commit to its merge, exclusively while a reload takes its snapshot
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private volatile boolean running;
+
+    public record RankedKey(long key, long value) {
+    }
+
+    public RollupStore(RollupRepository rollupRepository, PlatformTransactionManager transactionManager,
+                       @Value("${report.rollups.retention-days:730}") int retentionDays) {
+        this.rollupRepository = rollupRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.retentionDays = retentionDays;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    /**
+     * Runs {@code commit}, which stores a batch in its own transaction and returns the batch's
+     * delta once committed, and adds the delta.
+     */
+    public void commitAndApply(Supplier<RollupCube> commit) {
+        commitGate.readLock().lock();
+        try {
+            RollupCube delta = commit.get();
+            if (delta == null || delta.isEmpty()) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                cube.merge(delta);
+                if (committedSinceSnapshot != null) {
+                    committedSinceSnapshot.add(delta);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            commitGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Measures of one key for every day in {@code [fromDay, toDay]}, indexed
+     * {@code [day - fromDay][measure ordinal]}; days without activity are zero.
+     */
+    public long[][] daily(Dimension dimension, long key, int fromDay, int toDay) {
+        long[][] series = new long[toDay - fromDay + 1][Measure.COUNT];
+        lock.readLock().lock();
+        try {
+            int ordinal = cube.dictionary(dimension).ordinalOf(key);
+            if (ordinal < 0) {
+                return series;
+            }
+            for (Map.Entry<Integer, DaySegment> entry : cube.segments(dimension, fromDay, toDay).entrySet()) {
+                DaySegment segment = entry.getValue();
+                int row = segment.rowOf(ordinal);
+                if (row >= 0) {
+                    segment.values(row, series[entry.getKey() - fromDay]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return series;
+    }
+
+    /**
+     * The {@code limit} keys with the highest sum of {@code measure} over {@code [fromDay, toDay]},
+     * highest first.
+     */
+    public List<RankedKey> top(Dimension dimension, Measure measure, int fromDay, int toDay, int limit) {
+        long[] totals;
+        long[] keys;
+        lock.readLock().lock();
+        try {
+            KeyDictionary dictionary = cube.dictionary(dimension);
+            totals = new long[dictionary.size()];
+            for (DaySegment segment : cube.segments(dimension, fromDay, toDay).values()) {
+                segment.addTo(totals, measure);
+            }
+            keys = new long[totals.length];
+            for (int ordinal = 0; ordinal < keys.length; ordinal++) {
+                keys[ordinal] = dictionary.key(ordinal);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<RankedKey> worstFirst = Comparator.comparingLong(RankedKey::value)
+                .thenComparing(Comparator.comparingLong(RankedKey::key).reversed());
+        PriorityQueue<RankedKey> best = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int ordinal = 0; ordinal < totals.length; ordinal++) {
+            long value = totals[ordinal];
+            if (value == 0 || (best.size() == limit && value < best.peek().value())) {
+                continue;
+            }
+            best.offer(new RankedKey(keys[ordinal], value));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<RankedKey> result = new ArrayList<>(best);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    @Scheduled(cron = "${report.rollups.eviction-cron:0 5 0 * * *}")
+    public void evictExpired() {
+        int cutoff = retentionCutoff();
+        int evicted;
+        lock.writeLock().lock();
+        try {
+            evicted = cube.evictBefore(cutoff);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} rollup segments before {}", evicted, LocalDate.ofEpochDay(cutoff));
+        }
+    }
+
+    /**
+     * Replaces the cube with the retained days as stored, including the batches consumed by
+     * other instances. Queries keep reading the current cube until the reloaded one is swapped in.
+     */
+    @Scheduled(fixedDelayString = "${report.rollups.refresh-ms:60000}",
+            initialDelayString = "${report.rollups.refresh-ms:60000}")
+    public void refresh() {
+        int cutoff = retentionCutoff();
+        RollupCube reloaded = new RollupCube();
+        int cells;
+        try {
+            cells = snapshotTemplate.execute(status -> {
+                commitGate.writeLock().lock();
+                try {
+                    rollupRepository.pinSnapshot();
+                    lock.writeLock().lock();
+                    try {
+                        committedSinceSnapshot = new ArrayList<>();
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                } finally {
+                    commitGate.writeLock().unlock();
+                }
+                return rollupRepository.loadSince(cutoff, reloaded);
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                committedSinceSnapshot = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (RollupCube delta : committedSinceSnapshot) {
+                reloaded.merge(delta);
+            }
+            committedSinceSnapshot = null;
+            cube = reloaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Reloaded {} rollup cells since {}", cells, LocalDate.ofEpochDay(cutoff));
+    }
+
+    @Override
+    public void start() {
+        int cutoff = retentionCutoff();
+        lock.writeLock().lock();
+        try {
+            int cells = rollupRepository.loadSince(cutoff, cube);
+            log.info("Loaded {} rollup cells since {}", cells, LocalDate.ofEpochDay(cutoff));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Loaded before the listener containers start delivering
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private int retentionCutoff() {
+        return (int) LocalDate.now().minusDays(retentionDays).toEpochDay();
+    }
+}
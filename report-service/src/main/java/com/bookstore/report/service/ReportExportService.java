@@ -0,0 +1,20 @@
+package com.bookstore.report.service;
+
+import com.bookstore.report.dto.ExportFileResponse;
+import com.bookstore.report.export.ExportDataset;
+import com.bookstore.report.export.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface ReportExportService {
+
+    /**
+     * Returns a body that runs the export while the response is written.
+     */
+    StreamingResponseBody stream(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to);
+
+    ExportFileResponse exportToFile(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to);
+
+    String fileName(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to);
+}
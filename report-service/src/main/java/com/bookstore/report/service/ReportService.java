@@ -0,0 +1,20 @@
+package com.bookstore.report.service;
+
+import com.bookstore.report.dto.DailyRollupResponse;
+import com.bookstore.report.dto.RankedRollupResponse;
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.Measure;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+
+    List<DailyRollupResponse> getDailyTotals(LocalDate from, LocalDate to);
+
+    List<DailyRollupResponse> getDailyForBook(Long bookId, LocalDate from, LocalDate to);
+
+    List<DailyRollupResponse> getDailyForCategory(Long categoryId, LocalDate from, LocalDate to);
+
+    List<RankedRollupResponse> getTop(Dimension dimension, Measure measure, LocalDate from, LocalDate to, int limit);
+}
@@ -0,0 +1,23 @@
+package com.bookstore.report.service;
+
+import com.bookstore.report.dto.DistinctRentersResponse;
+import com.bookstore.report.dto.RentalDurationResponse;
+import com.bookstore.report.dto.TopBooksResponse;
+import com.bookstore.report.rollup.Dimension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Approximate answers from the stored sketches: each merges one sketch per day of the range,
+ * so memory does not grow with the number of rentals, renters or books.
+ */
+public interface SketchReportService {
+
+    DistinctRentersResponse getDistinctRenters(Dimension dimension, long key, LocalDate from, LocalDate to);
+
+    RentalDurationResponse getRentalDurations(Dimension dimension, long key, LocalDate from, LocalDate to,
+                                              List<Double> quantiles);
+
+    TopBooksResponse getTopBooks(Dimension dimension, long key, LocalDate from, LocalDate to, int limit);
+}
@@ -0,0 +1,142 @@
+package com.bookstore.report.service.impl;
+
+import com.bookstore.report.config.ReportExportProperties;
+import com.bookstore.report.dto.ExportFileResponse;
+import com.bookstore.report.exception.InvalidRequestException;
+import com.bookstore.report.exception.ReportExportException;
+import com.bookstore.report.export.ColumnarExportWriter;
+import com.bookstore.report.export.CsvExportWriter;
+import com.bookstore.report.export.ExportDataset;
+import com.bookstore.report.export.ExportFormat;
+import com.bookstore.report.export.ExportPipeline;
+import com.bookstore.report.export.ExportResult;
+import com.bookstore.report.export.ExportWriter;
+import com.bookstore.report.service.ReportExportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Runs exports through an {@link ExportPipeline} over a server-side cursor. The cursor only
+ * streams inside a transaction, so the query runs in a read-only one on the reader thread.
+ * Rows are counted per batch in {@code report.export.rows}, whose rate is the live rows/s.
+ */
+@Service
+@Slf4j
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ReportExportProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ReportExportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   ReportExportProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public StreamingResponseBody stream(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return out -> export(dataset, format, from, to, out);
+    }
+
+    @Override
+    public ExportFileResponse exportToFile(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        try {
+            Files.createDirectories(properties.getDirectory());
+            Path target = properties.getDirectory().resolve(fileName(dataset, format, from, to));
+            // Written aside and moved into place, so a half-written file is never picked up
+            Path partial = Files.createTempFile(properties.getDirectory(), dataset.fileName(), ".part");
+            ExportResult result;
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), FILE_BUFFER_SIZE)) {
+                    result = export(dataset, format, from, to, out);
+                }
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+            return ExportFileResponse.builder()
+                    .dataset(dataset)
+                    .format(format)
+                    .from(from)
+                    .to(to)
+                    .fileName(target.getFileName().toString())
+                    .sizeBytes(Files.size(target))
+                    .rows(result.rows())
+                    .elapsedMillis(result.elapsed().toMillis())
+                    .rowsPerSecond(result.rowsPerSecond())
+                    .build();
+        } catch (IOException e) {
+            throw new ReportExportException("Could not write export of " + dataset, e);
+        }
+    }
+
+    @Override
+    public String fileName(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to) {
+        return dataset.fileName() + "_" + from + "_" + to + "." + format.extension();
+    }
+
+    // Helper methods
+    private ExportResult export(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to,
+                                OutputStream out) throws IOException {
+        log.info("Exporting {} from {} to {} as {}", dataset, from, to, format);
+        Counter rows = Counter.builder("report.export.rows")
+                .tag("dataset", dataset.name())
+                .tag("format", format.name())
+                .register(meterRegistry);
+        ExportWriter writer = format == ExportFormat.CSV ? new CsvExportWriter(out) : new ColumnarExportWriter(out);
+        ExportPipeline pipeline = new ExportPipeline(properties.getBatchRows(), properties.getPoolSize());
+
+        ExportResult result = pipeline.run(dataset.columns(), sink -> readOnlyTransactionTemplate.executeWithoutResult(
+                status -> jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(dataset.sql());
+                    ps.setFetchSize(properties.getFetchSize());
+                    dataset.bind(ps, from, to);
+                    return ps;
+                }, (RowCallbackHandler) sink::accept)), writer, rows::increment);
+
+        Timer.builder("report.export.duration")
+                .tag("dataset", dataset.name())
+                .tag("format", format.name())
+                .register(meterRegistry)
+                .record(result.elapsed());
+        log.info("Exported {} rows of {} as {} in {} ms ({} rows/s)",
+                result.rows(), dataset, format, result.elapsed().toMillis(), result.rowsPerSecond());
+        return result;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= properties.getMaxRangeDays()) {
+            throw new InvalidRequestException("Exports cover at most " + properties.getMaxRangeDays() + " days");
+        }
+    }
+}
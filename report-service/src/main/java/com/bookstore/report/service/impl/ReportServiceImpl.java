@@ -0,0 +1,97 @@
+package com.bookstore.report.service.impl;
+
+import com.bookstore.report.dimension.BookDimension;
+import com.bookstore.report.dimension.BookDimensionCache;
+import com.bookstore.report.dto.DailyRollupResponse;
+import com.bookstore.report.dto.RankedRollupResponse;
+import com.bookstore.report.exception.InvalidRequestException;
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.Measure;
+import com.bookstore.report.rollup.RollupProjector;
+import com.bookstore.report.rollup.RollupStore;
+import com.bookstore.report.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final RollupStore rollupStore;
+    private final BookDimensionCache dimensionCache;
+
+    @Override
+    public List<DailyRollupResponse> getDailyTotals(LocalDate from, LocalDate to) {
+        return daily(Dimension.TOTAL, RollupProjector.TOTAL_KEY, from, to);
+    }
+
+    @Override
+    public List<DailyRollupResponse> getDailyForBook(Long bookId, LocalDate from, LocalDate to) {
+        return daily(Dimension.BOOK, bookId, from, to);
+    }
+
+    @Override
+    public List<DailyRollupResponse> getDailyForCategory(Long categoryId, LocalDate from, LocalDate to) {
+        return daily(Dimension.CATEGORY, categoryId, from, to);
+    }
+
+    @Override
+    public List<RankedRollupResponse> getTop(Dimension dimension, Measure measure, LocalDate from, LocalDate to,
+                                             int limit) {
+        validateRange(from, to);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return rollupStore.top(dimension, measure, (int) from.toEpochDay(), (int) to.toEpochDay(), limit).stream()
+                .map(ranked -> RankedRollupResponse.builder()
+                        .dimension(dimension)
+                        .key(ranked.key())
+                        .label(label(dimension, ranked.key()))
+                        .measure(measure)
+                        .value(ranked.value())
+                        .build())
+                .toList();
+    }
+
+    // Helper methods
+    private List<DailyRollupResponse> daily(Dimension dimension, long key, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        long[][] series = rollupStore.daily(dimension, key, (int) from.toEpochDay(), (int) to.toEpochDay());
+        List<DailyRollupResponse> days = new ArrayList<>(series.length);
+        for (int i = 0; i < series.length; i++) {
+            long[] values = series[i];
+            days.add(DailyRollupResponse.builder()
+                    .date(from.plusDays(i))
+                    .rentals(values[Measure.RENTALS.ordinal()])
+                    .returns(values[Measure.RETURNS.ordinal()])
+                    .overdue(values[Measure.OVERDUE.ordinal()])
+                    .revenueCents(values[Measure.REVENUE_CENTS.ordinal()])
+                    .build());
+        }
+        return days;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= rollupStore.getRetentionDays()) {
+            throw new InvalidRequestException("Range must not exceed " + rollupStore.getRetentionDays() + " days");
+        }
+    }
+
+    private String label(Dimension dimension, long key) {
+        if (dimension != Dimension.BOOK) {
+            return null;
+        }
+        BookDimension book = dimensionCache.get(key);
+        return book != null ? book.title() : null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.bookstore.report.service.impl;
+
+import com.bookstore.report.dimension.BookDimension;
+import com.bookstore.report.dimension.BookDimensionCache;
+import com.bookstore.report.dto.BookEstimateResponse;
+import com.bookstore.report.dto.DistinctRentersResponse;
+import com.bookstore.report.dto.QuantileResponse;
+import com.bookstore.report.dto.RentalDurationResponse;
+import com.bookstore.report.dto.TopBooksResponse;
+import com.bookstore.report.exception.InvalidRequestException;
+import com.bookstore.report.repository.SketchRepository;
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.RollupProjector;
+import com.bookstore.report.rollup.RollupStore;
+import com.bookstore.report.service.SketchReportService;
+import com.bookstore.report.sketch.BucketSketches;
+import com.bookstore.report.sketch.CountMinSketch;
+import com.bookstore.report.sketch.HyperLogLog;
+import com.bookstore.report.sketch.SketchKind;
+import com.bookstore.report.sketch.TDigest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SketchReportServiceImpl implements SketchReportService {
+
+    private static final int MAX_QUANTILES = 20;
+
+    private final SketchRepository sketchRepository;
+    private final RollupStore rollupStore;
+    private final BookDimensionCache dimensionCache;
+
+    @Override
+    public DistinctRentersResponse getDistinctRenters(Dimension dimension, long key, LocalDate from, LocalDate to) {
+        long bucketKey = bucketKey(dimension, key);
+        HyperLogLog renters = merged(SketchKind.RENTERS, dimension, bucketKey, from, to).renters();
+        return DistinctRentersResponse.builder()
+                .dimension(dimension)
+                .key(bucketKey)
+                .label(label(dimension, bucketKey))
+                .from(from)
+                .to(to)
+                .estimate(renters.estimate())
+                .relativeStandardError(HyperLogLog.relativeStandardError())
+                .build();
+    }
+
+    @Override
+    public RentalDurationResponse getRentalDurations(Dimension dimension, long key, LocalDate from, LocalDate to,
+                                                     List<Double> quantiles) {
+        if (quantiles.isEmpty() || quantiles.size() > MAX_QUANTILES) {
+            throw new InvalidRequestException("Between 1 and " + MAX_QUANTILES + " quantiles may be requested");
+        }
+        for (double quantile : quantiles) {
+            if (!(quantile >= 0 && quantile <= 1)) {
+                throw new InvalidRequestException("Quantiles must be between 0 and 1: " + quantile);
+            }
+        }
+        long bucketKey = bucketKey(dimension, key);
+        TDigest durations = merged(SketchKind.DURATIONS, dimension, bucketKey, from, to).durations();
+        boolean empty = durations.isEmpty();
+        return RentalDurationResponse.builder()
+                .dimension(dimension)
+                .key(bucketKey)
+                .label(label(dimension, bucketKey))
+                .from(from)
+                .to(to)
+                .returns(durations.count())
+                .minHours(empty ? null : durations.min())
+                .maxHours(empty ? null : durations.max())
+                .quantiles(empty ? List.of() : quantiles.stream()
+                        .map(quantile -> QuantileResponse.builder()
+                                .quantile(quantile)
+                                .hours(durations.quantile(quantile))
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public TopBooksResponse getTopBooks(Dimension dimension, long key, LocalDate from, LocalDate to, int limit) {
+        if (dimension == Dimension.BOOK) {
+            throw new InvalidRequestException("Top books are kept for TOTAL and CATEGORY only");
+        }
+        if (limit < 1 || limit > CountMinSketch.CANDIDATES) {
+            throw new InvalidRequestException("Limit must be between 1 and " + CountMinSketch.CANDIDATES);
+        }
+        long bucketKey = bucketKey(dimension, key);
+        CountMinSketch topBooks = merged(SketchKind.TOP_BOOKS, dimension, bucketKey, from, to).topBooks();
+        return TopBooksResponse.builder()
+                .dimension(dimension)
+                .key(bucketKey)
+                .from(from)
+                .to(to)
+                .totalRentals(topBooks.total())
+                .errorBound(topBooks.errorBound())
+                .books(topBooks.top(limit).stream()
+                        .map(estimate -> BookEstimateResponse.builder()
+                                .bookId(estimate.key())
+                                .title(label(Dimension.BOOK, estimate.key()))
+                                .estimatedRentals(estimate.count())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    // Helper methods
+    private BucketSketches merged(SketchKind kind, Dimension dimension, long key, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        BucketSketches sketches = new BucketSketches();
+        sketchRepository.forEach(kind, dimension, key, (int) from.toEpochDay(), (int) to.toEpochDay(),
+                bytes -> sketches.mergeSerialized(kind, bytes));
+        return sketches;
+    }
+
+    private static long bucketKey(Dimension dimension, long key) {
+        return dimension == Dimension.TOTAL ? RollupProjector.TOTAL_KEY : key;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= rollupStore.getRetentionDays()) {
+            throw new InvalidRequestException("Range must not exceed " + rollupStore.getRetentionDays() + " days");
+        }
+    }
+
+    private String label(Dimension dimension, long key) {
+        if (dimension != Dimension.BOOK) {
+            return null;
+        }
+        BookDimension book = dimensionCache.get(key);
+        return book != null ? book.title() : null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookstore.report.sketch;
+
+/**
+ * The sketches of one (dimension, day, key) bucket. Each is created on first use, so a bucket
+ * that only ever saw returns carries no distinct-renter sketch; a null sketch is empty.
+ */
+public final class BucketSketches {
+
+    private HyperLogLog renters;
+    private TDigest durations;
+    private CountMinSketch topBooks;
+
+    public HyperLogLog renters() {
+        if (renters == null) {
+            renters = new HyperLogLog();
+        }
+        return renters;
+    }
+
+    public TDigest durations() {
+        if (durations == null) {
+            durations = new TDigest();
+        }
+        return durations;
+    }
+
+    public CountMinSketch topBooks() {
+        if (topBooks == null) {
+            topBooks = new CountMinSketch();
+        }
+        return topBooks;
+    }
+
+    public void merge(BucketSketches other) {
+        if (other.renters != null) {
+            renters().merge(other.renters);
+        }
+        if (other.durations != null) {
+            durations().merge(other.durations);
+        }
+        if (other.topBooks != null) {
+            topBooks().merge(other.topBooks);
+        }
+    }
+
+    public boolean has(SketchKind kind) {
+        return switch (kind) {
+            case RENTERS -> renters != null;
+            case DURATIONS -> durations != null;
+            case TOP_BOOKS -> topBooks != null;
+        };
+    }
+
+    public void mergeSerialized(SketchKind kind, byte[] bytes) {
+        switch (kind) {
+            case RENTERS -> renters().merge(HyperLogLog.fromBytes(bytes));
+            case DURATIONS -> durations().merge(TDigest.fromBytes(bytes));
+            case TOP_BOOKS -> topBooks().merge(CountMinSketch.fromBytes(bytes));
+        }
+    }
+
+    /**
+     * @return the serialized sketch, or {@code null} if the bucket has none of this kind
+     */
+    public byte[] serialize(SketchKind kind) {
+        return switch (kind) {
+            case RENTERS -> renters != null ? renters.toBytes() : null;
+            case DURATIONS -> durations != null ? durations.toBytes() : null;
+            case TOP_BOOKS -> topBooks != null ? topBooks.toBytes() : null;
+        };
+    }
+}
@@ -0,0 +1,230 @@
+package com.bookstore.report.sketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Count-Min sketch over {@code long} keys with a bounded list of heavy-hitter candidates,
+ * for "most rented books" without a counter per book.
+ * <p>
+ * With {@code WIDTH} columns and {@code DEPTH} rows an estimate never undercounts and
+ * overcounts by at most {@code e / WIDTH} (0.27%) of the bucket's total with probability
+ * {@code 1 - e^-DEPTH} (98%). Alongside the counters the sketch keeps the {@code CANDIDATES}
+ * keys with the highest estimates seen so far; merged buckets re-rank the union of their
+ * candidates, so a key only shows up in a range's top list if it was a candidate in at least
+ * one of its buckets.
+ */
+public final class CountMinSketch {
+
+    public static final int WIDTH = 1024;
+    public static final int DEPTH = 4;
+    public static final int CANDIDATES = 64;
+
+    private static final int FORMAT = 1;
+
+    private final long[] counters = new long[WIDTH * DEPTH];
+    private long total;
+    private final long[] candidates = new long[CANDIDATES];
+    private int candidateCount;
+
+    public record Estimate(long key, long count) {
+    }
+
+    public void add(long key, long count) {
+        long hash = SketchHashing.mix(key);
+        for (int row = 0; row < DEPTH; row++) {
+            counters[row * WIDTH + column(hash, row)] += count;
+        }
+        total += count;
+        track(key, estimateHashed(hash));
+    }
+
+    public long estimate(long key) {
+        return estimateHashed(SketchHashing.mix(key));
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Upper bound of any estimate's overcount, holding with probability {@code 1 - e^-DEPTH}.
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / WIDTH * total);
+    }
+
+    /**
+     * The {@code limit} candidates with the highest estimates, highest first.
+     */
+    public List<Estimate> top(int limit) {
+        List<Estimate> estimates = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; i++) {
+            estimates.add(new Estimate(candidates[i], estimate(candidates[i])));
+        }
+        estimates.sort(Comparator.comparingLong(Estimate::count).reversed()
+                .thenComparingLong(Estimate::key));
+        return estimates.subList(0, Math.min(limit, estimates.size()));
+    }
+
+    public void merge(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+
+        long[] union = Arrays.copyOf(candidates, candidateCount + other.candidateCount);
+        int size = candidateCount;
+        for (int i = 0; i < other.candidateCount; i++) {
+            if (indexOf(union, size, other.candidates[i]) < 0) {
+                union[size++] = other.candidates[i];
+            }
+        }
+        if (size <= CANDIDATES) {
+            System.arraycopy(union, 0, candidates, 0, size);
+            candidateCount = size;
+            return;
+        }
+        Estimate[] ranked = new Estimate[size];
+        for (int i = 0; i < size; i++) {
+            ranked[i] = new Estimate(union[i], estimate(union[i]));
+        }
+        Arrays.sort(ranked, Comparator.comparingLong(Estimate::count).reversed().thenComparingLong(Estimate::key));
+        for (int i = 0; i < CANDIDATES; i++) {
+            candidates[i] = ranked[i].key();
+        }
+        candidateCount = CANDIDATES;
+    }
+
+    /**
+     * Non-zero counters as (gap, value) varint pairs, then the candidate keys in ascending
+     * order as deltas. A quiet day costs a few bytes per event instead of 32 KB of counters.
+     */
+    public byte[] toBytes() {
+        int nonZero = 0;
+        for (long counter : counters) {
+            if (counter != 0) {
+                nonZero++;
+            }
+        }
+        SketchOutput out = new SketchOutput(16 + nonZero * 3 + candidateCount * 3);
+        out.writeByte(FORMAT);
+        out.writeVarLong(WIDTH);
+        out.writeVarLong(DEPTH);
+        out.writeVarLong(total);
+        out.writeVarLong(nonZero);
+        int previous = -1;
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i] != 0) {
+                out.writeVarLong(i - previous);
+                out.writeVarLong(counters[i]);
+                previous = i;
+            }
+        }
+        long[] keys = Arrays.copyOf(candidates, candidateCount);
+        Arrays.sort(keys);
+        out.writeVarLong(candidateCount);
+        long previousKey = 0;
+        for (long key : keys) {
+            out.writeVarLong(zigZag(key - previousKey));
+            previousKey = key;
+        }
+        return out.toByteArray();
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        SketchInput in = new SketchInput(bytes);
+        int format = in.readByte();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unknown Count-Min format " + format);
+        }
+        long width = in.readVarLong();
+        long depth = in.readVarLong();
+        if (width != WIDTH || depth != DEPTH) {
+            throw new IllegalArgumentException("Unsupported Count-Min shape " + width + "x" + depth);
+        }
+        CountMinSketch sketch = new CountMinSketch();
+        sketch.total = in.readVarLong();
+        int nonZero = in.readVarInt();
+        int index = -1;
+        for (int i = 0; i < nonZero; i++) {
+            index += in.readVarInt();
+            if (index >= sketch.counters.length) {
+                throw new IllegalArgumentException("Count-Min counter out of range: " + index);
+            }
+            sketch.counters[index] = in.readVarLong();
+        }
+        int candidateCount = in.readVarInt();
+        if (candidateCount > CANDIDATES) {
+            throw new IllegalArgumentException("Too many Count-Min candidates: " + candidateCount);
+        }
+        long key = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            key += unZigZag(in.readVarLong());
+            sketch.candidates[i] = key;
+        }
+        sketch.candidateCount = candidateCount;
+        return sketch;
+    }
+
+    private long estimateHashed(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row * WIDTH + column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    private void track(long key, long estimate) {
+        if (indexOf(candidates, candidateCount, key) >= 0) {
+            return;
+        }
+        if (candidateCount < CANDIDATES) {
+            candidates[candidateCount++] = key;
+            return;
+        }
+        int weakest = 0;
+        long weakestEstimate = Long.MAX_VALUE;
+        for (int i = 0; i < CANDIDATES; i++) {
+            long candidateEstimate = estimate(candidates[i]);
+            if (candidateEstimate < weakestEstimate) {
+                weakest = i;
+                weakestEstimate = candidateEstimate;
+            }
+        }
+        if (estimate > weakestEstimate) {
+            candidates[weakest] = key;
+        }
+    }
+
+    // Kirsch-Mitzenmacher: row hashes derived from the two halves of one 64-bit hash
+    private static int column(long hash, int row) {
+        int h1 = (int) hash;
+        // Odd, so successive rows never land on the same column
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & (WIDTH - 1);
+    }
+
+    private static int indexOf(long[] keys, int size, long key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookstore.report.sketch;
+
+import com.bookstore.report.rollup.Dimension;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * The sketches one consumed batch adds, per bucket, in bucket order.
+ */
+public final class SketchBatch {
+
+    public record Bucket(Dimension dimension, int epochDay, long key) {
+    }
+
+    // Primary key order of the stored sketches, so concurrent batches lock rows in the same order
+    private static final Comparator<Bucket> ORDER = Comparator.comparingInt((Bucket bucket) -> bucket.dimension().code())
+            .thenComparingLong(Bucket::key)
+            .thenComparingInt(Bucket::epochDay);
+
+    private final Map<Bucket, BucketSketches> buckets = new TreeMap<>(ORDER);
+
+    public BucketSketches bucket(Dimension dimension, int epochDay, long key) {
+        return buckets.computeIfAbsent(new Bucket(dimension, epochDay, key), ignored -> new BucketSketches());
+    }
+
+    /**
+     * @return the bucket's sketches, or {@code null} if the batch did not touch it
+     */
+    public BucketSketches get(Dimension dimension, int epochDay, long key) {
+        return buckets.get(new Bucket(dimension, epochDay, key));
+    }
+
+    public boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Visits the buckets ordered by dimension, key and day.
+     */
+    public void forEach(BiConsumer<Bucket, BucketSketches> consumer) {
+        buckets.forEach(consumer);
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookstore.report.sketch;
+
+final class SketchHashing {
+
+    private SketchHashing() {
+    }
+
+    /**
+     * Murmur3's 64-bit finalizer. Ids are sequential, so they are mixed before any bits are
+     * used as register indexes or counter columns.
+     */
+    static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bookstore.report.sketch;
+
+final class SketchInput {
+
+    private final byte[] bytes;
+    private int position;
+
+    SketchInput(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    int readByte() {
+        check(1);
+        return bytes[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in sketch");
+    }
+
+    int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Sketch field out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    double readDouble() {
+        check(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (bytes[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    void readBytes(byte[] target, int length) {
+        check(length);
+        System.arraycopy(bytes, position, target, 0, length);
+        position += length;
+    }
+
+    private void check(int length) {
+        if (position + length > bytes.length) {
+            throw new IllegalArgumentException("Truncated sketch");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookstore.report.sketch;
+
+/**
+ * The sketches kept per bucket and the column each is stored in.
+ */
+public enum SketchKind {
+    // HyperLogLog of the user ids that created rentals
+    RENTERS("renters"),
+    // t-digest of the hours between rental start and return
+    DURATIONS("durations"),
+    // Count-Min of rentals per book, only for TOTAL and CATEGORY buckets
+    TOP_BOOKS("top_books");
+
+    private final String column;
+
+    SketchKind(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+}
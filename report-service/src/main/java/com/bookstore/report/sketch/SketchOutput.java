@@ -0,0 +1,55 @@
+package com.bookstore.report.sketch;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for sketch serialization. Counts and register runs are varints, so
+ * the mostly-empty sketches of quiet buckets stay a few bytes long.
+ */
+final class SketchOutput {
+
+    private byte[] buffer;
+    private int size;
+
+    SketchOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    void writeDouble(double value) {
+        ensure(8);
+        long bits = Double.doubleToLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    void writeBytes(byte[] bytes, int length) {
+        ensure(length);
+        System.arraycopy(bytes, 0, buffer, size, length);
+        size += length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensure(int bytes) {
+        if (size + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+        }
+    }
+}
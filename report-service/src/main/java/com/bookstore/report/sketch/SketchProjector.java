@@ -0,0 +1,69 @@
+package com.bookstore.report.sketch;
+
+import com.bookstore.report.dimension.BookDimension;
+import com.bookstore.report.dimension.BookDimensionCache;
+import com.bookstore.report.rollup.Dimension;
+import com.bookstore.report.rollup.RollupProjector;
+import lombok.RequiredArgsConstructor;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.events.RentalEventType;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Feeds rental events into the sketches of the day they happened, attributed like the
+ * rollups: the daily total, the book and each of the book's categories.
+ * <p>
+ * A rental creation adds its user to the distinct renters and its book to the most rented
+ * books (per total and category; a book's own bucket would rank just itself). A return adds
+ * the hours since the rental started, the return event being stamped when it happened.
+ */
+@Component
+@RequiredArgsConstructor
+public class SketchProjector {
+
+    private static final double SECONDS_PER_HOUR = 3600;
+
+    private final BookDimensionCache dimensions;
+
+    public void project(BookRentalEvent event, SketchBatch target) {
+        RentalEventType type = RentalEventType.fromName(event.getEventType());
+        if (event.getBookId() == null
+                || (type != RentalEventType.RENTAL_CREATED && type != RentalEventType.RENTAL_RETURNED)) {
+            return;
+        }
+        LocalDateTime at = event.getEventTimestamp() != null ? event.getEventTimestamp() : LocalDateTime.now();
+        int day = (int) at.toLocalDate().toEpochDay();
+        long bookId = event.getBookId();
+        BookDimension book = dimensions.get(bookId);
+        long[] categoryIds = book != null ? book.categoryIds() : new long[0];
+
+        if (type == RentalEventType.RENTAL_CREATED) {
+            if (event.getUserId() != null) {
+                long userId = event.getUserId();
+                target.bucket(Dimension.TOTAL, day, RollupProjector.TOTAL_KEY).renters().offer(userId);
+                target.bucket(Dimension.BOOK, day, bookId).renters().offer(userId);
+                for (long categoryId : categoryIds) {
+                    target.bucket(Dimension.CATEGORY, day, categoryId).renters().offer(userId);
+                }
+            }
+            target.bucket(Dimension.TOTAL, day, RollupProjector.TOTAL_KEY).topBooks().add(bookId, 1);
+            for (long categoryId : categoryIds) {
+                target.bucket(Dimension.CATEGORY, day, categoryId).topBooks().add(bookId, 1);
+            }
+            return;
+        }
+
+        if (event.getRentalStartDate() == null || at.isBefore(event.getRentalStartDate())) {
+            return;
+        }
+        double hours = Duration.between(event.getRentalStartDate(), at).toSeconds() / SECONDS_PER_HOUR;
+        target.bucket(Dimension.TOTAL, day, RollupProjector.TOTAL_KEY).durations().add(hours);
+        target.bucket(Dimension.BOOK, day, bookId).durations().add(hours);
+        for (long categoryId : categoryIds) {
+            target.bucket(Dimension.CATEGORY, day, categoryId).durations().add(hours);
+        }
+    }
+}
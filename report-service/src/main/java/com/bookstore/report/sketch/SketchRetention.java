@@ -0,0 +1,36 @@
+package com.bookstore.report.sketch;
+
+import com.bookstore.report.repository.SketchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Deletes stored sketches older than the rollup retention, on the rollups' eviction schedule,
+ * so sketch queries cover the same days as the rollups they sit next to.
+ */
+@Component
+@Slf4j
+public class SketchRetention {
+
+    private final SketchRepository sketchRepository;
+    private final int retentionDays;
+
+    public SketchRetention(SketchRepository sketchRepository,
+                           @Value("${report.rollups.retention-days:730}") int retentionDays) {
+        this.sketchRepository = sketchRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(cron = "${report.rollups.eviction-cron:0 5 0 * * *}")
+    public void evictExpired() {
+        int cutoff = (int) LocalDate.now().minusDays(retentionDays).toEpochDay();
+        int deleted = sketchRepository.deleteBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Deleted {} sketch rows before {}", deleted, LocalDate.ofEpochDay(cutoff));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.bookstore.report.sketch;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest (Dunning) for quantiles of {@code double} samples.
+ * <p>
+ * Samples are buffered and periodically merged into a sorted list of centroids whose sizes
+ * follow the arcsine scale function: centroids are small at the tails and large in the
+ * middle, so p95 and p99 stay accurate to a fraction of a percent in rank while the digest
+ * never holds more than about {@code COMPRESSION} centroids. Digests merge by combining
+ * centroid lists, so day buckets combine into the quantiles of any range.
+ */
+public final class TDigest {
+
+    public static final double COMPRESSION = 100;
+
+    private static final int FORMAT = 1;
+    private static final int BUFFER_SIZE = (int) (5 * COMPRESSION);
+
+    private double[] means = new double[(int) (2 * COMPRESSION) + 8];
+    private long[] weights = new long[means.length];
+    private int centroids;
+    private long centroidWeight;
+
+    private final double[] buffer = new double[BUFFER_SIZE];
+    private int buffered;
+
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN to a digest");
+        }
+        if (buffered == BUFFER_SIZE) {
+            compress();
+        }
+        buffer[buffered++] = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(TDigest other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        other.compress();
+        compress();
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        mergeSorted(other.means, other.weights, other.centroids);
+    }
+
+    public long count() {
+        return centroidWeight + buffered;
+    }
+
+    public boolean isEmpty() {
+        return count() == 0;
+    }
+
+    public double min() {
+        return isEmpty() ? Double.NaN : min;
+    }
+
+    public double max() {
+        return isEmpty() ? Double.NaN : max;
+    }
+
+    /**
+     * Estimated value at quantile {@code q} in [0, 1], interpolating between centroid
+     * centers; {@code NaN} when the digest is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double index = q * centroidWeight;
+        double first = weights[0] / 2.0;
+        if (index < first) {
+            return min + (means[0] - min) * (index / first);
+        }
+        double weightSoFar = first;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2.0;
+            if (weightSoFar + step > index) {
+                double toLeft = index - weightSoFar;
+                double toRight = weightSoFar + step - index;
+                return (means[i] * toRight + means[i + 1] * toLeft) / step;
+            }
+            weightSoFar += step;
+        }
+        double last = weights[centroids - 1] / 2.0;
+        double intoLast = Math.min(index - weightSoFar, last);
+        return means[centroids - 1] + (max - means[centroids - 1]) * (intoLast / last);
+    }
+
+    public byte[] toBytes() {
+        compress();
+        SketchOutput out = new SketchOutput(24 + centroids * 10);
+        out.writeByte(FORMAT);
+        out.writeVarLong(centroids);
+        if (centroids == 0) {
+            return out.toByteArray();
+        }
+        out.writeDouble(min);
+        out.writeDouble(max);
+        for (int i = 0; i < centroids; i++) {
+            out.writeDouble(means[i]);
+            out.writeVarLong(weights[i]);
+        }
+        return out.toByteArray();
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        SketchInput in = new SketchInput(bytes);
+        int format = in.readByte();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unknown t-digest format " + format);
+        }
+        int size = in.readVarInt();
+        TDigest digest = new TDigest();
+        if (size == 0) {
+            return digest;
+        }
+        if (size > BUFFER_SIZE) {
+            throw new IllegalArgumentException("t-digest too large: " + size);
+        }
+        digest.min = in.readDouble();
+        digest.max = in.readDouble();
+        double[] means = new double[size];
+        long[] weights = new long[size];
+        for (int i = 0; i < size; i++) {
+            means[i] = in.readDouble();
+            weights[i] = in.readVarLong();
+        }
+        digest.mergeSorted(means, weights, size);
+        return digest;
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        double[] bufferMeans = Arrays.copyOf(buffer, buffered);
+        long[] unitWeights = new long[buffered];
+        Arrays.fill(unitWeights, 1);
+        buffered = 0;
+        mergeSorted(bufferMeans, unitWeights, bufferMeans.length);
+    }
+
+    /**
+     * Merges a sorted run of centroids with the current ones in a single pass, closing a
+     * centroid whenever growing it would span more than one unit of the scale function.
+     */
+    private void mergeSorted(double[] otherMeans, long[] otherWeights, int otherSize) {
+        long total = centroidWeight + sum(otherWeights, otherSize);
+        double[] outMeans = new double[means.length];
+        long[] outWeights = new long[means.length];
+        int out = -1;
+        long weightBefore = 0;
+        double limit = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < centroids || j < otherSize) {
+            boolean takeOwn = j == otherSize || (i < centroids && means[i] <= otherMeans[j]);
+            double mean = takeOwn ? means[i] : otherMeans[j];
+            long weight = takeOwn ? weights[i++] : otherWeights[j++];
+            if (out >= 0 && weightBefore + outWeights[out] + weight <= limit) {
+                long merged = outWeights[out] + weight;
+                outMeans[out] += (mean - outMeans[out]) * ((double) weight / merged);
+                outWeights[out] = merged;
+                continue;
+            }
+            if (out >= 0) {
+                weightBefore += outWeights[out];
+            }
+            out++;
+            if (out == outMeans.length) {
+                outMeans = Arrays.copyOf(outMeans, out * 2);
+                outWeights = Arrays.copyOf(outWeights, out * 2);
+            }
+            outMeans[out] = mean;
+            outWeights[out] = weight;
+            limit = total * inverseScale(scale((double) weightBefore / total) + 1);
+        }
+        means = outMeans;
+        weights = outWeights;
+        centroids = out + 1;
+        centroidWeight = total;
+    }
+
+    private static double scale(double q) {
+        return COMPRESSION / (2 * Math.PI) * Math.asin(2 * q - 1);
+    }
+
+    private static double inverseScale(double k) {
+        if (k >= COMPRESSION / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / COMPRESSION) + 1) / 2;
+    }
+
+    private static long sum(long[] values, int size) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,15 @@
+-- Rental events as consumed by the rollups; the row source of exports
+CREATE TABLE IF NOT EXISTS report_rental_events (
+    event_id UUID PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    rental_id BIGINT,
+    user_id BIGINT,
+    book_id BIGINT NOT NULL,
+    rental_start TIMESTAMP,
+    rental_end TIMESTAMP,
+    revenue_cents BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_rental_events_occurred_at
+    ON report_rental_events (occurred_at);
@@ -0,0 +1,24 @@
+-- Daily rollups; rows are incremented by RollupRepository in the transaction that consumes a batch
+CREATE TABLE IF NOT EXISTS report_daily_rollups (
+    dimension SMALLINT NOT NULL,
+    epoch_day INTEGER NOT NULL,
+    dim_key BIGINT NOT NULL,
+    rentals BIGINT NOT NULL DEFAULT 0,
+    returned BIGINT NOT NULL DEFAULT 0,
+    overdue BIGINT NOT NULL DEFAULT 0,
+    revenue_cents BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, epoch_day, dim_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_daily_rollups_day
+    ON report_daily_rollups (epoch_day);
+
+-- Latest catalog state per book, from book-service's BookCatalogEvents
+CREATE TABLE IF NOT EXISTS report_book_dimension (
+    book_id BIGINT PRIMARY KEY,
+    title VARCHAR(255),
+    category_ids BIGINT[] NOT NULL,
+    rental_price_cents BIGINT,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL
+);
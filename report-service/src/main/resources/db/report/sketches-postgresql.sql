@@ -0,0 +1,14 @@
+-- Mergeable sketches per dimension, key and day; merged into by SketchRepository in the
+-- transaction that consumes a batch. A NULL column is an empty sketch.
+CREATE TABLE IF NOT EXISTS report_daily_sketches (
+    dimension SMALLINT NOT NULL,
+    dim_key BIGINT NOT NULL,
+    epoch_day INTEGER NOT NULL,
+    renters BYTEA,
+    durations BYTEA,
+    top_books BYTEA,
+    PRIMARY KEY (dimension, dim_key, epoch_day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_daily_sketches_day
+    ON report_daily_sketches (epoch_day);
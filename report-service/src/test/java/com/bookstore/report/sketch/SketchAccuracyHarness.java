@@ -0,0 +1,112 @@
+package com.bookstore.report.sketch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Accuracy harness for the report sketches: feeds synthetic rentals into one sketch set per
+ * day, round-trips every day through its serialized form, merges the range and prints each
+ * estimate against the exact answer, plus the serialized size per day.
+ * <p>
+ * Not a unit test. Run with, for example:
+ * <pre>
+ * mvn -pl report-service test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.bookstore.report.sketch.SketchAccuracyHarness \
+ *     -Dharness.days=30 -Dharness.rentalsPerDay=20000
+ * </pre>
+ * System properties: {@code harness.days} (30), {@code harness.rentalsPerDay} (20000),
+ * {@code harness.users} (200000), {@code harness.books} (50000), {@code harness.seed} (42).
+ * Users and books are drawn from Zipf-like distributions, durations from a log-normal one.
+ */
+public class SketchAccuracyHarness {
+
+    public static void main(String[] args) {
+        int days = Integer.getInteger("harness.days", 30);
+        int rentalsPerDay = Integer.getInteger("harness.rentalsPerDay", 20_000);
+        int users = Integer.getInteger("harness.users", 200_000);
+        int books = Integer.getInteger("harness.books", 50_000);
+        SplittableRandom random = new SplittableRandom(Long.getLong("harness.seed", 42));
+
+        Set<Long> distinctUsers = new HashSet<>();
+        Map<Long, Long> rentalsByBook = new HashMap<>();
+        double[] durations = new double[days * rentalsPerDay];
+        int durationCount = 0;
+
+        BucketSketches range = new BucketSketches();
+        long[] bytesPerDay = new long[SketchKind.values().length];
+        for (int day = 0; day < days; day++) {
+            BucketSketches daily = new BucketSketches();
+            for (int i = 0; i < rentalsPerDay; i++) {
+                long userId = skewed(random, users);
+                long bookId = skewed(random, books);
+                double hours = Math.exp(4.5 + 0.8 * gaussian(random));
+                daily.renters().offer(userId);
+                daily.topBooks().add(bookId, 1);
+                daily.durations().add(hours);
+                distinctUsers.add(userId);
+                rentalsByBook.merge(bookId, 1L, Long::sum);
+                durations[durationCount++] = hours;
+            }
+            for (SketchKind kind : SketchKind.values()) {
+                byte[] bytes = daily.serialize(kind);
+                bytesPerDay[kind.ordinal()] += bytes.length;
+                range.mergeSerialized(kind, bytes);
+            }
+        }
+
+        long exactDistinct = distinctUsers.size();
+        long estimatedDistinct = range.renters().estimate();
+        System.out.println("sketch,metric,exact,estimate,error");
+        System.out.printf("renters,distinct,%d,%d,%.3f%%%n", exactDistinct, estimatedDistinct,
+                100.0 * (estimatedDistinct - exactDistinct) / exactDistinct);
+
+        Arrays.sort(durations, 0, durationCount);
+        for (double q : new double[]{0.5, 0.9, 0.95, 0.99, 0.999}) {
+            double exact = durations[(int) Math.min(durationCount - 1, Math.floor(q * durationCount))];
+            double estimate = range.durations().quantile(q);
+            double rank = rankOf(durations, durationCount, estimate);
+            System.out.printf("durations,p%s,%.2f,%.2f,%.3f%% rank%n", q * 100, exact, estimate, 100 * (rank - q));
+        }
+
+        CountMinSketch topBooks = range.topBooks();
+        List<CountMinSketch.Estimate> top = topBooks.top(10);
+        List<Long> exactTop = rentalsByBook.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .toList();
+        int found = 0;
+        for (CountMinSketch.Estimate estimate : top) {
+            long exact = rentalsByBook.getOrDefault(estimate.key(), 0L);
+            System.out.printf("top-books,book %d,%d,%d,+%d (bound %d)%n", estimate.key(), exact, estimate.count(),
+                    estimate.count() - exact, topBooks.errorBound());
+            if (exactTop.contains(estimate.key())) {
+                found++;
+            }
+        }
+        System.out.printf("top-books,recall@10,10,%d,%n", found);
+
+        for (SketchKind kind : SketchKind.values()) {
+            System.out.printf("size,%s bytes/day,,%d,%n", kind, bytesPerDay[kind.ordinal()] / days);
+        }
+    }
+
+    // Rank-skewed ids: low ids are drawn far more often, as popular books and heavy renters are
+    private static long skewed(SplittableRandom random, int size) {
+        return 1 + (long) Math.floor(Math.pow(size, random.nextDouble()) - 1);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static double rankOf(double[] sorted, int size, double value) {
+        int index = Arrays.binarySearch(sorted, 0, size, value);
+        return (double) (index >= 0 ? index : -index - 1) / size;
+    }
+}
@@ -0,0 +1,160 @@
+package com.bookstore.report.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips of {@link HyperLogLog} and {@link TDigest} through their stored form, in both
+ * HyperLogLog layouts, and merges of deserialized day buckets.
+ */
+class SketchSerializationTest {
+
+    @Test
+    void roundTripsAnEmptyHyperLogLog() {
+        HyperLogLog restored = HyperLogLog.fromBytes(new HyperLogLog().toBytes());
+
+        assertTrue(restored.isEmpty());
+        assertEquals(0, restored.estimate());
+    }
+
+    @Test
+    void roundTripsASparseHyperLogLog() {
+        HyperLogLog sketch = hyperLogLog(1, 200);
+        byte[] bytes = sketch.toBytes();
+
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+        // Sparse entries cost a few bytes each, far below the dense registers
+        assertTrue(bytes.length < 1000, "sparse sketch took " + bytes.length + " bytes");
+    }
+
+    @Test
+    void roundTripsADenseHyperLogLog() {
+        HyperLogLog sketch = hyperLogLog(1, 100_000);
+        byte[] bytes = sketch.toBytes();
+
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(2 + (1 << HyperLogLog.PRECISION) * 6 / 8, bytes.length);
+        assertEquals(100_000, restored.estimate(), 100_000 * 4 * HyperLogLog.relativeStandardError());
+    }
+
+    @Test
+    void mergesDeserializedBucketsLikeTheOriginals() {
+        HyperLogLog sparseDay = hyperLogLog(1, 300);
+        HyperLogLog denseDay = hyperLogLog(200, 50_000);
+
+        HyperLogLog expected = new HyperLogLog();
+        expected.merge(sparseDay);
+        expected.merge(denseDay);
+        HyperLogLog restored = HyperLogLog.fromBytes(sparseDay.toBytes());
+        restored.merge(HyperLogLog.fromBytes(denseDay.toBytes()));
+
+        assertEquals(expected.estimate(), restored.estimate());
+        assertArrayEquals(expected.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void keepsAddingToADeserializedSparseHyperLogLog() {
+        HyperLogLog restored = HyperLogLog.fromBytes(hyperLogLog(1, 500).toBytes());
+        for (long id = 501; id <= 20_000; id++) {
+            restored.offer(id);
+        }
+
+        assertArrayEquals(hyperLogLog(1, 20_000).toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void rejectsForeignHyperLogLogBytes() {
+        byte[] bytes = hyperLogLog(1, 10).toBytes();
+        byte[] otherPrecision = bytes.clone();
+        otherPrecision[1] = 14;
+        byte[] unknownFormat = bytes.clone();
+        unknownFormat[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(otherPrecision));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(unknownFormat));
+    }
+
+    @Test
+    void roundTripsAnEmptyTDigest() {
+        TDigest restored = TDigest.fromBytes(new TDigest().toBytes());
+
+        assertTrue(restored.isEmpty());
+        assertTrue(Double.isNaN(restored.quantile(0.5)));
+    }
+
+    @Test
+    void roundTripsATDigest() {
+        TDigest digest = tDigest(11, 100_000);
+
+        TDigest restored = TDigest.fromBytes(digest.toBytes());
+
+        assertEquals(digest.count(), restored.count());
+        assertEquals(digest.min(), restored.min(), 0);
+        assertEquals(digest.max(), restored.max(), 0);
+        for (double q : new double[]{0, 0.01, 0.25, 0.5, 0.9, 0.95, 0.99, 1}) {
+            assertEquals(digest.quantile(q), restored.quantile(q), Math.abs(digest.quantile(q)) * 1e-9,
+                    "quantile " + q);
+        }
+    }
+
+    @Test
+    void roundTripsATDigestWithFewSamples() {
+        TDigest digest = new TDigest();
+        digest.add(3.5);
+        digest.add(-1.25);
+
+        TDigest restored = TDigest.fromBytes(digest.toBytes());
+
+        assertEquals(2, restored.count());
+        assertEquals(-1.25, restored.min(), 0);
+        assertEquals(3.5, restored.max(), 0);
+    }
+
+    @Test
+    void mergesDeserializedTDigests() {
+        TDigest merged = TDigest.fromBytes(tDigest(1, 50_000).toBytes());
+        merged.merge(TDigest.fromBytes(tDigest(2, 50_000).toBytes()));
+
+        assertEquals(100_000, merged.count());
+        // Exponential samples with mean 10: the median is 10 ln 2
+        assertEquals(10 * Math.log(2), merged.quantile(0.5), 0.2);
+        assertEquals(10 * Math.log(100), merged.quantile(0.99), 1.5);
+    }
+
+    @Test
+    void rejectsAnUnknownTDigestFormat() {
+        byte[] bytes = tDigest(1, 10).toBytes();
+        bytes[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> TDigest.fromBytes(bytes));
+    }
+
+    private static HyperLogLog hyperLogLog(long fromId, long toId) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = fromId; id <= toId; id++) {
+            sketch.offer(id);
+        }
+        return sketch;
+    }
+
+    private static TDigest tDigest(long seed, int samples) {
+        SplittableRandom random = new SplittableRandom(seed);
+        TDigest digest = new TDigest();
+        for (int i = 0; i < samples; i++) {
+            digest.add(-10 * Math.log(1 - random.nextDouble()));
+        }
+        return digest;
+    }
+}
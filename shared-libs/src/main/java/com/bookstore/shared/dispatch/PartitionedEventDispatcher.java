@@ -0,0 +1,267 @@
+package main.java.com.bookstore.shared.dispatch;
+
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Applies events in order per key while processing different keys in parallel.
+ * <p>
+ * Events are hashed by key onto a fixed number of lanes. Each lane is a bounded FIFO queue
+ * drained by its own virtual thread, so events with the same key are handled one at a time in
+ * dispatch order and lanes never block each other. A full lane blocks the dispatching thread,
+ * which propagates backpressure to the consumer feeding it instead of buffering without limit.
+ * Ordering holds for events dispatched in order, i.e. from one thread per key.
+ * <p>
+ * A handler failure completes that event's future exceptionally and parks its key: the events
+ * with the same key that were already dispatched behind it are not handled but completed with a
+ * {@link PredecessorFailedException}, so none is applied over a failed predecessor. Events of
+ * other keys carry on, and the first event of the key dispatched after the failure resumes it.
+ * Callers decide whether to dead-letter, retry or stop.
+ */
+public class PartitionedEventDispatcher<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedEventDispatcher.class);
+    private static final int DRAIN_CHUNK = 64;
+    private static final Task<Object> STOP = new Task<>(null, 0, null);
+
+    private final ToLongFunction<T> partitionKey;
+    private final Consumer<T> handler;
+    private final Lane<T>[] lanes;
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private volatile boolean closed;
+
+    private record Task<T>(T event, long sequence, CompletableFuture<Void> completion) {
+    }
+
+    // lastQueued: the last sequence dispatched when the key failed
+    private record ParkedKey(long lastQueued, RuntimeException failure) {
+    }
+
+    private static final class Lane<T> {
+        final BlockingQueue<Task<T>> queue;
+        // Only touched by the lane thread
+        final Map<Long, ParkedKey> parkedKeys = new HashMap<>();
+        Thread thread;
+
+        Lane(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * @param name         prefix of the lane thread names
+     * @param laneCount    number of lanes, i.e. the maximum parallelism
+     * @param laneCapacity events a lane may queue before {@link #dispatch} blocks
+     * @param partitionKey key events are ordered by
+     * @param handler      invoked on the lane's virtual thread
+     */
+    @SuppressWarnings("unchecked")
+    public PartitionedEventDispatcher(String name, int laneCount, int laneCapacity,
+                                      ToLongFunction<T> partitionKey, Consumer<T> handler) {
+        if (laneCount < 1 || laneCapacity < 1) {
+            throw new IllegalArgumentException("laneCount and laneCapacity must be positive");
+        }
+        this.partitionKey = partitionKey;
+        this.handler = handler;
+        this.lanes = new Lane[laneCount];
+        Thread.Builder threads = Thread.ofVirtual().name(name + "-lane-", 0);
+        for (int i = 0; i < laneCount; i++) {
+            Lane<T> lane = new Lane<>(laneCapacity);
+            lanes[i] = lane;
+            lane.thread = threads.start(() -> drain(lane));
+        }
+    }
+
+    /**
+     * Dispatcher for {@link BookRentalEvent}s ordered per rental. Events without a rental id
+     * are spread by book id.
+     */
+    public static PartitionedEventDispatcher<BookRentalEvent> forRentalEvents(String name, int laneCount,
+                                                                            int laneCapacity,
+                                                                            Consumer<BookRentalEvent> handler) {
+        return new PartitionedEventDispatcher<>(name, laneCount, laneCapacity, event -> {
+            if (event.getRentalId() != null) {
+                return event.getRentalId();
+            }
+            return event.getBookId() != null ? ~event.getBookId() : 0L;
+        }, handler);
+    }
+
+    /**
+     * Queues the event on its lane, blocking while the lane is full.
+     *
+     * @return completes once the handler has processed the event
+     */
+    public CompletableFuture<Void> dispatch(T event) throws InterruptedException {
+        Task<T> task = newTask(event);
+        laneFor(event).queue.put(task);
+        return task.completion();
+    }
+
+    /**
+     * Like {@link #dispatch}, but gives up after {@code timeout}.
+     *
+     * @return {@code null} if the lane stayed full
+     */
+    public CompletableFuture<Void> tryDispatch(T event, Duration timeout) throws InterruptedException {
+        Task<T> task = newTask(event);
+        if (!laneFor(event).queue.offer(task, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return null;
+        }
+        return task.completion();
+    }
+
+    /**
+     * Dispatches the events in order and returns a future that completes when all of them are
+     * processed, e.g. to acknowledge a consumed batch only after it was applied.
+     */
+    public CompletableFuture<Void> dispatchAll(List<T> events) throws InterruptedException {
+        List<CompletableFuture<Void>> completions = new ArrayList<>(events.size());
+        for (T event : events) {
+            completions.add(dispatch(event));
+        }
+        return CompletableFuture.allOf(completions.toArray(new CompletableFuture[0]));
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public int[] getLaneDepths() {
+        int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].queue.size();
+        }
+        return depths;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return events not handled because an earlier event with the same key failed
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Completes an event queued behind a failed event with the same key.
+     */
+    public static class PredecessorFailedException extends RuntimeException {
+
+        public PredecessorFailedException(long key, Throwable cause) {
+            super("An earlier event with key " + key + " failed", cause);
+        }
+    }
+
+    /**
+     * Stops accepting events, lets the lanes finish what is queued and waits for them.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void close() throws InterruptedException {
+        closed = true;
+        for (Lane<T> lane : lanes) {
+            lane.queue.put((Task<T>) STOP);
+        }
+        for (Lane<T> lane : lanes) {
+            lane.thread.join();
+            // Events that raced past the closed check after the stop marker
+            List<Task<T>> stranded = new ArrayList<>();
+            lane.queue.drainTo(stranded);
+            reject(stranded);
+        }
+    }
+
+    private static <T> void reject(List<Task<T>> tasks) {
+        for (Task<T> task : tasks) {
+            task.completion().completeExceptionally(new RejectedExecutionException("Dispatcher is closed"));
+        }
+    }
+
+    private Task<T> newTask(T event) {
+        if (closed) {
+            throw new RejectedExecutionException("Dispatcher is closed");
+        }
+        return new Task<>(event, dispatched.incrementAndGet(), new CompletableFuture<>());
+    }
+
+    private Lane<T> laneFor(T event) {
+        long hash = partitionKey.applyAsLong(event) * 0x9E3779B97F4A7C15L;
+        return lanes[(int) Math.floorMod(hash ^ (hash >>> 32), (long) lanes.length)];
+    }
+
+    private void drain(Lane<T> lane) {
+        List<Task<T>> chunk = new ArrayList<>(DRAIN_CHUNK);
+        while (true) {
+            try {
+                chunk.add(lane.queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            lane.queue.drainTo(chunk, DRAIN_CHUNK - 1);
+            for (int i = 0; i < chunk.size(); i++) {
+                Task<T> task = chunk.get(i);
+                if (task == STOP) {
+                    reject(chunk.subList(i + 1, chunk.size()));
+                    return;
+                }
+                run(lane, task);
+            }
+            chunk.clear();
+            if (lane.queue.isEmpty()) {
+                // Nothing dispatched before the failures is left behind them
+                lane.parkedKeys.clear();
+            }
+        }
+    }
+
+    private void run(Lane<T> lane, Task<T> task) {
+        long key = partitionKey.applyAsLong(task.event());
+        if (!lane.parkedKeys.isEmpty()) {
+            ParkedKey parked = lane.parkedKeys.get(key);
+            if (parked != null) {
+                if (task.sequence() <= parked.lastQueued()) {
+                    skipped.incrementAndGet();
+                    task.completion().completeExceptionally(new PredecessorFailedException(key, parked.failure()));
+                    return;
+                }
+                lane.parkedKeys.remove(key);
+            }
+        }
+        try {
+            handler.accept(task.event());
+            processed.incrementAndGet();
+            task.completion().complete(null);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            lane.parkedKeys.put(key, new ParkedKey(dispatched.get(), e));
+            log.debug("Handler failed for {}", task.event(), e);
+            task.completion().completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package main.java.com.bookstore.shared.events;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Snapshot of the catalog attributes of a book that downstream read models need, published
+ * by book-service whenever they change. Each event carries the full state, so consumers
+ * simply keep the one with the latest timestamp.
+ */
+public class BookCatalogEvent {
+
+    public static final String EXCHANGE = "bookstore.book.events";
+
+    private UUID eventId;
+    private String eventType;
+    private Long bookId;
+    private String title;
+    private String author;
+    private Set<Long> categoryIds = new HashSet<>();
+    private BigDecimal rentalPrice;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    private LocalDateTime eventTimestamp;
+
+    // Constructors
+    public BookCatalogEvent() {
+        this.eventId = UUID.randomUUID();
+        this.eventTimestamp = LocalDateTime.now();
+    }
+
+    public BookCatalogEvent(String eventType, Long bookId) {
+        this();
+        this.eventType = eventType;
+        this.bookId = bookId;
+    }
+
+    /**
+     * Maps {@code BOOK_UPDATED} to {@code book.updated}.
+     */
+    public static String routingKey(String eventType) {
+        return "book." + eventType.toLowerCase(Locale.ROOT).replaceFirst("^book_", "");
+    }
+
+    // Getters and Setters
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public Set<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    public void setCategoryIds(Set<Long> categoryIds) {
+        this.categoryIds = categoryIds;
+    }
+
+    public BigDecimal getRentalPrice() {
+        return rentalPrice;
+    }
+
+    public void setRentalPrice(BigDecimal rentalPrice) {
+        this.rentalPrice = rentalPrice;
+    }
+
+    public LocalDateTime getEventTimestamp() {
+        return eventTimestamp;
+    }
+
+    public void setEventTimestamp(LocalDateTime eventTimestamp) {
+        this.eventTimestamp = eventTimestamp;
+    }
+
+    // Event type constants
+    public static class EventTypes {
+        public static final String BOOK_CREATED = "BOOK_CREATED";
+        public static final String BOOK_UPDATED = "BOOK_UPDATED";
+        public static final String BOOK_DELETED = "BOOK_DELETED";
+    }
+}
@@ -3,9 +3,11 @@ package main.java.com.bookstore.shared.events;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public class BookRentalEvent {
     
+    private UUID eventId;
     private String eventType;
     private Long userId;
     private Long bookId;
@@ -25,6 +27,7 @@ public class BookRentalEvent {
 
     // Constructors
     public BookRentalEvent() {
+        this.eventId = UUID.randomUUID();
         this.eventTimestamp = LocalDateTime.now();
     }
 
@@ -37,6 +40,14 @@ public class BookRentalEvent {
     }
 
     // Getters and Setters
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
     public String getEventType() {
         return eventType;
     }
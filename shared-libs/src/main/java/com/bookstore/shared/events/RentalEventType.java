@@ -0,0 +1,61 @@
+package main.java.com.bookstore.shared.events;
+
+/**
+ * Event types of {@link BookRentalEvent} with stable wire codes for the binary codec.
+ * Codes must never be reused or renumbered; {@link #UNKNOWN} marks a type name that is
+ * carried as a string because this version does not know it.
+ */
+public enum RentalEventType {
+
+    UNKNOWN(0),
+    RENTAL_CREATED(1),
+    RENTAL_RETURNED(2),
+    RENTAL_OVERDUE(3),
+    RENTAL_EXTENDED(4),
+    RENTAL_CANCELLED(5);
+
+    private static final RentalEventType[] BY_CODE;
+
+    static {
+        RentalEventType[] values = values();
+        int max = 0;
+        for (RentalEventType type : values) {
+            max = Math.max(max, type.code);
+        }
+        BY_CODE = new RentalEventType[max + 1];
+        for (RentalEventType type : values) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    RentalEventType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static RentalEventType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length && BY_CODE[code] != null ? BY_CODE[code] : UNKNOWN;
+    }
+
+    /**
+     * @return the type with the given name, or {@link #UNKNOWN} for names this version does not know
+     */
+    public static RentalEventType fromName(String name) {
+        if (name == null) {
+            return UNKNOWN;
+        }
+        return switch (name) {
+            case BookRentalEvent.EventTypes.RENTAL_CREATED -> RENTAL_CREATED;
+            case BookRentalEvent.EventTypes.RENTAL_RETURNED -> RENTAL_RETURNED;
+            case BookRentalEvent.EventTypes.RENTAL_OVERDUE -> RENTAL_OVERDUE;
+            case BookRentalEvent.EventTypes.RENTAL_EXTENDED -> RENTAL_EXTENDED;
+            case BookRentalEvent.EventTypes.RENTAL_CANCELLED -> RENTAL_CANCELLED;
+            default -> UNKNOWN;
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package main.java.com.bookstore.shared.events.codec;
+
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.events.RentalEventType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link BookRentalEvent}.
+ * <p>
+ * Layout (version 2):
+ * <pre>
+ * byte     schema version
+ * byte     event type code ({@link RentalEventType}); 0 is followed by the type name as a string
+ * varint   presence bits of the nullable fields below, in order
+ * 16 bytes event id, big-endian most then least significant bits
+ * zigzag   event timestamp, epoch millis
+ * varint   user id, book id, rental id
+ * zigzag   rental start and end, as millis relative to the event timestamp
+ * string   user email, book title, book author (varint byte length + UTF-8)
+ * </pre>
+ * Version 1 is identical without the event id; it is still decoded, with a {@code null} id.
+ * Timestamps are the events' local date-times read as UTC, so a round trip preserves the
+ * wall-clock value to the millisecond. A typical rental event takes around 80-100 bytes
+ * against roughly 300 for the JSON form. The codec is stateless and thread-safe; encoding
+ * into a reused {@link EventBuffer} does not allocate.
+ */
+public final class BookRentalEventCodec {
+
+    public static final byte VERSION_1 = 1;
+    public static final byte VERSION_2 = 2;
+    public static final byte CURRENT_VERSION = VERSION_2;
+    public static final String CONTENT_TYPE = "application/x-bookstore-rental-event";
+
+    private static final int HAS_EVENT_TIMESTAMP = 1;
+    private static final int HAS_USER_ID = 1 << 1;
+    private static final int HAS_BOOK_ID = 1 << 2;
+    private static final int HAS_RENTAL_ID = 1 << 3;
+    private static final int HAS_RENTAL_START = 1 << 4;
+    private static final int HAS_RENTAL_END = 1 << 5;
+    private static final int HAS_USER_EMAIL = 1 << 6;
+    private static final int HAS_BOOK_TITLE = 1 << 7;
+    private static final int HAS_BOOK_AUTHOR = 1 << 8;
+    private static final int HAS_EVENT_ID = 1 << 9;
+
+    public void encode(BookRentalEvent event, EventBuffer out) {
+        out.writeByte(CURRENT_VERSION);
+
+        RentalEventType type = RentalEventType.fromName(event.getEventType());
+        out.writeByte(type.getCode());
+        if (type == RentalEventType.UNKNOWN) {
+            out.writeString(event.getEventType() != null ? event.getEventType() : "");
+        }
+
+        int presence = 0;
+        presence |= event.getEventTimestamp() != null ? HAS_EVENT_TIMESTAMP : 0;
+        presence |= event.getUserId() != null ? HAS_USER_ID : 0;
+        presence |= event.getBookId() != null ? HAS_BOOK_ID : 0;
+        presence |= event.getRentalId() != null ? HAS_RENTAL_ID : 0;
+        presence |= event.getRentalStartDate() != null ? HAS_RENTAL_START : 0;
+        presence |= event.getRentalEndDate() != null ? HAS_RENTAL_END : 0;
+        presence |= event.getUserEmail() != null ? HAS_USER_EMAIL : 0;
+        presence |= event.getBookTitle() != null ? HAS_BOOK_TITLE : 0;
+        presence |= event.getBookAuthor() != null ? HAS_BOOK_AUTHOR : 0;
+        presence |= event.getEventId() != null ? HAS_EVENT_ID : 0;
+        out.writeVarLong(presence);
+
+        if (event.getEventId() != null) {
+            out.writeFixedLong(event.getEventId().getMostSignificantBits());
+            out.writeFixedLong(event.getEventId().getLeastSignificantBits());
+        }
+
+        long base = 0;
+        if (event.getEventTimestamp() != null) {
+            base = toEpochMillis(event.getEventTimestamp());
+            out.writeZigZagLong(base);
+        }
+        if (event.getUserId() != null) {
+            out.writeVarLong(event.getUserId());
+        }
+        if (event.getBookId() != null) {
+            out.writeVarLong(event.getBookId());
+        }
+        if (event.getRentalId() != null) {
+            out.writeVarLong(event.getRentalId());
+        }
+        if (event.getRentalStartDate() != null) {
+            out.writeZigZagLong(toEpochMillis(event.getRentalStartDate()) - base);
+        }
+        if (event.getRentalEndDate() != null) {
+            out.writeZigZagLong(toEpochMillis(event.getRentalEndDate()) - base);
+        }
+        if (event.getUserEmail() != null) {
+            out.writeString(event.getUserEmail());
+        }
+        if (event.getBookTitle() != null) {
+            out.writeString(event.getBookTitle());
+        }
+        if (event.getBookAuthor() != null) {
+            out.writeString(event.getBookAuthor());
+        }
+    }
+
+    public byte[] encode(BookRentalEvent event) {
+        EventBuffer buffer = new EventBuffer();
+        encode(event, buffer);
+        return buffer.toByteArray();
+    }
+
+    public BookRentalEvent decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    public BookRentalEvent decode(byte[] bytes, int offset, int length) {
+        EventReader in = new EventReader(bytes, offset, length);
+        int version = in.readByte();
+        if (version != VERSION_1 && version != VERSION_2) {
+            throw new EventCodecException("Unsupported event schema version " + version);
+        }
+
+        BookRentalEvent event = new BookRentalEvent();
+        int typeCode = in.readByte();
+        RentalEventType type = RentalEventType.fromCode(typeCode);
+        event.setEventType(type == RentalEventType.UNKNOWN ? in.readString() : type.name());
+
+        long presence = in.readVarLong();
+        event.setEventId(null);
+        if (version >= VERSION_2 && (presence & HAS_EVENT_ID) != 0) {
+            event.setEventId(new UUID(in.readFixedLong(), in.readFixedLong()));
+        }
+        long base = 0;
+        event.setEventTimestamp(null);
+        if ((presence & HAS_EVENT_TIMESTAMP) != 0) {
+            base = in.readZigZagLong();
+            event.setEventTimestamp(fromEpochMillis(base));
+        }
+        if ((presence & HAS_USER_ID) != 0) {
+            event.setUserId(in.readVarLong());
+        }
+        if ((presence & HAS_BOOK_ID) != 0) {
+            event.setBookId(in.readVarLong());
+        }
+        if ((presence & HAS_RENTAL_ID) != 0) {
+            event.setRentalId(in.readVarLong());
+        }
+        if ((presence & HAS_RENTAL_START) != 0) {
+            event.setRentalStartDate(fromEpochMillis(base + in.readZigZagLong()));
+        }
+        if ((presence & HAS_RENTAL_END) != 0) {
+            event.setRentalEndDate(fromEpochMillis(base + in.readZigZagLong()));
+        }
+        if ((presence & HAS_USER_EMAIL) != 0) {
+            event.setUserEmail(in.readString());
+        }
+        if ((presence & HAS_BOOK_TITLE) != 0) {
+            event.setBookTitle(in.readString());
+        }
+        if ((presence & HAS_BOOK_AUTHOR) != 0) {
+            event.setBookAuthor(in.readString());
+        }
+        return event;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    private static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
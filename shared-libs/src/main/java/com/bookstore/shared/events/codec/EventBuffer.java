@@ -0,0 +1,124 @@
+package main.java.com.bookstore.shared.events.codec;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that encoders write into. Meant to be reused: call {@link #reset()}
+ * before each event and the backing array only grows until it fits the largest event seen,
+ * after which encoding allocates nothing. Not thread-safe; keep one per producer thread.
+ */
+public final class EventBuffer {
+
+    private byte[] bytes;
+    private int position;
+
+    public EventBuffer() {
+        this(256);
+    }
+
+    public EventBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void reset() {
+        position = 0;
+    }
+
+    /**
+     * @return the backing array; only the first {@link #length()} bytes are valid
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    public int length() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, position);
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+    }
+
+    void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeZigZagLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes the string as a varint byte length followed by its UTF-8 encoding, without
+     * materializing an intermediate byte array.
+     */
+    void writeString(String value) {
+        int utf8Length = utf8Length(value);
+        writeVarLong(utf8Length);
+        ensureCapacity(utf8Length);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: encode as '?' like String.getBytes(UTF_8)
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int utf8 = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    utf8 += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    utf8 += 2;
+                }
+            } else if (c >= 0x80) {
+                utf8 += 1;
+            }
+        }
+        return utf8;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additional));
+        }
+    }
+}
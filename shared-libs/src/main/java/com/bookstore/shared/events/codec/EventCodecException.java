@@ -0,0 +1,11 @@
+package main.java.com.bookstore.shared.events.codec;
+
+/**
+ * Thrown when bytes cannot be decoded as an event of a supported schema version.
+ */
+public class EventCodecException extends RuntimeException {
+
+    public EventCodecException(String message) {
+        super(message);
+    }
+}
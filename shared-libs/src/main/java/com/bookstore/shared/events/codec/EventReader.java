@@ -0,0 +1,67 @@
+package main.java.com.bookstore.shared.events.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cursor over an encoded event.
+ */
+final class EventReader {
+
+    private final byte[] bytes;
+    private final int limit;
+    private int position;
+
+    EventReader(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new EventCodecException("Invalid range " + offset + "+" + length + " of " + bytes.length + " bytes");
+        }
+        this.bytes = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    int readByte() {
+        if (position >= limit) {
+            throw new EventCodecException("Truncated event");
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new EventCodecException("Malformed varint");
+    }
+
+    long readFixedLong() {
+        if (limit - position < 8) {
+            throw new EventCodecException("Truncated event");
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        long length = readVarLong();
+        if (length < 0 || length > limit - position) {
+            throw new EventCodecException("String length " + length + " exceeds event");
+        }
+        String value = new String(bytes, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        return value;
+    }
+}
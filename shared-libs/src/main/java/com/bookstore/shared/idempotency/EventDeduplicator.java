@@ -0,0 +1,116 @@
+package main.java.com.bookstore.shared.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Drops events that were processed before, for consumers of at-least-once deliveries.
+ * <p>
+ * The {@link ProcessedEventStore} is the authority: every id in a batch is claimed with a
+ * single insert in the caller's transaction, and the insert's conflicts are the duplicates. No
+ * event is ever read back first, so a batch costs one statement whether or not it was delivered
+ * before.
+ * <p>
+ * The {@link TimeBucketedBloomFilter} never decides anything, since a positive answer is only
+ * probable. It tells first deliveries from likely redeliveries in memory, so the redelivery rate
+ * and the filter's false positives can be watched without a query: {@link #getFilterHits()}
+ * counts ids the filter had seen, {@link #getDuplicates()} those the store rejected. Call
+ * {@link #warmUp(Duration)} before consuming so the counts hold across restarts, and purge the
+ * store with {@link #purgeOlderThan(Duration)} no sooner than redeliveries can arrive.
+ */
+public class EventDeduplicator<T> {
+
+    private final TimeBucketedBloomFilter filter;
+    private final ProcessedEventStore store;
+    private final Function<T, UUID> eventId;
+    private final Clock clock;
+
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public EventDeduplicator(TimeBucketedBloomFilter filter, ProcessedEventStore store,
+                             Function<T, UUID> eventId, Clock clock) {
+        this.filter = filter;
+        this.store = store;
+        this.eventId = eventId;
+        this.clock = clock;
+    }
+
+    /**
+     * Records the events as processed and returns those that were not processed before, in
+     * their original order. Must run in the transaction that applies the returned events so
+     * the claim rolls back with them. Events without an id are always returned.
+     */
+    public List<T> claimNew(List<T> events) {
+        long now = clock.millis();
+        Set<UUID> batchIds = new HashSet<>();
+        for (T event : events) {
+            UUID id = eventId.apply(event);
+            if (id == null || !batchIds.add(id)) {
+                continue;
+            }
+            if (filter.mightContain(id, now)) {
+                filterHits.increment();
+            }
+        }
+
+        Set<UUID> claimed = store.claim(batchIds, clock.instant());
+        for (UUID id : claimed) {
+            filter.put(id, now);
+        }
+
+        List<T> fresh = new ArrayList<>(claimed.size());
+        for (T event : events) {
+            UUID id = eventId.apply(event);
+            if (id == null || claimed.remove(id)) {
+                fresh.add(event);
+            }
+        }
+        duplicates.add(events.size() - fresh.size());
+        return fresh;
+    }
+
+    /**
+     * Loads the ids processed within {@code window} into the filter, so redeliveries right after
+     * a restart are recognised as such.
+     *
+     * @return the number of ids loaded
+     */
+    public int warmUp(Duration window) {
+        long now = clock.millis();
+        List<UUID> recent = store.findProcessedSince(clock.instant().minus(window));
+        for (UUID id : recent) {
+            filter.put(id, now);
+        }
+        return recent.size();
+    }
+
+    /**
+     * Deletes the claims older than {@code retention}. Redeliveries older than that are
+     * processed again, so it must exceed the longest time a message can wait for redelivery,
+     * and is never shorter than the filter's window.
+     *
+     * @return the number of claims deleted
+     */
+    public int purgeOlderThan(Duration retention) {
+        if (retention.toMillis() < filter.getWindowMillis()) {
+            throw new IllegalArgumentException("Retention " + retention + " is shorter than the dedupe window");
+        }
+        return store.purgeOlderThan(clock.instant().minus(retention));
+    }
+
+    public long getFilterHits() {
+        return filterHits.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+}
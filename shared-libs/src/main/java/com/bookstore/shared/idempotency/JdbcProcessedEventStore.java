@@ -0,0 +1,69 @@
+package main.java.com.bookstore.shared.idempotency;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@link ProcessedEventStore} on the PostgreSQL table from
+ * {@code classpath:db/idempotency/processed-events-postgresql.sql}. Ids are passed as one
+ * {@code uuid[]} parameter, so each call is a single statement regardless of batch size.
+ */
+public class JdbcProcessedEventStore implements ProcessedEventStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String consumer;
+
+    /**
+     * @param consumer name of the consuming component; ids are tracked per consumer so several
+     *                 consumers of the same event can share the table
+     */
+    public JdbcProcessedEventStore(JdbcTemplate jdbcTemplate, String consumer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public Set<UUID> claim(Collection<UUID> eventIds, Instant processedAt) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+                "INSERT INTO processed_events (consumer, event_id, processed_at) " +
+                        "SELECT ?, id, ? FROM unnest(?) AS t(id) " +
+                        "ON CONFLICT DO NOTHING RETURNING event_id",
+                ps -> {
+                    ps.setString(1, consumer);
+                    ps.setTimestamp(2, Timestamp.from(processedAt));
+                    ps.setArray(3, uuidArray(ps.getConnection(), eventIds));
+                },
+                (rs, rowNum) -> rs.getObject("event_id", UUID.class)));
+    }
+
+    @Override
+    public List<UUID> findProcessedSince(Instant since) {
+        return jdbcTemplate.query(
+                "SELECT event_id FROM processed_events WHERE consumer = ? AND processed_at >= ?",
+                (rs, rowNum) -> rs.getObject("event_id", UUID.class),
+                consumer, Timestamp.from(since));
+    }
+
+    @Override
+    public int purgeOlderThan(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM processed_events WHERE consumer = ? AND processed_at < ?",
+                consumer, Timestamp.from(cutoff));
+    }
+
+    private static Array uuidArray(Connection connection, Collection<UUID> ids) throws SQLException {
+        return connection.createArrayOf("uuid", ids.toArray());
+    }
+}
@@ -0,0 +1,30 @@
+package main.java.com.bookstore.shared.idempotency;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Durable record of the event ids a consumer has processed.
+ */
+public interface ProcessedEventStore {
+
+    /**
+     * Records the ids in the caller's transaction.
+     *
+     * @return the ids that were not recorded before; the others are duplicates
+     */
+    Set<UUID> claim(Collection<UUID> eventIds, Instant processedAt);
+
+    /**
+     * @return ids recorded at or after {@code since}, for warming the in-memory filter
+     */
+    List<UUID> findProcessedSince(Instant since);
+
+    /**
+     * @return the number of ids recorded before {@code cutoff} that were deleted
+     */
+    int purgeOlderThan(Instant cutoff);
+}
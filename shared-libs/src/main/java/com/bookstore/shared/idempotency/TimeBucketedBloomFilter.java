@@ -0,0 +1,149 @@
+package main.java.com.bookstore.shared.idempotency;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over a sliding time window, for "have I seen this id recently?" checks.
+ * <p>
+ * The window is split into {@code bucketCount} buckets of equal duration, each its own Bloom
+ * filter. Ids are added to the bucket of the current time slice and looked up in every bucket
+ * still inside the window; when time moves into a slice whose bucket holds an expired slice,
+ * that bucket is cleared and reused. Memory is therefore fixed and ids older than the window
+ * fall out in bucket-sized steps. Lookups and inserts are lock-free: {@code k} probes per live
+ * bucket derived from the id's two halves by double hashing, with bit arrays sized to a power
+ * of two so probes are masks, not divisions.
+ * <p>
+ * A negative answer is definite for ids added within the window; a positive one is wrong with
+ * roughly {@code bucketCount * fpp} probability.
+ */
+public class TimeBucketedBloomFilter {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final int hashCount;
+    private final long bitMask;
+
+    private static final class Bucket {
+        final AtomicLongArray words;
+        volatile long slice = Long.MIN_VALUE;
+
+        Bucket(int wordCount) {
+            this.words = new AtomicLongArray(wordCount);
+        }
+    }
+
+    /**
+     * @param windowMillis          how long an id is remembered, at least
+     * @param bucketCount           number of slices the window is split into
+     * @param expectedPerBucket     ids expected per slice
+     * @param falsePositiveRate     target false-positive rate of a single bucket
+     */
+    public TimeBucketedBloomFilter(long windowMillis, int bucketCount, int expectedPerBucket,
+                                   double falsePositiveRate) {
+        if (windowMillis <= 0 || bucketCount < 1 || expectedPerBucket < 1
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter dimensions");
+        }
+        double optimalBits = -expectedPerBucket * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Long.highestOneBit(Math.max(64, (long) Math.ceil(optimalBits)) - 1) << 1;
+        if (bits > (long) Integer.MAX_VALUE * Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter bucket too large");
+        }
+        this.bitMask = bits - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bits / expectedPerBucket * Math.log(2)));
+        // One extra bucket so a full window of slices survives next to the one being filled
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.buckets = new Bucket[bucketCount + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket((int) (bits / Long.SIZE));
+        }
+    }
+
+    public void put(UUID id, long nowMillis) {
+        put(id.getMostSignificantBits(), id.getLeastSignificantBits(), nowMillis);
+    }
+
+    public void put(long high, long low, long nowMillis) {
+        long slice = Math.floorDiv(nowMillis, bucketMillis);
+        Bucket bucket = currentBucket(slice);
+        long h1 = mix(high ^ Long.rotateLeft(low, 32));
+        long h2 = mix(low + 0x9E3779B97F4A7C15L) | 1;
+        AtomicLongArray words = bucket.words;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            if ((word & mask) == 0) {
+                words.getAndAccumulate(index, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID id, long nowMillis) {
+        return mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits(), nowMillis);
+    }
+
+    public boolean mightContain(long high, long low, long nowMillis) {
+        long slice = Math.floorDiv(nowMillis, bucketMillis);
+        long h1 = mix(high ^ Long.rotateLeft(low, 32));
+        long h2 = mix(low + 0x9E3779B97F4A7C15L) | 1;
+        for (Bucket bucket : buckets) {
+            long bucketSlice = bucket.slice;
+            if (bucketSlice > slice || slice - bucketSlice >= buckets.length) {
+                continue;
+            }
+            if (containsAll(bucket.words, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return the longest an id can be remembered: the window plus the slice being filled
+     */
+    public long getWindowMillis() {
+        return bucketMillis * buckets.length;
+    }
+
+    private boolean containsAll(AtomicLongArray words, long h1, long h2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Bucket currentBucket(long slice) {
+        Bucket bucket = buckets[(int) Math.floorMod(slice, (long) buckets.length)];
+        if (bucket.slice != slice) {
+            synchronized (bucket) {
+                if (bucket.slice < slice) {
+                    bucket.slice = Long.MIN_VALUE;
+                    for (int i = 0; i < bucket.words.length(); i++) {
+                        bucket.words.set(i, 0);
+                    }
+                    bucket.slice = slice;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Stafford variant 13 of the MurmurHash3 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
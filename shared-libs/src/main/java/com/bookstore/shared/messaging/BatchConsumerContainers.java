@@ -0,0 +1,55 @@
+package main.java.com.bookstore.shared.messaging;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+/**
+ * Builds listener containers and queues for {@link BatchingEventListener}s.
+ */
+public final class BatchConsumerContainers {
+
+    public static final String DEAD_LETTER_SUFFIX = ".dlq";
+
+    private BatchConsumerContainers() {
+    }
+
+    /**
+     * Creates a container that delivers up to {@code batchSize} messages per call with manual
+     * acknowledgement. The caller registers it as a bean so its lifecycle is managed.
+     */
+    public static SimpleMessageListenerContainer create(ConnectionFactory connectionFactory, String queueName,
+                                                        BatchingEventListener<?> listener,
+                                                        BatchConsumerProperties properties) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(queueName);
+        container.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        container.setConsumerBatchEnabled(true);
+        container.setDeBatchingEnabled(true);
+        container.setBatchSize(properties.getBatchSize());
+        container.setPrefetchCount(Math.max(properties.getPrefetch(), properties.getBatchSize()));
+        container.setReceiveTimeout(properties.getReceiveTimeout().toMillis());
+        container.setConcurrentConsumers(properties.getConcurrentConsumers());
+        container.setMaxConcurrentConsumers(Math.max(properties.getMaxConcurrentConsumers(),
+                properties.getConcurrentConsumers()));
+        container.setDefaultRequeueRejected(false);
+        container.setMessageListener(listener);
+        return container;
+    }
+
+    /**
+     * Declares a durable queue whose rejected messages are dead-lettered through the default
+     * exchange to {@code <queueName>.dlq}.
+     */
+    public static Declarables deadLetteredQueue(String queueName) {
+        Queue deadLetterQueue = QueueBuilder.durable(queueName + DEAD_LETTER_SUFFIX).build();
+        Queue queue = QueueBuilder.durable(queueName)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(deadLetterQueue.getName())
+                .build();
+        return new Declarables(queue, deadLetterQueue);
+    }
+}
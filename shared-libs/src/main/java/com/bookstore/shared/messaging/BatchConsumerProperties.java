@@ -0,0 +1,83 @@
+package main.java.com.bookstore.shared.messaging;
+
+import java.time.Duration;
+
+/**
+ * Tuning of a batched consumer. Bind per listener, e.g. with
+ * {@code @ConfigurationProperties("messaging.rental-events")} on a bean method.
+ */
+public class BatchConsumerProperties {
+
+    /**
+     * Messages handed to the handler at once.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Unacknowledged messages the broker may push per consumer. Should exceed the batch size
+     * so the next batch is already buffered while the current one is written.
+     */
+    private int prefetch = 250;
+
+    /**
+     * How long to wait for more messages before handing over a partial batch.
+     */
+    private Duration receiveTimeout = Duration.ofMillis(200);
+
+    private int concurrentConsumers = 1;
+
+    private int maxConcurrentConsumers = 1;
+
+    /**
+     * Pause before a batch that failed transiently is requeued.
+     */
+    private Duration transientFailureBackoff = Duration.ofSeconds(1);
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public void setPrefetch(int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public Duration getReceiveTimeout() {
+        return receiveTimeout;
+    }
+
+    public void setReceiveTimeout(Duration receiveTimeout) {
+        this.receiveTimeout = receiveTimeout;
+    }
+
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    public int getMaxConcurrentConsumers() {
+        return maxConcurrentConsumers;
+    }
+
+    public void setMaxConcurrentConsumers(int maxConcurrentConsumers) {
+        this.maxConcurrentConsumers = maxConcurrentConsumers;
+    }
+
+    public Duration getTransientFailureBackoff() {
+        return transientFailureBackoff;
+    }
+
+    public void setTransientFailureBackoff(Duration transientFailureBackoff) {
+        this.transientFailureBackoff = transientFailureBackoff;
+    }
+}
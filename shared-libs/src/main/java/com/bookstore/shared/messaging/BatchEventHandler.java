@@ -0,0 +1,14 @@
+package main.java.com.bookstore.shared.messaging;
+
+import java.util.List;
+
+/**
+ * Processes a batch of decoded events, typically with one set-based write (a JDBC batch or
+ * a multi-row upsert) in a single transaction. Must be idempotent: a failed batch is split
+ * and redelivered parts are handled again.
+ */
+@FunctionalInterface
+public interface BatchEventHandler<T> {
+
+    void handle(List<T> events);
+}
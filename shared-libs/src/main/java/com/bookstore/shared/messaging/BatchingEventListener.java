@@ -0,0 +1,192 @@
+package main.java.com.bookstore.shared.messaging;
+
+import com.rabbitmq.client.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+
+import java.io.IOException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Batch listener with manual acknowledgement: decodes a delivered batch, hands it to the
+ * handler in one call and acknowledges it with a single multiple-ack.
+ * <p>
+ * Messages that fail to decode are rejected without requeue, which routes them to the
+ * queue's dead-letter queue (see {@link BatchConsumerContainers#deadLetteredQueue}). If the
+ * handler fails, the batch is bisected until the offending messages are isolated and
+ * dead-lettered, so one poison message costs a few extra handler calls instead of the whole
+ * batch. Failures classified as transient (database unavailable, lock timeouts) instead
+ * requeue everything that is not acknowledged yet after a pause, since splitting the batch
+ * would not help. Rejections always go out before the multiple-ack so it cannot cover them.
+ */
+public class BatchingEventListener<T> implements ChannelAwareBatchMessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingEventListener.class);
+
+    private static final List<String> TRANSIENT_EXCEPTION_TYPES = List.of(
+            "org.springframework.dao.TransientDataAccessException",
+            "org.springframework.dao.RecoverableDataAccessException",
+            "org.springframework.transaction.CannotCreateTransactionException");
+
+    private final EventDecoder<T> decoder;
+    private final BatchEventHandler<T> handler;
+    private final Predicate<Throwable> transientFailure;
+    private final Duration transientFailureBackoff;
+
+    private final AtomicLong handled = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong requeued = new AtomicLong();
+
+    public BatchingEventListener(EventDecoder<T> decoder, BatchEventHandler<T> handler,
+                                 BatchConsumerProperties properties) {
+        this(decoder, handler, BatchingEventListener::isTransient, properties.getTransientFailureBackoff());
+    }
+
+    public BatchingEventListener(EventDecoder<T> decoder, BatchEventHandler<T> handler,
+                                 Predicate<Throwable> transientFailure, Duration transientFailureBackoff) {
+        this.decoder = decoder;
+        this.handler = handler;
+        this.transientFailure = transientFailure;
+        this.transientFailureBackoff = transientFailureBackoff;
+    }
+
+    @Override
+    public void onMessageBatch(List<Message> messages, Channel channel) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<T> events = new ArrayList<>(messages.size());
+        List<Message> decoded = new ArrayList<>(messages.size());
+        List<Message> poison = new ArrayList<>();
+        long lastTag = 0;
+        for (Message message : messages) {
+            lastTag = Math.max(lastTag, message.getMessageProperties().getDeliveryTag());
+            try {
+                events.add(decoder.decode(message));
+                decoded.add(message);
+            } catch (RuntimeException e) {
+                log.warn("Dead-lettering undecodable message {}: {}", describe(message), e.getMessage());
+                poison.add(message);
+            }
+        }
+
+        try {
+            handleIsolatingPoison(events, decoded, poison);
+        } catch (TransientBatchFailure e) {
+            log.warn("Batch of {} messages failed transiently, requeueing: {}", messages.size(),
+                    e.getCause().getMessage());
+            reject(channel, poison);
+            pause();
+            nack(channel, lastTag, true, true);
+            requeued.addAndGet(messages.size() - poison.size());
+            return;
+        }
+
+        reject(channel, poison);
+        if (poison.size() < messages.size()) {
+            try {
+                channel.basicAck(lastTag, true);
+            } catch (IOException e) {
+                throw new AmqpIOException(e);
+            }
+        }
+        handled.addAndGet(messages.size() - poison.size());
+    }
+
+    public long getHandled() {
+        return handled.get();
+    }
+
+    public long getDeadLettered() {
+        return deadLettered.get();
+    }
+
+    public long getRequeued() {
+        return requeued.get();
+    }
+
+    private void handleIsolatingPoison(List<T> events, List<Message> messages, List<Message> poison) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            handler.handle(events);
+        } catch (RuntimeException e) {
+            if (transientFailure.test(e)) {
+                throw new TransientBatchFailure(e);
+            }
+            if (events.size() == 1) {
+                log.warn("Dead-lettering message {} rejected by handler: {}", describe(messages.get(0)), e.getMessage());
+                poison.add(messages.get(0));
+                return;
+            }
+            int mid = events.size() / 2;
+            handleIsolatingPoison(events.subList(0, mid), messages.subList(0, mid), poison);
+            handleIsolatingPoison(events.subList(mid, events.size()), messages.subList(mid, messages.size()), poison);
+        }
+    }
+
+    private void reject(Channel channel, List<Message> poison) {
+        for (Message message : poison) {
+            nack(channel, message.getMessageProperties().getDeliveryTag(), false, false);
+        }
+        deadLettered.addAndGet(poison.size());
+        poison.clear();
+    }
+
+    private static void nack(Channel channel, long deliveryTag, boolean multiple, boolean requeue) {
+        try {
+            channel.basicNack(deliveryTag, multiple, requeue);
+        } catch (IOException e) {
+            throw new AmqpIOException(e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(transientFailureBackoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String describe(Message message) {
+        String id = message.getMessageProperties().getMessageId();
+        return id != null ? id : "#" + message.getMessageProperties().getDeliveryTag();
+    }
+
+    /**
+     * Default classification: SQL transient/recoverable errors and Spring's transient data
+     * access exceptions anywhere in the cause chain. Matched by name so the listener does not
+     * require spring-jdbc on the classpath.
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SQLTransientException || t instanceof SQLRecoverableException) {
+                return true;
+            }
+            for (Class<?> type = t.getClass(); type != null; type = type.getSuperclass()) {
+                if (TRANSIENT_EXCEPTION_TYPES.contains(type.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class TransientBatchFailure extends RuntimeException {
+
+        TransientBatchFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package main.java.com.bookstore.shared.messaging;
+
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.events.codec.BookRentalEventCodec;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Decodes {@link BookRentalEvent}s in the binary codec format, falling back to another
+ * converter (usually the JSON one) for other content types so producers can migrate
+ * independently of consumers.
+ */
+public class BookRentalEventDecoder implements EventDecoder<BookRentalEvent> {
+
+    private final BookRentalEventCodec codec = new BookRentalEventCodec();
+    private final MessageConverter fallback;
+
+    public BookRentalEventDecoder() {
+        this(null);
+    }
+
+    public BookRentalEventDecoder(MessageConverter fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public BookRentalEvent decode(Message message) {
+        if (BookRentalEventCodec.CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            byte[] body = message.getBody();
+            return codec.decode(body, 0, body.length);
+        }
+        if (fallback == null) {
+            throw new MessageConversionException("Unsupported content type "
+                    + message.getMessageProperties().getContentType());
+        }
+        Object converted = fallback.fromMessage(message);
+        if (!(converted instanceof BookRentalEvent event)) {
+            throw new MessageConversionException("Expected a BookRentalEvent but got "
+                    + (converted != null ? converted.getClass().getName() : "null"));
+        }
+        return event;
+    }
+}
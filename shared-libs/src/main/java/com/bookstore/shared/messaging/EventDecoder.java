@@ -0,0 +1,12 @@
+package main.java.com.bookstore.shared.messaging;
+
+import org.springframework.amqp.core.Message;
+
+/**
+ * Turns an AMQP message into an event. Any exception marks the message as poison.
+ */
+@FunctionalInterface
+public interface EventDecoder<T> {
+
+    T decode(Message message);
+}
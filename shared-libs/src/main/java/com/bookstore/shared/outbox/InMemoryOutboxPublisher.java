@@ -0,0 +1,67 @@
+package main.java.com.bookstore.shared.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * In-process broker stand-in for tests and local runs. Records every confirmed message and
+ * can simulate broker round-trip latency and rejections.
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Predicate<OutboxMessage> rejecting = message -> false;
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Messages matching the predicate are nacked instead of published.
+     */
+    public void setRejecting(Predicate<OutboxMessage> rejecting) {
+        this.rejecting = rejecting;
+    }
+
+    @Override
+    public Set<Long> publish(List<OutboxMessage> batch, Duration confirmTimeout) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Set.of();
+            }
+        }
+        if (latency.compareTo(confirmTimeout) > 0) {
+            return Set.of();
+        }
+        Set<Long> confirmed = new HashSet<>();
+        synchronized (published) {
+            for (OutboxMessage message : batch) {
+                if (!rejecting.test(message)) {
+                    published.add(message);
+                    confirmed.add(message.id());
+                }
+            }
+        }
+        return confirmed;
+    }
+
+    public List<OutboxMessage> getPublished() {
+        synchronized (published) {
+            return new ArrayList<>(published);
+        }
+    }
+
+    public void clear() {
+        synchronized (published) {
+            published.clear();
+        }
+    }
+}
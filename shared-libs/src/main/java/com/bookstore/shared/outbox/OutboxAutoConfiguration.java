@@ -0,0 +1,56 @@
+package main.java.com.bookstore.shared.outbox;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wires the outbox for services that set {@code outbox.enabled=true}. The table is created
+ * from {@code classpath:db/outbox/outbox-postgresql.sql}.
+ */
+@AutoConfiguration(after = {JdbcTemplateAutoConfiguration.class, TransactionAutoConfiguration.class,
+        RabbitAutoConfiguration.class})
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RabbitTemplate.class)
+    static class RabbitPublisherConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(OutboxPublisher.class)
+        @ConditionalOnBean(RabbitTemplate.class)
+        public OutboxPublisher rabbitOutboxPublisher(RabbitTemplate rabbitTemplate) {
+            return new RabbitOutboxPublisher(rabbitTemplate);
+        }
+    }
+
+    @Bean
+    @ConditionalOnBean(OutboxPublisher.class)
+    @ConditionalOnProperty(prefix = "outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   OutboxPublisher publisher, OutboxProperties properties) {
+        return new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), publisher, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxWriter outboxWriter(JdbcTemplate jdbcTemplate, ObjectProvider<OutboxRelay> relay) {
+        return new OutboxWriter(jdbcTemplate, () -> relay.ifAvailable(OutboxRelay::wakeUp));
+    }
+}
@@ -0,0 +1,19 @@
+package main.java.com.bookstore.shared.outbox;
+
+import java.time.Instant;
+
+/**
+ * A pending outbox row: an already serialized message and where to publish it.
+ *
+ * @param messageKey optional aggregate key (e.g. the rental id) that consumers may use for ordering
+ */
+public record OutboxMessage(long id,
+                            String exchange,
+                            String routingKey,
+                            String eventType,
+                            String messageKey,
+                            String contentType,
+                            byte[] payload,
+                            int attempts,
+                            Instant createdAt) {
+}
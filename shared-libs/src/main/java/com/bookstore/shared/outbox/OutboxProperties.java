@@ -0,0 +1,92 @@
+package main.java.com.bookstore.shared.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the transactional outbox. The outbox is opt-in per service.
+ */
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Whether this instance runs a relay. Writers work without one, e.g. on instances that
+     * only produce events while others relay them.
+     */
+    private boolean relayEnabled = true;
+
+    private int batchSize = 200;
+
+    /**
+     * How often an idle relay polls; commits on this instance wake it up immediately.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Delay before a message the broker did not confirm is retried, doubled per attempt.
+     */
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    private Duration maxRetryDelay = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRelayEnabled() {
+        return relayEnabled;
+    }
+
+    public void setRelayEnabled(boolean relayEnabled) {
+        this.relayEnabled = relayEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getConfirmTimeout() {
+        return confirmTimeout;
+    }
+
+    public void setConfirmTimeout(Duration confirmTimeout) {
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    public void setRetryDelay(Duration retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public Duration getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+    public void setMaxRetryDelay(Duration maxRetryDelay) {
+        this.maxRetryDelay = maxRetryDelay;
+    }
+}
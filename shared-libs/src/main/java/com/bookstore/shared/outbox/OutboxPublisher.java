@@ -0,0 +1,18 @@
+package main.java.com.bookstore.shared.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hands a batch of outbox messages to the broker.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes the batch and waits up to {@code confirmTimeout} for the broker to confirm it.
+     *
+     * @return ids of the messages the broker confirmed; everything else is retried later
+     */
+    Set<Long> publish(List<OutboxMessage> batch, Duration confirmTimeout);
+}
@@ -0,0 +1,192 @@
+package main.java.com.bookstore.shared.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves committed outbox rows to the broker on a dedicated thread.
+ * <p>
+ * Each round claims up to {@code batchSize} due rows with {@code FOR UPDATE SKIP LOCKED}, so
+ * relays on several instances share the table without handing out a row twice, publishes the
+ * batch, waits for the broker's confirms and deletes the confirmed rows in one statement.
+ * Unconfirmed rows are pushed back with an exponential delay. A full batch is followed by
+ * another round straight away; otherwise the relay sleeps until the poll interval elapses or
+ * a local commit wakes it up. Delivery is at-least-once: a crash between confirm and delete
+ * republishes the batch.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_SQL = "SELECT id, exchange, routing_key, event_type, message_key, " +
+            "content_type, payload, attempts, created_at FROM outbox_events " +
+            "WHERE available_at <= ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String RETRY_SQL = "UPDATE outbox_events SET attempts = attempts + 1, available_at = ? " +
+            "WHERE id = ?";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("exchange"),
+            rs.getString("routing_key"),
+            rs.getString("event_type"),
+            rs.getString("message_key"),
+            rs.getString("content_type"),
+            rs.getBytes("payload"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxPublisher publisher;
+    private final OutboxProperties properties;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       OutboxPublisher publisher, OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publisher = publisher;
+        this.properties = properties;
+    }
+
+    /**
+     * Asks the relay to run a round now instead of at the next poll; never blocks.
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    public long getPublished() {
+        return published.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    /**
+     * Runs a single relay round on the calling thread.
+     *
+     * @return the number of rows claimed
+     */
+    public int relayOnce() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxMessage> batch = jdbcTemplate.query(SELECT_SQL, MESSAGE_MAPPER,
+                    Timestamp.from(now), properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            Set<Long> confirmed = publisher.publish(batch, properties.getConfirmTimeout());
+            delete(confirmed);
+            reschedule(batch, confirmed, now);
+            return batch.size();
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::relayLoop, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            wakeUp();
+            try {
+                thread.join(properties.getConfirmTimeout().plusSeconds(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        long failureBackoffMs = 0;
+        while (running) {
+            try {
+                if (relayOnce() >= properties.getBatchSize()) {
+                    continue;
+                }
+                failureBackoffMs = 0;
+            } catch (RuntimeException e) {
+                failureBackoffMs = Math.min(Math.max(failureBackoffMs * 2, properties.getPollInterval().toMillis()),
+                        properties.getMaxRetryDelay().toMillis());
+                log.warn("Outbox relay round failed, retrying in {} ms: {}", failureBackoffMs, e.getMessage());
+            }
+            try {
+                long waitMs = failureBackoffMs > 0 ? failureBackoffMs : properties.getPollInterval().toMillis();
+                wakeUps.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void delete(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN (" + placeholders + ")", ids.toArray());
+        published.addAndGet(ids.size());
+    }
+
+    private void reschedule(List<OutboxMessage> batch, Set<Long> confirmed, Instant now) {
+        List<OutboxMessage> failed = new ArrayList<>(batch.size() - confirmed.size());
+        for (OutboxMessage message : batch) {
+            if (!confirmed.contains(message.id())) {
+                failed.add(message);
+            }
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RETRY_SQL, failed, failed.size(), (ps, message) -> {
+            ps.setTimestamp(1, Timestamp.from(now.plus(retryDelay(message.attempts()))));
+            ps.setLong(2, message.id());
+        });
+        retried.addAndGet(failed.size());
+    }
+
+    private Duration retryDelay(int attempts) {
+        Duration max = properties.getMaxRetryDelay();
+        Duration delay = properties.getRetryDelay().multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+}
@@ -0,0 +1,101 @@
+package main.java.com.bookstore.shared.outbox;
+
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import main.java.com.bookstore.shared.events.codec.BookRentalEventCodec;
+import main.java.com.bookstore.shared.events.codec.EventBuffer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends messages to the outbox table inside the caller's transaction, so they become
+ * visible exactly when the business change commits. Nothing here talks to the broker; the
+ * only extra commit cost is the insert. After a commit the relay is nudged so delivery
+ * latency does not depend on the poll interval.
+ */
+public class OutboxWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (exchange, routing_key, event_type, " +
+            "message_key, content_type, payload, attempts, available_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Runnable onCommit;
+    private final BookRentalEventCodec codec = new BookRentalEventCodec();
+    private final ThreadLocal<EventBuffer> buffers = ThreadLocal.withInitial(EventBuffer::new);
+
+    /**
+     * @param onCommit invoked after a transaction that appended messages commits, may be a no-op
+     */
+    public OutboxWriter(JdbcTemplate jdbcTemplate, Runnable onCommit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.onCommit = onCommit;
+    }
+
+    public void append(String exchange, String routingKey, String eventType, String messageKey,
+                       String contentType, byte[] payload) {
+        requireTransaction();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(INSERT_SQL, exchange, routingKey, eventType, messageKey, contentType, payload, now, now);
+    }
+
+    /**
+     * Appends the event in the binary {@link BookRentalEventCodec} encoding, keyed by rental id.
+     */
+    public void append(String exchange, String routingKey, BookRentalEvent event) {
+        append(exchange, routingKey, event.getEventType(), messageKey(event),
+                BookRentalEventCodec.CONTENT_TYPE, encode(event));
+    }
+
+    public void appendAll(String exchange, String routingKey, List<BookRentalEvent> events) {
+        requireTransaction();
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, exchange);
+            ps.setString(2, routingKey);
+            ps.setString(3, event.getEventType());
+            ps.setString(4, messageKey(event));
+            ps.setString(5, BookRentalEventCodec.CONTENT_TYPE);
+            ps.setBytes(6, encode(event));
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    private byte[] encode(BookRentalEvent event) {
+        EventBuffer buffer = buffers.get();
+        buffer.reset();
+        codec.encode(event, buffer);
+        return buffer.toByteArray();
+    }
+
+    private static String messageKey(BookRentalEvent event) {
+        return event.getRentalId() != null ? String.valueOf(event.getRentalId()) : null;
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox messages must be appended inside the transaction " +
+                    "that makes the corresponding change");
+        }
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                    if (status == STATUS_COMMITTED) {
+                        onCommit.run();
+                    }
+                }
+            });
+        }
+    }
+}
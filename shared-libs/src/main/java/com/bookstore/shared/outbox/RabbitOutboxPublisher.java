@@ -0,0 +1,90 @@
+package main.java.com.bookstore.shared.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox batches through RabbitMQ with correlated publisher confirms: the whole
+ * batch is sent first and the confirms are awaited afterwards, so a batch costs one broker
+ * round trip rather than one per message. Requires
+ * {@code spring.rabbitmq.publisher-confirm-type=correlated}; with
+ * {@code spring.rabbitmq.template.mandatory=true} unroutable messages count as failed too.
+ */
+public class RabbitOutboxPublisher implements OutboxPublisher {
+
+    public static final String MESSAGE_KEY_HEADER = "x-message-key";
+
+    private static final Logger log = LoggerFactory.getLogger(RabbitOutboxPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public RabbitOutboxPublisher(RabbitTemplate rabbitTemplate) {
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            throw new IllegalStateException(
+                    "Outbox publishing needs spring.rabbitmq.publisher-confirm-type=correlated");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public Set<Long> publish(List<OutboxMessage> batch, Duration confirmTimeout) {
+        List<CorrelationData> pending = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(message.id()));
+            rabbitTemplate.send(message.exchange(), message.routingKey(), toAmqpMessage(message), correlation);
+            pending.add(correlation);
+        }
+
+        Set<Long> confirmed = new HashSet<>();
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        for (CorrelationData correlation : pending) {
+            try {
+                CorrelationData.Confirm confirm = correlation.getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.isAck() && correlation.getReturned() == null) {
+                    confirmed.add(Long.parseLong(correlation.getId()));
+                } else {
+                    log.warn("Outbox message {} not accepted by broker: {}", correlation.getId(),
+                            confirm.isAck() ? "returned as unroutable" : confirm.getReason());
+                }
+            } catch (TimeoutException e) {
+                log.warn("Timed out waiting for confirms, {} of {} messages confirmed", confirmed.size(), batch.size());
+                break;
+            } catch (ExecutionException e) {
+                log.warn("Outbox message {} failed: {}", correlation.getId(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return confirmed;
+    }
+
+    private static Message toAmqpMessage(OutboxMessage message) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(message.contentType());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setType(message.eventType());
+        properties.setMessageId("outbox-" + message.id());
+        properties.setTimestamp(Date.from(message.createdAt()));
+        if (message.messageKey() != null) {
+            properties.setHeader(MESSAGE_KEY_HEADER, message.messageKey());
+        }
+        return new Message(message.payload(), properties);
+    }
+}
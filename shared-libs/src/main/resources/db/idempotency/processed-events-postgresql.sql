@@ -0,0 +1,10 @@
+-- Event ids already handled, per consumer; read by JdbcProcessedEventStore
+CREATE TABLE IF NOT EXISTS processed_events (
+    consumer VARCHAR(100) NOT NULL,
+    event_id UUID NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (consumer, event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at
+    ON processed_events (consumer, processed_at);
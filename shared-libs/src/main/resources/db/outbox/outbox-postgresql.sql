@@ -0,0 +1,16 @@
+-- Transactional outbox drained by OutboxRelay
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    exchange VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(255) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    message_key VARCHAR(255),
+    content_type VARCHAR(100) NOT NULL,
+    payload BYTEA NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_available
+    ON outbox_events (available_at, id);
@@ -0,0 +1,105 @@
+package main.java.com.bookstore.shared.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary event codec with the Jackson JSON form currently put on the wire.
+ * <p>
+ * Run from {@code shared-libs} with
+ * {@code mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=main.java.com.bookstore.shared.events.codec.BookRentalEventCodecBenchmark};
+ * the encoded size of each format is printed before the JMH run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookRentalEventCodecBenchmark {
+
+    private final BookRentalEventCodec codec = new BookRentalEventCodec();
+    private final EventBuffer buffer = new EventBuffer();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private BookRentalEvent event;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        event = sampleEvent();
+        binary = codec.encode(event);
+        json = objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public int binaryEncode() {
+        buffer.reset();
+        codec.encode(event, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public BookRentalEvent binaryDecode() {
+        return codec.decode(binary, 0, binary.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public BookRentalEvent jsonDecode() throws Exception {
+        return objectMapper.readValue(json, BookRentalEvent.class);
+    }
+
+    static BookRentalEvent sampleEvent() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+        BookRentalEvent event = new BookRentalEvent(BookRentalEvent.EventTypes.RENTAL_CREATED, 48213L, 1742L, 918274L);
+        event.setEventTimestamp(start);
+        event.setRentalStartDate(start);
+        event.setRentalEndDate(start.plusDays(14));
+        event.setUserEmail("jane.doe@example.com");
+        event.setBookTitle("The Pragmatic Programmer");
+        event.setBookAuthor("Andrew Hunt, David Thomas");
+        return event;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BookRentalEvent event = sampleEvent();
+        int binarySize = new BookRentalEventCodec().encode(event).length;
+        int jsonSize = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(event).length;
+        System.out.printf("bytes/event: binary=%d json=%d (%.1fx smaller)%n",
+                binarySize, jsonSize, (double) jsonSize / binarySize);
+
+        Options options = new OptionsBuilder()
+                .include(BookRentalEventCodecBenchmark.class.getSimpleName())
+                .build();
+        run(options);
+    }
+
+    private static void run(Options options) throws RunnerException {
+        new Runner(options).run();
+    }
+}
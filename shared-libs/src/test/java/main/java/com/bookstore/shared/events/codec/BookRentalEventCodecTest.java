@@ -0,0 +1,184 @@
+package main.java.com.bookstore.shared.events.codec;
+
+import main.java.com.bookstore.shared.events.BookRentalEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips through {@link BookRentalEventCodec}, including the version 1 layout still on
+ * queues and the fields the JSON form may leave out.
+ */
+class BookRentalEventCodecTest {
+
+    private final BookRentalEventCodec codec = new BookRentalEventCodec();
+
+    @Test
+    void roundTripsEveryField() {
+        BookRentalEvent event = sampleEvent();
+
+        BookRentalEvent decoded = codec.decode(codec.encode(event));
+
+        assertSameEvent(event, decoded);
+    }
+
+    @Test
+    void decodesVersion1WithoutEventId() {
+        BookRentalEvent event = sampleEvent();
+        event.setEventId(null);
+        byte[] bytes = codec.encode(event);
+        // Without an id the version 2 layout is the version 1 layout
+        bytes[0] = BookRentalEventCodec.VERSION_1;
+
+        BookRentalEvent decoded = codec.decode(bytes);
+
+        assertNull(decoded.getEventId());
+        assertSameEvent(event, decoded);
+    }
+
+    @Test
+    void keepsNullFieldsNull() {
+        BookRentalEvent event = new BookRentalEvent();
+        event.setEventId(null);
+        event.setEventTimestamp(null);
+        event.setEventType(BookRentalEvent.EventTypes.RENTAL_RETURNED);
+
+        BookRentalEvent decoded = codec.decode(codec.encode(event));
+
+        assertSameEvent(event, decoded);
+        assertNull(decoded.getEventId());
+        assertNull(decoded.getEventTimestamp());
+        assertNull(decoded.getUserId());
+        assertNull(decoded.getRentalStartDate());
+        assertNull(decoded.getBookTitle());
+    }
+
+    @Test
+    void encodesRentalDatesRelativeToAMissingTimestamp() {
+        BookRentalEvent event = sampleEvent();
+        event.setEventTimestamp(null);
+
+        assertSameEvent(event, codec.decode(codec.encode(event)));
+    }
+
+    @Test
+    void carriesUnknownTypeNamesAsStrings() {
+        BookRentalEvent event = sampleEvent();
+        event.setEventType("RENTAL_LOST");
+
+        assertEquals("RENTAL_LOST", codec.decode(codec.encode(event)).getEventType());
+    }
+
+    @Test
+    void decodesAMissingTypeNameAsEmpty() {
+        BookRentalEvent event = sampleEvent();
+        event.setEventType(null);
+
+        assertEquals("", codec.decode(codec.encode(event)).getEventType());
+    }
+
+    @Test
+    void encodesNonBmpCharactersAsFourByteUtf8() {
+        String title = "Stars \uD83D\uDCDA and \uD801\uDC37 in \u00E9t\u00E9 \u6F22\u5B57";
+        BookRentalEvent event = sampleEvent();
+        event.setBookTitle(title);
+        event.setBookAuthor("\uD83D\uDE00");
+
+        byte[] bytes = codec.encode(event);
+        BookRentalEvent decoded = codec.decode(bytes);
+
+        assertEquals(title, decoded.getBookTitle());
+        assertEquals("\uD83D\uDE00", decoded.getBookAuthor());
+        byte[] utf8 = title.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(utf8, slice(bytes, indexOf(bytes, utf8), utf8.length));
+    }
+
+    @Test
+    void encodesUnpairedSurrogatesLikeTheJdk() {
+        String title = "broken \uD83D end";
+        BookRentalEvent event = sampleEvent();
+        event.setBookTitle(title);
+
+        String expected = new String(title.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        assertEquals(expected, codec.decode(codec.encode(event)).getBookTitle());
+    }
+
+    @Test
+    void rejectsUnsupportedVersionsAndTruncatedInput() {
+        byte[] bytes = codec.encode(sampleEvent());
+        byte[] future = bytes.clone();
+        future[0] = 3;
+
+        assertThrows(EventCodecException.class, () -> codec.decode(future));
+        assertThrows(EventCodecException.class, () -> codec.decode(bytes, 0, bytes.length - 1));
+    }
+
+    @Test
+    void encodesIntoAReusedBuffer() {
+        EventBuffer buffer = new EventBuffer(8);
+        BookRentalEvent first = sampleEvent();
+        BookRentalEvent second = sampleEvent();
+        second.setRentalId(Long.MAX_VALUE);
+
+        codec.encode(first, buffer);
+        buffer.reset();
+        codec.encode(second, buffer);
+
+        assertSameEvent(second, codec.decode(buffer.array(), 0, buffer.length()));
+    }
+
+    private static BookRentalEvent sampleEvent() {
+        BookRentalEvent event = new BookRentalEvent(BookRentalEvent.EventTypes.RENTAL_CREATED, 42L, 1_234_567L, 98_765L);
+        event.setEventId(UUID.fromString("3f1c9a2e-8d4b-4e6f-9a1b-2c3d4e5f6a7b"));
+        event.setEventTimestamp(LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_000_000));
+        event.setRentalStartDate(LocalDateTime.of(2024, 3, 15, 10, 30, 45));
+        event.setRentalEndDate(LocalDateTime.of(2024, 3, 29, 23, 59, 59, 999_000_000));
+        event.setUserEmail("reader@example.com");
+        event.setBookTitle("The Pragmatic Programmer");
+        event.setBookAuthor("Andrew Hunt");
+        return event;
+    }
+
+    private static void assertSameEvent(BookRentalEvent expected, BookRentalEvent actual) {
+        assertEquals(expected.getEventId(), actual.getEventId());
+        assertEquals(expected.getEventType(), actual.getEventType());
+        assertEquals(expected.getEventTimestamp(), actual.getEventTimestamp());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getBookId(), actual.getBookId());
+        assertEquals(expected.getRentalId(), actual.getRentalId());
+        assertEquals(expected.getRentalStartDate(), actual.getRentalStartDate());
+        assertEquals(expected.getRentalEndDate(), actual.getRentalEndDate());
+        assertEquals(expected.getUserEmail(), actual.getUserEmail());
+        assertEquals(expected.getBookTitle(), actual.getBookTitle());
+        assertEquals(expected.getBookAuthor(), actual.getBookAuthor());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        outer:
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] slice(byte[] bytes, int offset, int length) {
+        if (offset < 0) {
+            return new byte[0];
+        }
+        byte[] slice = new byte[length];
+        System.arraycopy(bytes, offset, slice, 0, length);
+        return slice;
+    }
+}
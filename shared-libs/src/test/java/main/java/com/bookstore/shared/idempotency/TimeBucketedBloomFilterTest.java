@@ -0,0 +1,97 @@
+package main.java.com.bookstore.shared.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Window and accuracy of {@link TimeBucketedBloomFilter}, driven with explicit timestamps.
+ */
+class TimeBucketedBloomFilterTest {
+
+    // 10 slices of 100 ms, plus the one being filled
+    private final TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(1000, 10, 1000, 0.01);
+
+    @Test
+    void answersNoForIdsNeverAdded() {
+        SplittableRandom random = new SplittableRandom(43);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain(new UUID(random.nextLong(), random.nextLong()), 0));
+        }
+    }
+
+    @Test
+    void remembersIdsForTheWholeWindow() {
+        UUID id = UUID.randomUUID();
+        filter.put(id, 50);
+
+        assertTrue(filter.mightContain(id, 50));
+        assertTrue(filter.mightContain(id, 999));
+        assertTrue(filter.mightContain(id, filter.getWindowMillis() - 1));
+    }
+
+    @Test
+    void forgetsIdsOnceTheirSliceLeavesTheWindow() {
+        UUID id = UUID.randomUUID();
+        filter.put(id, 50);
+
+        assertFalse(filter.mightContain(id, filter.getWindowMillis()));
+    }
+
+    @Test
+    void clearsABucketBeforeReusingIt() {
+        UUID old = UUID.randomUUID();
+        UUID recent = UUID.randomUUID();
+        filter.put(old, 0);
+        // Same bucket, one full rotation later
+        filter.put(recent, filter.getWindowMillis());
+
+        assertFalse(filter.mightContain(old, filter.getWindowMillis()));
+        assertTrue(filter.mightContain(recent, filter.getWindowMillis()));
+    }
+
+    @Test
+    void ignoresBucketsFromTheFuture() {
+        UUID id = UUID.randomUUID();
+        filter.put(id, 500);
+
+        assertFalse(filter.mightContain(id, 100));
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheTargetRate() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(random.nextLong(), random.nextLong(), 0);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong(), 0)) {
+                falsePositives++;
+            }
+        }
+        double rate = falsePositives / (double) probes;
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+    }
+
+    @Test
+    void reportsItsWindow() {
+        assertEquals(100, filter.getBucketMillis());
+        assertEquals(1100, filter.getWindowMillis());
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeBucketedBloomFilter(0, 10, 1000, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new TimeBucketedBloomFilter(1000, 0, 1000, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new TimeBucketedBloomFilter(1000, 10, 0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new TimeBucketedBloomFilter(1000, 10, 1000, 1));
+    }
+}